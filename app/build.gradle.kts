@@ -82,6 +82,7 @@ dependencies {
 
     // Glide
     implementation(libs.glide)
+    ksp(libs.glide.ksp)
 
     // Gson
     implementation(libs.gson)
@@ -121,6 +122,9 @@ dependencies {
     // PinView
     implementation(libs.pinview)
 
+    // Off-thread inflation of payment sheets
+    implementation(libs.asynclayoutinflater)
+
     // Biometric
     implementation(libs.biometric)
 
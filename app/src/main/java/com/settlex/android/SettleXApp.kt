@@ -2,9 +2,21 @@ package com.settlex.android
 
 import android.app.Application
 import android.content.Context
+import android.util.Log
+import com.bumptech.glide.Glide
 import com.google.firebase.FirebaseApp
-import com.settlex.android.util.network.NetworkMonitor.startNetworkCallback
+import com.settlex.android.data.local.AppPrefs
+import com.settlex.android.data.local.PermissionPrefs
+import com.settlex.android.data.remote.profile.InitialsAvatarCache
+import com.settlex.android.data.session.BiometricSession
+import com.settlex.android.data.session.IdTokenRefresher
+import com.settlex.android.data.session.UserSessionManager
+import com.settlex.android.util.image.DeviceMemoryTier
+import com.settlex.android.util.image.ImageCacheStats
+import com.settlex.android.util.lifecycle.AppForegroundState
+import com.settlex.android.util.network.ConnectivityService
 import dagger.hilt.android.HiltAndroidApp
+import jakarta.inject.Inject
 
 /**
  * Application class managing global dependencies and context.
@@ -12,7 +24,35 @@ import dagger.hilt.android.HiltAndroidApp
 @HiltAndroidApp
 class SettleXApp : Application() {
 
+    @Inject
+    lateinit var appPrefs: AppPrefs
+
+    @Inject
+    lateinit var permissionPrefs: PermissionPrefs
+
+    // Injected eagerly so a restored user's prefs start loading at process start
+    @Inject
+    lateinit var userSessionManager: UserSessionManager
+
+    // Injected eagerly so the default network is tracked from process start
+    @Inject
+    lateinit var connectivityService: ConnectivityService
+
+    // Injected eagerly so it sees the first activity start
+    @Inject
+    lateinit var appForegroundState: AppForegroundState
+
+    // Injected eagerly so the token is kept fresh from the first screen
+    @Inject
+    lateinit var idTokenRefresher: IdTokenRefresher
+
+    // Injected eagerly so biometric keys are prepared from the first sign-in
+    @Inject
+    lateinit var biometricSession: BiometricSession
+
     companion object {
+        private val TAG = SettleXApp::class.java.simpleName
+
         lateinit var instance: SettleXApp
             private set
 
@@ -30,6 +70,33 @@ class SettleXApp : Application() {
         // AppCompatDelegate.setDefaultNightMode(AppCompatDelegate.MODE_NIGHT_NO)
         // starts essential background services
         FirebaseApp.initializeApp(this)
-        startNetworkCallback()
+        preloadPreferences()
+    }
+
+    /**
+     * Glide trims its own caches; this covers the caches it does not own, and drops Glide's
+     * memory cache as soon as the UI is hidden on low-RAM devices. Image cache hit counts are
+     * logged each time the UI is hidden.
+     */
+    override fun onTrimMemory(level: Int) {
+        super.onTrimMemory(level)
+        InitialsAvatarCache.onTrimMemory(level)
+
+        if (level == TRIM_MEMORY_UI_HIDDEN) {
+            Log.d(TAG, "Image loads since start: ${ImageCacheStats.snapshot()}")
+        }
+
+        if (level >= TRIM_MEMORY_UI_HIDDEN && DeviceMemoryTier.of(this) == DeviceMemoryTier.LOW) {
+            Glide.get(this).clearMemory()
+        }
+    }
+
+    /**
+     * Starts loading the preference files the first screens read, off the main thread.
+     * Splash routing waits for them; the signed-in user's file is loaded by [userSessionManager].
+     */
+    private fun preloadPreferences() {
+        appPrefs.preload()
+        permissionPrefs.preload()
     }
-}
\ No newline at end of file
+}
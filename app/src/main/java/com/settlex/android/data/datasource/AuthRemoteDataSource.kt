@@ -3,33 +3,34 @@ package com.settlex.android.data.datasource
 import android.util.Log
 import com.google.firebase.auth.FirebaseAuth
 import com.google.firebase.auth.FirebaseUser
-import com.google.firebase.auth.UserProfileChangeRequest
 import com.google.firebase.firestore.FirebaseFirestore
-import com.google.firebase.functions.FirebaseFunctions
 import com.google.firebase.messaging.FirebaseMessaging
 import com.google.gson.Gson
 import com.google.gson.GsonBuilder
 import com.settlex.android.data.enums.OtpType
-import com.settlex.android.data.remote.api.MetadataService
+import com.settlex.android.data.remote.api.MetadataProvider
 import com.settlex.android.data.remote.dto.ApiResponse
 import com.settlex.android.data.remote.dto.MetadataDto
+import com.settlex.android.data.remote.registration.RegistrationPipeline
+import com.settlex.android.data.remote.registration.RegistrationStages
 import com.settlex.android.domain.model.UserModel
 import jakarta.inject.Inject
-import kotlinx.coroutines.async
-import kotlinx.coroutines.coroutineScope
-import kotlinx.coroutines.suspendCancellableCoroutine
 import kotlinx.coroutines.tasks.await
-import kotlin.coroutines.resume
 
 class AuthRemoteDataSource @Inject constructor(
     private val auth: FirebaseAuth,
-    private val functions: FirebaseFunctions,
     private val firebaseMessaging: FirebaseMessaging,
     private val firestore: FirebaseFirestore,
-    private val cloudFunctions: FunctionsApiClient
+    private val cloudFunctions: FunctionsApiClient,
+    private val metadataProvider: MetadataProvider,
+    registrationStages: RegistrationStages
 ) {
     private val gson: Gson by lazy { GsonBuilder().create() }
 
+    private val registrationPipeline = RegistrationPipeline(registrationStages) { report ->
+        Log.d(TAG, report.toString())
+    }
+
     companion object {
         private val TAG = AuthRemoteDataSource::class.java.simpleName
     }
@@ -43,37 +44,7 @@ class AuthRemoteDataSource @Inject constructor(
     }
 
     suspend fun register(user: UserModel, password: String) {
-        val authResult = auth.createUserWithEmailAndPassword(user.email, password).await()
-        val createdUser = authResult.user!!
-
-        val finalUser = user.copy(uid = createdUser.uid)
-
-        runCatching {
-            // Parallel execution to increase performance
-            coroutineScope {
-                async { createProfile(finalUser) }.await()
-                async { setDisplayName("${finalUser.firstName} ${finalUser.lastName}") }.await()
-            }
-        }.onFailure {
-            createdUser.delete().await()
-            Log.e("Register", "Failed to delete orphaned user after error", it)
-            throw it
-        }
-    }
-
-    private suspend fun createProfile(user: UserModel) {
-        val data = mapOf("user" to gson.toJson(user))
-        functions.getHttpsCallable("api-createUserProfile").call(data).await()
-    }
-
-    private suspend fun setDisplayName(fullName: String) {
-        val user = getCurrentUser() ?: throw IllegalStateException("No logged-in user")
-
-        user.updateProfile(
-            UserProfileChangeRequest.Builder()
-                .setDisplayName(fullName)
-                .build()
-        ).await()
+        registrationPipeline.run(user, password)
     }
 
     suspend fun sendOtp(email: String, type: OtpType): ApiResponse<String> {
@@ -86,6 +57,8 @@ class AuthRemoteDataSource @Inject constructor(
             }
 
             OtpType.PASSWORD_RESET -> {
+                // Setting the new password sends metadata; have it ready by then
+                metadataProvider.prefetch()
                 cloudFunctions.call(
                     "api-sendPasswordResetCode",
                     mapOf("email" to email)
@@ -128,13 +101,7 @@ class AuthRemoteDataSource @Inject constructor(
     }
 
     suspend fun collectMetadata(): MetadataDto {
-        return suspendCancellableCoroutine { cont ->
-            MetadataService.collectMetadata { metadata ->
-                if (cont.isActive) {
-                    cont.resume(metadata)
-                }
-            }
-        }
+        return metadataProvider.get()
     }
 
     suspend fun getFcmToken(): String {
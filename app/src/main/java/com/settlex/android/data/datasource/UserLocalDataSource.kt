@@ -1,17 +1,15 @@
 package com.settlex.android.data.datasource
 
 
-import android.content.Context
 import com.settlex.android.data.local.UserPrefs
 import jakarta.inject.Singleton
+import kotlinx.coroutines.flow.Flow
 
 
 @Singleton
 class UserLocalDataSource(
-    context: Context,
-    uid: String
+    private val userPrefs: UserPrefs
 ) {
-    private val userPrefs = UserPrefs(context, uid)
 
     // Pay Biometrics
     var isPayBiometricsEnabled: Boolean
@@ -33,4 +31,8 @@ class UserLocalDataSource(
         set(value) {
             userPrefs.isBalanceHidden = value
         }
+
+    fun observeBalanceHidden(): Flow<Boolean> = userPrefs.observeBalanceHidden()
+
+    fun preload() = userPrefs.preload()
 }
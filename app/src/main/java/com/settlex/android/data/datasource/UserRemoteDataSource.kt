@@ -11,10 +11,28 @@ import com.google.firebase.firestore.FirebaseFirestore
 import com.google.firebase.firestore.FirebaseFirestoreException
 import com.google.firebase.firestore.Query
 import com.google.firebase.firestore.SetOptions
-import com.settlex.android.data.enums.TransactionServiceType
+import com.settlex.android.data.enums.TransactionStatus
 import com.settlex.android.data.remote.dto.ApiResponse
 import com.settlex.android.data.remote.dto.RecipientDto
 import com.settlex.android.data.remote.dto.TransactionDto
+import com.settlex.android.data.remote.paymentid.PaymentIdAvailabilityService
+import com.settlex.android.data.remote.paymentid.PaymentIdTakenException
+import com.settlex.android.data.remote.transaction.FirestoreTransactionStatusSource
+import com.settlex.android.data.remote.transaction.PendingTransactionTracker
+import com.settlex.android.data.remote.transfer.BatchTransfer
+import com.settlex.android.data.remote.transfer.BatchTransferResult
+import com.settlex.android.data.remote.transfer.FirestoreTransactionLookup
+import com.settlex.android.data.remote.transfer.FunctionsTransferEndpoint
+import com.settlex.android.data.remote.transfer.PinAuthorizedTransfer
+import com.settlex.android.data.remote.transfer.PinTransferResult
+import com.settlex.android.data.remote.transfer.PrefsPendingTransferStore
+import com.settlex.android.data.remote.transfer.TransferLeg
+import com.settlex.android.data.remote.transfer.TransferRequest
+import com.settlex.android.data.remote.transfer.TransferSubmission
+import com.settlex.android.data.remote.upload.ChunkedPayload
+import com.settlex.android.data.remote.upload.ChunkedUploader
+import com.settlex.android.data.remote.upload.ProfilePhotoUploadEndpoint
+import com.settlex.android.data.remote.upload.UploadProgress
 import com.settlex.android.domain.TransactionIdGenerator
 import com.settlex.android.util.DateUtil
 import com.settlex.android.util.image.ImageConverter
@@ -23,10 +41,14 @@ import jakarta.inject.Singleton
 import kotlinx.coroutines.CoroutineScope
 import kotlinx.coroutines.Dispatchers
 import kotlinx.coroutines.Job
+import kotlinx.coroutines.async
+import kotlinx.coroutines.awaitAll
 import kotlinx.coroutines.channels.awaitClose
+import kotlinx.coroutines.coroutineScope
 import kotlinx.coroutines.flow.Flow
 import kotlinx.coroutines.flow.SharingStarted
 import kotlinx.coroutines.flow.callbackFlow
+import kotlinx.coroutines.flow.emptyFlow
 import kotlinx.coroutines.flow.shareIn
 import kotlinx.coroutines.tasks.await
 
@@ -35,36 +57,52 @@ class UserRemoteDataSource @Inject constructor(
     private val db: FirebaseFirestore,
     private val auth: FirebaseAuth,
     private val cloudFunctions: FunctionsApiClient,
+    photoUploadEndpoint: ProfilePhotoUploadEndpoint,
+    private val paymentIdAvailability: PaymentIdAvailabilityService,
+    private val transferEndpoint: FunctionsTransferEndpoint,
+    pendingTransfers: PrefsPendingTransferStore,
+    transactionLookup: FirestoreTransactionLookup,
+    transactionStatusSource: FirestoreTransactionStatusSource,
 ) {
     private val scope = CoroutineScope(Dispatchers.Default + Job())
+    private val photoUploader = ChunkedUploader(photoUploadEndpoint)
+    private val pinTransfer = PinAuthorizedTransfer(transferEndpoint)
+    private val pendingTransactions = PendingTransactionTracker(transactionStatusSource, scope)
+    private val transferSubmission = TransferSubmission(
+        store = pendingTransfers,
+        lookup = transactionLookup,
+        isRetryable = FunctionsTransferEndpoint::isTransient,
+        newTransactionId = TransactionIdGenerator::generate
+    )
+    private val batchTransfer = BatchTransfer(transferEndpoint, transferSubmission, TRANSFER_RECORDED_MESSAGE)
 
     fun getCurrentUser(): FirebaseUser? = auth.currentUser
 
     fun signOut() = auth.signOut()
 
-    suspend fun isPaymentIdTaken(id: String): Boolean {
-        val snapshot = db.collection("payment_ids")
-            .document(id)
-            .get().await()
-
-        return snapshot.exists()
-    }
+    suspend fun isPaymentIdTaken(id: String): Boolean = paymentIdAvailability.isTaken(id)
 
     suspend fun assignPaymentId(id: String) {
         val uid: String = getCurrentUser()!!.uid
 
+        try {
+            claimPaymentId(uid, id)
+        } catch (e: PaymentIdTakenException) {
+            paymentIdAvailability.recordTaken(id)
+            throw e
+        }
+        paymentIdAvailability.recordTaken(id)
+    }
+
+    private suspend fun claimPaymentId(uid: String, id: String) {
         db.runTransaction { transaction ->
             val globalDocRef = db.collection("payment_ids").document(id)
             val userDocRef = db.collection("users").document(uid)
 
             // Check if the payment ID is already taken
             val snapshot = transaction.get(globalDocRef)
-            if (snapshot.exists()) {
-                throw FirebaseFirestoreException(
-                    "Payment ID is already taken",
-                    FirebaseFirestoreException.Code.ABORTED
-                )
-            }
+            // Not ABORTED: that is also how a transaction gives up under contention
+            if (snapshot.exists()) throw PaymentIdTakenException(id)
 
             transaction.set(globalDocRef, mapOf("uid" to uid))
             transaction.set(
@@ -105,43 +143,133 @@ class UserRemoteDataSource @Inject constructor(
         user.updatePassword(newPwd).await()
     }
 
-    suspend fun setProfilePhoto(context: Context, imageUri: Uri): ApiResponse<String> {
+    /**
+     * Uploads the prepared photo in checksummed chunks. A retry after a failure resumes from
+     * the chunks the server already acknowledged instead of re-sending the whole image. Falls
+     * back to a single request if the backend has no chunked upload.
+     */
+    suspend fun setProfilePhoto(
+        context: Context,
+        imageUri: Uri,
+        onProgress: (UploadProgress) -> Unit
+    ): ApiResponse<String> {
         val base64 = ImageConverter.toBase64(context, imageUri)
+            ?: throw IllegalStateException("Unable to prepare profile photo")
 
-        return cloudFunctions.call(
-            name = "api-setUserProfilePhoto",
-            data = mapOf("imgBase64" to base64)
-        )
+        val payload = ChunkedPayload.of(base64.toByteArray(Charsets.US_ASCII), PHOTO_CHUNK_BYTES)
+        val photoUrl = photoUploader.upload(payload, onProgress)
+        return ApiResponse(success = true, data = photoUrl)
     }
 
     suspend fun refreshUser() {
         auth.currentUser?.reload()?.await()
     }
 
+    /**
+     * Transfers after the PIN was checked on its own.
+     */
     suspend fun transferToFriend(
         toRecipientPaymentId: String,
         transferAmount: Long,
         description: String?
-    ): ApiResponse<String> {
-        val sender = getCurrentUser()!!
-        return cloudFunctions.call(
-            name = "api-transferToFriend",
-            data = mapOf(
-                "fromSenderUid" to sender.uid,
-                "toRecipientPaymentId" to toRecipientPaymentId,
-                "transactionId" to TransactionIdGenerator.generate(sender.uid),
-                "transferAmount" to transferAmount,
-                "serviceType" to TransactionServiceType.TRANSFER_TO_FRIEND.toString(),
-                "description" to description
-            )
+    ): PinTransferResult.Completed {
+        val request = prepareTransfer(toRecipientPaymentId, transferAmount, description)
+        val message = transferSubmission.submit(
+            request,
+            onRecorded = { TRANSFER_RECORDED_MESSAGE },
+            send = transferEndpoint::transfer
         )
+        return PinTransferResult.Completed(message, request.transactionId)
+    }
+
+    /**
+     * Verifies [pin] and transfers in a single call, falling back to the separate PIN check
+     * and transfer calls when the backend has no combined call.
+     */
+    suspend fun transferToFriendWithPin(
+        pin: String,
+        toRecipientPaymentId: String,
+        transferAmount: Long,
+        description: String?
+    ): PinTransferResult {
+        val request = prepareTransfer(toRecipientPaymentId, transferAmount, description)
+        return transferSubmission.submit(
+            request,
+            onRecorded = { PinTransferResult.Completed(TRANSFER_RECORDED_MESSAGE, request.transactionId) }
+        ) { pinTransfer.submit(it, pin) }
+    }
+
+    /**
+     * Verifies [pin] once and transfers to every recipient in [legs], each leg under its own
+     * transaction ID, in a single call where the backend allows it.
+     */
+    suspend fun transferToFriendsWithPin(
+        pin: String,
+        legs: List<TransferLeg>,
+        description: String?
+    ): BatchTransferResult {
+        // The same batch retried reuses its legs' IDs; a single transfer never does
+        val batchKey = legs
+            .map { "${it.toRecipientPaymentId}:${it.transferAmount}" }
+            .sorted()
+            .joinToString(",", prefix = "batch:")
+        val requests = legs.map { prepareTransfer(it.toRecipientPaymentId, it.transferAmount, description, batchKey) }
+        return batchTransfer.submit(requests, pin)
+    }
+
+    /**
+     * Looks up every one of [paymentIds] concurrently.
+     *
+     * @return Each ID's recipient, or `null` for an ID no user holds.
+     */
+    suspend fun getRecipientsByPaymentIds(paymentIds: List<String>): Map<String, RecipientDto?> = coroutineScope {
+        paymentIds.distinct().map { paymentId ->
+            async {
+                // The lookup matches by prefix; only an exact match is this recipient
+                paymentId to getRecipientByPaymentId(paymentId).data.firstOrNull { it.paymentId == paymentId }
+            }
+        }.awaitAll().toMap()
+    }
+
+    /**
+     * Settles transfers whose outcome a previous attempt or run never saw.
+     *
+     * @return The IDs of those the backend had recorded.
+     */
+    suspend fun reconcilePendingTransfers(): List<String> {
+        val uid = getCurrentUser()?.uid ?: return emptyList()
+        return transferSubmission.reconcile(uid).map { it.transactionId }
+    }
+
+    // The same intent retried after an unknown outcome reuses its transaction ID
+    private suspend fun prepareTransfer(
+        toRecipientPaymentId: String,
+        transferAmount: Long,
+        description: String?,
+        batchKey: String? = null
+    ): TransferRequest {
+        val sender = getCurrentUser()!!
+        return transferSubmission.prepare(sender.uid, toRecipientPaymentId, transferAmount, description, batchKey)
+    }
+
+    /**
+     * Status updates for one of the current user's transactions, ending at its final status.
+     * A transaction already final at [knownStatus] is not listened to.
+     */
+    fun trackTransaction(transactionId: String, knownStatus: TransactionStatus?): Flow<TransactionStatus> {
+        val uid = getCurrentUser()?.uid ?: return emptyFlow()
+        return pendingTransactions.track(uid, transactionId, knownStatus)
     }
 
     suspend fun getRecipientByPaymentId(paymentId: String): ApiResponse<List<RecipientDto>> {
-        return cloudFunctions.call(
+        val response = cloudFunctions.call<List<RecipientDto>>(
             name = "api-getRecipientByPaymentId",
             data = mapOf("paymentId" to paymentId)
         )
+
+        // Every recipient found holds a payment ID
+        paymentIdAvailability.recordTaken(response.data.map { it.paymentId })
+        return response
     }
 
     private val _recentTransactionsFlow: Flow<Result<List<TransactionDto>>> by lazy {
@@ -236,4 +364,12 @@ class UserRemoteDataSource @Inject constructor(
                 listener.remove()
             }
         }
+
+    companion object {
+        // 32KB of Base64 text: a 256KB photo goes up in at most 8 chunks
+        private const val PHOTO_CHUNK_BYTES = 32 * 1024
+
+        // Shown when a retried transfer turns out to have gone through on an earlier attempt
+        private const val TRANSFER_RECORDED_MESSAGE = "Transfer successful"
+    }
 }
\ No newline at end of file
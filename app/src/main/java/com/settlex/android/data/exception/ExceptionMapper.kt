@@ -7,6 +7,7 @@ import com.google.firebase.auth.FirebaseAuthInvalidUserException
 import com.google.firebase.auth.FirebaseAuthUserCollisionException
 import com.google.firebase.firestore.FirebaseFirestoreException
 import com.google.firebase.functions.FirebaseFunctionsException
+import com.settlex.android.data.remote.paymentid.PaymentIdTakenException
 import java.io.IOException
 import javax.inject.Inject
 
@@ -23,6 +24,7 @@ class ExceptionMapper @Inject constructor() {
 
         // Firebase Firestore
         private const val ABORTED = "The request could not be completed. Please try again."
+        private const val ERROR_PAYMENT_ID_TAKEN = "This payment ID is already taken."
 
         // Firebase Functions
         private const val NOT_FOUND = "Service unavailable. Please try again later."
@@ -45,6 +47,7 @@ class ExceptionMapper @Inject constructor() {
             is FirebaseAuthInvalidCredentialsException -> AppException.AuthException(ERROR_INVALID_CREDENTIALS)
             is FirebaseAuthUserCollisionException -> AppException.AuthException(ERROR_USER_COLLISION)
             is FirebaseAuthInvalidUserException -> AppException.AuthException(ERROR_INVALID_USER)
+            is PaymentIdTakenException -> AppException.DatabaseException(ERROR_PAYMENT_ID_TAKEN)
 
             is FirebaseFunctionsException -> {
                 when (e.code) {
@@ -1,7 +1,7 @@
 package com.settlex.android.data.local
 
-import android.content.SharedPreferences
-import androidx.core.content.edit
+import androidx.datastore.preferences.core.booleanPreferencesKey
+import androidx.datastore.preferences.core.stringPreferencesKey
 import com.settlex.android.di.AppPrefs
 import jakarta.inject.Inject
 import jakarta.inject.Singleton
@@ -11,15 +11,29 @@ import jakarta.inject.Singleton
  */
 @Singleton
 class AppPrefs @Inject constructor(
-    @param:AppPrefs private val prefs: SharedPreferences
+    @param:AppPrefs private val prefs: PreferenceStore
 ) {
 
     var isIntroViewed: Boolean
-        get() = prefs.getBoolean(KEY_NAME_INTRO_VIEWED, false)
-        set(viewed) = prefs.edit { putBoolean(KEY_NAME_INTRO_VIEWED, viewed) }
+        get() = prefs[KEY_INTRO_VIEWED] ?: false
+        set(viewed) {
+            prefs[KEY_INTRO_VIEWED] = viewed
+        }
 
+    /** Encoded Bloom filter of payment IDs known to be taken. */
+    var takenPaymentIds: String?
+        get() = prefs[KEY_TAKEN_PAYMENT_IDS]
+        set(encoded) {
+            if (encoded == null) prefs.remove(KEY_TAKEN_PAYMENT_IDS) else prefs[KEY_TAKEN_PAYMENT_IDS] = encoded
+        }
+
+    fun preload() = prefs.preload()
+
+    fun whenLoaded(callback: Runnable) = prefs.whenLoaded(callback)
 
     companion object {
         const val KEY_NAME_INTRO_VIEWED: String = "intro_viewed"
+        private val KEY_INTRO_VIEWED = booleanPreferencesKey(KEY_NAME_INTRO_VIEWED)
+        private val KEY_TAKEN_PAYMENT_IDS = stringPreferencesKey("taken_payment_ids")
     }
-}
\ No newline at end of file
+}
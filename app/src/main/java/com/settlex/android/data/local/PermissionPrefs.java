@@ -1,29 +1,36 @@
 package com.settlex.android.data.local;
 
-import android.content.Context;
-import android.content.SharedPreferences;
+import androidx.datastore.preferences.core.Preferences;
+import androidx.datastore.preferences.core.PreferencesKeys;
 
 import jakarta.inject.Singleton;
 
 @Singleton
 public class PermissionPrefs {
-    private static final String PREF_NAME = "permission_prefs";
-    private static final String KEY_NOTIFICATION_PROMPT_SHOWN = "notification_prompt_shown";
+    private static final Preferences.Key<Boolean> KEY_NOTIFICATION_PROMPT_SHOWN =
+            PreferencesKeys.booleanKey("notification_prompt_shown");
 
-    private final SharedPreferences prefs;
-    private final SharedPreferences.Editor editor;
+    private final PreferenceStore prefs;
 
-    public PermissionPrefs(Context context) {
-        prefs = context.getSharedPreferences(PREF_NAME, Context.MODE_PRIVATE);
-        editor = prefs.edit();
+    public PermissionPrefs(PreferenceStore prefs) {
+        this.prefs = prefs;
+    }
+
+    public void preload() {
+        prefs.preload();
+    }
+
+    public void whenLoaded(Runnable callback) {
+        prefs.whenLoaded(callback);
     }
 
     // flags
     public boolean isNotificationPromptShown() {
-        return prefs.getBoolean(KEY_NOTIFICATION_PROMPT_SHOWN, false);
+        Boolean shown = prefs.get(KEY_NOTIFICATION_PROMPT_SHOWN);
+        return shown != null && shown;
     }
 
     public void setNotificationPromptShown(boolean shown) {
-        editor.putBoolean(KEY_NOTIFICATION_PROMPT_SHOWN, shown).apply();
+        prefs.set(KEY_NOTIFICATION_PROMPT_SHOWN, shown);
     }
-}
\ No newline at end of file
+}
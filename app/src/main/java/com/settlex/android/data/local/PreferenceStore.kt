@@ -0,0 +1,170 @@
+package com.settlex.android.data.local
+
+import android.os.Handler
+import android.os.Looper
+import android.util.Log
+import androidx.datastore.core.DataStore
+import androidx.datastore.preferences.core.MutablePreferences
+import androidx.datastore.preferences.core.Preferences
+import androidx.datastore.preferences.core.edit
+import androidx.datastore.preferences.core.emptyPreferences
+import kotlinx.coroutines.CoroutineScope
+import kotlinx.coroutines.CoroutineStart
+import kotlinx.coroutines.channels.Channel
+import kotlinx.coroutines.delay
+import kotlinx.coroutines.flow.Flow
+import kotlinx.coroutines.flow.MutableStateFlow
+import kotlinx.coroutines.flow.StateFlow
+import kotlinx.coroutines.flow.asStateFlow
+import kotlinx.coroutines.flow.distinctUntilChanged
+import kotlinx.coroutines.flow.emitAll
+import kotlinx.coroutines.flow.first
+import kotlinx.coroutines.flow.flow
+import kotlinx.coroutines.flow.map
+import kotlinx.coroutines.launch
+import kotlinx.coroutines.runBlocking
+import kotlinx.coroutines.sync.Mutex
+import kotlinx.coroutines.sync.withLock
+
+/**
+ * A DataStore-backed preference file with a hot, in-memory [snapshot].
+ *
+ * The file is read once, off the main thread, when [preload] is called. After that, reads are
+ * served from memory and writes update memory at once. The disk writes are batched and
+ * committed in a single DataStore transaction; [flush] commits them early, and
+ * [PreferenceStoreFactory] flushes every store when the app goes to the background.
+ *
+ * This store is the only writer of its file, so the snapshot never needs to be reloaded.
+ * Code that may run before the load finishes should wait for it with [awaitLoaded], [read],
+ * [observe] or [whenLoaded]. The synchronous [get] and [edit] still work before then, but
+ * they block until the file is loaded and log a warning when that happens on the main thread.
+ */
+class PreferenceStore internal constructor(
+    private val name: String,
+    private val dataStore: DataStore<Preferences>,
+    private val scope: CoroutineScope
+) {
+    private val lock = Any()
+    private val writeMutex = Mutex()
+    private val pendingWrites = ArrayList<(MutablePreferences) -> Unit>()
+    private val writeSignal = Channel<Unit>(Channel.CONFLATED)
+
+    @Volatile
+    private var isLoaded = false
+
+    private val _snapshot = MutableStateFlow(emptyPreferences())
+    val snapshot: StateFlow<Preferences> = _snapshot.asStateFlow()
+
+    private val loadJob = scope.launch(start = CoroutineStart.LAZY) {
+        _snapshot.value = runCatching { dataStore.data.first() }
+            .onFailure { Log.e(TAG, "Failed to load $name, using defaults", it) }
+            .getOrDefault(emptyPreferences())
+        isLoaded = true
+
+        scope.launch { processWrites() }
+    }
+
+    /**
+     * Starts loading the file in the background. Safe to call more than once.
+     */
+    fun preload() {
+        loadJob.start()
+    }
+
+    /**
+     * Suspends until the file is loaded, starting the load if needed.
+     */
+    suspend fun awaitLoaded() {
+        if (isLoaded) return
+        preload()
+        loadJob.join()
+    }
+
+    /**
+     * Runs [callback] on the main thread once the file is loaded, for callers that can't suspend.
+     */
+    fun whenLoaded(callback: Runnable) {
+        preload()
+        loadJob.invokeOnCompletion { Handler(Looper.getMainLooper()).post(callback) }
+    }
+
+    suspend fun <T> read(key: Preferences.Key<T>): T? {
+        awaitLoaded()
+        return _snapshot.value[key]
+    }
+
+    /**
+     * The value of [key], once the file is loaded and then on every change.
+     */
+    fun <T> observe(key: Preferences.Key<T>): Flow<T?> = flow {
+        awaitLoaded()
+        emitAll(_snapshot.map { it[key] })
+    }.distinctUntilChanged()
+
+    operator fun <T> get(key: Preferences.Key<T>): T? {
+        ensureLoaded()
+        return _snapshot.value[key]
+    }
+
+    operator fun <T> set(key: Preferences.Key<T>, value: T) = edit { it[key] = value }
+
+    fun remove(key: Preferences.Key<*>) = edit { it.remove(key) }
+
+    /**
+     * Applies [transform] to the snapshot immediately and queues it for the next batched disk write.
+     */
+    fun edit(transform: (MutablePreferences) -> Unit) {
+        ensureLoaded()
+        synchronized(lock) {
+            _snapshot.value = _snapshot.value.toMutablePreferences().also(transform).toPreferences()
+            pendingWrites += transform
+        }
+        writeSignal.trySend(Unit)
+    }
+
+    /**
+     * Commits queued writes now instead of waiting for the batch window.
+     */
+    suspend fun flush() {
+        // Nothing can be queued before the load finishes
+        if (!isLoaded) return
+        writePending()
+    }
+
+    private fun ensureLoaded() {
+        if (isLoaded) return
+        if (Looper.myLooper() == Looper.getMainLooper()) {
+            Log.w(TAG, "$name read on the main thread before it was loaded; blocking until it is")
+        }
+        preload()
+        runBlocking { loadJob.join() }
+    }
+
+    private suspend fun processWrites() {
+        for (signal in writeSignal) {
+            // Let writes made in quick succession land in the same transaction
+            delay(WRITE_BATCH_WINDOW_MS)
+            writePending()
+        }
+    }
+
+    private suspend fun writePending() = writeMutex.withLock {
+        val batch = synchronized(lock) {
+            pendingWrites.toList().also { pendingWrites.clear() }
+        }
+        if (batch.isEmpty()) return@withLock
+
+        runCatching {
+            dataStore.edit { prefs -> batch.forEach { transform -> transform(prefs) } }
+        }.onFailure { throwable ->
+            // Keep the batch ahead of newer writes and retry with the next signal
+            Log.e(TAG, "Failed to write $name", throwable)
+            synchronized(lock) { pendingWrites.addAll(0, batch) }
+        }
+    }
+
+    companion object {
+        private val TAG = PreferenceStore::class.java.simpleName
+        private const val WRITE_BATCH_WINDOW_MS = 100L
+    }
+}
@@ -0,0 +1,70 @@
+package com.settlex.android.data.local
+
+import android.content.Context
+import androidx.datastore.core.handlers.ReplaceFileCorruptionHandler
+import androidx.datastore.preferences.SharedPreferencesMigration
+import androidx.datastore.preferences.core.PreferenceDataStoreFactory
+import androidx.datastore.preferences.core.emptyPreferences
+import androidx.datastore.preferences.preferencesDataStoreFile
+import com.settlex.android.util.lifecycle.AppForegroundState
+import dagger.hilt.android.qualifiers.ApplicationContext
+import jakarta.inject.Inject
+import jakarta.inject.Singleton
+import kotlinx.coroutines.CoroutineScope
+import kotlinx.coroutines.Dispatchers
+import kotlinx.coroutines.flow.filter
+import kotlinx.coroutines.flow.launchIn
+import kotlinx.coroutines.flow.onEach
+import kotlinx.coroutines.plus
+import java.util.concurrent.ConcurrentHashMap
+
+/**
+ * Creates and caches one [PreferenceStore] per file name.
+ *
+ * DataStore allows only one active instance per file, so every store must come from here.
+ * On first open, a store migrates the `SharedPreferences` file of the same name and deletes
+ * it. This is a one-time migration.
+ *
+ * Writes are batched in memory for a short window. So that a batch isn't lost if the process
+ * is killed in the background, every store is flushed when the app leaves the foreground.
+ */
+@Singleton
+class PreferenceStoreFactory @Inject constructor(
+    @param:ApplicationContext private val context: Context,
+    appForeground: AppForegroundState,
+    applicationScope: CoroutineScope
+) {
+    private val ioScope = applicationScope + Dispatchers.IO
+    private val stores = ConcurrentHashMap<String, PreferenceStore>()
+
+    init {
+        appForeground.isInForeground
+            .filter { isInForeground -> !isInForeground }
+            .onEach { flushAll() }
+            .launchIn(ioScope)
+    }
+
+    fun get(name: String): PreferenceStore = stores.computeIfAbsent(name) { create(it) }
+
+    /**
+     * Commits the queued writes of every open store.
+     */
+    suspend fun flushAll() {
+        stores.values.forEach { it.flush() }
+    }
+
+    private fun create(name: String): PreferenceStore {
+        val dataStore = PreferenceDataStoreFactory.create(
+            corruptionHandler = ReplaceFileCorruptionHandler { emptyPreferences() },
+            migrations = listOf(SharedPreferencesMigration(context, name)),
+            scope = ioScope,
+            produceFile = { context.preferencesDataStoreFile(name) }
+        )
+        return PreferenceStore(name, dataStore, ioScope)
+    }
+
+    companion object {
+        const val APP_PREFS = "app_prefs"
+        const val PERMISSION_PREFS = "permission_prefs"
+    }
+}
@@ -0,0 +1,148 @@
+package com.settlex.android.data.local
+
+import kotlin.math.pow
+
+/**
+ * Ranks the people a user sends money to by frecency: each transfer adds one point, and points
+ * halve every [halfLifeMs], so both how often and how recently someone was paid count.
+ *
+ * Transfers arrive twice: once when the app sends them ([recordTransfer]) and again from the
+ * transaction stream ([recordTransaction]), in either order. Both are keyed by transaction ID,
+ * so whichever copy arrives second is not counted again; this also absorbs documents the
+ * listener redelivers.
+ *
+ * Thread-safe. [state] and the [State] constructor argument round-trip everything for persistence.
+ */
+class RecipientIndex(
+    state: State? = null,
+    private val halfLifeMs: Long = DEFAULT_HALF_LIFE_MS,
+    private val maxEntries: Int = DEFAULT_MAX_ENTRIES
+) {
+    /**
+     * @property score Points as of [lastUsedAt]; see [scoreAt] for the current value.
+     */
+    data class Entry(
+        val paymentId: String,
+        val name: String,
+        val photoUrl: String?,
+        val score: Double,
+        val lastUsedAt: Long
+    )
+
+    data class State(
+        val entries: List<Entry> = emptyList(),
+        val seenTransactionIds: List<String> = emptyList()
+    )
+
+    private val lock = Any()
+    private val entries = HashMap<String, Entry>()
+    private val seenTransactionIds = LinkedHashSet<String>()
+
+    init {
+        state?.let { restored ->
+            restored.entries.forEach { entries[it.paymentId] = it }
+            seenTransactionIds.addAll(restored.seenTransactionIds)
+        }
+    }
+
+    /**
+     * Records a transfer the app just completed.
+     *
+     * @return Whether the index changed.
+     */
+    fun recordTransfer(
+        transactionId: String,
+        paymentId: String,
+        name: String,
+        photoUrl: String?,
+        sentAt: Long
+    ): Boolean = synchronized(lock) {
+        if (!markSeen(transactionId)) {
+            // The stream delivered it first, without the photo
+            val existing = entries[paymentId] ?: return false
+            if (photoUrl == null || existing.photoUrl != null) return false
+            entries[paymentId] = existing.copy(photoUrl = photoUrl)
+            return true
+        }
+
+        addUse(paymentId, name, photoUrl, sentAt)
+        true
+    }
+
+    /**
+     * Records an outgoing transfer seen in the transaction stream.
+     *
+     * @return Whether the index changed.
+     */
+    fun recordTransaction(
+        transactionId: String,
+        paymentId: String,
+        name: String,
+        createdAt: Long
+    ): Boolean = synchronized(lock) {
+        if (!markSeen(transactionId)) return false
+
+        addUse(paymentId, name, null, createdAt)
+        true
+    }
+
+    /**
+     * The [limit] highest-ranked recipients at [now].
+     */
+    fun top(limit: Int, now: Long): List<Entry> = synchronized(lock) {
+        entries.values
+            .sortedByDescending { scoreAt(it, now) }
+            .take(limit)
+    }
+
+    fun state(): State = synchronized(lock) {
+        State(entries.values.toList(), seenTransactionIds.toList())
+    }
+
+    fun scoreAt(entry: Entry, now: Long): Double = entry.score * decay(now - entry.lastUsedAt)
+
+    /**
+     * @return Whether [transactionId] was new.
+     */
+    private fun markSeen(transactionId: String): Boolean {
+        if (!seenTransactionIds.add(transactionId)) return false
+        if (seenTransactionIds.size > MAX_SEEN_IDS) seenTransactionIds.remove(seenTransactionIds.first())
+        return true
+    }
+
+    private fun addUse(paymentId: String, name: String, photoUrl: String?, at: Long) {
+        val existing = entries[paymentId]
+        entries[paymentId] = when {
+            existing == null -> Entry(paymentId, name, photoUrl, 1.0, at)
+
+            // Older than the last use: add its decayed point without moving the reference time
+            at < existing.lastUsedAt -> existing.copy(
+                score = existing.score + decay(existing.lastUsedAt - at)
+            )
+
+            else -> Entry(
+                paymentId = paymentId,
+                name = name.ifBlank { existing.name },
+                photoUrl = photoUrl ?: existing.photoUrl,
+                score = scoreAt(existing, at) + 1.0,
+                lastUsedAt = at
+            )
+        }
+
+        if (entries.size > maxEntries) {
+            val weakest = entries.values.minBy { scoreAt(it, at) }
+            entries.remove(weakest.paymentId)
+        }
+    }
+
+    private fun decay(elapsedMs: Long): Double {
+        if (elapsedMs <= 0) return 1.0
+        return 0.5.pow(elapsedMs.toDouble() / halfLifeMs)
+    }
+
+    companion object {
+        private const val DEFAULT_HALF_LIFE_MS = 14 * 24 * 60 * 60 * 1000L
+        private const val DEFAULT_MAX_ENTRIES = 50
+        private const val MAX_SEEN_IDS = 200
+    }
+}
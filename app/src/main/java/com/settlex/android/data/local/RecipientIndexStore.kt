@@ -0,0 +1,104 @@
+package com.settlex.android.data.local
+
+import android.util.Log
+import com.google.gson.Gson
+import com.google.gson.GsonBuilder
+import com.settlex.android.data.enums.TransactionServiceType
+import com.settlex.android.data.enums.TransactionStatus
+import com.settlex.android.data.remote.dto.TransactionDto
+import jakarta.inject.Inject
+import jakarta.inject.Singleton
+import kotlinx.coroutines.flow.Flow
+import kotlinx.coroutines.flow.MutableStateFlow
+import kotlinx.coroutines.flow.emitAll
+import kotlinx.coroutines.flow.flow
+import kotlinx.coroutines.flow.map
+import java.util.concurrent.ConcurrentHashMap
+
+/**
+ * Per-user [RecipientIndex]es, persisted in each user's preference file.
+ *
+ * Indexes are read from the preference store on first use, once it has loaded, and written
+ * back after every change, so suggestions are available without any network call.
+ */
+@Singleton
+class RecipientIndexStore @Inject constructor(
+    private val preferenceStores: PreferenceStoreFactory
+) {
+    private val gson: Gson by lazy { GsonBuilder().create() }
+
+    private class UserIndex(val index: RecipientIndex, val prefs: UserPrefs) {
+        // Bumped on every change so observers re-rank
+        val version = MutableStateFlow(0)
+    }
+
+    private val indexes = ConcurrentHashMap<String, UserIndex>()
+
+    /**
+     * The user's top [limit] recipients, re-emitted whenever the index changes.
+     */
+    fun frequentRecipients(uid: String, limit: Int = DEFAULT_LIMIT): Flow<List<RecipientIndex.Entry>> = flow {
+        val userIndex = forUser(uid)
+        emitAll(userIndex.version.map { userIndex.index.top(limit, System.currentTimeMillis()) })
+    }
+
+    suspend fun recordTransfer(uid: String, transactionId: String, paymentId: String, name: String, photoUrl: String?) {
+        val userIndex = forUser(uid)
+        if (userIndex.index.recordTransfer(transactionId, paymentId, name, photoUrl, System.currentTimeMillis())) {
+            persist(userIndex)
+        }
+    }
+
+    /**
+     * Counts the user's successful or pending transfers to friends in [transactions].
+     */
+    suspend fun recordTransactions(uid: String, transactions: List<TransactionDto>) {
+        val userIndex = forUser(uid)
+        var changed = false
+
+        for (transaction in transactions) {
+            if (transaction.senderUid != uid) continue
+            if (transaction.serviceType != TransactionServiceType.TRANSFER_TO_FRIEND) continue
+            if (transaction.status == TransactionStatus.FAILED || transaction.status == TransactionStatus.REVERSED) continue
+
+            val transactionId = transaction.transactionId ?: continue
+            val paymentId = transaction.recipient ?: continue
+            val createdAt = transaction.createdAt?.toDate()?.time ?: continue
+
+            changed = userIndex.index.recordTransaction(
+                transactionId,
+                paymentId,
+                transaction.recipientName.orEmpty(),
+                createdAt
+            ) || changed
+        }
+
+        if (changed) persist(userIndex)
+    }
+
+    private suspend fun forUser(uid: String): UserIndex = indexes.getOrPut(uid) {
+        val prefs = UserPrefs(preferenceStores.get(UserPrefs.storeName(uid)))
+        prefs.awaitLoaded()
+        UserIndex(RecipientIndex(restore(prefs.recipientIndex)), prefs)
+    }
+
+    private fun restore(json: String?): RecipientIndex.State? {
+        if (json.isNullOrEmpty()) return null
+        return try {
+            gson.fromJson(json, RecipientIndex.State::class.java)
+        } catch (e: Exception) {
+            Log.w(TAG, "Discarding unreadable recipient index", e)
+            null
+        }
+    }
+
+    private fun persist(userIndex: UserIndex) {
+        userIndex.prefs.recipientIndex = gson.toJson(userIndex.index.state())
+        userIndex.version.value++
+    }
+
+    companion object {
+        private val TAG = RecipientIndexStore::class.java.simpleName
+        private const val DEFAULT_LIMIT = 8
+    }
+}
@@ -1,13 +1,12 @@
 package com.settlex.android.data.local
 
-import android.content.Context
 import com.settlex.android.data.datasource.UserLocalDataSource
-import dagger.hilt.android.qualifiers.ApplicationContext
 import jakarta.inject.Inject
 
-class UserLocalDataSourceFactoryImpl @Inject constructor(@param:ApplicationContext private val context: Context) :
+class UserLocalDataSourceFactoryImpl @Inject constructor(private val preferenceStores: PreferenceStoreFactory) :
     UserLocalDataSourceFactory {
     override fun create(uid: String): UserLocalDataSource {
-        return UserLocalDataSource(context = context, uid = uid)
+        val userPrefs = UserPrefs(preferenceStores.get(UserPrefs.storeName(uid)))
+        return UserLocalDataSource(userPrefs).also { it.preload() }
     }
-}
\ No newline at end of file
+}
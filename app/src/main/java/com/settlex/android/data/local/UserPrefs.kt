@@ -1,42 +1,73 @@
 package com.settlex.android.data.local
 
-import android.content.Context
-import android.content.SharedPreferences
-import androidx.core.content.edit
+import androidx.datastore.preferences.core.booleanPreferencesKey
+import androidx.datastore.preferences.core.stringPreferencesKey
+import kotlinx.coroutines.flow.Flow
+import kotlinx.coroutines.flow.map
 
 /**
  * Manages user-specific preferences, such as biometrics settings and UI choices.
  *
- * This class provides an interface to read and write user preferences to `SharedPreferences`.
+ * This class provides an interface to read and write user preferences to a [PreferenceStore].
  * An instance of this class is scoped to a specific user, identified by their unique ID (UID),
  * ensuring that preferences are stored separately for each user.
  *
- * @property context The application context, used to access `SharedPreferences`.
- * @property uid The unique identifier for the user. This is appended to the preferences filename
- *           to create a user-specific storage.
+ * @property prefs The store for this user's file, named with [storeName].
  */
-class UserPrefs(context: Context, uid: String) {
-    private val prefs: SharedPreferences =
-        context.getSharedPreferences(PREFS_NAME + uid, Context.MODE_PRIVATE)
+class UserPrefs(private val prefs: PreferenceStore) {
 
     var isPayBiometricsEnabled: Boolean
-        get() = prefs.getBoolean(KEY_PAYMENT_BIOMETRIC_ENABLED, false)
-        set(enabled) = prefs.edit { putBoolean(KEY_PAYMENT_BIOMETRIC_ENABLED, enabled) }
-
+        get() = prefs[KEY_PAYMENT_BIOMETRIC_ENABLED] ?: false
+        set(enabled) {
+            prefs[KEY_PAYMENT_BIOMETRIC_ENABLED] = enabled
+        }
 
     var isLoginBiometricsEnabled: Boolean
-        get() = prefs.getBoolean(KEY_LOGIN_BIOMETRIC_ENABLED, false)
-        set(enabled) = prefs.edit { putBoolean(KEY_LOGIN_BIOMETRIC_ENABLED, enabled) }
+        get() = prefs[KEY_LOGIN_BIOMETRIC_ENABLED] ?: false
+        set(enabled) {
+            prefs[KEY_LOGIN_BIOMETRIC_ENABLED] = enabled
+        }
 
     var isBalanceHidden: Boolean
-        get() = prefs.getBoolean(KEY_HIDE_BALANCE, false)
-        set(hidden) = prefs.edit { putBoolean(KEY_HIDE_BALANCE, hidden) }
+        get() = prefs[KEY_HIDE_BALANCE] ?: false
+        set(hidden) {
+            prefs[KEY_HIDE_BALANCE] = hidden
+        }
+
+    /** [isBalanceHidden] once the file is loaded, then on every change. */
+    fun observeBalanceHidden(): Flow<Boolean> = prefs.observe(KEY_HIDE_BALANCE).map { it ?: false }
+
+    /** Serialised [RecipientIndex] state, owned by [RecipientIndexStore]. */
+    var recipientIndex: String?
+        get() = prefs[KEY_RECIPIENT_INDEX]
+        set(json) {
+            if (json == null) prefs.remove(KEY_RECIPIENT_INDEX) else prefs[KEY_RECIPIENT_INDEX] = json
+        }
+
+    /** Serialised transfers awaiting an outcome, owned by `PrefsPendingTransferStore`. */
+    var pendingTransfers: String?
+        get() = prefs[KEY_PENDING_TRANSFERS]
+        set(json) {
+            if (json == null) prefs.remove(KEY_PENDING_TRANSFERS) else prefs[KEY_PENDING_TRANSFERS] = json
+        }
 
+    fun preload() = prefs.preload()
+
+    suspend fun awaitLoaded() = prefs.awaitLoaded()
+
+    suspend fun flush() = prefs.flush()
 
     companion object {
         private const val PREFS_NAME = "user_prefs_"
-        private const val KEY_HIDE_BALANCE = "hide_balance"
-        private const val KEY_PAYMENT_BIOMETRIC_ENABLED = "payment_biometric_enabled"
-        private const val KEY_LOGIN_BIOMETRIC_ENABLED = "login_biometric_enabled"
+        private val KEY_HIDE_BALANCE = booleanPreferencesKey("hide_balance")
+        private val KEY_PAYMENT_BIOMETRIC_ENABLED = booleanPreferencesKey("payment_biometric_enabled")
+        private val KEY_LOGIN_BIOMETRIC_ENABLED = booleanPreferencesKey("login_biometric_enabled")
+        private val KEY_RECIPIENT_INDEX = stringPreferencesKey("recipient_index")
+        private val KEY_PENDING_TRANSFERS = stringPreferencesKey("pending_transfers")
+
+        /**
+         * The preference file name for [uid], matching the `SharedPreferences` file it migrates from.
+         */
+        fun storeName(uid: String): String = PREFS_NAME + uid
     }
 }
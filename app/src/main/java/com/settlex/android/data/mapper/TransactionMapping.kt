@@ -0,0 +1,37 @@
+package com.settlex.android.data.mapper
+
+import com.settlex.android.R
+import com.settlex.android.data.enums.TransactionOperation
+import com.settlex.android.data.enums.TransactionStatus
+import com.settlex.android.data.remote.dto.TransactionDto
+import com.settlex.android.presentation.common.extensions.addAtPrefix
+import com.settlex.android.presentation.common.extensions.toNairaString
+import com.settlex.android.presentation.transactions.model.TransactionUiModel
+
+fun TransactionDto.toTransactionUiModel(uid: String): TransactionUiModel {
+    val isSender = uid == senderUid
+
+    val operation = when (status) {
+        TransactionStatus.REVERSED -> if (isSender) TransactionOperation.CREDIT else TransactionOperation.DEBIT
+        else -> if (isSender) TransactionOperation.DEBIT else TransactionOperation.CREDIT
+    }
+
+    return TransactionUiModel(
+        transactionId = transactionId,
+        description = description,
+        senderId = sender.addAtPrefix(),
+        senderName = senderName.uppercase(),
+        recipientId = recipient.addAtPrefix(),
+        recipientName = recipientName.uppercase(),
+        recipientOrSenderName = if (isSender) recipientName.uppercase() else senderName.uppercase(),
+        serviceTypeName = if (isSender) serviceType.displayName else "Payment Received",
+        serviceTypeIcon = if (isSender) serviceType.iconRes else R.drawable.ic_service_payment_received,
+        operationSymbol = operation.symbol,
+        operationColor = operation.colorRes,
+        amount = amount.toNairaString(),
+        timestamp = createdAt,
+        status = status.displayName,
+        statusColor = status.colorRes,
+        statusBackgroundColor = status.bgColorRes
+    )
+}
\ No newline at end of file
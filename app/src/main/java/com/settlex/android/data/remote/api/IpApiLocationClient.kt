@@ -0,0 +1,40 @@
+package com.settlex.android.data.remote.api
+
+import jakarta.inject.Inject
+import kotlinx.coroutines.Dispatchers
+import kotlinx.coroutines.withContext
+import org.json.JSONObject
+import java.net.HttpURLConnection
+import java.net.URL
+
+/**
+ * [IpLocationApi] backed by the ipapi.co JSON endpoint.
+ */
+class IpApiLocationClient @Inject constructor() : IpLocationApi {
+
+    override suspend fun fetch(): IpLocation = withContext(Dispatchers.IO) {
+        val conn = URL(ENDPOINT).openConnection() as HttpURLConnection
+        conn.setRequestProperty("User-Agent", "Mozilla/5.0")
+        conn.connectTimeout = TIMEOUT_MS
+        conn.readTimeout = TIMEOUT_MS
+        conn.requestMethod = "GET"
+
+        try {
+            val json = JSONObject(conn.inputStream.bufferedReader().use { it.readText() })
+            IpLocation(
+                publicIp = json.optString("ip").orUnknown(),
+                city = json.optString("city").orUnknown(),
+                country = json.optString("country_name").orUnknown()
+            )
+        } finally {
+            conn.disconnect()
+        }
+    }
+
+    private fun String?.orUnknown(): String = if (isNullOrBlank()) IpLocation.UNKNOWN else this
+
+    companion object {
+        private const val ENDPOINT = "https://ipapi.co/json/"
+        private const val TIMEOUT_MS = 5000
+    }
+}
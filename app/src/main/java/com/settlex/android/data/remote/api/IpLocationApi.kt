@@ -0,0 +1,27 @@
+package com.settlex.android.data.remote.api
+
+/**
+ * Looks up the device's public IP address and its approximate location.
+ */
+interface IpLocationApi {
+    /**
+     * @throws Exception if the lookup fails.
+     */
+    suspend fun fetch(): IpLocation
+}
+
+/**
+ * Result of an [IpLocationApi] lookup. Fields the service did not return are `"unknown"`.
+ */
+data class IpLocation(
+    val publicIp: String,
+    val city: String,
+    val country: String
+) {
+    val isComplete: Boolean
+        get() = publicIp != UNKNOWN && city != UNKNOWN && country != UNKNOWN
+
+    companion object {
+        const val UNKNOWN = "unknown"
+    }
+}
@@ -0,0 +1,115 @@
+package com.settlex.android.data.remote.api
+
+import kotlinx.coroutines.CancellationException
+import kotlinx.coroutines.CoroutineScope
+import kotlinx.coroutines.Deferred
+import kotlinx.coroutines.async
+import kotlinx.coroutines.currentCoroutineContext
+import kotlinx.coroutines.ensureActive
+import kotlinx.coroutines.withTimeoutOrNull
+
+/**
+ * Caches the [IpLocation] of the current network for [ttlMs], fetching it when asked or when
+ * [prefetch]ed.
+ *
+ * Concurrent callers share one fetch. [invalidate] drops the cache when the network changes;
+ * nothing is fetched again until a caller needs it or prefetches it. A fetch dropped mid-flight
+ * is not an error for anyone waiting on it: they get the last known location, or `null`.
+ *
+ * @param clock Monotonic milliseconds, used only for expiry.
+ * @param onFetched Told the outcome of every fetch that was not cancelled, for logging.
+ */
+class IpLocationCache(
+    private val api: IpLocationApi,
+    private val isConnected: () -> Boolean,
+    private val scope: CoroutineScope,
+    private val ttlMs: Long,
+    private val clock: () -> Long,
+    private val onFetched: (Result<IpLocation>) -> Unit = {}
+) {
+    private class CachedLocation(val location: IpLocation, val fetchedAt: Long)
+
+    @Volatile
+    private var cached: CachedLocation? = null
+
+    // Guarded by this
+    private var refreshJob: Deferred<IpLocation?>? = null
+    private var generation = 0
+
+    /**
+     * The last known location, even if expired, without waiting. A stale or missing location
+     * starts a background fetch for the next caller.
+     */
+    fun current(): IpLocation? {
+        val cached = cached
+        if (cached == null || cached.isExpired()) refresh()
+        return cached?.location
+    }
+
+    /**
+     * Starts a background fetch if there is no fresh location, so a later caller need not wait.
+     */
+    fun prefetch() {
+        current()
+    }
+
+    /**
+     * A fresh location, waiting up to [maxWaitMs] for a fetch if there is none. Falls back to
+     * the last known location when the wait times out or the fetch is dropped.
+     */
+    suspend fun await(maxWaitMs: Long): IpLocation? {
+        cached?.takeUnless { it.isExpired() }?.let { return it.location }
+
+        val location = withTimeoutOrNull(maxWaitMs) {
+            val job = refresh() ?: return@withTimeoutOrNull null
+            try {
+                job.await()
+            } catch (e: CancellationException) {
+                // Rethrow if this caller was cancelled or timed out, not just the shared fetch
+                currentCoroutineContext().ensureActive()
+                null
+            }
+        }
+        return location ?: cached?.location
+    }
+
+    /**
+     * Drops the cached location and any fetch in flight. Call when the network changes.
+     */
+    fun invalidate() = synchronized(this) {
+        generation++
+        cached = null
+        refreshJob?.cancel()
+        refreshJob = null
+    }
+
+    /**
+     * Starts a fetch, or joins the one in flight. Returns `null` when offline.
+     */
+    private fun refresh(): Deferred<IpLocation?>? = synchronized(this) {
+        if (!isConnected()) return null
+        refreshJob?.takeIf { it.isActive }?.let { return it }
+
+        val fetchGeneration = generation
+        scope.async {
+            val result = try {
+                Result.success(api.fetch())
+            } catch (e: CancellationException) {
+                throw e
+            } catch (e: Exception) {
+                Result.failure(e)
+            }
+            onFetched(result)
+            result.getOrNull()?.also { storeIfCurrent(it, fetchGeneration) }
+        }.also { refreshJob = it }
+    }
+
+    // Drop results fetched on a network that has since been replaced
+    private fun storeIfCurrent(location: IpLocation, fetchGeneration: Int) = synchronized(this) {
+        if (fetchGeneration == generation) {
+            cached = CachedLocation(location, clock())
+        }
+    }
+
+    private fun CachedLocation.isExpired(): Boolean = clock() - fetchedAt > ttlMs
+}
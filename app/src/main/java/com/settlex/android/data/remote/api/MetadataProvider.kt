@@ -0,0 +1,95 @@
+package com.settlex.android.data.remote.api
+
+import android.os.Build
+import android.os.SystemClock
+import android.util.Log
+import com.settlex.android.data.remote.dto.MetadataDto
+import com.settlex.android.util.network.ConnectivityService
+import jakarta.inject.Inject
+import jakarta.inject.Singleton
+import kotlinx.coroutines.CoroutineScope
+import kotlinx.coroutines.delay
+import kotlinx.coroutines.flow.collectLatest
+import kotlinx.coroutines.flow.distinctUntilChanged
+import kotlinx.coroutines.flow.map
+import kotlinx.coroutines.launch
+
+/**
+ * Provides device and network metadata for API requests.
+ *
+ * Device fields are read once. The public IP and location come from [IpLocationCache] and are
+ * kept for [LOCATION_TTL_MS]. A network change drops the cache, because the public IP belongs
+ * to the network, not the device, and fetches it again once the network has settled. Flows that
+ * will need metadata can also [prefetch] it, so [get] rarely has to wait.
+ */
+@Singleton
+class MetadataProvider @Inject constructor(
+    ipLocationApi: IpLocationApi,
+    private val connectivity: ConnectivityService,
+    applicationScope: CoroutineScope
+) {
+    private val deviceBrand = Build.BRAND.orUnknown()
+    private val deviceModel = Build.MODEL.orUnknown()
+    private val osVersion = Build.VERSION.RELEASE.orUnknown()
+
+    private val locations = IpLocationCache(
+        api = ipLocationApi,
+        isConnected = { connectivity.isConnected },
+        scope = applicationScope,
+        ttlMs = LOCATION_TTL_MS,
+        clock = SystemClock::elapsedRealtime,
+        onFetched = { result ->
+            result
+                .onSuccess { if (!it.isComplete) Log.w(TAG, "Metadata failed to complete") }
+                .onFailure { Log.e(TAG, "Failed to fetch network metadata", it) }
+        }
+    )
+
+    init {
+        applicationScope.launch {
+            connectivity.state
+                .map { it.isConnected to it.transport }
+                .distinctUntilChanged()
+                .collectLatest { (isConnected, _) ->
+                    locations.invalidate()
+                    if (!isConnected) return@collectLatest
+                    // Networks often flap while switching; fetch once the new one has held
+                    delay(NETWORK_SETTLE_MS)
+                    locations.prefetch()
+                }
+        }
+    }
+
+    /**
+     * Fetches the location in the background if there is no fresh one.
+     */
+    fun prefetch() = locations.prefetch()
+
+    /**
+     * Metadata with the last known location, refreshed in the background once stale. Waits up
+     * to [MAX_WAIT_MS] only when no location has been fetched on this network yet, then falls
+     * back to device-only metadata.
+     */
+    suspend fun get(): MetadataDto =
+        buildMetadata(locations.current() ?: locations.await(MAX_WAIT_MS))
+
+    private fun buildMetadata(location: IpLocation?): MetadataDto = MetadataDto().apply {
+        deviceBrand = this@MetadataProvider.deviceBrand
+        deviceModel = this@MetadataProvider.deviceModel
+        osName = "Android"
+        osVersion = this@MetadataProvider.osVersion
+        publicIp = location?.publicIp ?: IpLocation.UNKNOWN
+        city = location?.city ?: IpLocation.UNKNOWN
+        country = location?.country ?: IpLocation.UNKNOWN
+        isComplete = location?.isComplete == true
+    }
+
+    private fun String?.orUnknown(): String = if (isNullOrBlank()) IpLocation.UNKNOWN else this
+
+    companion object {
+        private val TAG = MetadataProvider::class.java.simpleName
+        private const val LOCATION_TTL_MS = 15 * 60 * 1000L
+        private const val MAX_WAIT_MS = 1_500L
+        private const val NETWORK_SETTLE_MS = 2_000L
+    }
+}
@@ -0,0 +1,102 @@
+package com.settlex.android.data.remote.config
+
+import com.google.gson.Gson
+import com.google.gson.reflect.TypeToken
+import com.settlex.android.data.enums.ServiceType
+import com.settlex.android.presentation.dashboard.home.model.PromoBannerUiModel
+
+/**
+ * Raw Remote Config values, as fetched or as cached. `null` means the value is absent.
+ */
+data class RemoteConfigValues(
+    val bannersJson: String?,
+    val serviceOrderJson: String?,
+    val cashbackJson: String?
+)
+
+/**
+ * A parsed snapshot along with the raw values it was built from.
+ *
+ * @property accepted The raw values that parsed, with `null` for each field that fell back.
+ * Only these are worth caching.
+ */
+data class ParsedRemoteConfig(
+    val snapshot: RemoteConfigSnapshot,
+    val accepted: RemoteConfigValues
+)
+
+/**
+ * Parses raw Remote Config JSON into a [RemoteConfigSnapshot].
+ *
+ * Each field is parsed on its own. A blank or malformed value keeps that field from the
+ * fallback snapshot, so one bad remote value can't wipe fields that were fine before.
+ */
+class RemoteConfigParser(
+    private val gson: Gson,
+    private val onError: (field: String, Throwable) -> Unit = { _, _ -> }
+) {
+
+    fun parse(
+        values: RemoteConfigValues,
+        fallback: RemoteConfigSnapshot,
+        activatedAt: Long
+    ): ParsedRemoteConfig {
+        val banners = parseBanners(values.bannersJson)
+        val serviceOrder = parseServiceOrder(values.serviceOrderJson)
+        val cashback = parseCashback(values.cashbackJson)
+
+        return ParsedRemoteConfig(
+            snapshot = RemoteConfigSnapshot(
+                promotionalBanners = banners ?: fallback.promotionalBanners,
+                serviceOrder = serviceOrder ?: fallback.serviceOrder,
+                cashbackPercentages = cashback ?: fallback.cashbackPercentages,
+                activatedAt = activatedAt
+            ),
+            accepted = RemoteConfigValues(
+                bannersJson = values.bannersJson.takeIf { banners != null },
+                serviceOrderJson = values.serviceOrderJson.takeIf { serviceOrder != null },
+                cashbackJson = values.cashbackJson.takeIf { cashback != null }
+            )
+        )
+    }
+
+    private fun parseBanners(json: String?): List<PromoBannerUiModel>? {
+        if (json.isNullOrBlank()) return null
+        return runCatching {
+            val listType = object : TypeToken<List<PromoBannerUiModel>>() {}.type
+            gson.fromJson<List<PromoBannerUiModel>>(json, listType).orEmpty()
+        }.onFailure { onError("promotional banners", it) }.getOrNull()
+    }
+
+    /**
+     * Remote order is a JSON array of [ServiceType] names. Unknown names are ignored and any
+     * service not listed is appended in its declaration order, so the list is always complete.
+     */
+    private fun parseServiceOrder(json: String?): List<ServiceType>? {
+        if (json.isNullOrBlank()) return null
+        return runCatching {
+            val listType = object : TypeToken<List<String>>() {}.type
+            val names = gson.fromJson<List<String>>(json, listType).orEmpty()
+
+            val ordered = LinkedHashSet<ServiceType>()
+            names.mapNotNullTo(ordered) { name -> ServiceType.entries.find { it.name == name } }
+            ordered.addAll(ServiceType.entries)
+            ordered.toList()
+        }.onFailure { onError("service order", it) }.getOrNull()
+    }
+
+    /**
+     * Remote cashback is a JSON object of [ServiceType] name to percentage.
+     */
+    private fun parseCashback(json: String?): Map<ServiceType, Int>? {
+        if (json.isNullOrBlank()) return null
+        return runCatching {
+            val mapType = object : TypeToken<Map<String, Int>>() {}.type
+            val remote = gson.fromJson<Map<String, Int>>(json, mapType).orEmpty()
+
+            ServiceType.entries.associateWith { serviceType ->
+                remote[serviceType.name] ?: serviceType.cashbackPercentage
+            }
+        }.onFailure { onError("service cashback", it) }.getOrNull()
+    }
+}
@@ -0,0 +1,36 @@
+package com.settlex.android.data.remote.config
+
+import com.settlex.android.data.enums.ServiceType
+import com.settlex.android.presentation.dashboard.home.model.PromoBannerUiModel
+
+/**
+ * Immutable, fully parsed view of the activated Remote Config values.
+ *
+ * A new instance is built once per activation and then shared by every reader,
+ * so callers never touch JSON on the hot path.
+ *
+ * @property promotionalBanners Banners shown on the home dashboard.
+ * @property serviceOrder Display order of services; entries missing remotely keep their enum order.
+ * @property cashbackPercentages Cashback percentage per service, defaulting to [ServiceType.cashbackPercentage].
+ * @property activatedAt Epoch millis of the activation this snapshot was built from, `0` if never activated.
+ */
+data class RemoteConfigSnapshot(
+    val promotionalBanners: List<PromoBannerUiModel>,
+    val serviceOrder: List<ServiceType>,
+    val cashbackPercentages: Map<ServiceType, Int>,
+    val activatedAt: Long
+) {
+
+    fun cashbackFor(serviceType: ServiceType): Int {
+        return cashbackPercentages[serviceType] ?: serviceType.cashbackPercentage
+    }
+
+    companion object {
+        val DEFAULT = RemoteConfigSnapshot(
+            promotionalBanners = emptyList(),
+            serviceOrder = ServiceType.entries.toList(),
+            cashbackPercentages = ServiceType.entries.associateWith { it.cashbackPercentage },
+            activatedAt = 0L
+        )
+    }
+}
@@ -0,0 +1,145 @@
+package com.settlex.android.data.remote.config
+
+import android.util.Log
+import androidx.datastore.preferences.core.longPreferencesKey
+import androidx.datastore.preferences.core.stringPreferencesKey
+import com.google.firebase.remoteconfig.FirebaseRemoteConfig
+import com.google.firebase.remoteconfig.FirebaseRemoteConfigSettings
+import com.google.gson.GsonBuilder
+import com.settlex.android.data.local.PreferenceStore
+import com.settlex.android.di.AppPrefs
+import jakarta.inject.Inject
+import jakarta.inject.Singleton
+import kotlinx.coroutines.flow.MutableStateFlow
+import kotlinx.coroutines.flow.StateFlow
+import kotlinx.coroutines.flow.asStateFlow
+import kotlinx.coroutines.tasks.await
+
+/**
+ * Typed, read-optimised access to Firebase Remote Config.
+ *
+ * Raw values are parsed exactly once per activation into an immutable [RemoteConfigSnapshot].
+ * Readers go through [current], which is a single volatile read with no locking or parsing.
+ * Subscribers that need to react to new activations collect [snapshots].
+ *
+ * The last raw values that parsed are persisted in app prefs so a cold start can
+ * rebuild the snapshot without waiting for the network. App prefs are preloaded at startup,
+ * so this read is served from memory.
+ */
+@Singleton
+class RemoteConfigStore @Inject constructor(
+    private val remoteConfig: FirebaseRemoteConfig,
+    @param:AppPrefs private val appPrefs: PreferenceStore
+) {
+    private val parser by lazy {
+        RemoteConfigParser(GsonBuilder().create()) { field, throwable ->
+            Log.e(TAG, "Failed to parse $field", throwable)
+        }
+    }
+
+    @Volatile
+    private var snapshot: RemoteConfigSnapshot = RemoteConfigSnapshot.DEFAULT
+
+    private val _snapshots = MutableStateFlow(snapshot)
+    val snapshots: StateFlow<RemoteConfigSnapshot> = _snapshots.asStateFlow()
+
+    /**
+     * The latest activated snapshot. Safe to call from any thread, including per-frame UI code.
+     */
+    val current: RemoteConfigSnapshot
+        get() = snapshot
+
+    init {
+        setFirebaseRemoteSettings()
+        publish(restoreFromCache())
+    }
+
+    /**
+     * Fetches and activates Remote Config, then swaps in a freshly parsed snapshot.
+     *
+     * `fetchAndActivate` reports `false` when the fetched values were already active; the
+     * activated values are still the latest ones, so the snapshot is rebuilt either way.
+     *
+     * A value that is blank or fails to parse keeps the matching field of the current snapshot
+     * and is not cached, so the last good value also survives a cold start.
+     *
+     * @throws Exception if the fetch fails; the current snapshot is left untouched.
+     */
+    suspend fun fetchAndActivate(): RemoteConfigSnapshot {
+        remoteConfig.fetchAndActivate().await()
+
+        val values = RemoteConfigValues(
+            bannersJson = remoteConfig.getString(KEY_PROMOTIONAL_BANNERS),
+            serviceOrderJson = remoteConfig.getString(KEY_SERVICE_ORDER),
+            cashbackJson = remoteConfig.getString(KEY_SERVICE_CASHBACK)
+        )
+        val activatedAt = System.currentTimeMillis()
+
+        val parsed = parser.parse(values, fallback = snapshot, activatedAt = activatedAt)
+        persist(parsed.accepted, activatedAt)
+        publish(parsed.snapshot)
+
+        Log.d(TAG, "Activated snapshot with ${parsed.snapshot.promotionalBanners.size} banners")
+        return parsed.snapshot
+    }
+
+    /**
+     * Whether the current snapshot is older than [maxAgeMs] or has never been activated.
+     */
+    fun isStale(maxAgeMs: Long): Boolean {
+        val activatedAt = snapshot.activatedAt
+        return activatedAt == 0L || System.currentTimeMillis() - activatedAt > maxAgeMs
+    }
+
+    private fun publish(newSnapshot: RemoteConfigSnapshot) {
+        snapshot = newSnapshot
+        _snapshots.value = newSnapshot
+    }
+
+    private fun restoreFromCache(): RemoteConfigSnapshot {
+        val values = RemoteConfigValues(
+            bannersJson = appPrefs[CACHE_KEY_BANNERS],
+            serviceOrderJson = appPrefs[CACHE_KEY_SERVICE_ORDER],
+            cashbackJson = appPrefs[CACHE_KEY_SERVICE_CASHBACK]
+        )
+        return parser.parse(
+            values,
+            fallback = RemoteConfigSnapshot.DEFAULT,
+            activatedAt = appPrefs[CACHE_KEY_TIMESTAMP] ?: 0L
+        ).snapshot
+    }
+
+    /**
+     * Caches only the values that parsed; the others keep their previously cached value.
+     */
+    private fun persist(accepted: RemoteConfigValues, activatedAt: Long) {
+        appPrefs.edit { prefs ->
+            accepted.bannersJson?.let { prefs[CACHE_KEY_BANNERS] = it }
+            accepted.serviceOrderJson?.let { prefs[CACHE_KEY_SERVICE_ORDER] = it }
+            accepted.cashbackJson?.let { prefs[CACHE_KEY_SERVICE_CASHBACK] = it }
+            prefs[CACHE_KEY_TIMESTAMP] = activatedAt
+        }
+    }
+
+    private fun setFirebaseRemoteSettings() {
+        val settings = FirebaseRemoteConfigSettings.Builder()
+            .setMinimumFetchIntervalInSeconds((12 * 60 * 60).toLong()) // 12 hours
+            .build()
+        remoteConfig.setConfigSettingsAsync(settings)
+    }
+
+    companion object {
+        private val TAG = RemoteConfigStore::class.java.simpleName
+
+        // Remote Config keys
+        private const val KEY_PROMOTIONAL_BANNERS = "promotional_banners"
+        private const val KEY_SERVICE_ORDER = "service_order"
+        private const val KEY_SERVICE_CASHBACK = "service_cashback"
+
+        // Cache keys, banner keys are shared with the previous banner-only cache
+        private val CACHE_KEY_BANNERS = stringPreferencesKey("cached_promotional_banners")
+        private val CACHE_KEY_TIMESTAMP = longPreferencesKey("cached_promotional_banners_timestamp")
+        private val CACHE_KEY_SERVICE_ORDER = stringPreferencesKey("cached_service_order")
+        private val CACHE_KEY_SERVICE_CASHBACK = stringPreferencesKey("cached_service_cashback")
+    }
+}
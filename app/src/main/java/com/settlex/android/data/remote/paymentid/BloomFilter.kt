@@ -0,0 +1,105 @@
+package com.settlex.android.data.remote.paymentid
+
+import java.util.Base64
+import kotlin.math.ceil
+import kotlin.math.ln
+import kotlin.math.roundToInt
+
+/**
+ * A fixed-size Bloom filter of strings.
+ *
+ * [mightContain] never misses an added value, but may report a value that was never added at
+ * roughly the false-positive rate the filter was sized for, until it holds more than its
+ * expected number of values.
+ *
+ * Thread-safe. [encode] and [decode] round-trip the filter for persistence.
+ */
+class BloomFilter private constructor(
+    private val bits: LongArray,
+    private val bitCount: Int,
+    private val hashCount: Int
+) {
+    private val lock = Any()
+
+    fun add(value: String) = synchronized(lock) {
+        forEachIndex(value) { bits[it ushr 6] = bits[it ushr 6] or (1L shl (it and 63)) }
+    }
+
+    fun mightContain(value: String): Boolean = synchronized(lock) {
+        forEachIndex(value) { if (bits[it ushr 6] and (1L shl (it and 63)) == 0L) return false }
+        true
+    }
+
+    /**
+     * Roughly how many distinct values have been added, estimated from the share of bits set.
+     * Unlike a running count, this survives [encode] and [decode].
+     */
+    fun approximateSize(): Int = synchronized(lock) {
+        val setBits = bits.sumOf { java.lang.Long.bitCount(it) }
+        if (setBits >= bitCount) return Int.MAX_VALUE
+        (-bitCount.toDouble() / hashCount * ln(1 - setBits.toDouble() / bitCount)).roundToInt()
+    }
+
+    /**
+     * The filter as `"<bitCount>:<hashCount>:<base64 bits>"`.
+     */
+    fun encode(): String = synchronized(lock) {
+        val bytes = ByteArray(bits.size * 8)
+        bits.forEachIndexed { i, word ->
+            for (b in 0 until 8) bytes[i * 8 + b] = (word ushr (b * 8)).toByte()
+        }
+        "$bitCount:$hashCount:${Base64.getEncoder().encodeToString(bytes)}"
+    }
+
+    // Kirsch–Mitzenmacher double hashing: index i = h1 + i * h2
+    private inline fun forEachIndex(value: String, action: (Int) -> Unit) {
+        val hash = fnv1a64(value)
+        val h1 = hash.toInt()
+        val h2 = (hash ushr 32).toInt()
+        for (i in 0 until hashCount) {
+            action(((h1 + i * h2) and Int.MAX_VALUE) % bitCount)
+        }
+    }
+
+    private fun fnv1a64(value: String): Long {
+        var hash = -0x340d631b7bdddcdbL
+        for (byte in value.toByteArray(Charsets.UTF_8)) {
+            hash = (hash xor (byte.toLong() and 0xff)) * 0x100000001b3L
+        }
+        return hash
+    }
+
+    companion object {
+        /**
+         * An empty filter sized to hold [expectedValues] at [falsePositiveRate].
+         */
+        fun create(expectedValues: Int, falsePositiveRate: Double): BloomFilter {
+            require(expectedValues > 0) { "expectedValues must be positive" }
+            require(falsePositiveRate > 0 && falsePositiveRate < 1) { "falsePositiveRate must be in (0, 1)" }
+
+            val bitCount = ceil(-expectedValues * ln(falsePositiveRate) / (ln(2.0) * ln(2.0))).toInt()
+            val hashCount = (bitCount.toDouble() / expectedValues * ln(2.0)).roundToInt().coerceAtLeast(1)
+            return BloomFilter(LongArray((bitCount + 63) / 64), bitCount, hashCount)
+        }
+
+        /**
+         * Restores a filter from [encode], or returns `null` if [encoded] is malformed.
+         */
+        fun decode(encoded: String): BloomFilter? {
+            val parts = encoded.split(':', limit = 3)
+            if (parts.size != 3) return null
+
+            val bitCount = parts[0].toIntOrNull() ?: return null
+            val hashCount = parts[1].toIntOrNull() ?: return null
+            val bytes = runCatching { Base64.getDecoder().decode(parts[2]) }.getOrNull() ?: return null
+            if (bitCount <= 0 || hashCount <= 0 || bytes.size != (bitCount + 63) / 64 * 8) return null
+
+            val bits = LongArray(bytes.size / 8) { i ->
+                var word = 0L
+                for (b in 0 until 8) word = word or ((bytes[i * 8 + b].toLong() and 0xff) shl (b * 8))
+                word
+            }
+            return BloomFilter(bits, bitCount, hashCount)
+        }
+    }
+}
@@ -0,0 +1,99 @@
+package com.settlex.android.data.remote.paymentid
+
+/**
+ * What the app already knows about which payment IDs are taken.
+ *
+ * IDs confirmed taken are kept exactly for the session, up to [maxConfirmedTaken], and also go
+ * into a Bloom filter that outlives it, since a payment ID is never released. A filter hit may
+ * be a false positive, so it only makes an ID [mightBeTaken]; it is never an answer on its own.
+ * Once the filter holds more than [maxTakenIds], its false-positive rate climbs past what it was
+ * sized for, so it is replaced with an empty one. Available IDs are only trusted for
+ * [availableTtlMs], as anyone may claim them in the meantime.
+ *
+ * Thread-safe.
+ *
+ * @param restoredTakenIds A filter from [encodeTakenIds], or `null` to start empty.
+ */
+class PaymentIdAvailabilityCache(
+    restoredTakenIds: BloomFilter? = null,
+    private val maxTakenIds: Int = DEFAULT_MAX_TAKEN_IDS,
+    private val falsePositiveRate: Double = DEFAULT_FALSE_POSITIVE_RATE,
+    private val maxConfirmedTaken: Int = DEFAULT_MAX_CONFIRMED_TAKEN,
+    private val availableTtlMs: Long = DEFAULT_AVAILABLE_TTL_MS,
+    private val maxAvailableEntries: Int = DEFAULT_MAX_AVAILABLE_ENTRIES,
+    private val clock: () -> Long = System::currentTimeMillis
+) {
+    private val lock = Any()
+
+    // Guarded by lock
+    private var takenIds = restoredTakenIds?.takeIf { it.approximateSize() <= maxTakenIds } ?: newTakenIds()
+    private var takenIdCount = takenIds.approximateSize()
+
+    // Insertion-ordered, so the oldest entry is evicted first
+    private val confirmedTaken = LinkedHashSet<String>()
+    private val checkedAvailableAt = LinkedHashMap<String, Long>()
+
+    /**
+     * Whether [id] is known to be taken or available, or `null` when only a read can tell.
+     */
+    fun lookup(id: String): Boolean? = synchronized(lock) {
+        if (id in confirmedTaken) return true
+
+        val checkedAt = checkedAvailableAt[id] ?: return null
+        if (clock() - checkedAt > availableTtlMs) {
+            checkedAvailableAt.remove(id)
+            return null
+        }
+        false
+    }
+
+    /**
+     * Whether [id] was seen taken before, possibly in an earlier session. May be a false
+     * positive: confirm with a read before telling the user.
+     */
+    fun mightBeTaken(id: String): Boolean = synchronized(lock) {
+        id in confirmedTaken || takenIds.mightContain(id)
+    }
+
+    fun recordTaken(id: String) = synchronized(lock) {
+        checkedAvailableAt.remove(id)
+        confirmedTaken.remove(id)
+        confirmedTaken.add(id)
+        if (confirmedTaken.size > maxConfirmedTaken) {
+            confirmedTaken.remove(confirmedTaken.first())
+        }
+
+        // Count distinct IDs only; the same recipient is looked up again and again
+        if (takenIds.mightContain(id)) return@synchronized
+        if (++takenIdCount > maxTakenIds) {
+            takenIds = newTakenIds()
+            takenIdCount = 1
+        }
+        takenIds.add(id)
+    }
+
+    fun recordAvailable(id: String) = synchronized(lock) {
+        checkedAvailableAt.remove(id)
+        checkedAvailableAt[id] = clock()
+        if (checkedAvailableAt.size > maxAvailableEntries) {
+            checkedAvailableAt.remove(checkedAvailableAt.keys.first())
+        }
+    }
+
+    /**
+     * The taken-ID filter, for [BloomFilter.decode] and the `restoredTakenIds` of a later cache.
+     */
+    fun encodeTakenIds(): String = synchronized(lock) { takenIds.encode() }
+
+    private fun newTakenIds() = BloomFilter.create(maxTakenIds, falsePositiveRate)
+
+    companion object {
+        private const val DEFAULT_MAX_TAKEN_IDS = 2_000
+        private const val DEFAULT_MAX_CONFIRMED_TAKEN = 256
+        private const val DEFAULT_AVAILABLE_TTL_MS = 30 * 1000L
+        private const val DEFAULT_MAX_AVAILABLE_ENTRIES = 64
+
+        // A false positive skips a free suggestion, so keep it rare
+        private const val DEFAULT_FALSE_POSITIVE_RATE = 0.001
+    }
+}
@@ -0,0 +1,99 @@
+package com.settlex.android.data.remote.paymentid
+
+import com.google.firebase.firestore.FirebaseFirestore
+import com.settlex.android.data.local.AppPrefs
+import jakarta.inject.Inject
+import jakarta.inject.Singleton
+import kotlinx.coroutines.CancellationException
+import kotlinx.coroutines.CoroutineScope
+import kotlinx.coroutines.CoroutineStart
+import kotlinx.coroutines.Deferred
+import kotlinx.coroutines.async
+import kotlinx.coroutines.awaitAll
+import kotlinx.coroutines.coroutineScope
+import kotlinx.coroutines.tasks.await
+import java.util.concurrent.ConcurrentHashMap
+
+/**
+ * Thrown when claiming a payment ID that someone else already holds.
+ */
+class PaymentIdTakenException(val paymentId: String) : Exception("Payment ID is already taken")
+
+/**
+ * Answers whether a payment ID is taken, reading `payment_ids/{id}` only when the local
+ * [PaymentIdAvailabilityCache] can't.
+ *
+ * Concurrent checks of the same ID share one read. Reads run in the application scope, so a
+ * check abandoned for a newer keystroke still caches its answer for when the user types back.
+ * IDs learnt to be taken elsewhere (recipient lookups, a lost claim) are fed in through
+ * [recordTaken], and the taken-ID filter is persisted across launches. The filter only feeds
+ * [mightBeTaken]; [peek] and [isTaken] never answer from it.
+ */
+@Singleton
+class PaymentIdAvailabilityService @Inject constructor(
+    private val db: FirebaseFirestore,
+    private val appPrefs: AppPrefs,
+    private val applicationScope: CoroutineScope
+) {
+    private val cache = PaymentIdAvailabilityCache(
+        restoredTakenIds = appPrefs.takenPaymentIds?.let { BloomFilter.decode(it) }
+    )
+    private val inFlight = ConcurrentHashMap<String, Deferred<Boolean>>()
+
+    /**
+     * The answer already known for [id], without a read.
+     */
+    fun peek(id: String): Boolean? = cache.lookup(id)
+
+    /**
+     * Whether [id] was probably seen taken before, without a read. Good enough to skip a
+     * suggestion, not to tell the user an ID is taken.
+     */
+    fun mightBeTaken(id: String): Boolean = cache.mightBeTaken(id)
+
+    suspend fun isTaken(id: String): Boolean {
+        cache.lookup(id)?.let { return it }
+
+        // Started only once it is in the map, so its cleanup can't run before it is added
+        val read = inFlight.computeIfAbsent(id) {
+            applicationScope.async(start = CoroutineStart.LAZY) {
+                try {
+                    val taken = db.collection("payment_ids").document(id).get().await().exists()
+                    if (taken) recordTaken(id) else cache.recordAvailable(id)
+                    taken
+                } finally {
+                    inFlight.remove(id)
+                }
+            }
+        }
+        read.start()
+        return read.await()
+    }
+
+    /**
+     * Checks [ids] in one round of concurrent reads; IDs known locally are not read.
+     *
+     * @return Whether each ID is taken. IDs whose read failed are left out.
+     */
+    suspend fun checkAll(ids: Collection<String>): Map<String, Boolean> = coroutineScope {
+        ids.distinct().map { id ->
+            async {
+                try {
+                    id to isTaken(id)
+                } catch (e: CancellationException) {
+                    throw e
+                } catch (e: Exception) {
+                    null
+                }
+            }
+        }.awaitAll().filterNotNull().toMap()
+    }
+
+    fun recordTaken(id: String) = recordTaken(listOf(id))
+
+    fun recordTaken(ids: Collection<String>) {
+        if (ids.isEmpty()) return
+        ids.forEach { cache.recordTaken(it) }
+        appPrefs.takenPaymentIds = cache.encodeTakenIds()
+    }
+}
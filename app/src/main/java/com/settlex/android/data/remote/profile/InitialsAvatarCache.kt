@@ -0,0 +1,84 @@
+package com.settlex.android.data.remote.profile
+
+import android.content.ComponentCallbacks2
+import android.content.Context
+import android.graphics.Bitmap
+import android.graphics.Canvas
+import android.graphics.Paint
+import android.graphics.Typeface
+import android.graphics.drawable.BitmapDrawable
+import android.graphics.drawable.Drawable
+import android.util.LruCache
+import androidx.core.content.ContextCompat
+import androidx.core.graphics.createBitmap
+import com.settlex.android.R
+
+/**
+ * Renders and caches circular initials avatars, used when a user has no profile photo
+ * and as the placeholder while a photo loads.
+ *
+ * Each (initials, size, colours) combination is drawn once and its bitmap is shared by
+ * every view that shows it.
+ */
+internal object InitialsAvatarCache {
+    private const val MAX_CACHE_BYTES = 2 * 1024 * 1024
+    private const val DEFAULT_SIZE_PX = 128
+    private const val TEXT_SIZE_RATIO = 0.4f
+
+    private val cache = object : LruCache<String, Bitmap>(MAX_CACHE_BYTES) {
+        override fun sizeOf(key: String, value: Bitmap): Int = value.byteCount
+    }
+
+    fun get(context: Context, displayName: String, sizePx: Int): Drawable? {
+        val initials = initialsOf(displayName) ?: return null
+        val size = if (sizePx > 0) sizePx else DEFAULT_SIZE_PX
+        val background = ContextCompat.getColor(context, R.color.colorPrimaryContainer)
+        val foreground = ContextCompat.getColor(context, R.color.colorOnPrimaryContainer)
+
+        val key = "$initials|$size|$background|$foreground"
+        val bitmap = cache.get(key)
+            ?: render(initials, size, background, foreground).also { cache.put(key, it) }
+
+        return BitmapDrawable(context.resources, bitmap)
+    }
+
+    fun onTrimMemory(level: Int) {
+        when {
+            level >= ComponentCallbacks2.TRIM_MEMORY_BACKGROUND -> cache.evictAll()
+            level >= ComponentCallbacks2.TRIM_MEMORY_UI_HIDDEN -> cache.trimToSize(cache.maxSize() / 2)
+        }
+    }
+
+    /**
+     * First letter of the first two words, e.g. "Adaeze Okafor" -> "AO".
+     */
+    fun initialsOf(displayName: String): String? {
+        val initials = displayName.trim()
+            .split(' ')
+            .filter { it.isNotEmpty() }
+            .take(2)
+            .joinToString("") { it.first().uppercase() }
+        return initials.ifEmpty { null }
+    }
+
+    private fun render(initials: String, size: Int, background: Int, foreground: Int): Bitmap {
+        val bitmap = createBitmap(size, size)
+        val canvas = Canvas(bitmap)
+        val radius = size / 2f
+
+        val circlePaint = Paint(Paint.ANTI_ALIAS_FLAG).apply { color = background }
+        canvas.drawCircle(radius, radius, radius, circlePaint)
+
+        val textPaint = Paint(Paint.ANTI_ALIAS_FLAG).apply {
+            color = foreground
+            textSize = size * TEXT_SIZE_RATIO
+            textAlign = Paint.Align.CENTER
+            typeface = Typeface.DEFAULT_BOLD
+        }
+        // Centre the text vertically on its ascent/descent, not its baseline
+        val baseline = radius - (textPaint.descent() + textPaint.ascent()) / 2
+        canvas.drawText(initials, radius, baseline, textPaint)
+
+        return bitmap
+    }
+}
@@ -1,28 +1,105 @@
 package com.settlex.android.data.remote.profile
 
+import android.content.Context
+import android.graphics.drawable.Drawable
 import android.widget.ImageView
+import androidx.core.content.ContextCompat
 import com.bumptech.glide.Glide
-import com.bumptech.glide.load.engine.DiskCacheStrategy
+import com.bumptech.glide.load.DataSource
+import com.bumptech.glide.load.engine.GlideException
 import com.bumptech.glide.load.resource.drawable.DrawableTransitionOptions
+import com.bumptech.glide.request.RequestListener
+import com.bumptech.glide.request.target.Target
 import com.settlex.android.R
-import com.settlex.android.SettleXApp
+import com.settlex.android.util.image.ImageRequestOptions
 
 /**
  * A singleton object responsible for loading and displaying user profile pictures.
- * This service utilizes the Glide library to efficiently load images from a URL
- * into an ImageView, providing caching, error handling, and transition effects.
+ *
+ * Requests are bound to the lifecycle of the screen that owns the target view, so they are
+ * paused and cancelled with it. Photos are decoded at the view's size, rounded up to a shared
+ * size step, so the same photo shown at similar sizes on different screens shares one decoded
+ * bitmap in Glide's memory cache. When there is no photo, or while it loads, an initials
+ * avatar is shown if a name is given.
  */
 object ProfileService {
 
+    private const val SIZE_STEP_PX = 64
+
     @JvmStatic
-    fun loadProfilePhoto(profilePhotoUrl: String?, target: ImageView) {
-        if (profilePhotoUrl == null) return
-        Glide.with(SettleXApp.appContext)
+    @JvmOverloads
+    fun loadProfilePhoto(profilePhotoUrl: String?, target: ImageView, displayName: String? = null) {
+        val sizePx = targetSize(target)
+        val placeholder = displayName?.let { InitialsAvatarCache.get(target.context, it, sizePx) }
+            ?: ContextCompat.getDrawable(target.context, R.drawable.ic_no_profile_photo)
+
+        val requestManager = Glide.with(target)
+
+        if (profilePhotoUrl.isNullOrBlank()) {
+            // Cancel any load still pending for a previous (e.g. recycled) binding
+            requestManager.clear(target)
+            target.setImageDrawable(placeholder)
+            return
+        }
+
+        requestManager
             .load(profilePhotoUrl)
-            .centerCrop()
-            .error(R.drawable.ic_no_profile_photo)
-            .diskCacheStrategy(DiskCacheStrategy.ALL)
+            .let { request -> if (sizePx > 0) request.override(sizePx) else request }
+            .apply(ImageRequestOptions.avatar)
+            .placeholder(placeholder)
+            .error(placeholder)
             .transition(DrawableTransitionOptions.withCrossFade(100))
             .into(target)
     }
-}
\ No newline at end of file
+
+    /**
+     * Decodes [profilePhotoUrl] into Glide's memory cache at the size a [sizePx] view will
+     * request, so a later [loadProfilePhoto] into that view is served without decoding.
+     * [onReady] is called once the bitmap is in the cache.
+     */
+    fun preloadProfilePhoto(
+        context: Context,
+        profilePhotoUrl: String,
+        sizePx: Int,
+        onReady: () -> Unit = {}
+    ) {
+        Glide.with(context.applicationContext)
+            .load(profilePhotoUrl)
+            .override(roundToStep(sizePx))
+            .apply(ImageRequestOptions.avatar)
+            .listener(object : RequestListener<Drawable> {
+                override fun onResourceReady(
+                    resource: Drawable,
+                    model: Any,
+                    target: Target<Drawable>?,
+                    dataSource: DataSource,
+                    isFirstResource: Boolean
+                ): Boolean {
+                    onReady()
+                    return false
+                }
+
+                override fun onLoadFailed(
+                    e: GlideException?,
+                    model: Any?,
+                    target: Target<Drawable>,
+                    isFirstResource: Boolean
+                ): Boolean = false
+            })
+            .preload()
+    }
+
+    /**
+     * The view's fixed size, or its laid-out size, rounded up to [SIZE_STEP_PX].
+     * Returns 0 when neither is known yet, leaving Glide to wait for layout.
+     */
+    private fun targetSize(target: ImageView): Int {
+        val params = target.layoutParams
+        val fixed = if (params != null) maxOf(params.width, params.height) else 0
+        val size = if (fixed > 0) fixed else maxOf(target.width, target.height)
+        if (size <= 0) return 0
+        return roundToStep(size)
+    }
+
+    private fun roundToStep(size: Int): Int = (size + SIZE_STEP_PX - 1) / SIZE_STEP_PX * SIZE_STEP_PX
+}
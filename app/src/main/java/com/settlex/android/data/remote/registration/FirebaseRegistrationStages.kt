@@ -0,0 +1,80 @@
+package com.settlex.android.data.remote.registration
+
+import com.google.firebase.auth.FirebaseAuth
+import com.google.firebase.auth.FirebaseUser
+import com.google.firebase.auth.UserProfileChangeRequest
+import com.google.firebase.firestore.FirebaseFirestore
+import com.google.firebase.functions.FirebaseFunctions
+import com.google.firebase.messaging.FirebaseMessaging
+import com.google.gson.Gson
+import com.google.gson.GsonBuilder
+import com.settlex.android.domain.model.UserModel
+import jakarta.inject.Inject
+import jakarta.inject.Singleton
+import kotlinx.coroutines.tasks.await
+
+/**
+ * [RegistrationStages] backed by Firebase Auth, the profile Cloud Functions and Firestore.
+ */
+@Singleton
+class FirebaseRegistrationStages @Inject constructor(
+    private val auth: FirebaseAuth,
+    private val functions: FirebaseFunctions,
+    private val firestore: FirebaseFirestore,
+    private val firebaseMessaging: FirebaseMessaging
+) : RegistrationStages {
+    private val gson: Gson by lazy { GsonBuilder().create() }
+
+    override suspend fun createAccount(email: String, password: String): String {
+        val authResult = auth.createUserWithEmailAndPassword(email, password).await()
+        return authResult.user!!.uid
+    }
+
+    override suspend fun deleteAccount(uid: String) {
+        requireUser(uid).delete().await()
+    }
+
+    override suspend fun createProfile(user: UserModel) {
+        val data = mapOf("user" to gson.toJson(user))
+        functions.getHttpsCallable("api-createUserProfile").call(data).await()
+    }
+
+    /**
+     * The backend removes the profile it created, along with anything it derived from it. Must
+     * run while [uid] is still signed in, i.e. before [deleteAccount].
+     */
+    override suspend fun deleteProfile(uid: String) {
+        functions.getHttpsCallable("api-deleteUserProfile").call(mapOf("uid" to uid)).await()
+    }
+
+    override suspend fun setDisplayName(uid: String, fullName: String) {
+        updateDisplayName(uid, fullName)
+    }
+
+    override suspend fun clearDisplayName(uid: String) {
+        updateDisplayName(uid, null)
+    }
+
+    override suspend fun registerFcmToken(uid: String, knownToken: String?) {
+        val token = firebaseMessaging.token.await()
+        if (token == knownToken) return
+
+        firestore.collection("users")
+            .document(uid)
+            .update("fcmToken", token)
+            .await()
+    }
+
+    private suspend fun updateDisplayName(uid: String, fullName: String?) {
+        requireUser(uid).updateProfile(
+            UserProfileChangeRequest.Builder()
+                .setDisplayName(fullName)
+                .build()
+        ).await()
+    }
+
+    private fun requireUser(uid: String): FirebaseUser {
+        return auth.currentUser?.takeIf { it.uid == uid }
+            ?: throw IllegalStateException("User $uid is not signed in")
+    }
+}
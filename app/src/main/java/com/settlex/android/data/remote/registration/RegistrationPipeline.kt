@@ -0,0 +1,127 @@
+package com.settlex.android.data.remote.registration
+
+import com.settlex.android.data.remote.registration.RegistrationStage.CREATE_ACCOUNT
+import com.settlex.android.data.remote.registration.RegistrationStage.CREATE_PROFILE
+import com.settlex.android.data.remote.registration.RegistrationStage.REGISTER_FCM_TOKEN
+import com.settlex.android.data.remote.registration.RegistrationStage.SET_DISPLAY_NAME
+import com.settlex.android.domain.model.UserModel
+import kotlinx.coroutines.CancellationException
+import kotlinx.coroutines.NonCancellable
+import kotlinx.coroutines.coroutineScope
+import kotlinx.coroutines.launch
+import kotlinx.coroutines.withContext
+import java.util.Collections
+
+/**
+ * Runs registration as timed stages:
+ *
+ * 1. Account creation.
+ * 2. Profile creation and display name update, concurrently. Neither depends on the other,
+ *    only on the account.
+ * 3. Messaging token registration. This is best effort: a failure is reported but does not
+ *    undo the registration, since the token is stored again on a later sign-in.
+ *
+ * If stage 1 or 2 fails, or the caller is cancelled, every step that completed is undone in
+ * reverse order and the original error is rethrown. Every run ends with a [RegistrationReport] passed to
+ * [onReport].
+ */
+class RegistrationPipeline(
+    private val stages: RegistrationStages,
+    private val onReport: (RegistrationReport) -> Unit = {}
+) {
+    private class Outcome<T>(val value: T?, val timing: StageTiming)
+
+    /**
+     * @return The new account's uid.
+     */
+    suspend fun run(user: UserModel, password: String): String {
+        val startedAt = System.nanoTime()
+        val timings = mutableListOf<StageTiming>()
+
+        fun report() = onReport(RegistrationReport(timings.toList(), elapsedMs(startedAt)))
+
+        val account = timed(CREATE_ACCOUNT) { stages.createAccount(user.email, password) }
+        timings += account.timing
+        val uid = account.value ?: run {
+            report()
+            throw account.timing.error!!
+        }
+
+        val profileUser = user.copy(uid = uid)
+        val fullName = "${user.firstName} ${user.lastName}"
+
+        // Each concurrent stage records its timing as it finishes, so a cancellation still
+        // knows which of them landed
+        val concurrent = Collections.synchronizedList(mutableListOf<StageTiming>())
+        try {
+            coroutineScope {
+                launch { concurrent += timed(CREATE_PROFILE) { stages.createProfile(profileUser) }.timing }
+                launch { concurrent += timed(SET_DISPLAY_NAME) { stages.setDisplayName(uid, fullName) }.timing }
+            }
+        } catch (e: CancellationException) {
+            timings += concurrent.sortedBy { it.stage }
+            rollBack(uid, timings)
+            report()
+            throw e
+        }
+        timings += concurrent.sortedBy { it.stage }
+
+        val failure = timings.firstNotNullOfOrNull { it.error }
+        if (failure != null) {
+            rollBack(uid, timings)
+            report()
+            throw failure
+        }
+
+        timings += timed(REGISTER_FCM_TOKEN) { stages.registerFcmToken(uid, user.fcmToken) }.timing
+        report()
+        return uid
+    }
+
+    /**
+     * Undoes the stages in [timings] that succeeded, in reverse order, then deletes the account,
+     * and marks each stage that was undone. A stage still in flight when the caller was
+     * cancelled has no timing and is left alone.
+     */
+    private suspend fun rollBack(uid: String, timings: MutableList<StageTiming>) {
+        fun landed(stage: RegistrationStage) = timings.any { it.stage == stage && it.succeeded }
+
+        withContext(NonCancellable) {
+            val undone = mutableSetOf(CREATE_ACCOUNT)
+            if (landed(SET_DISPLAY_NAME) && compensate { stages.clearDisplayName(uid) }) {
+                undone += SET_DISPLAY_NAME
+            }
+            if (landed(CREATE_PROFILE) && compensate { stages.deleteProfile(uid) }) {
+                undone += CREATE_PROFILE
+            }
+            if (!compensate { stages.deleteAccount(uid) }) undone -= CREATE_ACCOUNT
+
+            timings.replaceAll { if (it.stage in undone) it.copy(compensated = true) else it }
+        }
+    }
+
+    private suspend fun <T> timed(stage: RegistrationStage, block: suspend () -> T): Outcome<T> {
+        val startedAt = System.nanoTime()
+        return try {
+            val value = block()
+            Outcome(value, StageTiming(stage, elapsedMs(startedAt)))
+        } catch (e: CancellationException) {
+            throw e
+        } catch (e: Exception) {
+            Outcome(null, StageTiming(stage, elapsedMs(startedAt), error = e))
+        }
+    }
+
+    /**
+     * Runs one compensation. Its failure is swallowed so the remaining steps still run and
+     * the original error is the one surfaced. @return Whether it succeeded.
+     */
+    private suspend fun compensate(block: suspend () -> Unit): Boolean = try {
+        block()
+        true
+    } catch (e: Exception) {
+        false
+    }
+
+    private fun elapsedMs(startedAt: Long): Long = (System.nanoTime() - startedAt) / 1_000_000
+}
@@ -0,0 +1,65 @@
+package com.settlex.android.data.remote.registration
+
+import com.settlex.android.domain.model.UserModel
+
+/**
+ * The remote steps of registration, each paired with the step that undoes it.
+ *
+ * Compensations are best effort and are only called for steps that completed.
+ */
+interface RegistrationStages {
+
+    /** Creates the auth account and signs it in. @return The new account's uid. */
+    suspend fun createAccount(email: String, password: String): String
+    suspend fun deleteAccount(uid: String)
+
+    suspend fun createProfile(user: UserModel)
+    suspend fun deleteProfile(uid: String)
+
+    suspend fun setDisplayName(uid: String, fullName: String)
+    suspend fun clearDisplayName(uid: String)
+
+    /**
+     * Stores this device's messaging token on the profile, unless it is already [knownToken].
+     */
+    suspend fun registerFcmToken(uid: String, knownToken: String?)
+}
+
+enum class RegistrationStage {
+    CREATE_ACCOUNT,
+    CREATE_PROFILE,
+    SET_DISPLAY_NAME,
+    REGISTER_FCM_TOKEN
+}
+
+/**
+ * How long each stage took, whether it failed, and whether it was rolled back.
+ */
+data class StageTiming(
+    val stage: RegistrationStage,
+    val durationMs: Long,
+    val error: Throwable? = null,
+    val compensated: Boolean = false
+) {
+    val succeeded: Boolean get() = error == null
+}
+
+data class RegistrationReport(
+    val stages: List<StageTiming>,
+    val totalMs: Long
+) {
+    val succeeded: Boolean
+        get() = stages.all { it.succeeded || it.stage == RegistrationStage.REGISTER_FCM_TOKEN }
+
+    fun timingOf(stage: RegistrationStage): StageTiming? = stages.firstOrNull { it.stage == stage }
+
+    override fun toString(): String = buildString {
+        append("Registration ").append(if (succeeded) "succeeded" else "failed")
+        append(" in ").append(totalMs).append("ms:")
+        stages.forEach { timing ->
+            append(' ').append(timing.stage).append('=').append(timing.durationMs).append("ms")
+            if (!timing.succeeded) append("(failed)")
+            if (timing.compensated) append("(rolled back)")
+        }
+    }
+}
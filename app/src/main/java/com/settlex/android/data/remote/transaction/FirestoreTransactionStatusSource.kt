@@ -0,0 +1,37 @@
+package com.settlex.android.data.remote.transaction
+
+import com.google.firebase.firestore.FirebaseFirestore
+import com.settlex.android.data.enums.TransactionStatus
+import jakarta.inject.Inject
+import jakarta.inject.Singleton
+import kotlinx.coroutines.channels.awaitClose
+import kotlinx.coroutines.flow.Flow
+import kotlinx.coroutines.flow.callbackFlow
+
+/**
+ * [TransactionStatusSource] backed by a snapshot listener on the one transaction document.
+ */
+@Singleton
+class FirestoreTransactionStatusSource @Inject constructor(
+    private val db: FirebaseFirestore
+) : TransactionStatusSource {
+
+    override fun statusOf(uid: String, transactionId: String): Flow<TransactionStatus?> = callbackFlow {
+        val ref = db.collection("users")
+            .document(uid)
+            .collection("transactions")
+            .document(transactionId)
+
+        val listener = ref.addSnapshotListener { snapshot, error ->
+            if (error != null) {
+                close(error)
+                return@addSnapshotListener
+            }
+
+            val status = snapshot?.getString("status")
+            trySend(TransactionStatus.entries.firstOrNull { it.name == status })
+        }
+
+        awaitClose { listener.remove() }
+    }
+}
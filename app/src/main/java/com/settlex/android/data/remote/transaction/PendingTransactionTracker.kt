@@ -0,0 +1,79 @@
+package com.settlex.android.data.remote.transaction
+
+import com.settlex.android.data.enums.TransactionStatus
+import kotlinx.coroutines.CoroutineScope
+import kotlinx.coroutines.flow.Flow
+import kotlinx.coroutines.flow.SharedFlow
+import kotlinx.coroutines.flow.SharingStarted
+import kotlinx.coroutines.flow.catch
+import kotlinx.coroutines.flow.channelFlow
+import kotlinx.coroutines.flow.filterNotNull
+import kotlinx.coroutines.flow.flowOf
+import kotlinx.coroutines.flow.onCompletion
+import kotlinx.coroutines.flow.shareIn
+import kotlinx.coroutines.flow.transformWhile
+import kotlinx.coroutines.withTimeoutOrNull
+import java.util.concurrent.ConcurrentHashMap
+
+/**
+ * Follows transactions still [TransactionStatus.PENDING] with one single-document listener each,
+ * so screens showing them learn the final status as soon as it is written.
+ *
+ * Every screen tracking the same transaction shares its listener. The listener detaches once
+ * the status is final, once no screen is collecting, or after [timeoutMs], whichever is first.
+ */
+class PendingTransactionTracker(
+    private val source: TransactionStatusSource,
+    private val scope: CoroutineScope,
+    private val timeoutMs: Long = DEFAULT_TIMEOUT_MS
+) {
+    private val tracked = ConcurrentHashMap<String, SharedFlow<TransactionStatus>>()
+
+    /**
+     * Status updates for the transaction, ending with its final status.
+     *
+     * @param knownStatus The status the caller already shows; a final one needs no listener.
+     */
+    fun track(uid: String, transactionId: String, knownStatus: TransactionStatus? = null): Flow<TransactionStatus> {
+        if (knownStatus != null && knownStatus.isFinal) return flowOf(knownStatus)
+
+        val key = "$uid/$transactionId"
+        return tracked.computeIfAbsent(key) { listen(key, uid, transactionId) }
+            // The shared flow never completes on its own; end each collector at the final status
+            .transformWhile { status ->
+                emit(status)
+                !status.isFinal
+            }
+    }
+
+    /**
+     * Number of transactions with a listener attached, for diagnostics.
+     */
+    val trackedCount: Int get() = tracked.size
+
+    private fun listen(key: String, uid: String, transactionId: String): SharedFlow<TransactionStatus> {
+        lateinit var shared: SharedFlow<TransactionStatus>
+        shared = channelFlow {
+            withTimeoutOrNull(timeoutMs) {
+                source.statusOf(uid, transactionId)
+                    .filterNotNull()
+                    .transformWhile { status ->
+                        emit(status)
+                        !status.isFinal
+                    }
+                    .collect { send(it) }
+            }
+        }
+            .catch { /* A failed listener ends tracking; screens keep the status they have */ }
+            // Only this listener's entry; a newer one may already have replaced it
+            .onCompletion { tracked.remove(key, shared) }
+            .shareIn(scope, SharingStarted.WhileSubscribed(), replay = 1)
+        return shared
+    }
+
+    private val TransactionStatus.isFinal: Boolean get() = this != TransactionStatus.PENDING
+
+    companion object {
+        private const val DEFAULT_TIMEOUT_MS = 2 * 60 * 1000L
+    }
+}
@@ -0,0 +1,16 @@
+package com.settlex.android.data.remote.transaction
+
+import com.settlex.android.data.enums.TransactionStatus
+import kotlinx.coroutines.flow.Flow
+
+/**
+ * Live status of a single transaction document.
+ */
+fun interface TransactionStatusSource {
+
+    /**
+     * Emits the status of `users/{uid}/transactions/{transactionId}` on every change, or `null`
+     * while the document doesn't exist.
+     */
+    fun statusOf(uid: String, transactionId: String): Flow<TransactionStatus?>
+}
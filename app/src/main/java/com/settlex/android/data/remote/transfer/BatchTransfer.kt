@@ -0,0 +1,102 @@
+package com.settlex.android.data.remote.transfer
+
+import kotlinx.coroutines.CancellationException
+
+/**
+ * One recipient's part of a batch transfer.
+ */
+data class TransferLeg(
+    val toRecipientPaymentId: String,
+    val transferAmount: Long
+)
+
+/**
+ * The outcome of one leg of a batch transfer.
+ *
+ * @property message The backend's confirmation, or why the leg failed.
+ * @property isPending The outcome is unknown, e.g. every attempt timed out. [succeeded] is
+ * `false`, but the leg may still go through; it stays pending, so a retry reuses its ID.
+ */
+data class LegOutcome(
+    val request: TransferRequest,
+    val succeeded: Boolean,
+    val message: String,
+    val isPending: Boolean = false
+)
+
+sealed interface BatchTransferResult {
+    /** Every leg was attempted; see each leg for its outcome. */
+    data class Completed(val legs: List<LegOutcome>) : BatchTransferResult
+
+    /** The PIN was rejected, so nothing was transferred. */
+    data object IncorrectPin : BatchTransferResult
+}
+
+/**
+ * Submits several PIN-authorised transfers as one payment, such as a bill split between
+ * friends.
+ *
+ * Every leg is its own transfer with its own transaction ID. The backend applies legs
+ * independently, so one leg failing doesn't undo the others. Where the backend allows it,
+ * the PIN is checked and all legs are sent in one round trip. Otherwise the PIN is checked
+ * once and the legs are sent one after the other, and the batch call is not tried again.
+ */
+class BatchTransfer(
+    private val endpoint: TransferEndpoint,
+    private val submission: TransferSubmission,
+    private val recordedMessage: String
+) {
+    @Volatile
+    var isBatchAvailable = true
+        private set
+
+    suspend fun submit(requests: List<TransferRequest>, pin: String): BatchTransferResult {
+        require(requests.isNotEmpty()) { "A batch needs at least one leg" }
+        require(requests.map { it.toRecipientPaymentId }.distinct().size == requests.size) {
+            "Each recipient can appear only once in a batch"
+        }
+
+        if (isBatchAvailable) {
+            try {
+                return submission.submitBatch(requests, recordedMessage) {
+                    endpoint.authorizeAndTransferBatch(it, pin)
+                }
+            } catch (e: CombinedTransferUnavailableException) {
+                isBatchAvailable = false
+            }
+        }
+        return submitLegByLeg(requests, pin)
+    }
+
+    /**
+     * Checks [pin] once and then sends each leg on its own, in order.
+     */
+    suspend fun submitLegByLeg(requests: List<TransferRequest>, pin: String): BatchTransferResult {
+        if (!endpoint.authorizePin(pin)) return BatchTransferResult.IncorrectPin
+
+        val legs = requests.map { request ->
+            try {
+                val message = submission.submit(
+                    request,
+                    onRecorded = { recordedMessage },
+                    send = endpoint::transfer
+                )
+                LegOutcome(request, succeeded = true, message = message)
+            } catch (e: CancellationException) {
+                throw e
+            } catch (e: Exception) {
+                LegOutcome(
+                    request,
+                    succeeded = false,
+                    message = e.message ?: FAILURE_MESSAGE,
+                    isPending = submission.isPending(request)
+                )
+            }
+        }
+        return BatchTransferResult.Completed(legs)
+    }
+
+    companion object {
+        private const val FAILURE_MESSAGE = "Transfer failed"
+    }
+}
@@ -0,0 +1,28 @@
+package com.settlex.android.data.remote.transfer
+
+import com.google.firebase.firestore.FirebaseFirestore
+import com.google.firebase.firestore.Source
+import jakarta.inject.Inject
+import jakarta.inject.Singleton
+import kotlinx.coroutines.tasks.await
+
+/**
+ * [TransactionLookup] against `users/{uid}/transactions/{transactionId}`.
+ */
+@Singleton
+class FirestoreTransactionLookup @Inject constructor(
+    private val db: FirebaseFirestore
+) : TransactionLookup {
+
+    override suspend fun isRecorded(uid: String, transactionId: String): Boolean {
+        // From the server: a cached miss would say a recorded transfer was never made
+        val snapshot = db.collection("users")
+            .document(uid)
+            .collection("transactions")
+            .document(transactionId)
+            .get(Source.SERVER)
+            .await()
+
+        return snapshot.exists()
+    }
+}
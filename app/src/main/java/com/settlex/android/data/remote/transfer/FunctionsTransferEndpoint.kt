@@ -0,0 +1,136 @@
+package com.settlex.android.data.remote.transfer
+
+import com.google.firebase.FirebaseNetworkException
+import com.google.firebase.functions.FirebaseFunctionsException
+import com.settlex.android.data.datasource.FunctionsApiClient
+import com.settlex.android.data.enums.TransactionServiceType
+import jakarta.inject.Inject
+import jakarta.inject.Singleton
+import java.io.IOException
+
+/**
+ * [TransferEndpoint] backed by the payment Cloud Functions.
+ */
+@Singleton
+class FunctionsTransferEndpoint @Inject constructor(
+    private val cloudFunctions: FunctionsApiClient
+) : TransferEndpoint {
+
+    /**
+     * Response of `api-authorizeAndTransfer`; [message] is set only when [pinVerified].
+     */
+    private data class AuthorizedTransferDto(
+        val pinVerified: Boolean = false,
+        val message: String? = null
+    )
+
+    override suspend fun authorizeAndTransfer(request: TransferRequest, pin: String): PinTransferResult {
+        val response = try {
+            cloudFunctions.call<AuthorizedTransferDto>(
+                name = "api-authorizeAndTransfer",
+                data = request.toData() + ("pin" to pin)
+            )
+        } catch (e: FirebaseFunctionsException) {
+            if (isMissingFunction(e)) throw CombinedTransferUnavailableException(e)
+            throw e
+        }
+
+        val result = response.data
+        if (!result.pinVerified) return PinTransferResult.IncorrectPin
+        return PinTransferResult.Completed(result.message.orEmpty(), request.transactionId)
+    }
+
+    /**
+     * Response of `api-authorizeAndTransferBatch`; [legs] is set only when [pinVerified].
+     */
+    private data class AuthorizedBatchDto(
+        val pinVerified: Boolean = false,
+        val legs: List<LegDto> = emptyList()
+    )
+
+    private data class LegDto(
+        val transactionId: String = "",
+        val success: Boolean = false,
+        val message: String? = null
+    )
+
+    override suspend fun authorizeAndTransferBatch(
+        requests: List<TransferRequest>,
+        pin: String
+    ): BatchTransferResult {
+        val response = try {
+            cloudFunctions.call<AuthorizedBatchDto>(
+                name = "api-authorizeAndTransferBatch",
+                data = mapOf(
+                    "pin" to pin,
+                    "transfers" to requests.map { it.toData() }
+                )
+            )
+        } catch (e: FirebaseFunctionsException) {
+            if (isMissingFunction(e)) throw CombinedTransferUnavailableException(e)
+            throw e
+        }
+
+        val result = response.data
+        if (!result.pinVerified) return BatchTransferResult.IncorrectPin
+
+        // A leg the response leaves out has no known outcome, so it is reported pending
+        val legsById = result.legs.associateBy { it.transactionId }
+        return BatchTransferResult.Completed(requests.map { request ->
+            when (val leg = legsById[request.transactionId]) {
+                null -> LegOutcome(request, succeeded = false, message = LEG_UNCONFIRMED_MESSAGE, isPending = true)
+                else -> LegOutcome(
+                    request = request,
+                    succeeded = leg.success,
+                    message = leg.message ?: if (leg.success) "" else LEG_FAILED_MESSAGE
+                )
+            }
+        })
+    }
+
+    override suspend fun authorizePin(pin: String): Boolean {
+        return cloudFunctions.call<Boolean>(
+            name = "api-authUserPaymentPin",
+            data = mapOf("pin" to pin)
+        ).data
+    }
+
+    override suspend fun transfer(request: TransferRequest): String {
+        return cloudFunctions.call<String>(
+            name = "api-transferToFriend",
+            data = request.toData()
+        ).data
+    }
+
+    // A callable that isn't deployed fails with a bare NOT_FOUND; errors the function itself
+    // raises carry their own message
+    private fun isMissingFunction(e: FirebaseFunctionsException): Boolean {
+        return e.code == FirebaseFunctionsException.Code.UNIMPLEMENTED ||
+                (e.code == FirebaseFunctionsException.Code.NOT_FOUND && e.message == e.code.name)
+    }
+
+    companion object {
+        private const val LEG_FAILED_MESSAGE = "Transfer failed"
+        private const val LEG_UNCONFIRMED_MESSAGE = "Transfer not confirmed"
+
+        /**
+         * Whether a transfer call failed without a definite answer, so it is worth retrying
+         * with the same transaction ID.
+         */
+        fun isTransient(e: Throwable): Boolean = when (e) {
+            is FirebaseFunctionsException -> e.code == FirebaseFunctionsException.Code.DEADLINE_EXCEEDED ||
+                    e.code == FirebaseFunctionsException.Code.UNAVAILABLE
+            is FirebaseNetworkException, is IOException -> true
+            else -> false
+        }
+    }
+
+    private fun TransferRequest.toData(): Map<String, Any?> = mapOf(
+        "fromSenderUid" to fromSenderUid,
+        "toRecipientPaymentId" to toRecipientPaymentId,
+        "transactionId" to transactionId,
+        "transferAmount" to transferAmount,
+        "serviceType" to TransactionServiceType.TRANSFER_TO_FRIEND.toString(),
+        "description" to description
+    )
+}
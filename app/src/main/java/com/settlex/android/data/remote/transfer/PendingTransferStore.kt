@@ -0,0 +1,30 @@
+package com.settlex.android.data.remote.transfer
+
+/**
+ * A transfer whose outcome the app hasn't seen yet, kept so a retry reuses its transaction ID.
+ *
+ * @property batchKey Identifies the batch the transfer was a leg of, or `null` for a single
+ * transfer; a retry only reuses the request from the same kind of intent.
+ */
+data class PendingTransfer(
+    val request: TransferRequest,
+    val createdAt: Long,
+    val batchKey: String? = null
+)
+
+/**
+ * Durable storage for each user's [PendingTransfer]s.
+ */
+interface PendingTransferStore {
+    suspend fun load(uid: String): List<PendingTransfer>
+
+    /** Returns once [pending] is on disk, so it survives the process being killed. */
+    suspend fun save(uid: String, pending: List<PendingTransfer>)
+}
+
+/**
+ * Tells whether the backend recorded a transaction, whatever its status.
+ */
+fun interface TransactionLookup {
+    suspend fun isRecorded(uid: String, transactionId: String): Boolean
+}
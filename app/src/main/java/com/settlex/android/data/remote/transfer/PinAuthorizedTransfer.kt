@@ -0,0 +1,34 @@
+package com.settlex.android.data.remote.transfer
+
+/**
+ * Submits a PIN-authorised transfer, in one round trip where the backend allows it.
+ *
+ * The combined call carries the PIN with the transfer, so the user waits on one request
+ * instead of a PIN check followed by the transfer. If the backend doesn't offer it, the
+ * transfer falls back to the two calls, and the combined call is not tried again.
+ */
+class PinAuthorizedTransfer(private val endpoint: TransferEndpoint) {
+
+    @Volatile
+    var isCombinedAvailable = true
+        private set
+
+    suspend fun submit(request: TransferRequest, pin: String): PinTransferResult {
+        if (isCombinedAvailable) {
+            try {
+                return endpoint.authorizeAndTransfer(request, pin)
+            } catch (e: CombinedTransferUnavailableException) {
+                isCombinedAvailable = false
+            }
+        }
+        return submitInTwoSteps(request, pin)
+    }
+
+    /**
+     * Checks [pin] and then performs [request], one call after the other.
+     */
+    suspend fun submitInTwoSteps(request: TransferRequest, pin: String): PinTransferResult {
+        if (!endpoint.authorizePin(pin)) return PinTransferResult.IncorrectPin
+        return PinTransferResult.Completed(endpoint.transfer(request), request.transactionId)
+    }
+}
@@ -0,0 +1,47 @@
+package com.settlex.android.data.remote.transfer
+
+import android.util.Log
+import com.google.gson.Gson
+import com.google.gson.GsonBuilder
+import com.google.gson.reflect.TypeToken
+import com.settlex.android.data.local.PreferenceStoreFactory
+import com.settlex.android.data.local.UserPrefs
+import jakarta.inject.Inject
+import jakarta.inject.Singleton
+
+/**
+ * [PendingTransferStore] in each user's preference file.
+ */
+@Singleton
+class PrefsPendingTransferStore @Inject constructor(
+    private val preferenceStores: PreferenceStoreFactory
+) : PendingTransferStore {
+    private val gson: Gson by lazy { GsonBuilder().create() }
+
+    override suspend fun load(uid: String): List<PendingTransfer> {
+        val prefs = userPrefs(uid)
+        prefs.awaitLoaded()
+        val json = prefs.pendingTransfers
+        if (json.isNullOrEmpty()) return emptyList()
+
+        return try {
+            val listType = object : TypeToken<List<PendingTransfer>>() {}.type
+            gson.fromJson<List<PendingTransfer>>(json, listType).orEmpty()
+        } catch (e: Exception) {
+            Log.w(TAG, "Discarding unreadable pending transfers", e)
+            emptyList()
+        }
+    }
+
+    override suspend fun save(uid: String, pending: List<PendingTransfer>) {
+        val prefs = userPrefs(uid)
+        prefs.pendingTransfers = if (pending.isEmpty()) null else gson.toJson(pending)
+        prefs.flush()
+    }
+
+    private fun userPrefs(uid: String) = UserPrefs(preferenceStores.get(UserPrefs.storeName(uid)))
+
+    companion object {
+        private val TAG = PrefsPendingTransferStore::class.java.simpleName
+    }
+}
@@ -0,0 +1,52 @@
+package com.settlex.android.data.remote.transfer
+
+/**
+ * A transfer to another user, as sent to the backend.
+ */
+data class TransferRequest(
+    val fromSenderUid: String,
+    val toRecipientPaymentId: String,
+    val transactionId: String,
+    val transferAmount: Long,
+    val description: String?
+)
+
+sealed interface PinTransferResult {
+    data class Completed(val message: String, val transactionId: String) : PinTransferResult
+
+    /** The PIN was rejected, so nothing was transferred. */
+    data object IncorrectPin : PinTransferResult
+}
+
+/**
+ * Thrown by [TransferEndpoint.authorizeAndTransfer] and [TransferEndpoint.authorizeAndTransferBatch]
+ * when the backend has no such combined call. Nothing was transferred.
+ */
+class CombinedTransferUnavailableException(cause: Throwable? = null) :
+    Exception("Combined PIN and transfer call is unavailable", cause)
+
+/**
+ * The backend calls that move money between users.
+ */
+interface TransferEndpoint {
+
+    /**
+     * Verifies [pin] and, only if it is correct, performs [request], in one round trip.
+     *
+     * @throws CombinedTransferUnavailableException if the backend doesn't offer this call.
+     */
+    suspend fun authorizeAndTransfer(request: TransferRequest, pin: String): PinTransferResult
+
+    /**
+     * Verifies [pin] and, only if it is correct, performs every one of [requests], in one round
+     * trip. Each leg succeeds or fails on its own.
+     *
+     * @throws CombinedTransferUnavailableException if the backend doesn't offer this call.
+     */
+    suspend fun authorizeAndTransferBatch(requests: List<TransferRequest>, pin: String): BatchTransferResult
+
+    suspend fun authorizePin(pin: String): Boolean
+
+    /** @return The backend's confirmation message. */
+    suspend fun transfer(request: TransferRequest): String
+}
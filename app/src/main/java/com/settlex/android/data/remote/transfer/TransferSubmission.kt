@@ -0,0 +1,285 @@
+package com.settlex.android.data.remote.transfer
+
+import kotlinx.coroutines.CancellationException
+import kotlinx.coroutines.async
+import kotlinx.coroutines.awaitAll
+import kotlinx.coroutines.coroutineScope
+import kotlinx.coroutines.delay
+import kotlinx.coroutines.sync.Mutex
+import kotlinx.coroutines.sync.withLock
+
+/**
+ * Submits transfers so that retries can never create a second transaction.
+ *
+ * [prepare] mints the transaction ID once per intent (recipient, amount, description and, for a
+ * batch leg, the batch) and persists it before anything is sent. Until the outcome is known, preparing the same intent
+ * again returns the same request, including after the process was killed. The backend treats
+ * a repeated transaction ID as the same transfer.
+ *
+ * [submit] retries transient failures with that ID. Before retrying, it checks
+ * `users/{uid}/transactions/{id}` through [lookup], since a timed-out call may still have
+ * reached the server. A reused request is checked the same way before it is sent at all.
+ * [submitBatch] does the same for several transfers sent together. [reconcile] settles
+ * transfers a previous run left pending, and holds off [prepare] while it does.
+ */
+class TransferSubmission(
+    private val store: PendingTransferStore,
+    private val lookup: TransactionLookup,
+    private val isRetryable: (Throwable) -> Boolean,
+    private val newTransactionId: (uid: String) -> String,
+    private val maxAttempts: Int = DEFAULT_MAX_ATTEMPTS,
+    private val retryDelayMs: Long = DEFAULT_RETRY_DELAY_MS,
+    private val reuseWindowMs: Long = DEFAULT_REUSE_WINDOW_MS,
+    private val clock: () -> Long = System::currentTimeMillis
+) {
+    private val mutex = Mutex()
+
+    // IDs [prepare] handed out again; guarded by [mutex]
+    private val reusedIds = HashSet<String>()
+
+    /**
+     * The request for this intent: the pending one, or a newly minted one, saved before returning.
+     *
+     * @param batchKey Identifies the batch this is a leg of, or `null` for a single transfer, so
+     * a leg and a single transfer with the same details never share an ID.
+     */
+    suspend fun prepare(
+        uid: String,
+        toRecipientPaymentId: String,
+        transferAmount: Long,
+        description: String?,
+        batchKey: String? = null
+    ): TransferRequest = mutex.withLock {
+        val now = clock()
+        val pending = store.load(uid)
+
+        pending.firstOrNull {
+            now - it.createdAt <= reuseWindowMs &&
+                    it.batchKey == batchKey &&
+                    it.request.toRecipientPaymentId == toRecipientPaymentId &&
+                    it.request.transferAmount == transferAmount &&
+                    it.request.description.orEmpty() == description.orEmpty()
+        }?.let {
+            reusedIds += it.request.transactionId
+            return it.request
+        }
+
+        val request = TransferRequest(
+            fromSenderUid = uid,
+            toRecipientPaymentId = toRecipientPaymentId,
+            transactionId = newTransactionId(uid),
+            transferAmount = transferAmount,
+            description = description
+        )
+        store.save(uid, pending + PendingTransfer(request, now, batchKey))
+        request
+    }
+
+    /**
+     * Sends [request] with [send], retrying transient failures with the same transaction ID.
+     *
+     * Once the outcome is known the request stops being pending. If every attempt fails
+     * transiently it stays pending, so the user's next try reuses its ID.
+     *
+     * @param onRecorded The result to return when a failed attempt, or an earlier attempt of a
+     * reused request, turns out to have been recorded by the backend.
+     */
+    suspend fun <T> submit(
+        request: TransferRequest,
+        onRecorded: () -> T,
+        send: suspend (TransferRequest) -> T
+    ): T {
+        // A reused request may have gone through on an attempt whose outcome was never seen
+        if (takeReused(request) && isRecorded(request)) {
+            complete(request)
+            return onRecorded()
+        }
+
+        var attempt = 0
+        while (true) {
+            attempt++
+            try {
+                return send(request).also { complete(request) }
+            } catch (e: CancellationException) {
+                throw e
+            } catch (e: Exception) {
+                val retryable = isRetryable(e)
+
+                // A timed-out attempt, or any attempt after one, may have reached the server
+                if ((retryable || attempt > 1) && isRecorded(request)) {
+                    complete(request)
+                    return onRecorded()
+                }
+
+                if (!retryable) {
+                    complete(request)
+                    throw e
+                }
+                if (attempt >= maxAttempts) throw e
+
+                delay(retryDelayMs shl (attempt - 1))
+            }
+        }
+    }
+
+    /**
+     * Sends [requests] together with [send], retrying transient failures with the same IDs.
+     *
+     * Before the first attempt for reused legs, and before a retry for all of them, legs the
+     * backend turns out to have recorded are settled as succeeded with [recordedMessage] and
+     * left out of the next attempt. If attempts run out after some legs were recorded, the
+     * rest are reported with [LegOutcome.isPending] and stay pending, as do legs [send]
+     * reports that way.
+     *
+     * @throws CombinedTransferUnavailableException as thrown by [send]. Nothing was sent, and
+     * reused legs are left for [submit] to check again.
+     */
+    suspend fun submitBatch(
+        requests: List<TransferRequest>,
+        recordedMessage: String,
+        send: suspend (List<TransferRequest>) -> BatchTransferResult
+    ): BatchTransferResult {
+        var remaining = requests
+        val recorded = mutableListOf<LegOutcome>()
+
+        fun settleRecorded(settled: List<TransferRequest>) {
+            recorded += settled.map { LegOutcome(it, succeeded = true, message = recordedMessage) }
+            remaining = remaining - settled.toSet()
+        }
+
+        // Legs in the order they were requested, whichever attempt settled them
+        fun completed(legs: List<LegOutcome>): BatchTransferResult {
+            val byId = (recorded + legs).associateBy { it.request.transactionId }
+            return BatchTransferResult.Completed(requests.mapNotNull { byId[it.transactionId] })
+        }
+
+        fun failed(legs: List<TransferRequest>, message: String) =
+            legs.map { LegOutcome(it, succeeded = false, message = message) }
+
+        fun unconfirmed(legs: List<TransferRequest>) =
+            legs.map { LegOutcome(it, succeeded = false, message = UNCONFIRMED_MESSAGE, isPending = true) }
+
+        val reused = requests.filter { takeReused(it) }
+        if (reused.isNotEmpty()) {
+            val settled = recordedAmong(reused)
+            settled.forEach { complete(it) }
+            settleRecorded(settled)
+            if (remaining.isEmpty()) return completed(emptyList())
+        }
+
+        var attempt = 0
+        while (true) {
+            attempt++
+            try {
+                val result = send(remaining)
+                return when (result) {
+                    is BatchTransferResult.Completed -> {
+                        val unsettled = result.legs.filter { it.isPending }.map { it.request.transactionId }.toSet()
+                        remaining.filterNot { it.transactionId in unsettled }.forEach { complete(it) }
+                        completed(result.legs)
+                    }
+
+                    is BatchTransferResult.IncorrectPin -> {
+                        remaining.forEach { complete(it) }
+                        if (recorded.isEmpty()) result else completed(failed(remaining, INCORRECT_PIN_MESSAGE))
+                    }
+                }
+            } catch (e: CancellationException) {
+                throw e
+            } catch (e: CombinedTransferUnavailableException) {
+                mutex.withLock { reusedIds += reused.map { it.transactionId } }
+                throw e
+            } catch (e: Exception) {
+                val retryable = isRetryable(e)
+
+                // A timed-out attempt, or any attempt after one, may have reached the server
+                if (retryable || attempt > 1) {
+                    val settled = recordedAmong(remaining)
+                    settled.forEach { complete(it) }
+                    settleRecorded(settled)
+                    if (remaining.isEmpty()) return completed(emptyList())
+                }
+
+                if (!retryable) {
+                    remaining.forEach { complete(it) }
+                    if (recorded.isEmpty()) throw e
+                    return completed(failed(remaining, e.message ?: FAILURE_MESSAGE))
+                }
+                if (attempt >= maxAttempts) {
+                    if (recorded.isEmpty()) throw e
+                    return completed(unconfirmed(remaining))
+                }
+
+                delay(retryDelayMs shl (attempt - 1))
+            }
+        }
+    }
+
+    /**
+     * Settles [uid]'s pending transfers: recorded ones are no longer pending, and ones never
+     * recorded are dropped once they are too old to be retried.
+     *
+     * Runs under the same lock as [prepare], so a transfer started meanwhile waits and never
+     * reuses a request this is about to settle.
+     *
+     * @return The pending transfers the backend turned out to have recorded.
+     */
+    suspend fun reconcile(uid: String): List<TransferRequest> = mutex.withLock {
+        val pending = store.load(uid)
+        if (pending.isEmpty()) return emptyList()
+
+        val now = clock()
+        val recorded = recordedAmong(pending.map { it.request })
+        val settled = recorded.map { it.transactionId }.toSet() +
+                pending.filter { now - it.createdAt > reuseWindowMs }.map { it.request.transactionId }
+
+        store.save(uid, pending.filterNot { it.request.transactionId in settled })
+        reusedIds -= settled
+        recorded
+    }
+
+    /**
+     * Whether [request]'s outcome is still unknown, so a retry of its intent would reuse it.
+     */
+    suspend fun isPending(request: TransferRequest): Boolean = mutex.withLock {
+        store.load(request.fromSenderUid).any { it.request.transactionId == request.transactionId }
+    }
+
+    private suspend fun complete(request: TransferRequest) = mutex.withLock {
+        val uid = request.fromSenderUid
+        store.save(uid, store.load(uid).filterNot { it.request.transactionId == request.transactionId })
+        reusedIds -= request.transactionId
+    }
+
+    /**
+     * @return Whether [request] was handed out again by [prepare]; it is forgotten either way.
+     */
+    private suspend fun takeReused(request: TransferRequest): Boolean = mutex.withLock {
+        reusedIds.remove(request.transactionId)
+    }
+
+    private suspend fun recordedAmong(requests: List<TransferRequest>): List<TransferRequest> = coroutineScope {
+        requests.map { request -> async { request.takeIf { isRecorded(it) } } }.awaitAll().filterNotNull()
+    }
+
+    private suspend fun isRecorded(request: TransferRequest): Boolean {
+        return try {
+            lookup.isRecorded(request.fromSenderUid, request.transactionId)
+        } catch (e: CancellationException) {
+            throw e
+        } catch (e: Exception) {
+            false
+        }
+    }
+
+    companion object {
+        private const val DEFAULT_MAX_ATTEMPTS = 3
+        private const val DEFAULT_RETRY_DELAY_MS = 1_000L
+        private const val FAILURE_MESSAGE = "Transfer failed"
+        private const val UNCONFIRMED_MESSAGE = "Transfer not confirmed"
+        private const val INCORRECT_PIN_MESSAGE = "Incorrect payment PIN"
+
+        // How long an unsettled transfer is offered for reuse by a retry of the same intent
+        private const val DEFAULT_REUSE_WINDOW_MS = 30 * 60 * 1000L
+    }
+}
@@ -0,0 +1,73 @@
+package com.settlex.android.data.remote.upload
+
+import java.security.MessageDigest
+import java.util.zip.CRC32
+
+/**
+ * A slice of an upload, with a CRC32 checksum the server verifies before acknowledging it.
+ */
+class UploadChunk(
+    val index: Int,
+    val offset: Int,
+    val bytes: ByteArray,
+    val checksum: String
+)
+
+/**
+ * A payload split into fixed-size chunks.
+ *
+ * [uploadId] is the SHA-256 of the whole payload, so retrying the same payload after a failure
+ * reopens the same upload on the server and resumes from the chunks it already acknowledged.
+ */
+class ChunkedPayload private constructor(
+    val uploadId: String,
+    val totalBytes: Int,
+    val chunkSize: Int,
+    val chunks: List<UploadChunk>
+) {
+    val checksums: List<String> get() = chunks.map { it.checksum }
+
+    /**
+     * The chunks joined back into the original payload.
+     */
+    fun toByteArray(): ByteArray {
+        val bytes = ByteArray(totalBytes)
+        chunks.forEach { it.bytes.copyInto(bytes, it.offset) }
+        return bytes
+    }
+
+    companion object {
+        fun of(payload: ByteArray, chunkSize: Int): ChunkedPayload {
+            require(chunkSize > 0) { "chunkSize must be positive" }
+
+            val chunks = ArrayList<UploadChunk>((payload.size + chunkSize - 1) / chunkSize)
+            var offset = 0
+            while (offset < payload.size) {
+                val end = minOf(offset + chunkSize, payload.size)
+                val bytes = payload.copyOfRange(offset, end)
+                chunks += UploadChunk(chunks.size, offset, bytes, crc32Of(bytes))
+                offset = end
+            }
+
+            return ChunkedPayload(sha256Of(payload), payload.size, chunkSize, chunks)
+        }
+
+        fun crc32Of(bytes: ByteArray): String {
+            val crc = CRC32().apply { update(bytes) }
+            return "%08x".format(crc.value)
+        }
+
+        private fun sha256Of(bytes: ByteArray): String {
+            val digest = MessageDigest.getInstance("SHA-256").digest(bytes)
+            return digest.joinToString("") { "%02x".format(it) }
+        }
+    }
+}
+
+/**
+ * Bytes acknowledged by the server so far, out of [totalBytes].
+ */
+data class UploadProgress(val uploadedBytes: Long, val totalBytes: Long) {
+    val percent: Int
+        get() = if (totalBytes == 0L) 100 else (uploadedBytes * 100 / totalBytes).toInt()
+}
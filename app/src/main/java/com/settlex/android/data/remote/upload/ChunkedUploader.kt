@@ -0,0 +1,116 @@
+package com.settlex.android.data.remote.upload
+
+import kotlinx.coroutines.CancellationException
+import kotlinx.coroutines.async
+import kotlinx.coroutines.awaitAll
+import kotlinx.coroutines.coroutineScope
+import kotlinx.coroutines.delay
+import kotlinx.coroutines.sync.Semaphore
+import kotlinx.coroutines.sync.withPermit
+
+/**
+ * Uploads a [ChunkedPayload] to an [UploadEndpoint], at most [parallelism] chunks at a time.
+ *
+ * Each chunk is retried up to [maxAttempts] times with exponential backoff before the upload
+ * fails. Chunks the server acknowledged stay acknowledged, so calling [upload] again with the
+ * same payload only sends the chunks that are still missing.
+ *
+ * If the backend doesn't offer chunked uploads, the payload is sent whole with
+ * [UploadEndpoint.uploadWhole], and the chunked calls are not tried again.
+ */
+class ChunkedUploader(
+    private val endpoint: UploadEndpoint,
+    private val parallelism: Int = DEFAULT_PARALLELISM,
+    private val maxAttempts: Int = DEFAULT_MAX_ATTEMPTS,
+    private val retryDelayMs: Long = DEFAULT_RETRY_DELAY_MS
+) {
+    init {
+        require(parallelism > 0) { "parallelism must be positive" }
+        require(maxAttempts > 0) { "maxAttempts must be positive" }
+    }
+
+    @Volatile
+    var isChunkedAvailable = true
+        private set
+
+    /**
+     * @return The endpoint's result for the completed upload.
+     */
+    suspend fun upload(
+        payload: ChunkedPayload,
+        onProgress: (UploadProgress) -> Unit = {}
+    ): String {
+        if (isChunkedAvailable) {
+            try {
+                return uploadInChunks(payload, onProgress)
+            } catch (e: ChunkedUploadUnavailableException) {
+                isChunkedAvailable = false
+            }
+        }
+        return uploadWhole(payload, onProgress)
+    }
+
+    private suspend fun uploadWhole(
+        payload: ChunkedPayload,
+        onProgress: (UploadProgress) -> Unit
+    ): String {
+        val totalBytes = payload.totalBytes.toLong()
+        onProgress(UploadProgress(0, totalBytes))
+        return endpoint.uploadWhole(payload).also {
+            onProgress(UploadProgress(totalBytes, totalBytes))
+        }
+    }
+
+    private suspend fun uploadInChunks(
+        payload: ChunkedPayload,
+        onProgress: (UploadProgress) -> Unit
+    ): String {
+        val acknowledged = endpoint.begin(payload)
+        val pending = payload.chunks.filter { it.index !in acknowledged }
+
+        val progressLock = Any()
+        var uploadedBytes = (payload.totalBytes - pending.sumOf { it.bytes.size }).toLong()
+        onProgress(UploadProgress(uploadedBytes, payload.totalBytes.toLong()))
+
+        val permits = Semaphore(parallelism)
+        coroutineScope {
+            pending.map { chunk ->
+                async {
+                    permits.withPermit { putWithRetry(payload.uploadId, chunk) }
+
+                    // Serialised so progress never steps backwards
+                    synchronized(progressLock) {
+                        uploadedBytes += chunk.bytes.size
+                        onProgress(UploadProgress(uploadedBytes, payload.totalBytes.toLong()))
+                    }
+                }
+            }.awaitAll()
+        }
+
+        return endpoint.complete(payload.uploadId)
+    }
+
+    private suspend fun putWithRetry(uploadId: String, chunk: UploadChunk) {
+        var attempt = 1
+        while (true) {
+            try {
+                endpoint.putChunk(uploadId, chunk)
+                return
+            } catch (e: CancellationException) {
+                throw e
+            } catch (e: ChunkedUploadUnavailableException) {
+                throw e
+            } catch (e: Exception) {
+                if (attempt >= maxAttempts) throw e
+                delay(retryDelayMs shl (attempt - 1))
+                attempt++
+            }
+        }
+    }
+
+    companion object {
+        const val DEFAULT_PARALLELISM = 3
+        const val DEFAULT_MAX_ATTEMPTS = 3
+        const val DEFAULT_RETRY_DELAY_MS = 500L
+    }
+}
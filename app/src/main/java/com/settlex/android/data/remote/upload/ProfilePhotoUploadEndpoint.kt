@@ -0,0 +1,81 @@
+package com.settlex.android.data.remote.upload
+
+import com.google.firebase.functions.FirebaseFunctionsException
+import com.settlex.android.data.datasource.FunctionsApiClient
+import jakarta.inject.Inject
+import jakarta.inject.Singleton
+
+/**
+ * [UploadEndpoint] backed by the profile photo Cloud Functions.
+ *
+ * The payload is the Base64 text the single-request upload used to send as `imgBase64`, so each
+ * chunk travels as plain text and the server decodes the image once it has every chunk. Backends
+ * without the chunked callables still take the whole image through `api-setUserProfilePhoto`.
+ */
+@Singleton
+class ProfilePhotoUploadEndpoint @Inject constructor(
+    private val cloudFunctions: FunctionsApiClient
+) : UploadEndpoint {
+
+    override suspend fun begin(payload: ChunkedPayload): Set<Int> {
+        val response = chunkedCall {
+            cloudFunctions.call<List<Int>>(
+                name = "api-beginProfilePhotoUpload",
+                data = mapOf(
+                    "uploadId" to payload.uploadId,
+                    "totalBytes" to payload.totalBytes,
+                    "chunkSize" to payload.chunkSize,
+                    "checksums" to payload.checksums
+                )
+            )
+        }
+        return response.data.toSet()
+    }
+
+    override suspend fun putChunk(uploadId: String, chunk: UploadChunk) {
+        chunkedCall {
+            cloudFunctions.call<Boolean>(
+                name = "api-putProfilePhotoChunk",
+                data = mapOf(
+                    "uploadId" to uploadId,
+                    "index" to chunk.index,
+                    "offset" to chunk.offset,
+                    "checksum" to chunk.checksum,
+                    "data" to String(chunk.bytes, Charsets.US_ASCII)
+                )
+            )
+        }
+    }
+
+    override suspend fun complete(uploadId: String): String {
+        return chunkedCall {
+            cloudFunctions.call<String>(
+                name = "api-completeProfilePhotoUpload",
+                data = mapOf("uploadId" to uploadId)
+            )
+        }.data
+    }
+
+    override suspend fun uploadWhole(payload: ChunkedPayload): String {
+        return cloudFunctions.call<String>(
+            name = "api-setUserProfilePhoto",
+            data = mapOf("imgBase64" to String(payload.toByteArray(), Charsets.US_ASCII))
+        ).data
+    }
+
+    private inline fun <T> chunkedCall(call: () -> T): T {
+        return try {
+            call()
+        } catch (e: FirebaseFunctionsException) {
+            if (isMissingFunction(e)) throw ChunkedUploadUnavailableException(e)
+            throw e
+        }
+    }
+
+    // A callable that isn't deployed fails with a bare NOT_FOUND; errors the function itself
+    // raises carry their own message
+    private fun isMissingFunction(e: FirebaseFunctionsException): Boolean {
+        return e.code == FirebaseFunctionsException.Code.UNIMPLEMENTED ||
+                (e.code == FirebaseFunctionsException.Code.NOT_FOUND && e.message == e.code.name)
+    }
+}
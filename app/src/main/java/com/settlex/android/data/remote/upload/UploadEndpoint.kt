@@ -0,0 +1,39 @@
+package com.settlex.android.data.remote.upload
+
+/**
+ * Thrown by the chunked calls of [UploadEndpoint] when the backend doesn't offer them. The
+ * upload can still go through [UploadEndpoint.uploadWhole].
+ */
+class ChunkedUploadUnavailableException(cause: Throwable? = null) :
+    Exception("Chunked upload is unavailable", cause)
+
+/**
+ * Server side of a chunked upload.
+ */
+interface UploadEndpoint {
+
+    /**
+     * Opens the upload for [payload], or reopens it if it already exists.
+     *
+     * @return Indices of the chunks the server has already acknowledged.
+     * @throws ChunkedUploadUnavailableException if the backend doesn't offer chunked uploads.
+     */
+    suspend fun begin(payload: ChunkedPayload): Set<Int>
+
+    /**
+     * Sends one chunk. Returning normally means the server verified its checksum and stored it.
+     */
+    suspend fun putChunk(uploadId: String, chunk: UploadChunk)
+
+    /**
+     * Assembles the acknowledged chunks and returns the result, e.g. the stored file's URL.
+     */
+    suspend fun complete(uploadId: String): String
+
+    /**
+     * Sends the whole of [payload] in one request, for backends without chunked uploads.
+     *
+     * @return The same result as [complete].
+     */
+    suspend fun uploadWhole(payload: ChunkedPayload): String
+}
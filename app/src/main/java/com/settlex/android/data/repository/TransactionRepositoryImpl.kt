@@ -1,22 +1,31 @@
 package com.settlex.android.data.repository
 
 import com.settlex.android.data.datasource.UserRemoteDataSource
+import com.settlex.android.data.enums.TransactionStatus
 import com.settlex.android.data.exception.ExceptionMapper
-import com.settlex.android.data.remote.dto.ApiResponse
+import com.settlex.android.data.local.RecipientIndexStore
+import com.settlex.android.data.remote.dto.RecipientDto
 import com.settlex.android.data.remote.dto.TransactionDto
+import com.settlex.android.data.remote.transfer.BatchTransferResult
+import com.settlex.android.data.remote.transfer.PinTransferResult
+import com.settlex.android.data.remote.transfer.TransferLeg
 import com.settlex.android.domain.repository.TransactionsRepository
 import jakarta.inject.Inject
 import kotlinx.coroutines.flow.Flow
 import kotlinx.coroutines.flow.map
+import kotlinx.coroutines.flow.onEach
 
 class TransactionRepositoryImpl @Inject constructor(
     private val remote: UserRemoteDataSource,
-    private val exceptionMapper: ExceptionMapper
+    private val exceptionMapper: ExceptionMapper,
+    private val recipientIndex: RecipientIndexStore
 ) : TransactionsRepository {
 
     override suspend fun fetchRecentTransactions(): Pair<String, Flow<Result<List<TransactionDto>>>> {
         val (uid, transactions) = remote.fetchRecentTransactions()
-        return uid to transactions.map { result ->
+        return uid to transactions.onEach { result ->
+            result.onSuccess { recipientIndex.recordTransactions(uid, it) }
+        }.map { result ->
             result.fold(
                 onSuccess = { Result.success(it) },
                 onFailure = { Result.failure(exceptionMapper.map(it as Exception)) }
@@ -25,7 +34,9 @@ class TransactionRepositoryImpl @Inject constructor(
     }
 
     override suspend fun fetchTransactionsForTheMonth(): Flow<Result<Pair<String, List<TransactionDto>>>> {
-        return remote.fetchTransactionsForTheMonth().map { result ->
+        return remote.fetchTransactionsForTheMonth().onEach { result ->
+            result.onSuccess { (uid, transactions) -> recipientIndex.recordTransactions(uid, transactions) }
+        }.map { result ->
             result.fold(
                 onSuccess = { Result.success(it) },
                 onFailure = { Result.failure(exceptionMapper.map(it as Exception)) }
@@ -37,7 +48,7 @@ class TransactionRepositoryImpl @Inject constructor(
         toRecipientPaymentId: String,
         transferAmount: Long,
         description: String?
-    ): Result<ApiResponse<String>> {
+    ): Result<PinTransferResult.Completed> {
         runCatching {
             remote.transferToFriend(
                 toRecipientPaymentId,
@@ -49,4 +60,53 @@ class TransactionRepositoryImpl @Inject constructor(
             onFailure = { return Result.failure(exceptionMapper.map(it as Exception)) }
         )
     }
-}
\ No newline at end of file
+
+    override suspend fun transferToFriendWithPin(
+        pin: String,
+        toRecipientPaymentId: String,
+        transferAmount: Long,
+        description: String?
+    ): Result<PinTransferResult> {
+        return runCatching {
+            remote.transferToFriendWithPin(pin, toRecipientPaymentId, transferAmount, description)
+        }.fold(
+            onSuccess = { Result.success(it) },
+            onFailure = { Result.failure(exceptionMapper.map(it as Exception)) }
+        )
+    }
+
+    override suspend fun transferToFriendsWithPin(
+        pin: String,
+        legs: List<TransferLeg>,
+        description: String?
+    ): Result<BatchTransferResult> {
+        return runCatching {
+            remote.transferToFriendsWithPin(pin, legs, description)
+        }.fold(
+            onSuccess = { Result.success(it) },
+            onFailure = { Result.failure(exceptionMapper.map(it as Exception)) }
+        )
+    }
+
+    override suspend fun getRecipientsByPaymentIds(paymentIds: List<String>): Result<Map<String, RecipientDto?>> {
+        return runCatching {
+            remote.getRecipientsByPaymentIds(paymentIds)
+        }.fold(
+            onSuccess = { Result.success(it) },
+            onFailure = { Result.failure(exceptionMapper.map(it as Exception)) }
+        )
+    }
+
+    override suspend fun reconcilePendingTransfers(): Result<List<String>> {
+        return runCatching {
+            remote.reconcilePendingTransfers()
+        }.fold(
+            onSuccess = { Result.success(it) },
+            onFailure = { Result.failure(exceptionMapper.map(it as Exception)) }
+        )
+    }
+
+    override fun trackTransaction(transactionId: String, knownStatus: TransactionStatus?): Flow<TransactionStatus> {
+        return remote.trackTransaction(transactionId, knownStatus)
+    }
+}
@@ -7,6 +7,7 @@ import com.settlex.android.data.datasource.UserRemoteDataSource
 import com.settlex.android.data.exception.ExceptionMapper
 import com.settlex.android.data.remote.dto.ApiResponse
 import com.settlex.android.data.remote.dto.RecipientDto
+import com.settlex.android.data.remote.upload.UploadProgress
 import com.settlex.android.domain.repository.UserRepository
 import jakarta.inject.Inject
 import kotlinx.coroutines.CoroutineScope
@@ -84,9 +85,10 @@ class UserRepositoryImpl @Inject constructor(
 
     override suspend fun setProfilePhoto(
         context: Context,
-        imageUri: Uri
+        imageUri: Uri,
+        onProgress: (UploadProgress) -> Unit
     ): Result<ApiResponse<String>> {
-        return runCatching { remote.setProfilePhoto(context, imageUri) }
+        return runCatching { remote.setProfilePhoto(context, imageUri, onProgress) }
             .fold(
                 onSuccess = {
                     // Reload user data
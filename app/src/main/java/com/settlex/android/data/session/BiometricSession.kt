@@ -0,0 +1,209 @@
+package com.settlex.android.data.session
+
+import android.content.Context
+import android.os.SystemClock
+import android.security.keystore.KeyGenParameterSpec
+import android.security.keystore.KeyPermanentlyInvalidatedException
+import android.security.keystore.KeyProperties
+import android.util.Log
+import androidx.biometric.BiometricManager
+import androidx.biometric.BiometricManager.Authenticators.BIOMETRIC_STRONG
+import androidx.biometric.BiometricPrompt
+import androidx.biometric.BiometricPrompt.PromptInfo
+import dagger.hilt.android.qualifiers.ApplicationContext
+import jakarta.inject.Inject
+import jakarta.inject.Singleton
+import kotlinx.coroutines.CancellationException
+import kotlinx.coroutines.CoroutineScope
+import kotlinx.coroutines.Dispatchers
+import kotlinx.coroutines.Job
+import kotlinx.coroutines.flow.distinctUntilChanged
+import kotlinx.coroutines.flow.launchIn
+import kotlinx.coroutines.flow.map
+import kotlinx.coroutines.flow.onEach
+import kotlinx.coroutines.launch
+import java.security.KeyStore
+import java.util.concurrent.ConcurrentHashMap
+import javax.crypto.Cipher
+import javax.crypto.KeyGenerator
+import javax.crypto.SecretKey
+
+/**
+ * Keeps biometric prompts ready to show for the signed-in user.
+ *
+ * Biometric capability is checked once per session. When the user has pay or login biometrics
+ * enabled, the Keystore key and its [Cipher] are prepared off the main thread at sign-in, so
+ * [takeCryptoObject] hands one over without touching the Keystore. A crypto object authorises a
+ * single prompt, so the next one is prepared as soon as it is taken. [PromptInfo]s are cached
+ * by their texts.
+ *
+ * [BiometricAuthManager][com.settlex.android.presentation.common.components.BiometricAuthManager]
+ * reports prompt outcomes back, and the prompt-to-success latency is kept in [stats].
+ */
+@Singleton
+class BiometricSession @Inject constructor(
+    @param:ApplicationContext private val context: Context,
+    private val sessionManager: UserSessionManager,
+    private val applicationScope: CoroutineScope
+) {
+    /**
+     * Time from showing a prompt to its successful authentication.
+     */
+    data class PromptStats(
+        val successCount: Int = 0,
+        val lastLatencyMs: Long = 0,
+        val totalLatencyMs: Long = 0
+    ) {
+        val averageLatencyMs: Long get() = if (successCount == 0) 0 else totalLatencyMs / successCount
+
+        fun record(latencyMs: Long) = PromptStats(
+            successCount = successCount + 1,
+            lastLatencyMs = latencyMs,
+            totalLatencyMs = totalLatencyMs + latencyMs
+        )
+    }
+
+    private val promptInfos = ConcurrentHashMap<Pair<String, String>, PromptInfo>()
+
+    @Volatile
+    private var capability: Int? = null
+
+    @Volatile
+    private var preparedCrypto: BiometricPrompt.CryptoObject? = null
+
+    private var prepareJob: Job? = null
+
+    // Main thread only
+    private var promptShownAt = 0L
+
+    @Volatile
+    var stats = PromptStats()
+        private set
+
+    init {
+        sessionManager.userSession
+            .map { it is UserSessionState.Authenticated }
+            .distinctUntilChanged()
+            .onEach { authenticated -> if (authenticated) onSignedIn() else reset() }
+            .launchIn(applicationScope)
+    }
+
+    /**
+     * `BiometricManager.canAuthenticate(BIOMETRIC_STRONG)`, checked once per session.
+     */
+    fun capability(): Int {
+        return capability ?: BiometricManager.from(context).canAuthenticate(BIOMETRIC_STRONG)
+            .also { capability = it }
+    }
+
+    fun isAvailable(): Boolean = capability() == BiometricManager.BIOMETRIC_SUCCESS
+
+    /**
+     * Prepares the next crypto object in the background, unless one is ready or being prepared.
+     */
+    @Synchronized
+    fun warmUp() {
+        if (preparedCrypto != null || prepareJob?.isActive == true) return
+
+        prepareJob = applicationScope.launch(Dispatchers.Default) {
+            if (!isAvailable()) return@launch
+            try {
+                val startedAt = SystemClock.elapsedRealtime()
+                preparedCrypto = BiometricPrompt.CryptoObject(createCipher())
+                Log.d(TAG, "Biometric crypto object ready in ${SystemClock.elapsedRealtime() - startedAt}ms")
+            } catch (e: CancellationException) {
+                throw e
+            } catch (e: Exception) {
+                // Prompts still work without one, just unbound to a key
+                Log.w(TAG, "Biometric key preparation failed", e)
+            }
+        }
+    }
+
+    /**
+     * The prepared crypto object, or `null` if none is ready yet. Starts preparing the next.
+     */
+    @Synchronized
+    fun takeCryptoObject(): BiometricPrompt.CryptoObject? {
+        val crypto = preparedCrypto
+        preparedCrypto = null
+        warmUp()
+        return crypto
+    }
+
+    fun promptInfo(title: String, negativeButtonText: String): PromptInfo {
+        return promptInfos.getOrPut(title to negativeButtonText) {
+            PromptInfo.Builder()
+                .setTitle(title)
+                .setNegativeButtonText(negativeButtonText)
+                .setAllowedAuthenticators(BIOMETRIC_STRONG)
+                .build()
+        }
+    }
+
+    fun onPromptShown() {
+        promptShownAt = SystemClock.elapsedRealtime()
+    }
+
+    fun onPromptSucceeded() {
+        if (promptShownAt == 0L) return
+
+        stats = stats.record(SystemClock.elapsedRealtime() - promptShownAt)
+        promptShownAt = 0L
+        Log.d(TAG, "Biometric prompt succeeded in ${stats.lastLatencyMs}ms (avg ${stats.averageLatencyMs}ms)")
+    }
+
+    fun onPromptEnded() {
+        promptShownAt = 0L
+    }
+
+    private fun onSignedIn() {
+        val localData = runCatching { sessionManager.userLocalDataSource }.getOrNull() ?: return
+        if (localData.isPayBiometricsEnabled || localData.isLoginBiometricsEnabled) warmUp()
+    }
+
+    @Synchronized
+    private fun reset() {
+        prepareJob?.cancel()
+        prepareJob = null
+        preparedCrypto = null
+        capability = null
+    }
+
+    private fun createCipher(): Cipher {
+        val cipher = Cipher.getInstance(TRANSFORMATION)
+        return try {
+            cipher.apply { init(Cipher.ENCRYPT_MODE, getOrCreateKey()) }
+        } catch (e: KeyPermanentlyInvalidatedException) {
+            // Biometrics were re-enrolled since the key was made
+            KeyStore.getInstance(KEYSTORE).apply { load(null) }.deleteEntry(KEY_ALIAS)
+            cipher.apply { init(Cipher.ENCRYPT_MODE, getOrCreateKey()) }
+        }
+    }
+
+    private fun getOrCreateKey(): SecretKey {
+        val keyStore = KeyStore.getInstance(KEYSTORE).apply { load(null) }
+        (keyStore.getKey(KEY_ALIAS, null) as? SecretKey)?.let { return it }
+
+        val spec = KeyGenParameterSpec.Builder(
+            KEY_ALIAS,
+            KeyProperties.PURPOSE_ENCRYPT or KeyProperties.PURPOSE_DECRYPT
+        )
+            .setBlockModes(KeyProperties.BLOCK_MODE_GCM)
+            .setEncryptionPaddings(KeyProperties.ENCRYPTION_PADDING_NONE)
+            .setUserAuthenticationRequired(true)
+            .setInvalidatedByBiometricEnrollment(true)
+            .build()
+
+        return KeyGenerator.getInstance(KeyProperties.KEY_ALGORITHM_AES, KEYSTORE)
+            .apply { init(spec) }
+            .generateKey()
+    }
+
+    companion object {
+        private val TAG = BiometricSession::class.java.simpleName
+        private const val KEYSTORE = "AndroidKeyStore"
+        private const val KEY_ALIAS = "settlex_biometric_key"
+        private const val TRANSFORMATION = "AES/GCM/NoPadding"
+    }
+}
@@ -0,0 +1,154 @@
+package com.settlex.android.data.session
+
+import android.os.SystemClock
+import android.util.Log
+import com.google.firebase.auth.FirebaseAuth
+import com.google.firebase.auth.FirebaseUser
+import com.settlex.android.util.lifecycle.AppForegroundState
+import jakarta.inject.Inject
+import jakarta.inject.Singleton
+import kotlinx.coroutines.CancellationException
+import kotlinx.coroutines.CoroutineScope
+import kotlinx.coroutines.Job
+import kotlinx.coroutines.delay
+import kotlinx.coroutines.flow.launchIn
+import kotlinx.coroutines.flow.onEach
+import kotlinx.coroutines.isActive
+import kotlinx.coroutines.launch
+import kotlinx.coroutines.sync.Mutex
+import kotlinx.coroutines.sync.withLock
+import kotlinx.coroutines.tasks.await
+
+/**
+ * Keeps the signed-in user's Firebase ID token fresh, so a Cloud Function call never waits
+ * on a token refresh.
+ *
+ * While the app is in the foreground, the token is refreshed [REFRESH_AHEAD_MS] before it expires.
+ * Firebase only refreshes on demand within 5 minutes of expiry, and that refresh would otherwise
+ * land on the first call after the app sits idle. Screens about to make a latency-sensitive call
+ * (e.g. the payment sheet) call [ensureFresh] first, which returns at once when the token is
+ * already fresh.
+ */
+@Singleton
+class IdTokenRefresher @Inject constructor(
+    private val appForeground: AppForegroundState,
+    private val auth: FirebaseAuth,
+    private val applicationScope: CoroutineScope
+) {
+    /**
+     * Latency of the token fetches made so far, for diagnostics.
+     */
+    data class RefreshStats(
+        val refreshCount: Int = 0,
+        val lastLatencyMs: Long = 0,
+        val maxLatencyMs: Long = 0,
+        val totalLatencyMs: Long = 0
+    ) {
+        val averageLatencyMs: Long get() = if (refreshCount == 0) 0 else totalLatencyMs / refreshCount
+
+        fun record(latencyMs: Long) = RefreshStats(
+            refreshCount = refreshCount + 1,
+            lastLatencyMs = latencyMs,
+            maxLatencyMs = maxOf(maxLatencyMs, latencyMs),
+            totalLatencyMs = totalLatencyMs + latencyMs
+        )
+    }
+
+    private val refreshMutex = Mutex()
+
+    // Wall-clock expiry of the current token, or 0 when unknown
+    @Volatile
+    private var expiresAtMs = 0L
+
+    @Volatile
+    var stats = RefreshStats()
+        private set
+
+    // Guarded by this
+    private var refreshLoop: Job? = null
+
+    init {
+        appForeground.isInForeground
+            .onEach { isInForeground ->
+                if (!isInForeground) stopRefreshLoop()
+                else if (auth.currentUser != null) startRefreshLoop()
+            }
+            .launchIn(applicationScope)
+
+        auth.addAuthStateListener { firebaseAuth ->
+            expiresAtMs = 0L
+            if (firebaseAuth.currentUser != null && appForeground.isInForeground.value) startRefreshLoop()
+        }
+    }
+
+    /**
+     * Makes sure the current user's token stays valid for at least [minValidityMs], refreshing
+     * it if not. Does nothing when signed out. Failures are logged, not thrown: the call that
+     * follows will refresh on its own and surface the error itself.
+     */
+    suspend fun ensureFresh(minValidityMs: Long = MIN_VALIDITY_MS) {
+        val user = auth.currentUser ?: return
+        if (isFresh(minValidityMs)) return
+
+        refreshMutex.withLock {
+            // Another caller may have refreshed while this one waited
+            if (isFresh(minValidityMs)) return
+            try {
+                refresh(user, minValidityMs)
+            } catch (e: CancellationException) {
+                throw e
+            } catch (e: Exception) {
+                Log.w(TAG, "ID token refresh failed", e)
+            }
+        }
+    }
+
+    private fun isFresh(minValidityMs: Long): Boolean {
+        return expiresAtMs - System.currentTimeMillis() > minValidityMs
+    }
+
+    private suspend fun refresh(user: FirebaseUser, minValidityMs: Long) {
+        val startedAt = SystemClock.elapsedRealtime()
+
+        // Served from Firebase's cache unless the token is within its own refresh window
+        var result = user.getIdToken(false).await()
+        if (result.expirationTimestamp * 1000 - System.currentTimeMillis() <= minValidityMs) {
+            result = user.getIdToken(true).await()
+        }
+
+        expiresAtMs = result.expirationTimestamp * 1000
+        stats = stats.record(SystemClock.elapsedRealtime() - startedAt)
+        Log.d(TAG, "ID token valid until $expiresAtMs, ${stats.lastLatencyMs}ms (avg ${stats.averageLatencyMs}ms)")
+    }
+
+    private fun startRefreshLoop() {
+        synchronized(this) {
+            if (refreshLoop?.isActive == true) return
+
+            refreshLoop = applicationScope.launch {
+                while (isActive && auth.currentUser != null) {
+                    ensureFresh(REFRESH_AHEAD_MS)
+
+                    val untilRefreshMs = expiresAtMs - REFRESH_AHEAD_MS - System.currentTimeMillis()
+                    // A failed refresh leaves the token stale; back off instead of spinning
+                    delay(if (untilRefreshMs > 0) untilRefreshMs else RETRY_DELAY_MS)
+                }
+            }
+        }
+    }
+
+    private fun stopRefreshLoop() = synchronized(this) {
+        refreshLoop?.cancel()
+        refreshLoop = null
+    }
+
+    companion object {
+        private val TAG = IdTokenRefresher::class.java.simpleName
+
+        /** Validity a token must have left before a payment call; above Firebase's 5-minute window. */
+        const val MIN_VALIDITY_MS = 6 * 60 * 1000L
+
+        private const val REFRESH_AHEAD_MS = 10 * 60 * 1000L
+        private const val RETRY_DELAY_MS = 30 * 1000L
+    }
+}
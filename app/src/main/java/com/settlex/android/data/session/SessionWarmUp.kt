@@ -0,0 +1,134 @@
+package com.settlex.android.data.session
+
+import android.content.Context
+import android.os.SystemClock
+import android.util.Log
+import com.settlex.android.data.datasource.UserRemoteDataSource
+import com.settlex.android.data.remote.profile.ProfileService
+import com.settlex.android.domain.repository.PromoBannerRepository
+import dagger.hilt.android.qualifiers.ApplicationContext
+import jakarta.inject.Inject
+import jakarta.inject.Singleton
+import kotlinx.coroutines.CoroutineScope
+import kotlinx.coroutines.Dispatchers
+import kotlinx.coroutines.Job
+import kotlinx.coroutines.flow.first
+import kotlinx.coroutines.launch
+import kotlinx.coroutines.withContext
+import kotlinx.coroutines.withTimeoutOrNull
+import java.util.concurrent.ConcurrentHashMap
+import kotlin.math.roundToInt
+
+/**
+ * Starts loading the dashboard's data as soon as sign-in succeeds, while the login screen is
+ * still navigating away, so the home screen finds it ready on its first frame.
+ *
+ * The user document, recent transactions and banners load concurrently; the avatar is decoded
+ * as soon as the user document names it. The shared listeners are kept open for
+ * [KEEP_WARM_MS], long enough for the dashboard to subscribe to the same ones.
+ *
+ * When the dashboard attaches, [onDashboardAttached] logs how much loading time overlapped
+ * navigation instead of happening in front of the user.
+ */
+@Singleton
+class SessionWarmUp @Inject constructor(
+    @param:ApplicationContext private val context: Context,
+    private val sessionManager: UserSessionManager,
+    private val userRemoteDataSource: UserRemoteDataSource,
+    private val bannerRepository: PromoBannerRepository,
+    private val applicationScope: CoroutineScope
+) {
+    enum class Task { USER_PROFILE, RECENT_TRANSACTIONS, BANNERS, AVATAR }
+
+    /**
+     * How long [task] took from sign-in, and how much of that was saved by starting early.
+     */
+    data class TaskTiming(val task: Task, val loadMs: Long?, val savedMs: Long)
+
+    private val readyAt = ConcurrentHashMap<Task, Long>()
+
+    @Volatile
+    private var startedAt = 0L
+
+    private var warmUpJob: Job? = null
+
+    @Synchronized
+    fun start() {
+        warmUpJob?.cancel()
+        readyAt.clear()
+        startedAt = SystemClock.elapsedRealtime()
+
+        warmUpJob = applicationScope.launch {
+            launch { warmUserProfile() }
+            launch { warmRecentTransactions() }
+            launch { warmBanners() }
+        }
+    }
+
+    /**
+     * Logs the time saved per task. Loads still running at this point count as saved up to now.
+     */
+    fun onDashboardAttached(): List<TaskTiming> {
+        val started = startedAt
+        if (started == 0L) return emptyList()
+
+        val attachedMs = SystemClock.elapsedRealtime() - started
+        val timings = Task.entries.map { task ->
+            val loadMs = readyAt[task]?.minus(started)
+            TaskTiming(task, loadMs, minOf(loadMs ?: attachedMs, attachedMs))
+        }
+
+        Log.d(
+            TAG,
+            "Dashboard attached ${attachedMs}ms after sign-in: " + timings.joinToString {
+                "${it.task} load=${it.loadMs ?: "pending"}ms saved=${it.savedMs}ms"
+            }
+        )
+        startedAt = 0L
+        return timings
+    }
+
+    private suspend fun warmUserProfile() {
+        val state = withTimeoutOrNull(KEEP_WARM_MS) {
+            sessionManager.userSession.first {
+                it is UserSessionState.Authenticated || it is UserSessionState.Error
+            }
+        } ?: return
+        markReady(Task.USER_PROFILE)
+
+        val photoUrl = (state as? UserSessionState.Authenticated)?.user?.photoUrl
+        if (photoUrl.isNullOrBlank()) return
+
+        val sizePx = (HOME_AVATAR_SIZE_DP * context.resources.displayMetrics.density).roundToInt()
+        withContext(Dispatchers.Main) {
+            ProfileService.preloadProfilePhoto(context, photoUrl, sizePx) { markReady(Task.AVATAR) }
+        }
+    }
+
+    private suspend fun warmRecentTransactions() {
+        val (_, transactions) = runCatching { userRemoteDataSource.fetchRecentTransactions() }
+            .getOrElse { return }
+
+        withTimeoutOrNull(KEEP_WARM_MS) {
+            transactions.collect { markReady(Task.RECENT_TRANSACTIONS) }
+        }
+    }
+
+    private suspend fun warmBanners() {
+        runCatching { bannerRepository.getPromotionalBanners() }
+            .onSuccess { markReady(Task.BANNERS) }
+            .onFailure { Log.w(TAG, "Banner warm-up failed", it) }
+    }
+
+    private fun markReady(task: Task) {
+        readyAt.putIfAbsent(task, SystemClock.elapsedRealtime())
+    }
+
+    companion object {
+        private val TAG = SessionWarmUp::class.java.simpleName
+        private const val KEEP_WARM_MS = 15_000L
+
+        // Size of the avatar on the home dashboard
+        private const val HOME_AVATAR_SIZE_DP = 40
+    }
+}
@@ -29,6 +29,7 @@ class UserSessionManager @Inject constructor(
 ) {
     private var profileJob: Job? = null
     private var _userLocalDataSource: UserLocalDataSource? = null
+    private var userLocalDataSourceUid: String? = null
 
     /**
      * Provides access to the local data source for the currently logged-in user.
@@ -45,6 +46,8 @@ class UserSessionManager @Inject constructor(
 
     init {
         Log.d(TAG, "$TAG initialized")
+        // Start loading a restored user's prefs now; the auth listener only fires later
+        auth.currentUser?.let { initUserLocalDataSource(it.uid) }
         initAuthStateListener()
     }
 
@@ -59,14 +62,21 @@ class UserSessionManager @Inject constructor(
         // Cancel any running profile fetch
         profileJob?.cancel()
         _userLocalDataSource = null
+        userLocalDataSourceUid = null
         _userSession.value = UserSessionState.UnAuthenticated
     }
 
+    private fun initUserLocalDataSource(uid: String) {
+        if (_userLocalDataSource != null && userLocalDataSourceUid == uid) return
+        _userLocalDataSource = dataSourceFactory.create(uid)
+        userLocalDataSourceUid = uid
+    }
+
     private fun setupUserSession(uid: String) {
         _userSession.value = UserSessionState.Loading
 
         // Initialize UserLocalDataSource
-        _userLocalDataSource = dataSourceFactory.create(uid)
+        initUserLocalDataSource(uid)
 
         // Fetch user profile
         profileJob = firestore.collection("users")
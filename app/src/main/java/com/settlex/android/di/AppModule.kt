@@ -1,12 +1,11 @@
 package com.settlex.android.di
 
-import android.content.Context
-import android.content.SharedPreferences
 import com.settlex.android.data.local.PermissionPrefs
+import com.settlex.android.data.local.PreferenceStore
+import com.settlex.android.data.local.PreferenceStoreFactory
 import dagger.Module
 import dagger.Provides
 import dagger.hilt.InstallIn
-import dagger.hilt.android.qualifiers.ApplicationContext
 import dagger.hilt.components.SingletonComponent
 import jakarta.inject.Qualifier
 import jakarta.inject.Singleton
@@ -20,14 +19,14 @@ annotation class AppPrefs
 object AppModule {
     @Provides
     @Singleton
-    fun providePermissionPrefs(@ApplicationContext context: Context): PermissionPrefs {
-        return PermissionPrefs(context)
+    fun providePermissionPrefs(factory: PreferenceStoreFactory): PermissionPrefs {
+        return PermissionPrefs(factory.get(PreferenceStoreFactory.PERMISSION_PREFS))
     }
 
     @Singleton
     @AppPrefs
     @Provides
-    fun provideAppPrefs(@ApplicationContext context: Context): SharedPreferences {
-        return context.getSharedPreferences("app_prefs", Context.MODE_PRIVATE)
+    fun provideAppPrefs(factory: PreferenceStoreFactory): PreferenceStore {
+        return factory.get(PreferenceStoreFactory.APP_PREFS)
     }
 }
@@ -2,6 +2,10 @@ package com.settlex.android.di
 
 import com.settlex.android.data.local.UserLocalDataSourceFactory
 import com.settlex.android.data.local.UserLocalDataSourceFactoryImpl
+import com.settlex.android.data.remote.api.IpApiLocationClient
+import com.settlex.android.data.remote.api.IpLocationApi
+import com.settlex.android.data.remote.registration.FirebaseRegistrationStages
+import com.settlex.android.data.remote.registration.RegistrationStages
 import dagger.Binds
 import dagger.Module
 import dagger.hilt.InstallIn
@@ -20,4 +24,14 @@ abstract class DataSourceModule {
     abstract fun bindUserLocalDataSourceFactory(
         factory: UserLocalDataSourceFactoryImpl
     ): UserLocalDataSourceFactory
+
+    @Binds
+    abstract fun bindIpLocationApi(
+        client: IpApiLocationClient
+    ): IpLocationApi
+
+    @Binds
+    abstract fun bindRegistrationStages(
+        stages: FirebaseRegistrationStages
+    ): RegistrationStages
 }
\ No newline at end of file
@@ -4,45 +4,111 @@ import java.nio.charset.StandardCharsets;
 import java.security.MessageDigest;
 import java.security.NoSuchAlgorithmException;
 import java.util.Locale;
-import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
 
 /**
  * Transaction ID Generator
- * Compact + unique:
+ * Compact + unique, fixed 32 chars:
  * - 8-char username hash
- * - Base36 timestamp (~8 chars)
- * - 16-char UUID slice
+ * - 8-char zero-padded base36 timestamp
+ * - 4-char hex sequence within the millisecond
+ * - 12-char hex random
+ * <p>
+ * Timestamp and sequence come from one lock-free monotonic clock, so IDs generated in this
+ * process never repeat and sort in generation order, even when the wall clock stalls or steps
+ * back. The random part keeps IDs from different devices apart.
  */
 public class TransactionIdGenerator {
 
+    public static final int ID_LENGTH = 32;
+
+    private static final int HASH_LENGTH = 8;
+    private static final int TIMESTAMP_LENGTH = 8;
+    private static final int SEQUENCE_LENGTH = 4;
+    private static final int RANDOM_LENGTH = 12;
+
+    private static final int SEQUENCE_BITS = 16;
+    private static final long SEQUENCE_MASK = (1L << SEQUENCE_BITS) - 1;
+    private static final long RANDOM_MASK = (1L << (RANDOM_LENGTH * 4)) - 1;
+
+    private static final char[] DIGITS = "0123456789abcdefghijklmnopqrstuvwxyz".toCharArray();
+
+    // Timestamp in the high bits, sequence in the low 16; a full sequence carries into the next millisecond
+    private static final AtomicLong lastStamp = new AtomicLong();
+
+    private static final ThreadLocal<MessageDigest> sha256 = ThreadLocal.withInitial(() -> {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new RuntimeException("SHA-256 not supported", e);
+        }
+    });
+
+    // A device has one signed-in user at a time, so a single entry covers almost every call
+    private static volatile CachedHash cachedHash;
+
     private TransactionIdGenerator(){
         // prevent instantiation
     }
 
     // Generate compact unique transaction ID
     public static String generate(String uid) {
-        String userHash = hashUID(uid); // 8 chars
-        String tsBase36 = Long.toString(System.currentTimeMillis(), 36); // ~8 chars
-        String uuidShort = UUID.randomUUID().toString().replace("-", "").substring(0, 16); // 16 chars
+        char[] id = new char[ID_LENGTH];
+        System.arraycopy(hashUID(uid), 0, id, 0, HASH_LENGTH);
+
+        long stamp = nextStamp();
+        int offset = HASH_LENGTH;
+        offset = encode(stamp >>> SEQUENCE_BITS, 36, id, offset, TIMESTAMP_LENGTH);
+        offset = encode(stamp & SEQUENCE_MASK, 16, id, offset, SEQUENCE_LENGTH);
+        encode(ThreadLocalRandom.current().nextLong() & RANDOM_MASK, 16, id, offset, RANDOM_LENGTH);
+
+        return new String(id);
+    }
 
-        return userHash + tsBase36 + uuidShort; // ~32 chars total
+    // Next strictly increasing timestamp/sequence pair, never behind the wall clock
+    private static long nextStamp() {
+        long now = System.currentTimeMillis() << SEQUENCE_BITS;
+        while (true) {
+            long previous = lastStamp.get();
+            long next = Math.max(now, previous + 1);
+            if (lastStamp.compareAndSet(previous, next)) return next;
+        }
+    }
+
+    // Write value as zero-padded digits in the given radix, right-aligned in width chars
+    private static int encode(long value, int radix, char[] buffer, int offset, int width) {
+        for (int i = offset + width - 1; i >= offset; i--) {
+            buffer[i] = DIGITS[(int) (value % radix)];
+            value /= radix;
+        }
+        return offset + width;
     }
 
     // Hash the UID into lowercase hex (first 4 bytes -> 8 chars)
-    private static String hashUID(String uid) {
-        try {
-            MessageDigest digest = MessageDigest.getInstance("SHA-256");
-            byte[] hash = digest.digest(uid.toLowerCase(Locale.ROOT).getBytes(StandardCharsets.UTF_8));
-
-            StringBuilder hexString = new StringBuilder();
-            for (int i = 0; i < 4; i++) { // 4 bytes = 8 hex chars
-                String hex = Integer.toHexString(0xff & hash[i]);
-                if (hex.length() == 1) hexString.append('0');
-                hexString.append(hex);
-            }
-            return hexString.toString();
-        } catch (NoSuchAlgorithmException e) {
-            throw new RuntimeException("SHA-256 not supported", e);
+    private static char[] hashUID(String uid) {
+        CachedHash cached = cachedHash;
+        if (cached != null && cached.uid.equals(uid)) return cached.hex;
+
+        byte[] hash = sha256.get().digest(uid.toLowerCase(Locale.ROOT).getBytes(StandardCharsets.UTF_8));
+
+        char[] hex = new char[HASH_LENGTH];
+        for (int i = 0; i < 4; i++) { // 4 bytes = 8 hex chars
+            hex[i * 2] = DIGITS[(hash[i] >> 4) & 0xf];
+            hex[i * 2 + 1] = DIGITS[hash[i] & 0xf];
+        }
+
+        cachedHash = new CachedHash(uid, hex);
+        return hex;
+    }
+
+    private static final class CachedHash {
+        final String uid;
+        final char[] hex;
+
+        CachedHash(String uid, char[] hex) {
+            this.uid = uid;
+            this.hex = hex;
         }
     }
-}
\ No newline at end of file
+}
@@ -1,7 +1,11 @@
 package com.settlex.android.domain.repository
 
-import com.settlex.android.data.remote.dto.ApiResponse
+import com.settlex.android.data.enums.TransactionStatus
+import com.settlex.android.data.remote.dto.RecipientDto
 import com.settlex.android.data.remote.dto.TransactionDto
+import com.settlex.android.data.remote.transfer.BatchTransferResult
+import com.settlex.android.data.remote.transfer.PinTransferResult
+import com.settlex.android.data.remote.transfer.TransferLeg
 import kotlinx.coroutines.flow.Flow
 
 interface TransactionsRepository {
@@ -11,5 +15,26 @@ interface TransactionsRepository {
         toRecipientPaymentId: String,
         transferAmount: Long,
         description: String?
-    ): Result<ApiResponse<String>>
+    ): Result<PinTransferResult.Completed>
+
+    suspend fun transferToFriendWithPin(
+        pin: String,
+        toRecipientPaymentId: String,
+        transferAmount: Long,
+        description: String?
+    ): Result<PinTransferResult>
+
+    suspend fun transferToFriendsWithPin(
+        pin: String,
+        legs: List<TransferLeg>,
+        description: String?
+    ): Result<BatchTransferResult>
+
+    /** @return Each payment ID's recipient, or `null` where no user holds it. */
+    suspend fun getRecipientsByPaymentIds(paymentIds: List<String>): Result<Map<String, RecipientDto?>>
+
+    /** @return IDs of interrupted transfers the backend had recorded. */
+    suspend fun reconcilePendingTransfers(): Result<List<String>>
+
+    fun trackTransaction(transactionId: String, knownStatus: TransactionStatus?): Flow<TransactionStatus>
 }
\ No newline at end of file
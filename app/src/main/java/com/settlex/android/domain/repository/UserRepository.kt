@@ -5,6 +5,7 @@ import android.net.Uri
 import com.google.firebase.auth.FirebaseUser
 import com.settlex.android.data.remote.dto.ApiResponse
 import com.settlex.android.data.remote.dto.RecipientDto
+import com.settlex.android.data.remote.upload.UploadProgress
 
 interface UserRepository {
     fun getCurrentUser(): FirebaseUser?
@@ -14,7 +15,11 @@ interface UserRepository {
     suspend fun setPaymentPin(pin: String): Result<ApiResponse<String>>
     suspend fun authPaymentPin(pin: String): Result<ApiResponse<Boolean>>
     suspend fun resetPaymentPin(oldPin: String, newPin: String): Result<ApiResponse<String>>
-    suspend fun setProfilePhoto(context: Context, imageUri: Uri): Result<ApiResponse<String>>
+    suspend fun setProfilePhoto(
+        context: Context,
+        imageUri: Uri,
+        onProgress: (UploadProgress) -> Unit
+    ): Result<ApiResponse<String>>
     suspend fun refreshUser()
     suspend fun getRecipientByPaymentId(paymentId: String): Result<ApiResponse<List<RecipientDto>>>
 }
\ No newline at end of file
@@ -1,6 +1,6 @@
 package com.settlex.android.domain.usecase.transaction
 
-import com.settlex.android.data.remote.dto.ApiResponse
+import com.settlex.android.data.remote.transfer.PinTransferResult
 import com.settlex.android.data.repository.TransactionRepositoryImpl
 import jakarta.inject.Inject
 
@@ -11,7 +11,7 @@ class TransferToFriendUseCase @Inject constructor(
         toRecipientPaymentId: String,
         transferAmount: Long,
         description: String?
-    ): Result<ApiResponse<String>> {
+    ): Result<PinTransferResult.Completed> {
         return transactionRepoImpl.transferToFriend(
             toRecipientPaymentId,
             transferAmount,
@@ -0,0 +1,23 @@
+package com.settlex.android.domain.usecase.transaction
+
+import com.settlex.android.data.remote.transfer.PinTransferResult
+import com.settlex.android.data.repository.TransactionRepositoryImpl
+import jakarta.inject.Inject
+
+class TransferToFriendWithPinUseCase @Inject constructor(
+    private val transactionRepoImpl: TransactionRepositoryImpl
+) {
+    suspend operator fun invoke(
+        pin: String,
+        toRecipientPaymentId: String,
+        transferAmount: Long,
+        description: String?
+    ): Result<PinTransferResult> {
+        return transactionRepoImpl.transferToFriendWithPin(
+            pin,
+            toRecipientPaymentId,
+            transferAmount,
+            description
+        )
+    }
+}
@@ -0,0 +1,18 @@
+package com.settlex.android.domain.usecase.transaction
+
+import com.settlex.android.data.remote.transfer.BatchTransferResult
+import com.settlex.android.data.remote.transfer.TransferLeg
+import com.settlex.android.data.repository.TransactionRepositoryImpl
+import jakarta.inject.Inject
+
+class TransferToFriendsWithPinUseCase @Inject constructor(
+    private val transactionRepoImpl: TransactionRepositoryImpl
+) {
+    suspend operator fun invoke(
+        pin: String,
+        legs: List<TransferLeg>,
+        description: String?
+    ): Result<BatchTransferResult> {
+        return transactionRepoImpl.transferToFriendsWithPin(pin, legs, description)
+    }
+}
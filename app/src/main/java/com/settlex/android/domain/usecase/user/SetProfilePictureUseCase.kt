@@ -3,11 +3,16 @@ package com.settlex.android.domain.usecase.user
 import android.content.Context
 import android.net.Uri
 import com.settlex.android.data.remote.dto.ApiResponse
+import com.settlex.android.data.remote.upload.UploadProgress
 import com.settlex.android.data.repository.UserRepositoryImpl
 import jakarta.inject.Inject
 
 class SetProfilePictureUseCase @Inject constructor(private val userRepoImpl: UserRepositoryImpl) {
-    suspend operator fun invoke(context: Context, imageUri: Uri): Result<ApiResponse<String>> {
-        return userRepoImpl.setProfilePhoto(context, imageUri)
+    suspend operator fun invoke(
+        context: Context,
+        imageUri: Uri,
+        onProgress: (UploadProgress) -> Unit = {}
+    ): Result<ApiResponse<String>> {
+        return userRepoImpl.setProfilePhoto(context, imageUri, onProgress)
     }
 }
\ No newline at end of file
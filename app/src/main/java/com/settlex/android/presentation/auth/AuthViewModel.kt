@@ -8,7 +8,7 @@ import com.settlex.android.data.exception.AppException
 import com.settlex.android.domain.model.UserModel
 import com.settlex.android.domain.usecase.auth.AuthUseCases
 import com.settlex.android.presentation.common.state.UiState
-import com.settlex.android.util.network.NetworkMonitor
+import com.settlex.android.util.network.ConnectivityService
 import dagger.hilt.android.lifecycle.HiltViewModel
 import jakarta.inject.Inject
 import kotlinx.coroutines.channels.Channel
@@ -25,7 +25,8 @@ import kotlinx.coroutines.launch
  */
 @HiltViewModel
 class AuthViewModel @Inject constructor(
-    private val authUseCases: AuthUseCases
+    private val authUseCases: AuthUseCases,
+    private val connectivity: ConnectivityService
 ) : ViewModel() {
 
     val isUserLoggedIn
@@ -158,6 +159,6 @@ class AuthViewModel @Inject constructor(
      * @return `true` if the device is connected to a network, `false` otherwise.
      */
     fun isNetworkConnected(): Boolean {
-        return NetworkMonitor.networkStatus.value
+        return connectivity.isConnected
     }
 }
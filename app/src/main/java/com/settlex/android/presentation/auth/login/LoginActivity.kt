@@ -108,7 +108,7 @@ class LoginActivity : AppCompatActivity() {
     }
 
     private fun showLoggedUser(user: LoginUiModel) = with(binding) {
-        loadProfilePhoto(user.photoUrl, ivUserProfilePhoto)
+        loadProfilePhoto(user.photoUrl, ivUserProfilePhoto, user.displayName)
         "Hi, ${user.displayName.uppercase()}".also { tvUserDisplayName.text = it }
         "(${user.email.maskEmail()})".also { tvUserEmail.text = it }
 
@@ -197,7 +197,7 @@ class LoginActivity : AppCompatActivity() {
     }
 
     private fun authenticateWithBiometrics() {
-        if (BiometricAuthManager.isBiometricAvailable(this)) {
+        if (viewModel.biometricSession.isAvailable()) {
             val biometric = BiometricAuthManager(
                 this, this, object : BiometricAuthCallback {
                     override fun onAuthenticated() {
@@ -206,7 +206,9 @@ class LoginActivity : AppCompatActivity() {
 
                     override fun onError(message: String?) {}
                     override fun onFailed() {}
-                })
+                },
+                viewModel.biometricSession
+            )
             biometric.authenticate("Confirm your identity", "Use Password")
         }
     }
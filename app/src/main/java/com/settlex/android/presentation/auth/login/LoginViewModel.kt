@@ -3,14 +3,16 @@ package com.settlex.android.presentation.auth.login
 import androidx.lifecycle.ViewModel
 import androidx.lifecycle.viewModelScope
 import com.google.firebase.auth.FirebaseAuth
-import com.settlex.android.SettleXApp
 import com.settlex.android.data.datasource.UserLocalDataSource
 import com.settlex.android.data.exception.AppException
 import com.settlex.android.data.exception.ExceptionMapper
+import com.settlex.android.data.local.UserLocalDataSourceFactory
+import com.settlex.android.data.session.BiometricSession
+import com.settlex.android.data.session.SessionWarmUp
 import com.settlex.android.domain.usecase.auth.GetCurrentUserUseCase
 import com.settlex.android.domain.usecase.auth.LoginUseCase
 import com.settlex.android.presentation.common.state.UiState
-import com.settlex.android.util.network.NetworkMonitor
+import com.settlex.android.util.network.ConnectivityService
 import dagger.hilt.android.lifecycle.HiltViewModel
 import jakarta.inject.Inject
 import kotlinx.coroutines.channels.Channel
@@ -22,7 +24,11 @@ import kotlinx.coroutines.launch
 @HiltViewModel
 class LoginViewModel @Inject constructor(
     private val loginUseCase: LoginUseCase,
-    private val getCurrentUserUseCase: GetCurrentUserUseCase
+    private val getCurrentUserUseCase: GetCurrentUserUseCase,
+    private val userLocalDataSourceFactory: UserLocalDataSourceFactory,
+    private val connectivity: ConnectivityService,
+    private val sessionWarmUp: SessionWarmUp,
+    val biometricSession: BiometricSession
 ) : ViewModel() {
 
     private var _userLocalDataSource: UserLocalDataSource? = null
@@ -61,15 +67,12 @@ class LoginViewModel @Inject constructor(
                 )
             )
 
-            _userLocalDataSource = UserLocalDataSource(
-                SettleXApp.appContext,
-                currentUser.uid
-            )
+            _userLocalDataSource = userLocalDataSourceFactory.create(currentUser.uid)
 
             // Update the biometrics state
-            _isLoginBiometricsEnabled.emit(
-                userLocalDataSource.isLoginBiometricsEnabled
-            )
+            val isLoginBiometricsEnabled = userLocalDataSource.isLoginBiometricsEnabled
+            if (isLoginBiometricsEnabled) biometricSession.warmUp()
+            _isLoginBiometricsEnabled.emit(isLoginBiometricsEnabled)
         }
     }
 
@@ -95,13 +98,17 @@ class LoginViewModel @Inject constructor(
             _loginEvent.send(UiState.Loading)
 
             loginUseCase(email, password)
-                .onSuccess { _loginEvent.send(UiState.Success(Unit)) }
+                .onSuccess {
+                    // Load the dashboard's data while this screen navigates away
+                    sessionWarmUp.start()
+                    _loginEvent.send(UiState.Success(Unit))
+                }
                 .onFailure { _loginEvent.send(UiState.Failure(it as AppException)) }
         }
     }
 
     fun isNetworkConnected(): Boolean {
-        return NetworkMonitor.networkStatus.value
+        return connectivity.isConnected
     }
 
     fun logout() {
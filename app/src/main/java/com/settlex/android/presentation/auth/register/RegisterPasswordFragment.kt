@@ -161,20 +161,14 @@ class RegisterPasswordFragment : Fragment() {
     }
 
     companion object {
-        private const val LENGTH = 8
-        private const val HAS_ALLOWED_SPECIAL_CHARS = ValidationUtil.ALLOWED_SPECIAL_CHARS
         private const val ERROR_PASSWORD_MISMATCH = ValidationUtil.ERROR_PASSWORD_MISMATCH
     }
 
     private fun validatePasswordRequirements(password: String, confirm: String): Boolean =
         with(binding) {
-            val hasLength = password.length >= LENGTH
-            val hasUpper = password.any { it.isUpperCase() }
-            val hasLower = password.any { it.isLowerCase() }
-            val hasSpecial = password.any { HAS_ALLOWED_SPECIAL_CHARS.contains(it) }
-            val matches = password == confirm
+            val validation = ValidationUtil.validatePassword(password, confirm)
 
-            when (confirm.isNotEmpty() && !matches) {
+            when (confirm.isNotEmpty() && !validation.matchesConfirmation) {
                 true -> {
                     tvError.text = ERROR_PASSWORD_MISMATCH
                     tvError.show()
@@ -183,30 +177,26 @@ class RegisterPasswordFragment : Fragment() {
                 false -> tvError.gone()
             }
 
-            showPasswordRequirements(hasLength, hasUpper, hasLower, hasSpecial, password)
-            return hasLength && hasUpper && hasLower && hasSpecial && matches
+            showPasswordRequirements(validation, password)
+            return validation.isValid
         }
 
     private fun showPasswordRequirements(
-        hasLength: Boolean,
-        hasUpper: Boolean,
-        hasLower: Boolean,
-        hasSpecial: Boolean,
+        validation: ValidationUtil.PasswordValidation,
         password: String
     ) {
         val requirements = SpannableStringBuilder()
-        appendRequirement(requirements, hasLength, "At least 8 characters")
-        appendRequirement(requirements, hasUpper, "Contains uppercase letter")
-        appendRequirement(requirements, hasLower, "Contains lowercase letter")
+        appendRequirement(requirements, validation.hasMinLength, "At least 8 characters")
+        appendRequirement(requirements, validation.hasUppercase, "Contains uppercase letter")
+        appendRequirement(requirements, validation.hasLowercase, "Contains lowercase letter")
         appendRequirement(
             requirements,
-            hasSpecial,
+            validation.hasSpecialChar,
             "Contains special character (e.g. !@#$%^&*()_+-=[]{};:,.?)"
         )
 
         with(binding) {
-            val showPasswordPrompt =
-                password.isEmpty() || (hasLength && hasUpper && hasLower && hasSpecial)
+            val showPasswordPrompt = password.isEmpty() || validation.meetsRequirements
             tvPasswordPrompt.visibility = if (!showPasswordPrompt) View.VISIBLE else View.GONE
             tvPasswordPrompt.text = requirements
         }
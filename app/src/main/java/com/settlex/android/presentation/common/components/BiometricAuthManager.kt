@@ -6,11 +6,19 @@ import androidx.biometric.BiometricPrompt
 import androidx.biometric.BiometricPrompt.PromptInfo
 import androidx.core.content.ContextCompat
 import androidx.fragment.app.FragmentActivity
+import com.settlex.android.data.session.BiometricSession
 
-class BiometricAuthManager(
+/**
+ * Shows a strong-biometric prompt and reports its outcome to [callback].
+ *
+ * With a [session], the prompt reuses its cached [PromptInfo] and prepared crypto object, and
+ * reports its latency to it.
+ */
+class BiometricAuthManager @JvmOverloads constructor(
     context: Context,
     activity: FragmentActivity,
-    private val callback: BiometricAuthCallback
+    private val callback: BiometricAuthCallback,
+    private val session: BiometricSession? = null
 ) {
     private val biometricPrompt: BiometricPrompt
     private lateinit var promptInfo: PromptInfo
@@ -23,6 +31,7 @@ class BiometricAuthManager(
             BiometricPrompt(activity, executor, object : BiometricPrompt.AuthenticationCallback() {
                 override fun onAuthenticationError(errorCode: Int, errString: CharSequence) {
                     super.onAuthenticationError(errorCode, errString)
+                    session?.onPromptEnded()
                     callback.onError(errString.toString())
                 }
 
@@ -33,19 +42,32 @@ class BiometricAuthManager(
 
                 override fun onAuthenticationSucceeded(result: BiometricPrompt.AuthenticationResult) {
                     super.onAuthenticationSucceeded(result)
+                    session?.onPromptSucceeded()
                     callback.onAuthenticated()
                 }
             })
     }
 
     fun authenticate(title: String, setNegativeButtonText: String) {
-        promptInfo = PromptInfo.Builder()
-            .setTitle(title)
-            .setNegativeButtonText(setNegativeButtonText)
-            .setAllowedAuthenticators(BiometricManager.Authenticators.BIOMETRIC_STRONG)
-            .build()
+        if (session == null) {
+            promptInfo = PromptInfo.Builder()
+                .setTitle(title)
+                .setNegativeButtonText(setNegativeButtonText)
+                .setAllowedAuthenticators(BiometricManager.Authenticators.BIOMETRIC_STRONG)
+                .build()
 
-        biometricPrompt.authenticate(promptInfo)
+            biometricPrompt.authenticate(promptInfo)
+            return
+        }
+
+        promptInfo = session.promptInfo(title, setNegativeButtonText)
+        val cryptoObject = session.takeCryptoObject()
+
+        session.onPromptShown()
+        when (cryptoObject) {
+            null -> biometricPrompt.authenticate(promptInfo)
+            else -> biometricPrompt.authenticate(promptInfo, cryptoObject)
+        }
     }
 
     interface BiometricAuthCallback {
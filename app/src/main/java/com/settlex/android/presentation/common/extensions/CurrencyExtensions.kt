@@ -0,0 +1,61 @@
+package com.settlex.android.presentation.common.extensions
+
+import com.settlex.android.util.currency.KoboParser
+import java.math.BigDecimal
+import java.math.RoundingMode
+import java.text.DecimalFormat
+import java.text.NumberFormat
+import java.util.Locale
+
+// ============== String Extensions ==============
+
+/**
+ * Parses a naira amount such as `₦1,250.50` into kobo, returning `0` for blank or unparseable input.
+ * Use [KoboParser.parse] directly when invalid input and overflow must be told apart.
+ */
+fun CharSequence.fromNairaStringToKobo(): Long {
+    return KoboParser.parse(this).koboOrZero()
+}
+
+// ============== Long Extensions ==============
+
+fun Long.toNairaString(): String {
+    return this.let { amountInKobo ->
+        val kobo: BigDecimal = BigDecimal.valueOf(amountInKobo)
+        val naira = kobo.divide(BigDecimal.valueOf(100), 2, RoundingMode.UNNECESSARY)
+
+        val formatter = NumberFormat.getCurrencyInstance(Locale.forLanguageTag("en-NG"))
+        formatter.minimumFractionDigits = 2
+        formatter.maximumFractionDigits = 2
+
+        formatter.format(naira)
+    }
+}
+
+fun Long.toNairaStringShort(): String {
+    this.also { amountInKobo ->
+        val symbol = "₦"
+        val df = DecimalFormat("#.##")
+
+        val naira = BigDecimal.valueOf(amountInKobo)
+            .divide(BigDecimal.valueOf(100), 2, RoundingMode.HALF_UP)
+
+        when {
+            naira < BigDecimal.valueOf(1000) -> return symbol + naira.toPlainString()
+            naira < BigDecimal.valueOf(1000000) -> {
+                val thousands = naira.divide(BigDecimal.valueOf(1000), 1, RoundingMode.HALF_UP)
+                return symbol + df.format(thousands) + "K"
+            }
+
+            naira < BigDecimal.valueOf(1000000000) -> {
+                val millions = naira.divide(BigDecimal.valueOf(1000000), 1, RoundingMode.HALF_UP)
+                return symbol + df.format(millions) + "M"
+            }
+
+            else -> {
+                val billions = naira.divide(BigDecimal.valueOf(1000000000), 1, RoundingMode.HALF_UP)
+                return symbol + df.format(billions) + "B"
+            }
+        }
+    }
+}
@@ -0,0 +1,106 @@
+package com.settlex.android.presentation.common.extensions
+
+import java.text.SimpleDateFormat
+import java.util.Date
+import java.util.Locale
+
+// ============== Date Extensions ==============
+
+fun Date.toDateTimeString(): String {
+    val dateString = SimpleDateFormat("dd MMM, hh:mm a", Locale.US).format(this)
+
+    val day = SimpleDateFormat("dd", Locale.US)
+        .format(this).toInt()
+
+    val suffix = when {
+        day in 11..13 -> "th"
+        day % 10 == 1 -> "st"
+        day % 10 == 2 -> "nd"
+        day % 10 == 3 -> "rd"
+        else -> "th"
+    }
+
+    return dateString.replace(day.toString().padStart(2, '0'), "$day$suffix")
+}
+
+fun Date.toFullDateTimeString(): String {
+    val dateString =
+        SimpleDateFormat("EEEE, dd MMMM, yyyy hh:mm a", Locale.US).format(this)
+
+    val day = SimpleDateFormat("dd", Locale.US)
+        .format(this).toInt()
+
+    val suffix = when {
+        day in 11..13 -> "th"
+        day % 10 == 1 -> "st"
+        day % 10 == 2 -> "nd"
+        day % 10 == 3 -> "rd"
+        else -> "th"
+    }
+
+    return dateString.replace(day.toString().padStart(2, '0'), "$day$suffix")
+}
+
+fun Date.toDateString(): String {
+    val dateString = SimpleDateFormat("dd MMMM, yyyy", Locale.US)
+        .format(this)
+
+    val day = SimpleDateFormat("dd", Locale.US)
+        .format(this).toInt()
+
+    val suffix = when {
+        day in 11..13 -> "th"
+        day % 10 == 1 -> "st"
+        day % 10 == 2 -> "nd"
+        day % 10 == 3 -> "rd"
+        else -> "th"
+    }
+
+    return dateString.replace(day.toString().padStart(2, '0'), "$day$suffix")
+}
+
+fun Date.getTimeAgo(): String {
+    this.also { timestamp ->
+        val second: Long = 1000
+        val minute = 60 * second
+        val hour = 60 * minute
+        val day = 24 * hour
+        val week = 7 * day
+        val month = 30 * day
+        val year = 365 * day
+
+        val time = timestamp.time
+        val now = System.currentTimeMillis()
+        val diff = now - time
+
+        if (diff < minute) return "Just now"
+
+        if (diff < hour) {
+            val mins = diff / minute
+            return (diff / minute).toString() + " min" + (if (mins > 1) "s" else "") + " ago"
+        }
+
+        if (diff < day) {
+            val hrs = diff / hour
+            return hrs.toString() + " hr" + (if (hrs > 1) "s" else "") + " ago"
+        }
+
+        if (diff < week) {
+            val days = diff / day
+            return days.toString() + " day" + (if (days > 1) "s" else "") + " ago"
+        }
+
+        if (diff < month) {
+            val weeks = diff / week
+            return weeks.toString() + " week" + (if (weeks > 1) "s" else "") + " ago"
+        }
+
+        if (diff < year) {
+            val months = diff / month
+            return months.toString() + " month" + (if (months > 1) "s" else "") + " ago"
+        }
+
+        val years = diff / year
+        return years.toString() + " yr" + (if (years > 1) "s" else "") + " ago"
+    }
+}
@@ -0,0 +1,61 @@
+package com.settlex.android.presentation.common.extensions
+
+// ============== String Extensions ==============
+
+fun String.addAtPrefix(): String {
+    return "@$this"
+}
+
+fun String.removeAtPrefix(): String {
+    return when (this.startsWith("@")) {
+        true -> this.substring(1)
+        false -> this
+    }
+}
+
+fun String.maskEmail(): String {
+    this.also { email ->
+        val emailParts = email.split("@")
+        val localPart = emailParts[0]
+        val domainPart = emailParts[1]
+
+        val maskedLocalPart = "${localPart[0]}****${localPart.substring(localPart.length - 1)}"
+        return "$maskedLocalPart@$domainPart"
+    }
+}
+
+fun String.maskPhoneNumber(): String {
+    this.also { phoneNumber ->
+        val visiblePrefixLength = 7
+        val visibleSuffixLength = 3
+
+        val prefix = phoneNumber.take(visiblePrefixLength)
+        val suffix = phoneNumber.substring(phoneNumber.length - visibleSuffixLength)
+
+        val mask = "*".repeat(phoneNumber.length - visiblePrefixLength - visibleSuffixLength)
+        return "$prefix$mask$suffix"
+    }
+}
+
+fun String.toNigerianPhoneNumber(): String {
+    return "+234" + this.let {
+        if (it.startsWith("0")) it.substring(1) else it
+    }
+}
+
+fun String.capitalizeEachWord(): String {
+    this.also { text ->
+        val words = text.lowercase().trim().split("\\s+".toRegex())
+        val result = StringBuilder()
+
+        for (word in words) {
+            if (word.isNotEmpty()) {
+                result.append(word[0].uppercaseChar())
+                    .append(word.substring(1))
+                    .append(" ")
+            }
+        }
+
+        return result.toString().trim()
+    }
+}
@@ -1,84 +1,16 @@
 package com.settlex.android.presentation.common.util
 
-import android.app.Activity
-import android.content.Context
-import android.graphics.RenderEffect
-import android.graphics.Shader
-import android.os.Build
-import android.view.LayoutInflater
-import android.view.View
-import android.view.inputmethod.InputMethodManager
-import com.google.android.material.bottomsheet.BottomSheetDialog
-import com.settlex.android.R
+import android.widget.TextView
 import com.settlex.android.data.remote.profile.ProfileService.loadProfilePhoto
 import com.settlex.android.databinding.BottomSheetConfirmPaymentBinding
-import com.settlex.android.databinding.BottomSheetPaymentPinAuthBinding
-import com.settlex.android.presentation.common.custom.NumericKeypad.OnKeypadInputListener
 import com.settlex.android.presentation.common.extensions.gone
 import com.settlex.android.presentation.common.extensions.show
 import com.settlex.android.presentation.common.extensions.toNairaString
 
 /**
- * A helper object for managing payment-related bottom sheet dialogs.
+ * Binds payment details to the confirm-payment bottom sheet shown by [PaymentSheetHost].
  */
 object PaymentBottomSheetHelper {
-    fun showConfirmPaymentBottomSheet(
-        context: Context,
-        recipientPaymentId: String,
-        recipientName: String,
-        recipientPhotoUrl: String?,
-        transferAmount: Long,
-        senderWalletBalance: Long,
-        senderCommissionBalance: Long,
-        onConfirmTransfer: () -> Unit
-    ): BottomSheetDialog {
-        val binding = BottomSheetConfirmPaymentBinding.inflate(LayoutInflater.from(context))
-        val dialog = BottomSheetDialog(context, R.style.Theme_SettleX_Dialog_BottomSheet).apply {
-            setContentView(binding.root)
-            setCancelable(false)
-            setCanceledOnTouchOutside(false)
-        }
-
-        // Apply blur if Android 12+
-        var rootView: View? = null
-        if (Build.VERSION.SDK_INT >= Build.VERSION_CODES.S) {
-            rootView = (context as Activity).window.decorView
-            rootView.setRenderEffect(
-                RenderEffect.createBlurEffect(
-                    5f,
-                    5f,
-                    Shader.TileMode.CLAMP
-                )
-            )
-        }
-
-        // Calculate transaction summary
-        val transactionSummary = generateTransactionSummary(
-            senderWalletBalance,
-            senderCommissionBalance,
-            transferAmount
-        )
-
-        // Update UI based on transaction summary
-        showTransactionSummary(binding, transactionSummary)
-
-        // Set recipient and sender details
-        updateRecipientDetails(binding, recipientPaymentId, recipientName, recipientPhotoUrl)
-        updateSenderDetails(binding, senderWalletBalance, senderCommissionBalance)
-
-        // Set click listeners
-        with(binding) {
-            btnConfirmTransfer.setOnClickListener { onConfirmTransfer() }
-            btnClose.setOnClickListener {
-                if (Build.VERSION.SDK_INT >= Build.VERSION_CODES.S) rootView?.setRenderEffect(null)
-                dialog.dismiss()
-            }
-
-            dialog.show()
-            return dialog
-        }
-    }
-
     fun updateRecipientDetails(
         binding: BottomSheetConfirmPaymentBinding,
         paymentId: String,
@@ -88,7 +20,7 @@ object PaymentBottomSheetHelper {
         with(binding) {
             tvRecipientPaymentId.text = paymentId
             tvRecipientName.text = name.uppercase()
-            loadProfilePhoto(photoUrl, ivRecipientProfilePhoto)
+            loadProfilePhoto(photoUrl, ivRecipientProfilePhoto, name)
         }
     }
 
@@ -105,50 +37,59 @@ object PaymentBottomSheetHelper {
         }
     }
 
+    /**
+     * Binds [summary] to the sheet, touching only the fields that differ from [previous], the
+     * summary the sheet currently shows. Pass `null` to bind every field.
+     */
     fun showTransactionSummary(
         binding: BottomSheetConfirmPaymentBinding,
-        summary: TransactionSummary
-    ) =
-        with(binding) {
+        summary: TransactionSummary,
+        previous: TransactionSummary? = null
+    ) = with(binding) {
+        if (summary == previous) return@with
+
+        if (summary.transferAmount != previous?.transferAmount) {
             listOf(
                 tvTransferAmountHeader,
                 tvTransferAmount
             ).forEach {
                 it.text = summary.transferAmount.toNairaString()
             }
+        }
 
-            // Update button state
-            btnConfirmTransfer.isEnabled = summary.canProceed
-            tvPaymentMethod.text = summary.debitSource
+        // Update button state
+        btnConfirmTransfer.isEnabled = summary.canProceed
+        if (summary.debitSource != previous?.debitSource) tvPaymentMethod.text = summary.debitSource
 
-            summary.statusMessage?.let {
-                tvFeedback.text = summary.statusMessage
-                tvFeedback.show()
-            }
-
-            // Show debit summary
-            when (summary.walletDebit > 0) {
-                true -> {
-                    tvDebitFromSenderWalletBalance.show()
-                    "-${summary.walletDebit.toNairaString()}".also {
-                        tvDebitFromSenderWalletBalance.text = it
-                    }
+        if (previous == null || summary.statusMessage != previous.statusMessage) {
+            when (summary.statusMessage) {
+                null -> tvFeedback.gone()
+                else -> {
+                    tvFeedback.text = summary.statusMessage
+                    tvFeedback.show()
                 }
-
-                else -> tvDebitFromSenderWalletBalance.gone()
             }
+        }
 
-            when (summary.commissionDebit > 0) {
-                true -> {
-                    tvDebitFromSenderCommissionBalance.show()
-                    "-${summary.commissionDebit.toNairaString()}".also {
-                        tvDebitFromSenderCommissionBalance.text = it
-                    }
-                }
+        // Show debit summary
+        if (previous == null || summary.walletDebit != previous.walletDebit) {
+            showDebit(tvDebitFromSenderWalletBalance, summary.walletDebit)
+        }
+        if (previous == null || summary.commissionDebit != previous.commissionDebit) {
+            showDebit(tvDebitFromSenderCommissionBalance, summary.commissionDebit)
+        }
+    }
 
-                else -> tvDebitFromSenderCommissionBalance.gone()
+    private fun showDebit(view: TextView, debit: Long) {
+        when (debit > 0) {
+            true -> {
+                view.show()
+                "-${debit.toNairaString()}".also { view.text = it }
             }
+
+            else -> view.gone()
         }
+    }
 
     fun generateTransactionSummary(
         senderWalletBalance: Long,
@@ -203,46 +144,4 @@ object PaymentBottomSheetHelper {
         val commissionDebit: Long,
         val statusMessage: String?
     )
-
-    fun showPaymentPinAuthenticationBottomSheet(
-        context: Context,
-        onPinEntered: (pin: String) -> Unit
-    ) {
-        val binding = BottomSheetPaymentPinAuthBinding.inflate(LayoutInflater.from(context))
-        val dialog = BottomSheetDialog(context, R.style.Theme_SettleX_Dialog_BottomSheet).apply {
-            setContentView(binding.root)
-            setCancelable(false)
-            setCanceledOnTouchOutside(false)
-        }
-
-        with(binding) {
-            btnClose.setOnClickListener { dialog.dismiss() }
-            tvForgotPaymentPin.setOnClickListener { }
-
-            // Disable system keyboard
-            (context.getSystemService(Context.INPUT_METHOD_SERVICE) as InputMethodManager).apply {
-                dialog.currentFocus?.let { hideSoftInputFromWindow(it.windowToken, 0) }
-            }
-            pinView.showSoftInputOnFocus = false
-
-            val maxPinLength = pinView.itemCount
-
-            btnNumericKeypad.setOnKeypadInputListener(object : OnKeypadInputListener {
-                override fun onNumberPressed(number: String) {
-                    if (pinView.length() < maxPinLength) pinView.append(number)
-
-                    if (pinView.length() == maxPinLength) {
-                        onPinEntered(pinView.text.toString())
-                        dialog.dismiss()
-                    }
-                }
-
-                override fun onDeletePressed() {
-                    val current = pinView.text.toString()
-                    if (current.isNotEmpty()) pinView.setText(current.dropLast(1))
-                }
-            })
-            dialog.show()
-        }
-    }
-}
\ No newline at end of file
+}
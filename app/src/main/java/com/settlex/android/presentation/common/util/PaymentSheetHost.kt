@@ -0,0 +1,203 @@
+package com.settlex.android.presentation.common.util
+
+import android.content.Context
+import android.graphics.RenderEffect
+import android.graphics.Shader
+import android.os.Build
+import android.os.SystemClock
+import android.util.Log
+import android.view.LayoutInflater
+import android.view.View
+import android.view.inputmethod.InputMethodManager
+import androidx.appcompat.app.AppCompatActivity
+import androidx.asynclayoutinflater.view.AsyncLayoutInflater
+import androidx.lifecycle.DefaultLifecycleObserver
+import androidx.lifecycle.LifecycleOwner
+import com.google.android.material.bottomsheet.BottomSheetDialog
+import com.settlex.android.R
+import com.settlex.android.databinding.BottomSheetConfirmPaymentBinding
+import com.settlex.android.databinding.BottomSheetPaymentPinAuthBinding
+import com.settlex.android.presentation.common.custom.NumericKeypad.OnKeypadInputListener
+import com.settlex.android.presentation.common.util.PaymentBottomSheetHelper.TransactionSummary
+
+/**
+ * Owns the confirm-payment and payment PIN bottom sheets of one activity.
+ *
+ * Both layouts, including the PIN pad, are inflated off the main thread as soon as the host is
+ * created, and the same sheets are reused for every payment attempt. A sheet requested before
+ * its inflation finishes is inflated on the spot, as before.
+ *
+ * The first show of each sheet logs how long it took from the tap, and whether the layout was
+ * ready by then.
+ */
+class PaymentSheetHost(private val activity: AppCompatActivity) : DefaultLifecycleObserver {
+
+    private var confirmBinding: BottomSheetConfirmPaymentBinding? = null
+    private var confirmSheet: BottomSheetDialog? = null
+    private var pinBinding: BottomSheetPaymentPinAuthBinding? = null
+    private var pinSheet: BottomSheetDialog? = null
+
+    // What the confirm sheet currently shows, so a repeat attempt only rebinds what changed
+    private var shownSummary: TransactionSummary? = null
+    private var shownRecipient: Triple<String, String, String?>? = null
+
+    private var confirmShownOnce = false
+    private var pinShownOnce = false
+
+    init {
+        activity.lifecycle.addObserver(this)
+        prepare()
+    }
+
+    private fun prepare() {
+        val inflater = AsyncLayoutInflater(activity)
+        inflater.inflate(R.layout.bottom_sheet_confirm_payment, null) { view, _, _ ->
+            if (confirmBinding == null && !activity.isDestroyed) {
+                confirmBinding = BottomSheetConfirmPaymentBinding.bind(view)
+            }
+        }
+        inflater.inflate(R.layout.bottom_sheet_payment_pin_auth, null) { view, _, _ ->
+            if (pinBinding == null && !activity.isDestroyed) {
+                pinBinding = BottomSheetPaymentPinAuthBinding.bind(view)
+            }
+        }
+    }
+
+    fun showConfirmPayment(
+        recipientPaymentId: String,
+        recipientName: String,
+        recipientPhotoUrl: String?,
+        transferAmount: Long,
+        senderWalletBalance: Long,
+        senderCommissionBalance: Long,
+        onConfirmTransfer: () -> Unit
+    ) {
+        val requestedAt = SystemClock.elapsedRealtime()
+        val preInflated = confirmBinding != null
+        val binding = confirmBinding
+            ?: BottomSheetConfirmPaymentBinding.inflate(LayoutInflater.from(activity)).also { confirmBinding = it }
+        val dialog = confirmSheet ?: createSheet(binding.root).also { sheet ->
+            confirmSheet = sheet
+            binding.btnClose.setOnClickListener { sheet.dismiss() }
+            sheet.setOnDismissListener { setBackgroundBlur(false) }
+        }
+
+        // Calculate transaction summary
+        val summary = PaymentBottomSheetHelper.generateTransactionSummary(
+            senderWalletBalance,
+            senderCommissionBalance,
+            transferAmount
+        )
+        PaymentBottomSheetHelper.showTransactionSummary(binding, summary, shownSummary)
+        shownSummary = summary
+
+        val recipient = Triple(recipientPaymentId, recipientName, recipientPhotoUrl)
+        if (recipient != shownRecipient) {
+            PaymentBottomSheetHelper.updateRecipientDetails(
+                binding,
+                recipientPaymentId,
+                recipientName,
+                recipientPhotoUrl
+            )
+            shownRecipient = recipient
+        }
+        PaymentBottomSheetHelper.updateSenderDetails(binding, senderWalletBalance, senderCommissionBalance)
+
+        binding.btnConfirmTransfer.setOnClickListener { onConfirmTransfer() }
+
+        if (!confirmShownOnce) {
+            confirmShownOnce = true
+            logFirstShow(dialog, "Confirm payment", requestedAt, preInflated)
+        }
+        setBackgroundBlur(true)
+        dialog.show()
+    }
+
+    fun showPinAuthentication(onPinEntered: (pin: String) -> Unit) {
+        val requestedAt = SystemClock.elapsedRealtime()
+        val preInflated = pinBinding != null
+        val binding = pinBinding
+            ?: BottomSheetPaymentPinAuthBinding.inflate(LayoutInflater.from(activity)).also { pinBinding = it }
+        val dialog = pinSheet ?: createSheet(binding.root).also { sheet ->
+            pinSheet = sheet
+            binding.btnClose.setOnClickListener { sheet.dismiss() }
+            binding.tvForgotPaymentPin.setOnClickListener { }
+            binding.pinView.showSoftInputOnFocus = false
+        }
+
+        with(binding) {
+            // The sheet is reused, so clear the previous attempt
+            pinView.text?.clear()
+
+            // Disable system keyboard
+            (activity.getSystemService(Context.INPUT_METHOD_SERVICE) as InputMethodManager).apply {
+                dialog.currentFocus?.let { hideSoftInputFromWindow(it.windowToken, 0) }
+            }
+
+            val maxPinLength = pinView.itemCount
+
+            btnNumericKeypad.setOnKeypadInputListener(object : OnKeypadInputListener {
+                override fun onNumberPressed(number: String) {
+                    if (pinView.length() < maxPinLength) pinView.append(number)
+
+                    if (pinView.length() == maxPinLength) {
+                        onPinEntered(pinView.text.toString())
+                        dialog.dismiss()
+                    }
+                }
+
+                override fun onDeletePressed() {
+                    val current = pinView.text.toString()
+                    if (current.isNotEmpty()) pinView.setText(current.dropLast(1))
+                }
+            })
+        }
+
+        if (!pinShownOnce) {
+            pinShownOnce = true
+            logFirstShow(dialog, "Payment PIN", requestedAt, preInflated)
+        }
+        dialog.show()
+    }
+
+    override fun onDestroy(owner: LifecycleOwner) {
+        confirmSheet?.dismiss()
+        pinSheet?.dismiss()
+        confirmSheet = null
+        pinSheet = null
+        confirmBinding = null
+        pinBinding = null
+    }
+
+    private fun createSheet(content: View): BottomSheetDialog {
+        return BottomSheetDialog(activity, R.style.Theme_SettleX_Dialog_BottomSheet).apply {
+            setContentView(content)
+            setCancelable(false)
+            setCanceledOnTouchOutside(false)
+        }
+    }
+
+    // Apply blur if Android 12+
+    private fun setBackgroundBlur(enabled: Boolean) {
+        if (Build.VERSION.SDK_INT < Build.VERSION_CODES.S) return
+
+        activity.window.decorView.setRenderEffect(
+            if (enabled) RenderEffect.createBlurEffect(5f, 5f, Shader.TileMode.CLAMP) else null
+        )
+    }
+
+    private fun logFirstShow(dialog: BottomSheetDialog, sheet: String, requestedAt: Long, preInflated: Boolean) {
+        dialog.setOnShowListener {
+            Log.d(
+                TAG,
+                "$sheet sheet first shown in ${SystemClock.elapsedRealtime() - requestedAt}ms " +
+                        "(pre-inflated=$preInflated)"
+            )
+            dialog.setOnShowListener(null)
+        }
+    }
+
+    companion object {
+        private val TAG = PaymentSheetHost::class.java.simpleName
+    }
+}
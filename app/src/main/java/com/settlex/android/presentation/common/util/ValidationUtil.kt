@@ -4,7 +4,9 @@ package com.settlex.android.presentation.common.util
  * An object that provides utility functions for various validation tasks.
  *
  * This utility object offers methods to validate different types of input, such as passwords
- * and payment IDs, based on a predefined set of rules.
+ * and payment IDs, based on a predefined set of rules. Patterns are compiled once, and the
+ * rule-based checks scan their input a single time and report every rule, so screens can
+ * render per-rule feedback from the same result they use to enable their buttons.
  */
 object ValidationUtil {
     private const val LENGTH = 8
@@ -14,24 +16,98 @@ object ValidationUtil {
     private const val PHONE_NUMBER_REGEX = "^(0)?[7-9][0-1]\\d{8}$"
     private const val NAME_VALIDATION_REGEX = "^[a-zA-Z]{2,}(?:\\s[a-zA-Z]{2,})*$"
 
+    private const val PAYMENT_ID_MIN_LENGTH = 5
+    private const val PAYMENT_ID_MAX_LENGTH = 20
 
-    fun isPasswordAndConfirmationValid(password: String, confirmationPassword: String): Boolean {
-        val hasLength = password.length >= LENGTH
-        val hasUpper = password.any { it.isUpperCase() }
-        val hasLower = password.any { it.isLowerCase() }
-        val hasSpecial = password.any { ALLOWED_SPECIAL_CHARS.contains(it) }
-        val passwordMatches = password == confirmationPassword
+    private val paymentPinRegex = PAYMENT_PIN_REGEX.toRegex()
+    private val phoneNumberRegex = PHONE_NUMBER_REGEX.toRegex()
+    private val nameRegex = NAME_VALIDATION_REGEX.toRegex()
 
-        return hasLength && hasUpper && hasLower && hasSpecial && passwordMatches
+    // All allowed special characters are ASCII, so membership is a single array lookup
+    private val specialCharTable = BooleanArray(128).apply {
+        ALLOWED_SPECIAL_CHARS.forEach { this[it.code] = true }
     }
 
-    fun isPasswordValid(password: String): Boolean {
-        val hasLength = password.length >= LENGTH
-        val hasUpper = password.any { it.isUpperCase() }
-        val hasLower = password.any { it.isLowerCase() }
-        val hasSpecial = password.any { ALLOWED_SPECIAL_CHARS.contains(it) }
+    /**
+     * Per-rule outcome of a password check.
+     *
+     * @property matchesConfirmation `true` when no confirmation was supplied.
+     */
+    data class PasswordValidation(
+        val hasMinLength: Boolean,
+        val hasUppercase: Boolean,
+        val hasLowercase: Boolean,
+        val hasSpecialChar: Boolean,
+        val matchesConfirmation: Boolean
+    ) {
+        val meetsRequirements: Boolean
+            get() = hasMinLength && hasUppercase && hasLowercase && hasSpecialChar
 
-        return hasLength && hasUpper && hasLower && hasSpecial
+        val isValid: Boolean
+            get() = meetsRequirements && matchesConfirmation
+    }
+
+    /**
+     * Per-rule outcome of a payment ID check, matching the rules listed on the create payment ID screen.
+     */
+    data class PaymentIdValidation(
+        val startsWithLetter: Boolean,
+        val hasValidLength: Boolean,
+        val isLowercaseAlphanumeric: Boolean
+    ) {
+        val isValid: Boolean
+            get() = startsWithLetter && hasValidLength && isLowercaseAlphanumeric
+    }
+
+    /**
+     * Checks every password rule in a single pass over [password].
+     */
+    fun validatePassword(password: String, confirmationPassword: String? = null): PasswordValidation {
+        var hasUpper = false
+        var hasLower = false
+        var hasSpecial = false
+
+        for (c in password) {
+            if (c.isUpperCase()) hasUpper = true
+            else if (c.isLowerCase()) hasLower = true
+            else if (c.code < 128 && specialCharTable[c.code]) hasSpecial = true
+        }
+
+        return PasswordValidation(
+            hasMinLength = password.length >= LENGTH,
+            hasUppercase = hasUpper,
+            hasLowercase = hasLower,
+            hasSpecialChar = hasSpecial,
+            matchesConfirmation = confirmationPassword == null || password == confirmationPassword
+        )
+    }
+
+    /**
+     * Checks every payment ID rule in a single pass over [paymentId], as typed without the `@` prefix.
+     */
+    fun validatePaymentId(paymentId: String): PaymentIdValidation {
+        var isLowercaseAlphanumeric = paymentId.isNotEmpty()
+        for (c in paymentId) {
+            if (c !in 'a'..'z' && c !in '0'..'9') {
+                isLowercaseAlphanumeric = false
+                break
+            }
+        }
+
+        val first = paymentId.firstOrNull()
+        return PaymentIdValidation(
+            startsWithLetter = first != null && (first in 'a'..'z' || first in 'A'..'Z'),
+            hasValidLength = paymentId.length in PAYMENT_ID_MIN_LENGTH..PAYMENT_ID_MAX_LENGTH,
+            isLowercaseAlphanumeric = isLowercaseAlphanumeric
+        )
+    }
+
+    fun isPasswordAndConfirmationValid(password: String, confirmationPassword: String): Boolean {
+        return validatePassword(password, confirmationPassword).isValid
+    }
+
+    fun isPasswordValid(password: String): Boolean {
+        return validatePassword(password).isValid
     }
 
     fun isPasswordsMatch(password: String, confirmationPassword: String): Boolean {
@@ -40,22 +116,22 @@ object ValidationUtil {
 
     fun isPaymentIdValid(id: String): Boolean {
         val paymentId = if (id.startsWith("@")) id.substring(1) else id
-        return paymentId.matches("^[a-z][a-z0-9]{4,19}$".toRegex())
+        return validatePaymentId(paymentId).isValid
     }
 
     fun isPaymentPinValid(pin: String): Boolean {
-        return pin.matches(PAYMENT_PIN_REGEX.toRegex())
+        return pin.matches(paymentPinRegex)
     }
 
     fun isPaymentPinValidAndMatch(pin: String, confirmationPin: String): Boolean {
-        return pin.matches(PAYMENT_PIN_REGEX.toRegex()) && pin == confirmationPin
+        return pin == confirmationPin && pin.matches(paymentPinRegex)
     }
 
     fun isPhoneNumberValid(phoneNumber: String): Boolean {
-        return phoneNumber.matches(PHONE_NUMBER_REGEX.toRegex())
+        return phoneNumber.matches(phoneNumberRegex)
     }
 
     fun isNamesValid(name1: String, name2: String): Boolean {
-        return name1.matches(NAME_VALIDATION_REGEX.toRegex()) && name2.matches(NAME_VALIDATION_REGEX.toRegex())
+        return name1.matches(nameRegex) && name2.matches(nameRegex)
     }
 }
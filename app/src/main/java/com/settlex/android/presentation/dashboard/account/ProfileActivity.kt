@@ -30,6 +30,7 @@ import com.settlex.android.databinding.ActivityProfileBinding
 import com.settlex.android.presentation.common.extensions.addAtPrefix
 import com.settlex.android.presentation.common.extensions.copyToClipboard
 import com.settlex.android.presentation.common.extensions.getTimeAgo
+import com.settlex.android.presentation.common.extensions.gone
 import com.settlex.android.presentation.common.extensions.maskEmail
 import com.settlex.android.presentation.common.extensions.maskPhoneNumber
 import com.settlex.android.presentation.common.extensions.show
@@ -38,7 +39,6 @@ import com.settlex.android.presentation.common.state.UiState
 import com.settlex.android.presentation.common.util.DialogHelper
 import com.settlex.android.presentation.dashboard.account.model.ProfileUiModel
 import com.settlex.android.presentation.dashboard.account.viewmodel.ProfileViewModel
-import com.settlex.android.util.ui.ProgressDialogManager
 import com.settlex.android.util.ui.StatusBar
 import com.yalantis.ucrop.UCrop
 import dagger.hilt.android.AndroidEntryPoint
@@ -49,7 +49,6 @@ import java.io.File
 class ProfileActivity : AppCompatActivity() {
     private lateinit var binding: ActivityProfileBinding
     private val viewModel: ProfileViewModel by viewModels()
-    private val progressLoader by lazy { ProgressDialogManager(this) }
     private lateinit var galleryPermissionLauncher: ActivityResultLauncher<String>
     private lateinit var cameraPermissionLauncher: ActivityResultLauncher<String>
     private lateinit var pickImageLauncher: ActivityResultLauncher<PickVisualMediaRequest>
@@ -88,6 +87,7 @@ class ProfileActivity : AppCompatActivity() {
     private fun initObservers() {
         observeUserSession()
         observeSetProfilePictureEvent()
+        observeProfilePhotoUploadProgress()
     }
 
     private fun showJoinedDateDialog() {
@@ -118,7 +118,7 @@ class ProfileActivity : AppCompatActivity() {
         tvPhoneNumber.text = user.phone.maskPhoneNumber()
         user.photoUrl.also { url ->
             userPhotoUrl = url
-            ProfileService.loadProfilePhoto(url, ivProfilePhoto)
+            ProfileService.loadProfilePhoto(url, ivProfilePhoto, user.fullName)
         }
         user.joinedDate.also { timestamp ->
             userJoinedDate = timestamp
@@ -131,8 +131,8 @@ class ProfileActivity : AppCompatActivity() {
             repeatOnLifecycle(Lifecycle.State.STARTED) {
                 viewModel.setProfilePictureEvent.collect { state ->
                     when (state) {
-                        is UiState.Loading -> progressLoader.show()
-                        is UiState.Success -> progressLoader.hide()
+                        is UiState.Loading -> binding.btnChangeProfilePic.isEnabled = false
+                        is UiState.Success -> binding.btnChangeProfilePic.isEnabled = true
                         is UiState.Failure -> onProfilePhotoUploadFailure(state.exception)
                     }
                 }
@@ -140,8 +140,25 @@ class ProfileActivity : AppCompatActivity() {
         }
     }
 
+    private fun observeProfilePhotoUploadProgress() {
+        lifecycleScope.launch {
+            repeatOnLifecycle(Lifecycle.State.STARTED) {
+                viewModel.profilePhotoUploadProgress.collect { percent ->
+                    with(binding.progressPhotoUpload) {
+                        if (percent == null) {
+                            gone()
+                            return@collect
+                        }
+                        setProgressCompat(percent, true)
+                        show()
+                    }
+                }
+            }
+        }
+    }
+
     private fun onProfilePhotoUploadFailure(error: AppException) = with(binding) {
-        progressLoader.hide()
+        btnChangeProfilePic.isEnabled = true
         tvError.text = error.message
         tvError.show()
     }
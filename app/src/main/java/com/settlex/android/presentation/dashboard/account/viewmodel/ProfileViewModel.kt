@@ -12,12 +12,14 @@ import com.settlex.android.data.session.UserSessionState
 import com.settlex.android.domain.usecase.user.SetProfilePictureUseCase
 import com.settlex.android.presentation.common.state.UiState
 import com.settlex.android.presentation.dashboard.account.model.ProfileUiModel
-import com.settlex.android.util.network.NetworkMonitor
+import com.settlex.android.util.network.ConnectivityService
 import dagger.hilt.android.lifecycle.HiltViewModel
 import jakarta.inject.Inject
 import kotlinx.coroutines.channels.Channel
+import kotlinx.coroutines.flow.MutableStateFlow
 import kotlinx.coroutines.flow.SharingStarted
 import kotlinx.coroutines.flow.StateFlow
+import kotlinx.coroutines.flow.asStateFlow
 import kotlinx.coroutines.flow.map
 import kotlinx.coroutines.flow.receiveAsFlow
 import kotlinx.coroutines.flow.stateIn
@@ -26,7 +28,8 @@ import kotlinx.coroutines.launch
 @HiltViewModel
 class ProfileViewModel @Inject constructor(
     private val setProfilePhotoUseCase: SetProfilePictureUseCase,
-    sessionManager: UserSessionManager
+    sessionManager: UserSessionManager,
+    private val connectivity: ConnectivityService
 ) : ViewModel() {
     val userSessionState: StateFlow<UserSessionState<ProfileUiModel>> =
         sessionManager.userSession.map { userSessionState ->
@@ -45,6 +48,10 @@ class ProfileViewModel @Inject constructor(
     private val _setProfilePictureEvent = Channel<UiState<String>>(Channel.BUFFERED)
     val setProfilePictureEvent = _setProfilePictureEvent.receiveAsFlow()
 
+    // Percent of the photo acknowledged by the server, or null when no upload is running
+    private val _profilePhotoUploadProgress = MutableStateFlow<Int?>(null)
+    val profilePhotoUploadProgress = _profilePhotoUploadProgress.asStateFlow()
+
     fun setProfilePhoto(context: Context, uri: Uri) {
         viewModelScope.launch {
             if (!isNetworkAvailable()) {
@@ -53,7 +60,12 @@ class ProfileViewModel @Inject constructor(
             }
 
             _setProfilePictureEvent.send(UiState.Loading)
-            setProfilePhotoUseCase(context, uri).fold(
+            val result = setProfilePhotoUseCase(context, uri) { progress ->
+                _profilePhotoUploadProgress.value = progress.percent
+            }
+            _profilePhotoUploadProgress.value = null
+
+            result.fold(
                 onSuccess = { _setProfilePictureEvent.send(UiState.Success(it.data)) },
                 onFailure = { _setProfilePictureEvent.send(UiState.Failure(it as AppException)) }
             )
@@ -69,6 +81,6 @@ class ProfileViewModel @Inject constructor(
     }
 
     private fun isNetworkAvailable(): Boolean {
-        return NetworkMonitor.networkStatus.value
+        return connectivity.isConnected
     }
 }
@@ -184,7 +184,7 @@ class HomeDashboardFragment : Fragment() {
         ).forEach { it.gone() }
         listOf(tvUserFullName, tvUserBalance, viewUserCommissionBalance).forEach { it.show() }
 
-        ProfileService.loadProfilePhoto(user.photoUrl, ivProfilePhoto)
+        ProfileService.loadProfilePhoto(user.photoUrl, ivProfilePhoto, user.fullName)
         tvUserFullName.text = user.fullName
     }
 
@@ -16,6 +16,7 @@ import com.settlex.android.presentation.dashboard.home.model.PromoBannerUiModel
 import com.settlex.android.presentation.dashboard.services.AirtimePurchaseActivity
 import com.settlex.android.presentation.dashboard.services.BettingTopUpActivity
 import com.settlex.android.presentation.dashboard.services.DataPurchaseActivity
+import com.settlex.android.util.image.ImageRequestOptions
 
 class PromotionalBannerAdapter(private var promoBanners: List<PromoBannerUiModel> = emptyList()) :
     RecyclerView.Adapter<PromoViewHolder>() {
@@ -50,9 +51,9 @@ class PromotionalBannerAdapter(private var promoBanners: List<PromoBannerUiModel
 
         fun onBind(bannerUiModel: PromoBannerUiModel) {
             // Load from URL
-            Glide.with(context)
+            Glide.with(binding.ivPromoBanner)
                 .load(bannerUiModel.imageUrl)
-                .centerCrop()
+                .apply(ImageRequestOptions.banner)
                 .into(binding.ivPromoBanner)
 
             val url = bannerUiModel.actionUrl ?: return
@@ -2,12 +2,13 @@ package com.settlex.android.presentation.dashboard.home.viewmodel
 
 import androidx.lifecycle.ViewModel
 import androidx.lifecycle.viewModelScope
-import com.settlex.android.data.enums.ServiceType
 import com.settlex.android.data.exception.AppException
 import com.settlex.android.data.exception.ExceptionMapper
 import com.settlex.android.data.mapper.toHomeUiModel
 import com.settlex.android.data.mapper.toTransactionUiModel
+import com.settlex.android.data.remote.config.RemoteConfigStore
 import com.settlex.android.data.repository.TransactionRepositoryImpl
+import com.settlex.android.data.session.SessionWarmUp
 import com.settlex.android.data.session.UserSessionManager
 import com.settlex.android.data.session.UserSessionState
 import com.settlex.android.presentation.common.extensions.toNairaString
@@ -16,14 +17,18 @@ import com.settlex.android.presentation.common.state.UiState
 import com.settlex.android.presentation.dashboard.home.model.HomeUiModel
 import com.settlex.android.presentation.dashboard.services.model.ServiceUiModel
 import com.settlex.android.presentation.transactions.model.TransactionUiModel
-import com.settlex.android.util.network.NetworkMonitor
+import com.settlex.android.util.network.ConnectivityService
 import dagger.hilt.android.lifecycle.HiltViewModel
 import jakarta.inject.Inject
+import kotlinx.coroutines.ExperimentalCoroutinesApi
 import kotlinx.coroutines.flow.MutableStateFlow
 import kotlinx.coroutines.flow.SharingStarted
 import kotlinx.coroutines.flow.StateFlow
 import kotlinx.coroutines.flow.asStateFlow
 import kotlinx.coroutines.flow.combine
+import kotlinx.coroutines.flow.distinctUntilChanged
+import kotlinx.coroutines.flow.flatMapLatest
+import kotlinx.coroutines.flow.flowOf
 import kotlinx.coroutines.flow.map
 import kotlinx.coroutines.flow.stateIn
 import kotlinx.coroutines.launch
@@ -31,9 +36,16 @@ import kotlinx.coroutines.launch
 @HiltViewModel
 class HomeViewModel @Inject constructor(
     private val transactionRepoImpl: TransactionRepositoryImpl,
-    private val sessionManager: UserSessionManager
+    private val sessionManager: UserSessionManager,
+    private val configStore: RemoteConfigStore,
+    private val connectivity: ConnectivityService,
+    sessionWarmUp: SessionWarmUp
 ) : ViewModel() {
 
+    init {
+        sessionWarmUp.onDashboardAttached()
+    }
+
     val userSessionState: StateFlow<UserSessionState<HomeUiModel>> =
         sessionManager.userSession.map { userSessionState ->
             when (userSessionState) {
@@ -44,7 +56,6 @@ class HomeViewModel @Inject constructor(
                     userSessionState.user.let {
                         _rawBalance.value = it.balance to it.commissionBalance
                     }
-                    _isBalanceHidden.value = sessionManager.userLocalDataSource.isBalanceHidden
                     UserSessionState.Authenticated(userSessionState.user.toHomeUiModel())
                 }
             }
@@ -54,18 +65,32 @@ class HomeViewModel @Inject constructor(
             initialValue = UserSessionState.Loading
         )
 
-    private val _isBalanceHidden = MutableStateFlow(false)
-    val isBalanceHidden: StateFlow<Boolean> = _isBalanceHidden.asStateFlow()
+    /**
+     * The signed-in user's balance visibility, read from their preferences once they have loaded.
+     */
+    @OptIn(ExperimentalCoroutinesApi::class)
+    val isBalanceHidden: StateFlow<Boolean> = sessionManager.userSession
+        .map { it is UserSessionState.Authenticated }
+        .distinctUntilChanged()
+        .flatMapLatest { isAuthenticated ->
+            if (isAuthenticated) sessionManager.userLocalDataSource.observeBalanceHidden()
+            else flowOf(false)
+        }
+        .stateIn(
+            scope = viewModelScope,
+            started = SharingStarted.Eagerly,
+            initialValue = false
+        )
 
     fun toggleBalanceVisibility() {
-        _isBalanceHidden.value = !_isBalanceHidden.value
-        sessionManager.userLocalDataSource.isBalanceHidden = _isBalanceHidden.value
+        // The preference flow re-emits the new value
+        sessionManager.userLocalDataSource.isBalanceHidden = !isBalanceHidden.value
     }
 
     private val _rawBalance = MutableStateFlow<Pair<Long, Long>?>(null)
 
     val userBalance: StateFlow<Pair<String, String>?> = combine(
-        _rawBalance, _isBalanceHidden
+        _rawBalance, isBalanceHidden
     ) { rawBalance, isHidden ->
         if (rawBalance == null) return@combine null
 
@@ -120,13 +145,14 @@ class HomeViewModel @Inject constructor(
     }
 
     val homeServiceList by lazy {
-        ServiceType.entries
+        val config = configStore.current
+        config.serviceOrder
             .take(8)
             .map { serviceType ->
                 ServiceUiModel(
                     serviceType.displayName,
                     serviceType.iconRes,
-                    serviceType.cashbackPercentage,
+                    config.cashbackFor(serviceType),
                     serviceType.label,
                     serviceType.transactionServiceType,
                     serviceType.destination
@@ -143,7 +169,7 @@ class HomeViewModel @Inject constructor(
     }
 
     private fun isNetworkAvailable(): Boolean {
-        return NetworkMonitor.networkStatus.value
+        return connectivity.isConnected
     }
 
     companion object {
@@ -3,6 +3,7 @@ package com.settlex.android.presentation.dashboard.home.viewmodel
 import androidx.lifecycle.ViewModel
 import androidx.lifecycle.viewModelScope
 import com.settlex.android.data.exception.ExceptionMapper
+import com.settlex.android.data.remote.config.RemoteConfigStore
 import com.settlex.android.domain.repository.PromoBannerRepository
 import com.settlex.android.presentation.common.state.UiState
 import com.settlex.android.presentation.dashboard.home.model.PromoBannerUiModel
@@ -10,11 +11,14 @@ import dagger.hilt.android.lifecycle.HiltViewModel
 import jakarta.inject.Inject
 import kotlinx.coroutines.flow.MutableStateFlow
 import kotlinx.coroutines.flow.asStateFlow
+import kotlinx.coroutines.flow.distinctUntilChanged
+import kotlinx.coroutines.flow.map
 import kotlinx.coroutines.launch
 
 @HiltViewModel
 class PromoBannerViewModel @Inject constructor(
     private val bannerRepository: PromoBannerRepository,
+    private val configStore: RemoteConfigStore,
     private val exceptionMapper: ExceptionMapper
 ) : ViewModel() {
 
@@ -32,7 +36,18 @@ class PromoBannerViewModel @Inject constructor(
                 _banners.value = UiState.Success(cachedBanners)
             } catch (e: Exception) {
                 _banners.value = UiState.Failure(exceptionMapper.map(e))
+                return@launch
             }
+
+            // Pick up later activations without re-fetching
+            configStore.snapshots
+                .map { it.promotionalBanners }
+                .distinctUntilChanged()
+                .collect { banners ->
+                    if ((_banners.value as? UiState.Success)?.data != banners) {
+                        _banners.value = UiState.Success(banners)
+                    }
+                }
         }
     }
-}
\ No newline at end of file
+}
@@ -2,18 +2,18 @@ package com.settlex.android.presentation.settings
 
 import android.content.Intent
 import android.os.Bundle
-import android.os.Handler
-import android.os.Looper
 import android.view.MotionEvent
 import android.widget.Toast
 import androidx.activity.OnBackPressedCallback
 import androidx.activity.viewModels
 import androidx.appcompat.app.AppCompatActivity
+import androidx.core.view.isVisible
 import androidx.core.widget.doAfterTextChanged
 import androidx.core.widget.doOnTextChanged
 import androidx.lifecycle.Lifecycle
 import androidx.lifecycle.lifecycleScope
 import androidx.lifecycle.repeatOnLifecycle
+import com.google.android.material.chip.Chip
 import com.settlex.android.R
 import com.settlex.android.data.exception.AppException
 import com.settlex.android.databinding.ActivityCreatePaymentIdBinding
@@ -24,6 +24,7 @@ import com.settlex.android.presentation.common.extensions.show
 import com.settlex.android.presentation.common.state.UiState
 import com.settlex.android.presentation.common.util.DialogHelper
 import com.settlex.android.presentation.common.util.FocusManager
+import com.settlex.android.presentation.common.util.ValidationUtil
 import com.settlex.android.presentation.dashboard.DashboardActivity
 import com.settlex.android.presentation.settings.viewmodel.SettingsViewModel
 import com.settlex.android.util.ui.ProgressDialogManager
@@ -43,8 +44,6 @@ class CreatePaymentIdActivity : AppCompatActivity() {
     private val viewModel: SettingsViewModel by viewModels()
     private val progressLoader by lazy { ProgressDialogManager(this) }
     private val focusManager by lazy { FocusManager(this) }
-    private val handler = Handler(Looper.getMainLooper())
-    private var pendingCheckRunnable: Runnable? = null
 
     override fun onCreate(savedInstanceState: Bundle?) {
         super.onCreate(savedInstanceState)
@@ -74,6 +73,7 @@ class CreatePaymentIdActivity : AppCompatActivity() {
 
     private fun initObservers() {
         observePaymentIdAvailability()
+        observePaymentIdSuggestions()
         observeAssignPaymentIdEvent()
     }
 
@@ -154,6 +154,31 @@ class CreatePaymentIdActivity : AppCompatActivity() {
         }
     }
 
+    private fun observePaymentIdSuggestions() {
+        lifecycleScope.launch {
+            repeatOnLifecycle(Lifecycle.State.STARTED) {
+                viewModel.paymentIdSuggestions.collect { showPaymentIdSuggestions(it) }
+            }
+        }
+    }
+
+    private fun showPaymentIdSuggestions(suggestions: List<String>) = with(binding) {
+        cgPaymentIdSuggestions.removeAllViews()
+        viewPaymentIdSuggestions.isVisible = suggestions.isNotEmpty()
+
+        suggestions.forEach { suggestion ->
+            val chip = Chip(this@CreatePaymentIdActivity).apply {
+                text = suggestion
+                setOnClickListener {
+                    // Already checked, so the status is shown without another read
+                    etPaymentId.setText(suggestion)
+                    etPaymentId.setSelection(suggestion.length)
+                }
+            }
+            cgPaymentIdSuggestions.addView(chip)
+        }
+    }
+
     private fun onPaymentIdAvailabilityCheckLoading() = with(binding) {
         pbPaymentIdCheck.show()
     }
@@ -196,36 +221,34 @@ class CreatePaymentIdActivity : AppCompatActivity() {
 
             validatePaymentIdRulesUI(paymentId.toString())
 
+            // A check still running for the previous text is cancelled
             listOf(
+                pbPaymentIdCheck,
                 ivPaymentIdAvailable,
                 tvPaymentIdStatus,
                 tvError
             ).forEach { it.gone() }
         }
 
-        etPaymentId.doAfterTextChanged { paymentId ->
-            // Cancel any previous pending check
-            pendingCheckRunnable?.let { handler.removeCallbacks(it) }
-
-            if (isPaymentIdValid()) {
-                pendingCheckRunnable = Runnable { viewModel.isPaymentIdTaken(paymentId.toString()) }
-                pendingCheckRunnable?.let { handler.postDelayed(it, 1500) }
-            }
+        etPaymentId.doAfterTextChanged {
+            // Debounced, cached and cancelled by the view model
+            viewModel.onPaymentIdChanged(if (isPaymentIdValid()) getPaymentId() else "")
         }
     }
 
     private fun validatePaymentIdRulesUI(paymentId: String) = with(binding) {
+        val validation = ValidationUtil.validatePaymentId(paymentId)
         listOf(
             Pair(
-                isPaymentIdAlphaPrefixed(paymentId),
+                validation.startsWithLetter,
                 Triple(viewRuleStartWith, ivRuleStartWith, tvRuleStartWith)
             ),
             Pair(
-                isPaymentIdLengthInRange(paymentId),
+                validation.hasValidLength,
                 Triple(viewRuleLength, ivRuleLength, tvRuleLength)
             ),
             Pair(
-                isPaymentIdLowercaseAlphanumeric(paymentId),
+                validation.isLowercaseAlphanumeric,
                 Triple(viewRuleContains, ivRuleContains, tvRuleContains)
             )
         ).forEach { (isRequirementMet, triple) ->
@@ -248,22 +271,7 @@ class CreatePaymentIdActivity : AppCompatActivity() {
     }
 
     private fun isPaymentIdValid(): Boolean = with(binding) {
-        val paymentId = etPaymentId.text.toString()
-        return isPaymentIdAlphaPrefixed(paymentId)
-                && isPaymentIdLengthInRange(paymentId)
-                && isPaymentIdLowercaseAlphanumeric(paymentId)
-    }
-
-    private fun isPaymentIdAlphaPrefixed(paymentId: String): Boolean {
-        return paymentId.matches("^[A-Za-z].*".toRegex())
-    }
-
-    private fun isPaymentIdLengthInRange(paymentId: String): Boolean {
-        return paymentId.length in 5..20
-    }
-
-    private fun isPaymentIdLowercaseAlphanumeric(paymentId: String): Boolean {
-        return paymentId.matches("^[a-z0-9]+$".toRegex())
+        return ValidationUtil.validatePaymentId(etPaymentId.text.toString()).isValid
     }
 
     private fun updateContinueButtonState(isPaymentIdTaken: Boolean) = with(binding) {
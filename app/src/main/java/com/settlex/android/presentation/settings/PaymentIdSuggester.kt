@@ -0,0 +1,68 @@
+package com.settlex.android.presentation.settings
+
+import com.settlex.android.presentation.common.util.ValidationUtil
+import kotlin.random.Random
+
+/**
+ * Derives alternative payment IDs from the user's name and an ID that turned out to be taken.
+ *
+ * Candidates come best first: name combinations before numbered variants. Every candidate
+ * passes [ValidationUtil.isPaymentIdValid], and none repeats or equals the taken ID.
+ *
+ * The numbers are derived from the inputs, so the same name and taken ID always give the same
+ * candidates and re-checking them is answered from the availability cache.
+ */
+class PaymentIdSuggester {
+
+    fun candidates(
+        firstName: String,
+        lastName: String,
+        takenId: String,
+        count: Int = DEFAULT_CANDIDATE_COUNT
+    ): List<String> {
+        val first = normalise(firstName)
+        val last = normalise(lastName)
+        val taken = normalise(takenId)
+
+        val names = listOf(
+            first + last,
+            last + first,
+            first.take(1) + last,
+            first + last.take(1)
+        ).filter { it.isNotEmpty() }
+
+        val bases = (listOf(taken) + names).filter { it.isNotEmpty() }.distinct()
+        val random = Random(listOf(taken, first, last).hashCode())
+
+        val candidates = LinkedHashSet<String>()
+        names.forEach { candidates += fit(it, "") }
+        for (base in bases) {
+            candidates += fit(base, (random.nextInt(90) + 10).toString())
+        }
+        // Numbered variants of the chosen ID until there are enough
+        var attempts = 0
+        while (candidates.size < count + 1 && attempts++ < count * 4) {
+            val base = bases.firstOrNull() ?: break
+            candidates += fit(base, (random.nextInt(900) + 100).toString())
+        }
+
+        return candidates
+            .filter { it != taken && ValidationUtil.isPaymentIdValid(it) }
+            .take(count)
+    }
+
+    // Trims [base] so that [base] + [suffix] stays within the length limit
+    private fun fit(base: String, suffix: String): String {
+        return base.take(MAX_LENGTH - suffix.length) + suffix
+    }
+
+    private fun normalise(value: String): String {
+        return value.lowercase().filter { it in 'a'..'z' || it in '0'..'9' }
+            .dropWhile { it in '0'..'9' }
+    }
+
+    companion object {
+        private const val DEFAULT_CANDIDATE_COUNT = 10
+        private const val MAX_LENGTH = 20
+    }
+}
@@ -4,15 +4,25 @@ import androidx.lifecycle.ViewModel
 import androidx.lifecycle.viewModelScope
 import com.settlex.android.data.exception.AppException
 import com.settlex.android.data.exception.ExceptionMapper
+import com.settlex.android.data.remote.paymentid.PaymentIdAvailabilityService
+import com.settlex.android.data.session.UserSessionManager
+import com.settlex.android.data.session.UserSessionState
 import com.settlex.android.domain.usecase.user.AssignPaymentIdUseCase
 import com.settlex.android.domain.usecase.user.IsPaymentIdTakenUseCase
 import com.settlex.android.domain.usecase.user.SetPaymentPinUseCase
 import com.settlex.android.presentation.common.state.UiState
-import com.settlex.android.util.network.NetworkMonitor
+import com.settlex.android.presentation.settings.PaymentIdSuggester
+import com.settlex.android.util.network.ConnectivityService
 import dagger.hilt.android.lifecycle.HiltViewModel
 import jakarta.inject.Inject
+import kotlinx.coroutines.ExperimentalCoroutinesApi
 import kotlinx.coroutines.channels.Channel
+import kotlinx.coroutines.delay
+import kotlinx.coroutines.flow.MutableStateFlow
+import kotlinx.coroutines.flow.StateFlow
+import kotlinx.coroutines.flow.asStateFlow
 import kotlinx.coroutines.flow.receiveAsFlow
+import kotlinx.coroutines.flow.transformLatest
 import kotlinx.coroutines.launch
 
 @HiltViewModel
@@ -20,27 +30,103 @@ class SettingsViewModel @Inject constructor(
     private val isPaymentIdTakenUseCase: IsPaymentIdTakenUseCase,
     private val assignPaymentIdUseCase: AssignPaymentIdUseCase,
     private val setPaymentPinUseCase: SetPaymentPinUseCase,
+    private val connectivity: ConnectivityService,
+    private val availabilityService: PaymentIdAvailabilityService,
+    private val sessionManager: UserSessionManager,
 ) : ViewModel() {
 
+    private val paymentIdQuery = MutableStateFlow("")
+
+    // A channel rather than a StateFlow: re-checking an ID must redraw the status even when
+    // the answer equals the previous one
     private val _isPaymentIdTakenEvent = Channel<UiState<Boolean>>(Channel.BUFFERED)
     val isPaymentIdTakenEvent = _isPaymentIdTakenEvent.receiveAsFlow()
 
-    fun isPaymentIdTaken(paymentId: String) {
-        viewModelScope.launch {
-            if (!isInternetConnected()) {
-                _isPaymentIdTakenEvent.send(sendNetworkException())
-                return@launch
-            }
+    private val suggester = PaymentIdSuggester()
+    private val _paymentIdSuggestions = MutableStateFlow<List<String>>(emptyList())
 
-            _isPaymentIdTakenEvent.send(UiState.Loading)
+    /**
+     * Free alternatives to the last ID found taken; empty otherwise.
+     */
+    val paymentIdSuggestions: StateFlow<List<String>> = _paymentIdSuggestions.asStateFlow()
 
-            isPaymentIdTakenUseCase(paymentId).fold(
-                onSuccess = { _isPaymentIdTakenEvent.send(UiState.Success(it)) },
-                onFailure = { _isPaymentIdTakenEvent.send(UiState.Failure(it as AppException)) }
-            )
+    init {
+        observePaymentIdQuery()
+    }
+
+    /**
+     * Checks each ID passed to [onPaymentIdChanged].
+     *
+     * IDs already known locally are answered at once. Otherwise the check runs
+     * [PAYMENT_ID_DEBOUNCE_MS] after the last keystroke, and a newer ID cancels it, so a slow
+     * answer for an old ID can never replace the status of the current one. Alternatives to a
+     * taken ID are only looked up once typing has paused for as long.
+     */
+    @OptIn(ExperimentalCoroutinesApi::class)
+    private fun observePaymentIdQuery() {
+        viewModelScope.launch {
+            paymentIdQuery
+                .transformLatest { paymentId ->
+                    _paymentIdSuggestions.value = emptyList()
+                    if (paymentId.isEmpty()) return@transformLatest
+
+                    val known = availabilityService.peek(paymentId)
+                    if (known != null) {
+                        emit(UiState.Success(known))
+                        if (known) {
+                            delay(PAYMENT_ID_DEBOUNCE_MS)
+                            suggestAlternatives(paymentId)
+                        }
+                        return@transformLatest
+                    }
+
+                    delay(PAYMENT_ID_DEBOUNCE_MS)
+                    if (!isInternetConnected()) {
+                        emit(sendNetworkException())
+                        return@transformLatest
+                    }
+
+                    emit(UiState.Loading)
+                    isPaymentIdTakenUseCase(paymentId).fold(
+                        onSuccess = {
+                            emit(UiState.Success(it))
+                            if (it) suggestAlternatives(paymentId)
+                        },
+                        onFailure = { emit(UiState.Failure(it as AppException)) }
+                    )
+                }
+                .collect { _isPaymentIdTakenEvent.send(it) }
         }
     }
 
+    /**
+     * Publishes up to [SUGGESTION_COUNT] free IDs derived from the user's name and [takenId],
+     * checked together in one round of reads. Candidates probably seen taken before are skipped
+     * without a read; a false positive only costs one suggestion.
+     */
+    private suspend fun suggestAlternatives(takenId: String) {
+        val user = (sessionManager.userSession.value as? UserSessionState.Authenticated)?.user
+        val candidates = suggester.candidates(
+            firstName = user?.firstName.orEmpty(),
+            lastName = user?.lastName.orEmpty(),
+            takenId = takenId
+        ).filterNot { availabilityService.mightBeTaken(it) }
+        if (candidates.isEmpty() || !isInternetConnected()) return
+
+        val taken = availabilityService.checkAll(candidates)
+        _paymentIdSuggestions.value = candidates
+            .filter { taken[it] == false }
+            .take(SUGGESTION_COUNT)
+    }
+
+    /**
+     * Checks [paymentId] for availability; pass an empty string when there is nothing valid
+     * to check.
+     */
+    fun onPaymentIdChanged(paymentId: String) {
+        paymentIdQuery.value = paymentId
+    }
+
     private val _assignPaymentIdEvent = Channel<UiState<Unit>>(Channel.BUFFERED)
     val assignPaymentIdEvent = _assignPaymentIdEvent.receiveAsFlow()
 
@@ -88,6 +174,11 @@ class SettingsViewModel @Inject constructor(
     }
 
     private fun isInternetConnected(): Boolean {
-        return NetworkMonitor.networkStatus.value
+        return connectivity.isConnected
+    }
+
+    companion object {
+        private const val PAYMENT_ID_DEBOUNCE_MS = 500L
+        private const val SUGGESTION_COUNT = 3
     }
 }
\ No newline at end of file
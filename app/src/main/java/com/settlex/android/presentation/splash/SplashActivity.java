@@ -11,6 +11,7 @@ import androidx.core.splashscreen.SplashScreen;
 import androidx.lifecycle.ViewModelProvider;
 
 import com.settlex.android.data.local.AppPrefs;
+import com.settlex.android.data.local.PermissionPrefs;
 import com.settlex.android.presentation.auth.AuthViewModel;
 import com.settlex.android.presentation.auth.login.LoginActivity;
 import com.settlex.android.presentation.dashboard.DashboardActivity;
@@ -29,6 +30,8 @@ public class SplashActivity extends AppCompatActivity {
     NotificationPermission notification;
     @Inject
     AppPrefs prefs;
+    @Inject
+    PermissionPrefs permissionPrefs;
 
     @Override
     protected void onCreate(Bundle savedInstanceState) {
@@ -40,6 +43,9 @@ public class SplashActivity extends AppCompatActivity {
         splashScreen.setKeepOnScreenCondition(() -> true);
 
         initPermissionLauncher();
+
+        // Routing reads both files; wait for them to load instead of blocking the main thread
+        prefs.whenLoaded(() -> permissionPrefs.whenLoaded(this::requestPermissionOrRoute));
     }
 
     private void initPermissionLauncher() {
@@ -50,6 +56,10 @@ public class SplashActivity extends AppCompatActivity {
                     routeToDestination();
                 }
         );
+    }
+
+    private void requestPermissionOrRoute() {
+        if (isFinishing() || isDestroyed()) return;
 
         if (notification.shouldRequestPermission()) {
             notification.requestNotificationPermission();
@@ -0,0 +1,342 @@
+package com.settlex.android.presentation.transactions
+
+import android.content.Intent
+import android.os.Bundle
+import androidx.activity.viewModels
+import androidx.appcompat.app.AppCompatActivity
+import androidx.core.widget.doOnTextChanged
+import androidx.lifecycle.Lifecycle
+import androidx.lifecycle.lifecycleScope
+import androidx.lifecycle.repeatOnLifecycle
+import androidx.recyclerview.widget.LinearLayoutManager
+import com.cottacush.android.currencyedittext.CurrencyInputWatcher
+import com.settlex.android.R
+import com.settlex.android.data.exception.AppException
+import com.settlex.android.data.session.UserSessionState
+import com.settlex.android.databinding.ActivityBatchTransferBinding
+import com.settlex.android.presentation.common.extensions.fromNairaStringToKobo
+import com.settlex.android.presentation.common.extensions.gone
+import com.settlex.android.presentation.common.extensions.removeAtPrefix
+import com.settlex.android.presentation.common.extensions.show
+import com.settlex.android.presentation.common.extensions.toNairaString
+import com.settlex.android.presentation.common.state.UiState
+import com.settlex.android.presentation.common.util.DialogHelper
+import com.settlex.android.presentation.common.util.PaymentBottomSheetHelper.TransactionSummary
+import com.settlex.android.presentation.common.util.PaymentSheetHost
+import com.settlex.android.presentation.common.util.ValidationUtil
+import com.settlex.android.presentation.settings.CreatePaymentPinActivity
+import com.settlex.android.presentation.settings.PaymentPinFlow
+import com.settlex.android.presentation.transactions.adapter.BatchLegAdapter
+import com.settlex.android.presentation.transactions.model.BatchLegStatus
+import com.settlex.android.presentation.transactions.model.BatchLegUiModel
+import com.settlex.android.presentation.transactions.model.TransferToFriendUiModel
+import com.settlex.android.presentation.transactions.viewmodel.BatchTransferViewModel
+import com.settlex.android.util.ui.ProgressDialogManager
+import com.settlex.android.util.ui.StatusBar
+import dagger.hilt.android.AndroidEntryPoint
+import kotlinx.coroutines.launch
+import java.util.Locale
+
+@AndroidEntryPoint
+class BatchTransferActivity : AppCompatActivity() {
+    private lateinit var binding: ActivityBatchTransferBinding
+    private val viewModel: BatchTransferViewModel by viewModels()
+    private val progressLoader by lazy { ProgressDialogManager(this) }
+    private lateinit var paymentSheets: PaymentSheetHost
+    private lateinit var legAdapter: BatchLegAdapter
+
+    private var currentUser: TransferToFriendUiModel? = null
+    private var summary: TransactionSummary? = null
+    private var isSettled = false
+
+    override fun onCreate(savedInstanceState: Bundle?) {
+        super.onCreate(savedInstanceState)
+        binding = ActivityBatchTransferBinding.inflate(layoutInflater)
+        setContentView(binding.root)
+
+        paymentSheets = PaymentSheetHost(this)
+        initViews()
+        initObservers()
+    }
+
+    private fun initViews() = with(binding) {
+        StatusBar.setColor(this@BatchTransferActivity, R.color.colorSurface)
+
+        legAdapter = BatchLegAdapter { viewModel.removeLeg(it.paymentId) }
+        rvBatchLegs.apply {
+            layoutManager = LinearLayoutManager(context, LinearLayoutManager.VERTICAL, false)
+            adapter = legAdapter
+        }
+
+        setupInputListeners()
+
+        toolbar.setNavigationOnClickListener { onBackPressedDispatcher.onBackPressed() }
+        btnAddRecipient.setOnClickListener { addRecipient() }
+        btnPay.setOnClickListener {
+            when (isSettled) {
+                true -> finish()
+                false -> startPayment()
+            }
+        }
+    }
+
+    private fun initObservers() {
+        observeUserSession()
+        observeLegs()
+        observeSummary()
+        observeVerifyRecipients()
+        observeBatchTransfer()
+        observePaymentPinAuth()
+    }
+
+    private fun observeUserSession() {
+        lifecycleScope.launch {
+            repeatOnLifecycle(Lifecycle.State.STARTED) {
+                viewModel.userSessionState.collect { state ->
+                    if (state is UserSessionState.Authenticated) {
+                        currentUser = state.user
+                        "Available Balance: ${state.user.totalBalance.toNairaString()}".also {
+                            binding.tvAvailableBalance.text = it
+                        }
+                    }
+                }
+            }
+        }
+    }
+
+    private fun observeLegs() {
+        lifecycleScope.launch {
+            repeatOnLifecycle(Lifecycle.State.STARTED) {
+                viewModel.legs.collect { legs ->
+                    legAdapter.submitList(legs)
+                    binding.tvNoRecipients.apply { if (legs.isEmpty()) show() else gone() }
+                    updatePayButtonState(legs)
+                }
+            }
+        }
+    }
+
+    private fun observeSummary() {
+        lifecycleScope.launch {
+            repeatOnLifecycle(Lifecycle.State.STARTED) {
+                viewModel.summary.collect { summary ->
+                    this@BatchTransferActivity.summary = summary
+                    showSummary(summary)
+                    updatePayButtonState(viewModel.legs.value)
+                }
+            }
+        }
+    }
+
+    private fun observeVerifyRecipients() {
+        lifecycleScope.launch {
+            repeatOnLifecycle(Lifecycle.State.STARTED) {
+                viewModel.verifyRecipientsEvent.collect { state ->
+                    when (state) {
+                        is UiState.Loading -> progressLoader.show()
+                        is UiState.Success -> onRecipientsVerified(state.data)
+                        is UiState.Failure -> showErrorDialog(state.exception)
+                    }
+                }
+            }
+        }
+    }
+
+    private fun observeBatchTransfer() {
+        lifecycleScope.launch {
+            repeatOnLifecycle(Lifecycle.State.STARTED) {
+                viewModel.batchTransferEvent.collect { state ->
+                    when (state) {
+                        is UiState.Loading -> progressLoader.show()
+                        is UiState.Success -> showBatchResult(state.data)
+                        is UiState.Failure -> showErrorDialog(state.exception)
+                    }
+                }
+            }
+        }
+    }
+
+    private fun observePaymentPinAuth() {
+        lifecycleScope.launch {
+            repeatOnLifecycle(Lifecycle.State.STARTED) {
+                viewModel.authPaymentPinEvent.collect { state ->
+                    when (state) {
+                        is UiState.Loading -> progressLoader.show()
+                        is UiState.Success -> if (!state.data) showIncorrectPinDialog()
+                        is UiState.Failure -> showErrorDialog(state.exception)
+                    }
+                }
+            }
+        }
+    }
+
+    private fun addRecipient() = with(binding) {
+        val paymentId = getRecipientPaymentId()
+        if (paymentId == currentUser?.paymentId) {
+            tvAddFeedback.text = ERROR_CANNOT_SEND_TO_SELF
+            tvAddFeedback.show()
+            return@with
+        }
+
+        if (!viewModel.addLeg(paymentId, getAmountInKobo())) {
+            tvAddFeedback.text = ERROR_TOO_MANY_RECIPIENTS
+            tvAddFeedback.show()
+            return@with
+        }
+
+        etPaymentId.text?.clear()
+        etAmount.text?.clear()
+        etPaymentId.requestFocus()
+    }
+
+    private fun startPayment() {
+        val user = currentUser ?: return
+        if (!user.hasPin) {
+            showPaymentPinCreationDialog()
+            return
+        }
+
+        // Recipients are verified together first; the PIN sheet opens once all are known
+        viewModel.verifyRecipients()
+    }
+
+    private fun onRecipientsVerified(allVerified: Boolean) {
+        progressLoader.hide()
+        if (!allVerified) {
+            showBatchFeedback(ERROR_UNKNOWN_RECIPIENTS)
+            return
+        }
+        if (summary?.canProceed != true) return
+
+        paymentSheets.showPinAuthentication { pin ->
+            viewModel.transferWithPin(pin, binding.etDescription.text.toString().trim())
+        }
+    }
+
+    private fun showBatchResult(legs: List<BatchLegUiModel>) = with(binding) {
+        progressLoader.hide()
+        isSettled = true
+
+        viewAddRecipient.gone()
+        etDescription.isEnabled = false
+        "Done".also { btnPay.text = it }
+        btnPay.isEnabled = true
+
+        val failed = legs.count { it.status == BatchLegStatus.FAILED }
+        val unconfirmed = legs.count { it.status == BatchLegStatus.PENDING }
+        val feedback = listOfNotNull(
+            "$failed of ${legs.size} transfers failed".takeIf { failed > 0 },
+            "$unconfirmed not confirmed yet".takeIf { unconfirmed > 0 }
+        )
+        when (feedback.isEmpty()) {
+            true -> tvBatchFeedback.gone()
+            false -> showBatchFeedback(feedback.joinToString(". "))
+        }
+    }
+
+    private fun showSummary(summary: TransactionSummary?) = with(binding) {
+        tvBatchTotal.text = (summary?.transferAmount ?: 0L).toNairaString()
+
+        when (val message = summary?.statusMessage) {
+            null -> if (!isSettled) tvBatchFeedback.gone()
+            else -> showBatchFeedback(message)
+        }
+    }
+
+    private fun showBatchFeedback(message: String) = with(binding) {
+        tvBatchFeedback.text = message
+        tvBatchFeedback.show()
+    }
+
+    private fun showPaymentPinCreationDialog() {
+        DialogHelper.showCustomAlertDialogWithIcon(this) { dialog, dialogBinding ->
+            with(dialogBinding) {
+                tvTitle.gone()
+                "Cancel".also { btnSecondary.text = it }
+                "Create PIN".also { btnPrimary.text = it }
+                tvMessage.text = ERROR_NO_PAYMENT_PIN
+                ivIcon.setImageResource(R.drawable.ic_lock_filled)
+
+                btnSecondary.setOnClickListener { dialog.dismiss() }
+                btnPrimary.setOnClickListener {
+                    startActivity(
+                        Intent(
+                            this@BatchTransferActivity,
+                            CreatePaymentPinActivity::class.java
+                        ).putExtra("payment_pin_flow", PaymentPinFlow.CreatePin)
+                    )
+                    dialog.dismiss()
+                }
+            }
+        }
+    }
+
+    private fun showIncorrectPinDialog() {
+        progressLoader.hide()
+        DialogHelper.showCustomAlertDialog(this) { dialog, dialogBinding ->
+            with(dialogBinding) {
+                "Incorrect PIN".also { tvMessage.text = it }
+                btnSecondary.gone()
+                "Retry".also { btnPrimary.text = it }
+                btnPrimary.setOnClickListener { dialog.dismiss() }
+            }
+        }
+    }
+
+    private fun showErrorDialog(error: AppException) {
+        progressLoader.hide()
+        DialogHelper.showCustomAlertDialog(this) { dialog, dialogBinding ->
+            with(dialogBinding) {
+                btnSecondary.gone()
+                tvMessage.text = error.message
+                "Okay".also { btnPrimary.text = it }
+                btnPrimary.setOnClickListener { dialog.dismiss() }
+            }
+        }
+    }
+
+    private fun setupInputListeners() = with(binding) {
+        etAmount.addTextChangedListener(
+            CurrencyInputWatcher(
+                etAmount,
+                "₦",
+                Locale.forLanguageTag("en-NG"),
+                2
+            )
+        )
+
+        etPaymentId.doOnTextChanged { _, _, _, _ -> updateAddButtonState() }
+        etAmount.doOnTextChanged { _, _, _, _ -> updateAddButtonState() }
+    }
+
+    private fun updateAddButtonState() = with(binding) {
+        tvAddFeedback.gone()
+        btnAddRecipient.isEnabled = ValidationUtil.isPaymentIdValid(getRecipientPaymentId()) &&
+                isAmountInRange(getAmountInKobo())
+    }
+
+    private fun updatePayButtonState(legs: List<BatchLegUiModel>) {
+        if (isSettled) return
+        binding.btnPay.isEnabled = legs.isNotEmpty() && summary?.canProceed == true
+    }
+
+    private fun getRecipientPaymentId(): String = with(binding) {
+        return etPaymentId.text.toString().trim().removeAtPrefix()
+    }
+
+    private fun getAmountInKobo(): Long = with(binding) {
+        return etAmount.text.fromNairaStringToKobo()
+    }
+
+    private fun isAmountInRange(amount: Long): Boolean {
+        return amount in 10_000L..100_000_000_000_000L
+    }
+
+    companion object {
+        private const val ERROR_CANNOT_SEND_TO_SELF = "Self-payments are not allowed"
+        private const val ERROR_TOO_MANY_RECIPIENTS =
+            "You can pay up to ${BatchTransferViewModel.MAX_LEGS} friends at once"
+        private const val ERROR_NO_PAYMENT_PIN = "Set up your Payment PIN to pay several friends at once"
+        private const val ERROR_UNKNOWN_RECIPIENTS = "Remove or correct the recipients marked below"
+    }
+}
@@ -6,7 +6,12 @@ import android.view.View
 import android.view.ViewGroup
 import androidx.activity.OnBackPressedCallback
 import androidx.fragment.app.Fragment
+import androidx.fragment.app.viewModels
+import androidx.lifecycle.Lifecycle
+import androidx.lifecycle.lifecycleScope
+import androidx.lifecycle.repeatOnLifecycle
 import com.settlex.android.R
+import com.settlex.android.data.enums.TransactionStatus
 import com.settlex.android.databinding.FragmentTransactionDetailsBinding
 import com.settlex.android.presentation.common.extensions.copyToClipboard
 import com.settlex.android.presentation.common.extensions.getParcelableExtraCompat
@@ -15,13 +20,16 @@ import com.settlex.android.presentation.common.extensions.setTextColorRes
 import com.settlex.android.presentation.common.extensions.show
 import com.settlex.android.presentation.common.extensions.toFullDateTimeString
 import com.settlex.android.presentation.transactions.model.TransactionUiModel
+import com.settlex.android.presentation.transactions.viewmodel.TransactionStatusViewModel
 import com.settlex.android.util.ui.StatusBar
 import dagger.hilt.android.AndroidEntryPoint
+import kotlinx.coroutines.launch
 
 @AndroidEntryPoint
 class TransactionDetailsFragment : Fragment() {
     private var _binding: FragmentTransactionDetailsBinding? = null
     private val binding get() = _binding!!
+    private val viewModel: TransactionStatusViewModel by viewModels()
 
     override fun onCreateView(
         inflater: LayoutInflater,
@@ -37,11 +45,11 @@ class TransactionDetailsFragment : Fragment() {
     override fun onViewCreated(view: View, savedInstanceState: Bundle?) {
         super.onViewCreated(view, savedInstanceState)
 
-        bindTransactionDetails(
-            requireActivity().intent.getParcelableExtraCompat<TransactionUiModel>(
-                "transaction"
-            )
+        val transaction = requireActivity().intent.getParcelableExtraCompat<TransactionUiModel>(
+            "transaction"
         )
+        bindTransactionDetails(transaction)
+        observePendingStatus(transaction)
     }
 
     override fun onDestroyView() {
@@ -96,6 +104,24 @@ class TransactionDetailsFragment : Fragment() {
         tvTransactionId.text = transaction.transactionId
     }
 
+    // Only a pending transaction can still change while it is on screen
+    private fun observePendingStatus(transaction: TransactionUiModel) {
+        if (transaction.status != TransactionStatus.PENDING.displayName) return
+
+        viewLifecycleOwner.lifecycleScope.launch {
+            viewLifecycleOwner.repeatOnLifecycle(Lifecycle.State.STARTED) {
+                viewModel.statusUpdates(transaction.transactionId, TransactionStatus.PENDING)
+                    .collect { status ->
+                        binding.tvTxnStatus.apply {
+                            text = status.displayName
+                            setTextColorRes(status.colorRes)
+                            setBackgroundResource(status.bgColorRes)
+                        }
+                    }
+            }
+        }
+    }
+
     private fun onBackButtonPressed() {
         requireActivity().onBackPressedDispatcher.addCallback(
             getViewLifecycleOwner(), object : OnBackPressedCallback(true) {
@@ -2,22 +2,30 @@ package com.settlex.android.presentation.transactions
 
 import android.content.Intent
 import android.os.Bundle
+import androidx.activity.viewModels
 import androidx.appcompat.app.AppCompatActivity
+import androidx.lifecycle.Lifecycle
+import androidx.lifecycle.lifecycleScope
+import androidx.lifecycle.repeatOnLifecycle
 import com.airbnb.lottie.RenderMode
 import com.settlex.android.R
 import com.settlex.android.data.enums.TransactionStatus
 import com.settlex.android.databinding.ActivityTransactionStatusBinding
 import com.settlex.android.presentation.common.extensions.getParcelableExtraCompat
+import com.settlex.android.presentation.common.extensions.gone
 import com.settlex.android.presentation.common.extensions.show
 import com.settlex.android.presentation.common.extensions.toNairaString
 import com.settlex.android.presentation.dashboard.DashboardActivity
 import com.settlex.android.presentation.transactions.model.TransactionResult
+import com.settlex.android.presentation.transactions.viewmodel.TransactionStatusViewModel
 import com.settlex.android.util.ui.StatusBar
 import dagger.hilt.android.AndroidEntryPoint
+import kotlinx.coroutines.launch
 
 @AndroidEntryPoint
 class TransactionStatusActivity : AppCompatActivity() {
     private lateinit var binding: ActivityTransactionStatusBinding
+    private val viewModel: TransactionStatusViewModel by viewModels()
 
     override fun onCreate(savedInstanceState: Bundle?) {
         super.onCreate(savedInstanceState)
@@ -26,6 +34,7 @@ class TransactionStatusActivity : AppCompatActivity() {
 
         val result = intent.getParcelableExtraCompat<TransactionResult>("transaction_result")
         initViews(result)
+        observeTransactionStatus(result)
     }
 
     private fun initViews(result: TransactionResult) {
@@ -38,14 +47,39 @@ class TransactionStatusActivity : AppCompatActivity() {
         tvTxnAmount.text = result.amount.toNairaString()
         tvTxnStatus.text = result.message
 
-        when (result.status) {
+        showStatus(result.status, result.errorMessage)
+    }
+
+    private fun showStatus(status: TransactionStatus, errorMessage: String?) {
+        when (status) {
             TransactionStatus.SUCCESS -> showSuccessState()
             TransactionStatus.PENDING -> showPendingState()
-            TransactionStatus.FAILED -> showFailedState(result.errorMessage)
+            TransactionStatus.FAILED -> showFailedState(errorMessage)
             else -> Unit
         }
     }
 
+    /**
+     * Follows a transfer that is still settling, so the screen doesn't stay on pending once
+     * the backend has decided it. A final outcome is shown as it is.
+     */
+    private fun observeTransactionStatus(result: TransactionResult) {
+        if (result.status != TransactionStatus.PENDING) return
+        val transactionId = result.transactionId ?: return
+
+        lifecycleScope.launch {
+            repeatOnLifecycle(Lifecycle.State.STARTED) {
+                viewModel.statusUpdates(transactionId, result.status).collect { status ->
+                    with(binding) { listOf(animTxnPending, animTxnSuccess, animTxnFailed).forEach { it.gone() } }
+                    when (status) {
+                        TransactionStatus.REVERSED -> showStatus(TransactionStatus.FAILED, status.displayName)
+                        else -> showStatus(status, result.errorMessage)
+                    }
+                }
+            }
+        }
+    }
+
     private fun showPendingState() = with(binding) {
         animTxnPending.apply {
             show()
@@ -12,7 +12,6 @@ import androidx.lifecycle.lifecycleScope
 import androidx.lifecycle.repeatOnLifecycle
 import androidx.recyclerview.widget.LinearLayoutManager
 import com.cottacush.android.currencyedittext.CurrencyInputWatcher
-import com.google.android.material.bottomsheet.BottomSheetDialog
 import com.settlex.android.R
 import com.settlex.android.data.enums.TransactionStatus
 import com.settlex.android.data.exception.AppException
@@ -28,7 +27,7 @@ import com.settlex.android.presentation.common.extensions.toNairaString
 import com.settlex.android.presentation.common.state.UiState
 import com.settlex.android.presentation.common.util.DialogHelper
 import com.settlex.android.presentation.common.util.FocusManager
-import com.settlex.android.presentation.common.util.PaymentBottomSheetHelper
+import com.settlex.android.presentation.common.util.PaymentSheetHost
 import com.settlex.android.presentation.common.util.ValidationUtil
 import com.settlex.android.presentation.settings.CreatePaymentPinActivity
 import com.settlex.android.presentation.settings.PaymentPinFlow
@@ -50,8 +49,8 @@ class TransferToFriendActivity : AppCompatActivity() {
     private val progressLoader by lazy { ProgressDialogManager(this) }
     private val focusManager by lazy { FocusManager(this) }
     private lateinit var recipientAdapter: RecipientAdapter
+    private lateinit var paymentSheets: PaymentSheetHost
 
-    private var paymentConfirmationSheet: BottomSheetDialog? = null
     private var recipientPhotoUrl: String? = null
     private var _currentUser: TransferToFriendUiModel? = null
     val currentUser get() = _currentUser!!
@@ -62,16 +61,12 @@ class TransferToFriendActivity : AppCompatActivity() {
         binding = ActivityTransferToFriendBinding.inflate(layoutInflater)
         setContentView(binding.root)
 
+        // Inflates the payment sheets in the background while the user fills in the form
+        paymentSheets = PaymentSheetHost(this)
         initViews()
         initObservers()
     }
 
-    override fun onDestroy() {
-        super.onDestroy()
-        paymentConfirmationSheet?.dismiss()
-        paymentConfirmationSheet = null
-    }
-
     private fun initViews() = with(binding) {
         StatusBar.setColor(this@TransferToFriendActivity, R.color.colorSurface)
 
@@ -82,12 +77,17 @@ class TransferToFriendActivity : AppCompatActivity() {
         toolbar.setNavigationOnClickListener { onBackPressedDispatcher.onBackPressed() }
         btnVerify.setOnClickListener { fetchRecipientData(getRecipientPaymentId()) }
         btnNext.setOnClickListener { showPaymentConfirmationBottomSheet() }
+        tvPaySeveralFriends.setOnClickListener {
+            startActivity(Intent(this@TransferToFriendActivity, BatchTransferActivity::class.java))
+        }
     }
 
     private fun initObservers() {
         observeUserSession()
         observeTransferToFriendEvent()
         observeGetRecipient()
+        observeRecipientSuggestions()
+        observeFrequentRecipients()
         observePaymentPinAuth()
     }
 
@@ -117,8 +117,9 @@ class TransferToFriendActivity : AppCompatActivity() {
                         is UiState.Loading -> progressLoader.show()
                         is UiState.Success -> showTransferStatus(
                             TransactionStatus.SUCCESS,
-                            state.data,
-                            null
+                            state.data.message,
+                            null,
+                            state.data.transactionId
                         )
 
                         is UiState.Failure -> showTransferStatus(
@@ -136,13 +137,15 @@ class TransferToFriendActivity : AppCompatActivity() {
     private fun showTransferStatus(
         transactionStatus: TransactionStatus,
         message: String?,
-        error: AppException?
+        error: AppException?,
+        transactionId: String? = null
     ) {
         val result = TransactionResult(
             status = transactionStatus,
             amount = getAmountInKobo(),
             message = message ?: "Transaction Failed",
-            errorMessage = error?.message
+            errorMessage = error?.message,
+            transactionId = transactionId
         )
 
         val intent = Intent(this, TransactionStatusActivity::class.java).apply {
@@ -168,6 +171,60 @@ class TransferToFriendActivity : AppCompatActivity() {
         }
     }
 
+    private fun observeRecipientSuggestions() {
+        lifecycleScope.launch {
+            repeatOnLifecycle(Lifecycle.State.STARTED) {
+                viewModel.recipientSuggestions.collect { state ->
+                    // A late result must not reopen the list once a recipient is picked
+                    if (binding.viewSelectedRecipient.isVisible) return@collect
+
+                    when (state) {
+                        null -> showFrequentRecipients()
+                        is UiState.Loading -> startRecipientShimmerLoading()
+                        is UiState.Success -> setRecipientData(
+                            state.data.filter { it.paymentId != _currentUser?.paymentId }
+                        )
+
+                        is UiState.Failure -> onGetRecipientError(state.exception)
+                    }
+                }
+            }
+        }
+    }
+
+    private fun observeFrequentRecipients() {
+        lifecycleScope.launch {
+            repeatOnLifecycle(Lifecycle.State.STARTED) {
+                viewModel.frequentRecipients.collect {
+                    // Only while the query is too short for a search
+                    if (viewModel.recipientSuggestions.value == null) showFrequentRecipients()
+                }
+            }
+        }
+    }
+
+    /**
+     * Lists the user's frequent recipients that match what has been typed so far, straight
+     * from the on-device index.
+     */
+    private fun showFrequentRecipients() = with(binding) {
+        if (viewSelectedRecipient.isVisible) return@with
+
+        val query = getRecipientPaymentId().lowercase()
+        val recipients = viewModel.frequentRecipients.value.filter { it.paymentId.startsWith(query) }
+
+        shimmerEffect.gone()
+        if (recipients.isEmpty()) {
+            recipientAdapter.submitList(emptyList())
+            rvRecipient.gone()
+            return@with
+        }
+
+        rvRecipient.show()
+        recipientAdapter.submitList(recipients)
+        rvRecipient.adapter = recipientAdapter
+    }
+
     private fun startRecipientShimmerLoading() = with(binding) {
         recipientAdapter.submitList(emptyList())
 
@@ -236,6 +293,19 @@ class TransferToFriendActivity : AppCompatActivity() {
     private fun transferToFriend() = with(binding) {
         viewModel.transferToFriend(
             toRecipientPaymentId = getRecipientPaymentId(),
+            recipientName = tvSelectedRecipientName.text.toString(),
+            recipientPhotoUrl = recipientPhotoUrl,
+            transferAmount = getAmountInKobo(),
+            description = etDescription.text.toString().trim()
+        )
+    }
+
+    private fun transferToFriendWithPin(pin: String) = with(binding) {
+        viewModel.transferToFriendWithPin(
+            pin = pin,
+            toRecipientPaymentId = getRecipientPaymentId(),
+            recipientName = tvSelectedRecipientName.text.toString(),
+            recipientPhotoUrl = recipientPhotoUrl,
             transferAmount = getAmountInKobo(),
             description = etDescription.text.toString().trim()
         )
@@ -286,7 +356,11 @@ class TransferToFriendActivity : AppCompatActivity() {
 
                 // Set selected recipient
                 recipientPhotoUrl = selectedRecipient.photoUrl
-                loadProfilePhoto(selectedRecipient.photoUrl, ivSelectedRecipientProfilePhoto)
+                loadProfilePhoto(
+                    selectedRecipient.photoUrl,
+                    ivSelectedRecipientProfilePhoto,
+                    selectedRecipient.fullName
+                )
                 tvSelectedRecipientName.text = selectedRecipient.fullName
                 tvSelectedRecipientPaymentId.text = selectedRecipient.paymentId.addAtPrefix()
                 viewSelectedRecipient.show()
@@ -301,8 +375,8 @@ class TransferToFriendActivity : AppCompatActivity() {
         val recipientPaymentIdRaw = tvSelectedRecipientPaymentId.text.toString()
         val recipientName = tvSelectedRecipientName.text.toString()
 
-        paymentConfirmationSheet = PaymentBottomSheetHelper.showConfirmPaymentBottomSheet(
-            this@TransferToFriendActivity,
+        viewModel.prepareForPayment()
+        paymentSheets.showConfirmPayment(
             recipientPaymentIdRaw,
             recipientName,
             recipientPhotoUrl,
@@ -313,13 +387,11 @@ class TransferToFriendActivity : AppCompatActivity() {
             // On confirm callback
             if (!currentUser.hasPin) {
                 showPaymentPinCreationDialog()
-                return@showConfirmPaymentBottomSheet
+                return@showConfirmPayment
             }
 
-            PaymentBottomSheetHelper.showPaymentPinAuthenticationBottomSheet(
-                this@TransferToFriendActivity
-            ) { pin ->
-                viewModel.authPaymentPin(pin)
+            paymentSheets.showPinAuthentication { pin ->
+                transferToFriendWithPin(pin)
             }
         }
     }
@@ -367,6 +439,11 @@ class TransferToFriendActivity : AppCompatActivity() {
             tvError.gone()
             viewSelectedRecipient.gone()
             btnVerify.isVisible = ValidationUtil.isPaymentIdValid(getRecipientPaymentId())
+            viewModel.onRecipientQueryChanged(getRecipientPaymentId())
+            // Suggestions stay null across short queries, so re-filter here on every keystroke
+            if (getRecipientPaymentId().length < TransactionViewModel.MIN_RECIPIENT_QUERY_LENGTH) {
+                showFrequentRecipients()
+            }
 
             updateNextButtonState()
         }
@@ -410,7 +487,7 @@ class TransferToFriendActivity : AppCompatActivity() {
     }
 
     private fun getAmountInKobo(): Long = with(binding) {
-        return etAmount.text.toString().fromNairaStringToKobo()
+        return etAmount.text.fromNairaStringToKobo()
     }
 
     private fun getRecipientPaymentId(): String = with(binding) {
@@ -0,0 +1,108 @@
+package com.settlex.android.presentation.transactions.adapter
+
+import android.view.LayoutInflater
+import android.view.ViewGroup
+import androidx.recyclerview.widget.DiffUtil
+import androidx.recyclerview.widget.ListAdapter
+import androidx.recyclerview.widget.RecyclerView
+import com.settlex.android.data.enums.TransactionStatus
+import com.settlex.android.data.remote.profile.ProfileService.loadProfilePhoto
+import com.settlex.android.databinding.ItemBatchLegBinding
+import com.settlex.android.presentation.common.extensions.addAtPrefix
+import com.settlex.android.presentation.common.extensions.gone
+import com.settlex.android.presentation.common.extensions.setTextColorRes
+import com.settlex.android.presentation.common.extensions.show
+import com.settlex.android.presentation.common.extensions.toNairaString
+import com.settlex.android.presentation.transactions.adapter.BatchLegAdapter.LegViewHolder
+import com.settlex.android.presentation.transactions.model.BatchLegStatus
+import com.settlex.android.presentation.transactions.model.BatchLegUiModel
+
+class BatchLegAdapter(private val onRemoveClickListener: (BatchLegUiModel) -> Unit) :
+    ListAdapter<BatchLegUiModel, LegViewHolder>(DIFF_CALLBACK) {
+
+    override fun onCreateViewHolder(parent: ViewGroup, viewType: Int): LegViewHolder {
+        val binding =
+            ItemBatchLegBinding.inflate(LayoutInflater.from(parent.context), parent, false)
+        return LegViewHolder(binding)
+    }
+
+    override fun onBindViewHolder(holder: LegViewHolder, position: Int) {
+        holder.bind(getItem(position), onRemoveClickListener)
+    }
+
+    class LegViewHolder(private val binding: ItemBatchLegBinding) :
+        RecyclerView.ViewHolder(binding.root) {
+
+        fun bind(leg: BatchLegUiModel, onRemove: (BatchLegUiModel) -> Unit) = with(binding) {
+            loadProfilePhoto(leg.recipientPhotoUrl, ivProfilePhoto, leg.recipientName ?: leg.paymentId)
+            tvPaymentId.text = leg.paymentId.addAtPrefix()
+            tvAmount.text = leg.amount.toNairaString()
+
+            when (leg.recipientName) {
+                null -> tvRecipientName.gone()
+                else -> {
+                    tvRecipientName.text = leg.recipientName
+                    tvRecipientName.show()
+                }
+            }
+
+            // Sent legs show the backend's outcome; failures, unconfirmed legs and unknown IDs
+            // explain why
+            val settledStatus = when (leg.status) {
+                BatchLegStatus.SUCCESS -> TransactionStatus.SUCCESS
+                BatchLegStatus.FAILED -> TransactionStatus.FAILED
+                BatchLegStatus.PENDING -> TransactionStatus.PENDING
+                else -> null
+            }
+            when (settledStatus) {
+                null -> tvLegStatus.gone()
+                else -> tvLegStatus.apply {
+                    text = settledStatus.displayName
+                    setTextColorRes(settledStatus.colorRes)
+                    setBackgroundResource(settledStatus.bgColorRes)
+                    show()
+                }
+            }
+
+            val isProblem = leg.status == BatchLegStatus.NOT_FOUND ||
+                    leg.status == BatchLegStatus.FAILED ||
+                    leg.status == BatchLegStatus.PENDING
+            when (isProblem && !leg.message.isNullOrEmpty()) {
+                true -> {
+                    tvLegMessage.text = leg.message
+                    tvLegMessage.show()
+                }
+
+                false -> tvLegMessage.gone()
+            }
+
+            // Legs can't be removed once the batch has been sent
+            when (settledStatus) {
+                null -> btnRemoveLeg.apply {
+                    show()
+                    setOnClickListener { onRemove(leg) }
+                }
+
+                else -> btnRemoveLeg.gone()
+            }
+        }
+    }
+
+    companion object {
+        private val DIFF_CALLBACK = object : DiffUtil.ItemCallback<BatchLegUiModel>() {
+            override fun areItemsTheSame(
+                oldItem: BatchLegUiModel,
+                newItem: BatchLegUiModel
+            ): Boolean {
+                return oldItem.paymentId == newItem.paymentId
+            }
+
+            override fun areContentsTheSame(
+                oldItem: BatchLegUiModel,
+                newItem: BatchLegUiModel
+            ): Boolean {
+                return oldItem == newItem
+            }
+        }
+    }
+}
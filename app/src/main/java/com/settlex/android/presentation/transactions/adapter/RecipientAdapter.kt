@@ -32,7 +32,7 @@ class RecipientAdapter(private val onItemClickListener: OnItemClickListener) :
         RecyclerView.ViewHolder(binding.root) {
 
         fun bind(recipient: RecipientUiModel, listener: OnItemClickListener) = with(binding) {
-            loadProfilePhoto(recipient.photoUrl, ivProfilePhoto)
+            loadProfilePhoto(recipient.photoUrl, ivProfilePhoto, recipient.fullName)
             tvFullName.text = recipient.fullName
             tvPaymentId.text = recipient.paymentId.addAtPrefix()
             root.setOnClickListener { listener.onClick(recipient) }
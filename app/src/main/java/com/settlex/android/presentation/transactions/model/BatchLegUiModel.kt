@@ -0,0 +1,21 @@
+package com.settlex.android.presentation.transactions.model
+
+/**
+ * One recipient of a batch transfer, as entered and then as settled.
+ *
+ * [recipientName] is known once the payment ID has been verified; [message] explains a
+ * [BatchLegStatus.NOT_FOUND], a [BatchLegStatus.PENDING] or the backend's outcome of the leg.
+ */
+data class BatchLegUiModel(
+    val paymentId: String,
+    val amount: Long,
+    val recipientName: String? = null,
+    val recipientPhotoUrl: String? = null,
+    val status: BatchLegStatus = BatchLegStatus.UNVERIFIED,
+    val message: String? = null
+)
+
+/**
+ * [PENDING] is a sent leg whose outcome isn't known yet; it may still go through.
+ */
+enum class BatchLegStatus { UNVERIFIED, VERIFIED, NOT_FOUND, SUCCESS, FAILED, PENDING }
@@ -12,5 +12,6 @@ data class TransactionResult(
     val status: TransactionStatus,
     val amount: Long, // in kobo
     val message: String,
-    val errorMessage: String? = null
+    val errorMessage: String? = null,
+    val transactionId: String? = null
 ) : Parcelable
\ No newline at end of file
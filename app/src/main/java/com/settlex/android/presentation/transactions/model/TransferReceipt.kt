@@ -0,0 +1,10 @@
+package com.settlex.android.presentation.transactions.model
+
+/**
+ * A completed transfer request: the backend's message and, when known, the transaction it
+ * created, whose status may still be settling.
+ */
+data class TransferReceipt(
+    val message: String,
+    val transactionId: String?
+)
@@ -0,0 +1,68 @@
+package com.settlex.android.presentation.transactions.search
+
+import com.settlex.android.presentation.transactions.model.RecipientUiModel
+
+/**
+ * Recent recipient search results, keyed by query.
+ *
+ * A query that extends a cached one (e.g. "adaez" after "ada") is answered by filtering the
+ * shorter query's results, without waiting for a network call. Results shorter than
+ * [resultLimit] are the server's complete answer for their prefix, so the narrowed list is
+ * final. A full page may have been cut off, so it is only good as a first answer until the
+ * network replies.
+ *
+ * Not thread-safe; confine to one thread (the ViewModel's main dispatcher).
+ */
+class RecipientPrefixCache(
+    private val resultLimit: Int,
+    private val maxEntries: Int = DEFAULT_MAX_ENTRIES,
+    private val ttlMs: Long = DEFAULT_TTL_MS,
+    private val clock: () -> Long = System::currentTimeMillis
+) {
+    /**
+     * @property isComplete Whether [recipients] is every match, so the network can be skipped.
+     */
+    data class Hit(val recipients: List<RecipientUiModel>, val isComplete: Boolean)
+
+    private class Entry(val recipients: List<RecipientUiModel>, val storedAt: Long)
+
+    // Access-ordered, so iteration starts at the least recently used entry
+    private val entries = LinkedHashMap<String, Entry>(16, 0.75f, true)
+
+    fun put(query: String, recipients: List<RecipientUiModel>) {
+        entries[query] = Entry(recipients, clock())
+        if (entries.size > maxEntries) {
+            entries.remove(entries.keys.first())
+        }
+    }
+
+    /**
+     * The best cached answer for [query]: an exact entry, or the longest cached prefix narrowed
+     * to [query]. Returns `null` when nothing usable is cached.
+     */
+    fun lookup(query: String): Hit? {
+        val now = clock()
+        for (length in query.length downTo 1) {
+            val prefix = query.substring(0, length)
+            val entry = entries[prefix] ?: continue
+            if (now - entry.storedAt > ttlMs) {
+                entries.remove(prefix)
+                continue
+            }
+
+            // An exact entry is the server's own answer for this query
+            if (length == query.length) return Hit(entry.recipients, isComplete = true)
+
+            val narrowed = entry.recipients.filter { it.paymentId.startsWith(query) }
+            return Hit(narrowed, isComplete = entry.recipients.size < resultLimit)
+        }
+        return null
+    }
+
+    fun clear() = entries.clear()
+
+    companion object {
+        private const val DEFAULT_MAX_ENTRIES = 32
+        private const val DEFAULT_TTL_MS = 60 * 1000L
+    }
+}
@@ -0,0 +1,243 @@
+package com.settlex.android.presentation.transactions.viewmodel
+
+import androidx.lifecycle.ViewModel
+import androidx.lifecycle.viewModelScope
+import com.settlex.android.data.exception.AppException
+import com.settlex.android.data.exception.ExceptionMapper
+import com.settlex.android.data.local.RecipientIndexStore
+import com.settlex.android.data.mapper.toRecipientUiModel
+import com.settlex.android.data.mapper.toTransferToFriendUiModel
+import com.settlex.android.data.remote.transfer.BatchTransferResult
+import com.settlex.android.data.remote.transfer.TransferLeg
+import com.settlex.android.data.repository.TransactionRepositoryImpl
+import com.settlex.android.data.session.IdTokenRefresher
+import com.settlex.android.data.session.UserSessionManager
+import com.settlex.android.data.session.UserSessionState
+import com.settlex.android.domain.usecase.transaction.TransferToFriendsWithPinUseCase
+import com.settlex.android.presentation.common.state.UiState
+import com.settlex.android.presentation.common.util.PaymentBottomSheetHelper
+import com.settlex.android.presentation.common.util.PaymentBottomSheetHelper.TransactionSummary
+import com.settlex.android.presentation.transactions.model.BatchLegStatus
+import com.settlex.android.presentation.transactions.model.BatchLegUiModel
+import com.settlex.android.presentation.transactions.model.TransferToFriendUiModel
+import com.settlex.android.util.network.ConnectivityService
+import dagger.hilt.android.lifecycle.HiltViewModel
+import jakarta.inject.Inject
+import kotlinx.coroutines.channels.Channel
+import kotlinx.coroutines.flow.MutableStateFlow
+import kotlinx.coroutines.flow.SharingStarted
+import kotlinx.coroutines.flow.StateFlow
+import kotlinx.coroutines.flow.asStateFlow
+import kotlinx.coroutines.flow.combine
+import kotlinx.coroutines.flow.map
+import kotlinx.coroutines.flow.receiveAsFlow
+import kotlinx.coroutines.flow.stateIn
+import kotlinx.coroutines.flow.update
+import kotlinx.coroutines.launch
+
+/**
+ * Pays several friends at once, such as when splitting a bill.
+ *
+ * Recipients are verified together, the total is checked against the wallet and commission
+ * balances the same way as a single transfer, and one PIN entry authorises every leg.
+ */
+@HiltViewModel
+class BatchTransferViewModel @Inject constructor(
+    private val transferToFriendsWithPinUseCase: TransferToFriendsWithPinUseCase,
+    private val sessionManager: UserSessionManager,
+    private val transactionRepoImpl: TransactionRepositoryImpl,
+    private val connectivity: ConnectivityService,
+    private val tokenRefresher: IdTokenRefresher,
+    private val recipientIndex: RecipientIndexStore
+) : ViewModel() {
+
+    val userSessionState: StateFlow<UserSessionState<TransferToFriendUiModel>> =
+        sessionManager.userSession.map { userSessionState ->
+            when (userSessionState) {
+                is UserSessionState.Loading -> UserSessionState.Loading
+                is UserSessionState.UnAuthenticated -> UserSessionState.UnAuthenticated
+                is UserSessionState.Error -> UserSessionState.Error(userSessionState.exception)
+                is UserSessionState.Authenticated -> UserSessionState.Authenticated(userSessionState.user.toTransferToFriendUiModel())
+            }
+        }.stateIn(
+            scope = viewModelScope,
+            started = SharingStarted.WhileSubscribed(5_000),
+            initialValue = UserSessionState.Loading
+        )
+
+    private val _legs = MutableStateFlow<List<BatchLegUiModel>>(emptyList())
+    val legs = _legs.asStateFlow()
+
+    /**
+     * How the batch total would be debited, or `null` while there are no legs or no balance.
+     */
+    val summary: StateFlow<TransactionSummary?> = combine(userSessionState, _legs) { session, legs ->
+        val user = (session as? UserSessionState.Authenticated)?.user
+        if (user == null || legs.isEmpty()) return@combine null
+
+        PaymentBottomSheetHelper.generateTransactionSummary(
+            user.balance,
+            user.commissionBalance,
+            legs.sumOf { it.amount }
+        )
+    }.stateIn(
+        scope = viewModelScope,
+        started = SharingStarted.WhileSubscribed(5_000),
+        initialValue = null
+    )
+
+    /**
+     * Adds a leg, replacing any leg to the same recipient, since each recipient is paid once.
+     *
+     * @return `false` when the batch is already full.
+     */
+    fun addLeg(paymentId: String, amount: Long): Boolean {
+        val current = _legs.value
+        if (current.none { it.paymentId == paymentId } && current.size >= MAX_LEGS) return false
+
+        _legs.update { legs -> legs.filterNot { it.paymentId == paymentId } + BatchLegUiModel(paymentId, amount) }
+        return true
+    }
+
+    fun removeLeg(paymentId: String) {
+        _legs.update { legs -> legs.filterNot { it.paymentId == paymentId } }
+    }
+
+    private val _verifyRecipientsEvent = Channel<UiState<Boolean>>(Channel.BUFFERED)
+    val verifyRecipientsEvent = _verifyRecipientsEvent.receiveAsFlow()
+
+    /**
+     * Verifies every recipient not yet verified, concurrently.
+     *
+     * Sends `true` on [verifyRecipientsEvent] when every payment ID belongs to a user; unknown
+     * ones are marked [BatchLegStatus.NOT_FOUND].
+     */
+    fun verifyRecipients() {
+        viewModelScope.launch {
+            if (!isInternetConnected()) {
+                _verifyRecipientsEvent.send(sendNetworkException())
+                return@launch
+            }
+
+            val unverified = _legs.value.filter { it.status != BatchLegStatus.VERIFIED }.map { it.paymentId }
+            if (unverified.isEmpty()) {
+                _verifyRecipientsEvent.send(UiState.Success(_legs.value.isNotEmpty()))
+                return@launch
+            }
+
+            _verifyRecipientsEvent.send(UiState.Loading)
+
+            transactionRepoImpl.getRecipientsByPaymentIds(unverified).fold(
+                onSuccess = { recipients ->
+                    _legs.update { legs ->
+                        legs.map { leg ->
+                            if (leg.paymentId !in recipients) return@map leg
+
+                            when (val recipient = recipients[leg.paymentId]?.toRecipientUiModel()) {
+                                null -> leg.copy(status = BatchLegStatus.NOT_FOUND, message = ERROR_RECIPIENT_NOT_FOUND)
+                                else -> leg.copy(
+                                    recipientName = recipient.fullName,
+                                    recipientPhotoUrl = recipient.photoUrl,
+                                    status = BatchLegStatus.VERIFIED,
+                                    message = null
+                                )
+                            }
+                        }
+                    }
+                    _verifyRecipientsEvent.send(UiState.Success(_legs.value.all { it.status == BatchLegStatus.VERIFIED }))
+                },
+                onFailure = { _verifyRecipientsEvent.send(UiState.Failure(it as AppException)) }
+            )
+        }
+    }
+
+    private val _batchTransferEvent = Channel<UiState<List<BatchLegUiModel>>>(Channel.BUFFERED)
+    val batchTransferEvent = _batchTransferEvent.receiveAsFlow()
+
+    private val _authPaymentPinEvent = Channel<UiState<Boolean>>(Channel.BUFFERED)
+    val authPaymentPinEvent = _authPaymentPinEvent.receiveAsFlow()
+
+    /**
+     * Verifies [pin] once and pays every verified leg. Each leg's outcome arrives on
+     * [batchTransferEvent]; a rejected PIN arrives on [authPaymentPinEvent] as `false`.
+     */
+    fun transferWithPin(pin: String, description: String?) {
+        viewModelScope.launch {
+            if (!isInternetConnected()) {
+                _batchTransferEvent.send(sendNetworkException())
+                return@launch
+            }
+
+            val legs = _legs.value
+            _batchTransferEvent.send(UiState.Loading)
+            tokenRefresher.ensureFresh()
+
+            transferToFriendsWithPinUseCase(
+                pin,
+                legs.map { TransferLeg(it.paymentId, it.amount) },
+                description
+            ).fold(
+                onSuccess = { result ->
+                    when (result) {
+                        is BatchTransferResult.IncorrectPin -> _authPaymentPinEvent.send(UiState.Success(false))
+                        is BatchTransferResult.Completed -> {
+                            val settled = settleLegs(legs, result)
+                            _legs.value = settled
+                            _batchTransferEvent.send(UiState.Success(settled))
+                        }
+                    }
+                },
+                onFailure = { _batchTransferEvent.send(UiState.Failure(it as AppException)) }
+            )
+        }
+    }
+
+    private suspend fun settleLegs(legs: List<BatchLegUiModel>, result: BatchTransferResult.Completed): List<BatchLegUiModel> {
+        val outcomes = result.legs.associateBy { it.request.toRecipientPaymentId }
+        val uid = (sessionManager.userSession.value as? UserSessionState.Authenticated)?.user?.uid
+
+        return legs.map { leg ->
+            val outcome = outcomes[leg.paymentId]
+            if (outcome?.succeeded == true && uid != null) {
+                recipientIndex.recordTransfer(
+                    uid,
+                    outcome.request.transactionId,
+                    leg.paymentId,
+                    leg.recipientName.orEmpty(),
+                    leg.recipientPhotoUrl
+                )
+            }
+            // A leg the result leaves out has no known outcome either
+            when {
+                outcome == null || outcome.isPending -> leg.copy(
+                    status = BatchLegStatus.PENDING,
+                    message = LEG_UNCONFIRMED_MESSAGE
+                )
+
+                outcome.succeeded -> leg.copy(status = BatchLegStatus.SUCCESS, message = outcome.message)
+                else -> leg.copy(status = BatchLegStatus.FAILED, message = outcome.message)
+            }
+        }
+    }
+
+    private fun <T> sendNetworkException(): UiState<T> {
+        return UiState.Failure(
+            AppException.NetworkException(
+                ExceptionMapper.ERROR_NO_NETWORK
+            )
+        )
+    }
+
+    private fun isInternetConnected(): Boolean {
+        return connectivity.isConnected
+    }
+
+    companion object {
+        /** Most recipients one batch can pay. */
+        const val MAX_LEGS = 10
+
+        private const val ERROR_RECIPIENT_NOT_FOUND = "No user has this Payment ID"
+        private const val LEG_UNCONFIRMED_MESSAGE =
+            "Not confirmed yet. Check your transactions before sending to this person again"
+    }
+}
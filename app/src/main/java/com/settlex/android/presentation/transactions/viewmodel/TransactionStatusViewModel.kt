@@ -0,0 +1,40 @@
+package com.settlex.android.presentation.transactions.viewmodel
+
+import androidx.lifecycle.ViewModel
+import com.settlex.android.data.enums.TransactionStatus
+import com.settlex.android.data.repository.TransactionRepositoryImpl
+import dagger.hilt.android.lifecycle.HiltViewModel
+import jakarta.inject.Inject
+import kotlinx.coroutines.flow.Flow
+import kotlinx.coroutines.flow.filter
+import kotlinx.coroutines.flow.onEach
+
+/**
+ * Follows the status of transactions shown on screen, without the transfer state that
+ * [TransactionViewModel] sets up.
+ */
+@HiltViewModel
+class TransactionStatusViewModel @Inject constructor(
+    private val transactionRepoImpl: TransactionRepositoryImpl
+) : ViewModel() {
+
+    // The last status delivered per transaction; only touched from collectors on the main thread
+    private val delivered = HashMap<String, TransactionStatus>()
+
+    /**
+     * Changes to the status of a transaction, ending at its final status. Only a transaction
+     * still pending is listened to.
+     *
+     * Each collection resumes from the last status delivered, so a screen that stops and starts
+     * again is not sent the same status twice, nor listens again once the status is final.
+     *
+     * @param knownStatus The status the screen shows before any update.
+     */
+    fun statusUpdates(transactionId: String, knownStatus: TransactionStatus?): Flow<TransactionStatus> {
+        fun current() = delivered[transactionId] ?: knownStatus
+
+        return transactionRepoImpl.trackTransaction(transactionId, current())
+            .filter { it != current() }
+            .onEach { delivered[transactionId] = it }
+    }
+}
@@ -4,39 +4,55 @@ import androidx.lifecycle.ViewModel
 import androidx.lifecycle.viewModelScope
 import com.settlex.android.data.exception.AppException
 import com.settlex.android.data.exception.ExceptionMapper
+import com.settlex.android.data.local.RecipientIndexStore
 import com.settlex.android.data.mapper.toRecipientUiModel
 import com.settlex.android.data.mapper.toTransactionUiModel
 import com.settlex.android.data.mapper.toTransferToFriendUiModel
+import com.settlex.android.data.remote.transfer.PinTransferResult
 import com.settlex.android.data.repository.TransactionRepositoryImpl
+import com.settlex.android.data.session.IdTokenRefresher
 import com.settlex.android.data.session.UserSessionManager
 import com.settlex.android.data.session.UserSessionState
 import com.settlex.android.domain.usecase.transaction.TransferToFriendUseCase
+import com.settlex.android.domain.usecase.transaction.TransferToFriendWithPinUseCase
 import com.settlex.android.domain.usecase.user.AuthPaymentPinUseCase
 import com.settlex.android.domain.usecase.user.GetReceipientUseCase
 import com.settlex.android.presentation.common.state.UiState
 import com.settlex.android.presentation.transactions.model.RecipientUiModel
 import com.settlex.android.presentation.transactions.model.TransactionUiModel
+import com.settlex.android.presentation.transactions.model.TransferReceipt
 import com.settlex.android.presentation.transactions.model.TransferToFriendUiModel
-import com.settlex.android.util.network.NetworkMonitor
+import com.settlex.android.presentation.transactions.search.RecipientPrefixCache
+import com.settlex.android.util.network.ConnectivityService
 import dagger.hilt.android.lifecycle.HiltViewModel
 import jakarta.inject.Inject
+import kotlinx.coroutines.ExperimentalCoroutinesApi
 import kotlinx.coroutines.channels.Channel
+import kotlinx.coroutines.delay
 import kotlinx.coroutines.flow.MutableStateFlow
 import kotlinx.coroutines.flow.SharingStarted
 import kotlinx.coroutines.flow.StateFlow
 import kotlinx.coroutines.flow.asStateFlow
+import kotlinx.coroutines.flow.distinctUntilChanged
+import kotlinx.coroutines.flow.flatMapLatest
+import kotlinx.coroutines.flow.flowOf
 import kotlinx.coroutines.flow.map
 import kotlinx.coroutines.flow.receiveAsFlow
 import kotlinx.coroutines.flow.stateIn
+import kotlinx.coroutines.flow.transformLatest
 import kotlinx.coroutines.launch
 
 @HiltViewModel
 class TransactionViewModel @Inject constructor(
     private val transferToFriendUseCase: TransferToFriendUseCase,
+    private val transferToFriendWithPinUseCase: TransferToFriendWithPinUseCase,
     private val getRecipientUseCase: GetReceipientUseCase,
     private val authPaymentPinUseCase: AuthPaymentPinUseCase,
-    sessionManager: UserSessionManager,
-    private val transactionRepoImpl: TransactionRepositoryImpl
+    private val sessionManager: UserSessionManager,
+    private val transactionRepoImpl: TransactionRepositoryImpl,
+    private val connectivity: ConnectivityService,
+    private val tokenRefresher: IdTokenRefresher,
+    private val recipientIndex: RecipientIndexStore
 ) :
     ViewModel() {
     val userSessionState: StateFlow<UserSessionState<TransferToFriendUiModel>> =
@@ -53,11 +69,42 @@ class TransactionViewModel @Inject constructor(
             initialValue = UserSessionState.Loading
         )
 
-    private val _transferToFriendEvent = Channel<UiState<String>>(Channel.BUFFERED)
+    private val sessionUid: String?
+        get() = (sessionManager.userSession.value as? UserSessionState.Authenticated)?.user?.uid
+
+    /**
+     * The user's most frequent and recent recipients, ranked on device, for the empty search
+     * field. Updated as transfers complete and as the transaction stream delivers them.
+     */
+    @OptIn(ExperimentalCoroutinesApi::class)
+    val frequentRecipients: StateFlow<List<RecipientUiModel>> = sessionManager.userSession
+        .map { (it as? UserSessionState.Authenticated)?.user?.uid }
+        .distinctUntilChanged()
+        .flatMapLatest { uid ->
+            if (uid == null) flowOf(emptyList())
+            else recipientIndex.frequentRecipients(uid).map { entries ->
+                entries.map { RecipientUiModel(it.paymentId, it.name, it.photoUrl) }
+            }
+        }
+        .stateIn(
+            scope = viewModelScope,
+            started = SharingStarted.WhileSubscribed(5_000),
+            initialValue = emptyList()
+        )
+
+    init {
+        // Settle transfers interrupted by a timeout or process death; a transfer started
+        // meanwhile waits for this inside TransferSubmission
+        viewModelScope.launch { transactionRepoImpl.reconcilePendingTransfers() }
+    }
+
+    private val _transferToFriendEvent = Channel<UiState<TransferReceipt>>(Channel.BUFFERED)
     val transferToFriendEvent = _transferToFriendEvent.receiveAsFlow()
 
     fun transferToFriend(
         toRecipientPaymentId: String,
+        recipientName: String,
+        recipientPhotoUrl: String?,
         transferAmount: Long,
         description: String?
     ) {
@@ -68,15 +115,70 @@ class TransactionViewModel @Inject constructor(
             }
 
             _transferToFriendEvent.send(UiState.Loading)
+            tokenRefresher.ensureFresh()
 
             transferToFriendUseCase(toRecipientPaymentId, transferAmount, description)
                 .fold(
-                    onSuccess = { _transferToFriendEvent.send(UiState.Success(it.data)) },
+                    onSuccess = {
+                        recordTransfer(it.transactionId, toRecipientPaymentId, recipientName, recipientPhotoUrl)
+                        _transferToFriendEvent.send(UiState.Success(TransferReceipt(it.message, it.transactionId)))
+                    },
                     onFailure = { _transferToFriendEvent.send(UiState.Failure(it as AppException)) }
                 )
         }
     }
 
+    /**
+     * Verifies [pin] and transfers in one round trip.
+     *
+     * Progress and the outcome arrive on [transferToFriendEvent]; a rejected PIN arrives on
+     * [authPaymentPinEvent] as `false`, exactly as from [authPaymentPin].
+     */
+    fun transferToFriendWithPin(
+        pin: String,
+        toRecipientPaymentId: String,
+        recipientName: String,
+        recipientPhotoUrl: String?,
+        transferAmount: Long,
+        description: String?
+    ) {
+        viewModelScope.launch {
+            if (!isInternetConnected()) {
+                _transferToFriendEvent.send(sendNetworkException())
+                return@launch
+            }
+
+            _transferToFriendEvent.send(UiState.Loading)
+            tokenRefresher.ensureFresh()
+
+            transferToFriendWithPinUseCase(pin, toRecipientPaymentId, transferAmount, description)
+                .fold(
+                    onSuccess = { result ->
+                        when (result) {
+                            is PinTransferResult.IncorrectPin -> _authPaymentPinEvent.send(UiState.Success(false))
+                            is PinTransferResult.Completed -> {
+                                recordTransfer(result.transactionId, toRecipientPaymentId, recipientName, recipientPhotoUrl)
+                                _transferToFriendEvent.send(
+                                    UiState.Success(TransferReceipt(result.message, result.transactionId))
+                                )
+                            }
+                        }
+                    },
+                    onFailure = { _transferToFriendEvent.send(UiState.Failure(it as AppException)) }
+                )
+        }
+    }
+
+    private suspend fun recordTransfer(
+        transactionId: String,
+        paymentId: String,
+        recipientName: String,
+        recipientPhotoUrl: String?
+    ) {
+        val uid = sessionUid ?: return
+        recipientIndex.recordTransfer(uid, transactionId, paymentId, recipientName, recipientPhotoUrl)
+    }
+
     private val _getRecipientEvent = Channel<UiState<List<RecipientUiModel>>>(Channel.BUFFERED)
     val getRecipientEvent = _getRecipientEvent.receiveAsFlow()
 
@@ -95,6 +197,7 @@ class TransactionViewModel @Inject constructor(
                     for (rcpt in it.data) {
                         recipientList.add(rcpt.toRecipientUiModel())
                     }
+                    recipientCache.put(paymentId.trim().lowercase(), recipientList)
                     _getRecipientEvent.send(UiState.Success(recipientList))
                 },
                 onFailure = { _getRecipientEvent.send(UiState.Failure(it as AppException)) }
@@ -102,6 +205,69 @@ class TransactionViewModel @Inject constructor(
         }
     }
 
+    /**
+     * Called as the payment sheet opens, so the ID token is refreshed while the user reviews
+     * the payment instead of delaying the PIN check and transfer calls.
+     */
+    fun prepareForPayment() {
+        viewModelScope.launch { tokenRefresher.ensureFresh() }
+    }
+
+    private val recipientQuery = MutableStateFlow("")
+    private val recipientCache = RecipientPrefixCache(resultLimit = RECIPIENT_RESULT_LIMIT)
+
+    /**
+     * Typeahead results for [onRecipientQueryChanged], or `null` while the query is too short.
+     *
+     * Cached and narrowed results are emitted at once, without debounce. Network lookups run
+     * [RECIPIENT_DEBOUNCE_MS] after the last keystroke, and each new query cancels the lookup
+     * still pending for the previous one.
+     */
+    @OptIn(ExperimentalCoroutinesApi::class)
+    val recipientSuggestions: StateFlow<UiState<List<RecipientUiModel>>?> = recipientQuery
+        .transformLatest { query ->
+            if (query.length < MIN_RECIPIENT_QUERY_LENGTH) {
+                emit(null)
+                return@transformLatest
+            }
+
+            val cached = recipientCache.lookup(query)
+            if (cached != null) emit(UiState.Success(cached.recipients))
+            if (cached?.isComplete == true) return@transformLatest
+
+            // Nothing cached yet: show matching frequent recipients while the lookup runs
+            val frequent = if (cached == null) {
+                frequentRecipients.value.filter { it.paymentId.startsWith(query) }
+            } else emptyList()
+            if (frequent.isNotEmpty()) emit(UiState.Success(frequent))
+            val hasFirstAnswer = cached != null || frequent.isNotEmpty()
+
+            delay(RECIPIENT_DEBOUNCE_MS)
+            if (!isInternetConnected()) {
+                if (!hasFirstAnswer) emit(sendNetworkException())
+                return@transformLatest
+            }
+            if (!hasFirstAnswer) emit(UiState.Loading)
+
+            getRecipientUseCase(query).fold(
+                onSuccess = { response ->
+                    val recipients = response.data.map { it.toRecipientUiModel() }
+                    recipientCache.put(query, recipients)
+                    emit(UiState.Success(recipients))
+                },
+                onFailure = { if (!hasFirstAnswer) emit(UiState.Failure(it as AppException)) }
+            )
+        }
+        .stateIn(
+            scope = viewModelScope,
+            started = SharingStarted.WhileSubscribed(5_000),
+            initialValue = null
+        )
+
+    fun onRecipientQueryChanged(query: String) {
+        recipientQuery.value = query.trim().lowercase()
+    }
+
     private val _authPaymentPinEvent = Channel<UiState<Boolean>>(Channel.BUFFERED)
     val authPaymentPinEvent = _authPaymentPinEvent.receiveAsFlow()
 
@@ -113,6 +279,7 @@ class TransactionViewModel @Inject constructor(
             }
 
             _authPaymentPinEvent.send(UiState.Loading)
+            tokenRefresher.ensureFresh()
 
             authPaymentPinUseCase(pin).fold(
                 onSuccess = { _authPaymentPinEvent.send(UiState.Success(it.data)) },
@@ -161,6 +328,15 @@ class TransactionViewModel @Inject constructor(
     }
 
     private fun isInternetConnected(): Boolean {
-        return NetworkMonitor.networkStatus.value
+        return connectivity.isConnected
+    }
+
+    companion object {
+        /** Shorter queries are matched against frequent recipients only, not searched. */
+        const val MIN_RECIPIENT_QUERY_LENGTH = 3
+        private const val RECIPIENT_DEBOUNCE_MS = 300L
+
+        // Page size of api-getRecipientByPaymentId; a shorter page is every match for the prefix
+        private const val RECIPIENT_RESULT_LIMIT = 10
     }
 }
\ No newline at end of file
@@ -0,0 +1,127 @@
+package com.settlex.android.util.currency
+
+/**
+ * Outcome of [KoboParser.parse], packed into a single [Long] so a parse never allocates.
+ *
+ * Non-negative raw values are a valid amount in kobo; the two negative sentinels mark
+ * invalid input and an amount that does not fit in a [Long].
+ */
+@JvmInline
+value class KoboParseResult internal constructor(private val raw: Long) {
+
+    val isValid: Boolean get() = raw >= 0
+
+    val isInvalid: Boolean get() = raw == INVALID_RAW
+
+    val isOverflow: Boolean get() = raw == OVERFLOW_RAW
+
+    /**
+     * The parsed amount in kobo.
+     *
+     * @throws IllegalStateException if the input was invalid or overflowed.
+     */
+    val kobo: Long
+        get() {
+            check(isValid) { "No amount: ${toString()}" }
+            return raw
+        }
+
+    fun koboOrZero(): Long = if (isValid) raw else 0L
+
+    override fun toString(): String = when {
+        isValid -> "Valid($raw)"
+        isOverflow -> "Overflow"
+        else -> "Invalid"
+    }
+
+    internal companion object {
+        const val INVALID_RAW = Long.MIN_VALUE
+        const val OVERFLOW_RAW = Long.MIN_VALUE + 1
+
+        val ZERO = KoboParseResult(0L)
+        val INVALID = KoboParseResult(INVALID_RAW)
+        val OVERFLOW = KoboParseResult(OVERFLOW_RAW)
+    }
+}
+
+/**
+ * Single-pass parser for naira amounts as typed into the amount fields.
+ *
+ * Accepts an optional `₦` symbol, `,` grouping separators in the whole-naira part and any number
+ * of decimal places, rounded HALF_UP to the nearest kobo. Blank input is treated as zero, like an
+ * empty amount field. Signs, exponents, whitespace inside the amount and separators after the
+ * decimal point are rejected as [KoboParseResult.isInvalid].
+ *
+ * The parser reads the [CharSequence] in place, so an `Editable` can be passed without `toString()`.
+ */
+object KoboParser {
+    private const val NAIRA_SYMBOL = '₦'
+    private const val GROUPING_SEPARATOR = ','
+    private const val DECIMAL_SEPARATOR = '.'
+
+    fun parse(text: CharSequence): KoboParseResult {
+        var naira = 0L
+        var fraction = 0L // first two decimal digits, in kobo
+        var fractionDigits = 0
+        var roundUp = false
+        var hasDigits = false
+        var hasSeparator = false
+        var hasWhitespace = false
+        var inFraction = false
+        var overflow = false
+
+        for (i in 0 until text.length) {
+            val c = text[i]
+            when {
+                c in '0'..'9' -> {
+                    hasDigits = true
+                    val digit = c - '0'
+
+                    if (!inFraction) {
+                        // Keep scanning after overflow so trailing garbage still reports invalid
+                        if (!overflow) {
+                            if (naira > (Long.MAX_VALUE - digit) / 10) overflow = true
+                            else naira = naira * 10 + digit
+                        }
+                    } else {
+                        when (fractionDigits) {
+                            0 -> fraction = digit * 10L
+                            1 -> fraction += digit
+                            2 -> roundUp = digit >= 5
+                        }
+                        fractionDigits++
+                    }
+                }
+
+                c == GROUPING_SEPARATOR -> {
+                    if (inFraction) return KoboParseResult.INVALID
+                    hasSeparator = true
+                }
+
+                c == DECIMAL_SEPARATOR -> {
+                    if (inFraction) return KoboParseResult.INVALID
+                    hasSeparator = true
+                    inFraction = true
+                }
+
+                c == NAIRA_SYMBOL -> Unit
+
+                c.isWhitespace() -> hasWhitespace = true
+
+                else -> return KoboParseResult.INVALID
+            }
+        }
+
+        if (!hasDigits) {
+            // Blank or a lone symbol is an empty amount; bare separators are not a number
+            return if (hasSeparator) KoboParseResult.INVALID else KoboParseResult.ZERO
+        }
+        if (hasWhitespace) return KoboParseResult.INVALID
+        if (overflow) return KoboParseResult.OVERFLOW
+
+        val remainder = fraction + if (roundUp) 1 else 0
+        if (naira > (Long.MAX_VALUE - remainder) / 100) return KoboParseResult.OVERFLOW
+
+        return KoboParseResult(naira * 100 + remainder)
+    }
+}
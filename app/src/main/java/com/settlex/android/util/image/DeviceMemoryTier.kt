@@ -0,0 +1,39 @@
+package com.settlex.android.util.image
+
+import android.app.ActivityManager
+import android.content.Context
+
+/**
+ * Image cache budgets by device RAM class.
+ *
+ * @property memoryCacheScreens Decoded bitmaps kept in memory, in full-screen ARGB_8888 images.
+ * @property bitmapPoolScreens Recycled bitmaps kept for reuse, in full-screen ARGB_8888 images.
+ */
+enum class DeviceMemoryTier(
+    val memoryCacheScreens: Float,
+    val bitmapPoolScreens: Float,
+    val diskCacheBytes: Long
+) {
+    LOW(memoryCacheScreens = 1f, bitmapPoolScreens = 1f, diskCacheBytes = 50L * 1024 * 1024),
+    MEDIUM(memoryCacheScreens = 2f, bitmapPoolScreens = 2f, diskCacheBytes = 150L * 1024 * 1024),
+    HIGH(memoryCacheScreens = 3f, bitmapPoolScreens = 3f, diskCacheBytes = 250L * 1024 * 1024);
+
+    companion object {
+        private const val LOW_MEMORY_CLASS_MB = 128
+        private const val MEDIUM_MEMORY_CLASS_MB = 256
+
+        fun of(context: Context): DeviceMemoryTier {
+            val activityManager = context.getSystemService(Context.ACTIVITY_SERVICE) as ActivityManager
+            return of(activityManager.isLowRamDevice, activityManager.memoryClass)
+        }
+
+        /**
+         * @param memoryClassMb The per-app heap limit, [ActivityManager.getMemoryClass].
+         */
+        fun of(isLowRamDevice: Boolean, memoryClassMb: Int): DeviceMemoryTier = when {
+            isLowRamDevice || memoryClassMb <= LOW_MEMORY_CLASS_MB -> LOW
+            memoryClassMb <= MEDIUM_MEMORY_CLASS_MB -> MEDIUM
+            else -> HIGH
+        }
+    }
+}
@@ -0,0 +1,71 @@
+package com.settlex.android.util.image
+
+import com.bumptech.glide.load.DataSource
+import com.bumptech.glide.load.engine.GlideException
+import com.bumptech.glide.request.RequestListener
+import com.bumptech.glide.request.target.Target
+import java.util.concurrent.atomic.AtomicLong
+
+/**
+ * Counts where every Glide load was served from, for diagnostics.
+ *
+ * Registered as a global request listener by [SettleXGlideModule], so it sees every request
+ * without per-call wiring. `SettleXApp` logs a [snapshot] each time the app's UI is hidden.
+ */
+object ImageCacheStats : RequestListener<Any> {
+    private val memoryHits = AtomicLong()
+    private val diskHits = AtomicLong()
+    private val networkLoads = AtomicLong()
+    private val failures = AtomicLong()
+
+    data class Snapshot(
+        val memoryHits: Long,
+        val diskHits: Long,
+        val networkLoads: Long,
+        val failures: Long
+    ) {
+        val total: Long get() = memoryHits + diskHits + networkLoads + failures
+
+        /** Share of loads served without the network, or 0 before any load. */
+        val hitRate: Float
+            get() = if (total == 0L) 0f else (memoryHits + diskHits).toFloat() / total
+
+        override fun toString(): String {
+            return "memory=$memoryHits, disk=$diskHits, network=$networkLoads, failed=$failures, " +
+                    "hit rate=${(hitRate * 100).toInt()}%"
+        }
+    }
+
+    fun snapshot() = Snapshot(memoryHits.get(), diskHits.get(), networkLoads.get(), failures.get())
+
+    fun reset() {
+        listOf(memoryHits, diskHits, networkLoads, failures).forEach { it.set(0) }
+    }
+
+    override fun onResourceReady(
+        resource: Any,
+        model: Any,
+        target: Target<Any>?,
+        dataSource: DataSource,
+        isFirstResource: Boolean
+    ): Boolean {
+        when (dataSource) {
+            DataSource.MEMORY_CACHE -> memoryHits.incrementAndGet()
+            DataSource.RESOURCE_DISK_CACHE, DataSource.DATA_DISK_CACHE -> diskHits.incrementAndGet()
+            DataSource.REMOTE -> networkLoads.incrementAndGet()
+            // Local files and content URIs are neither hits nor misses
+            DataSource.LOCAL -> Unit
+        }
+        return false
+    }
+
+    override fun onLoadFailed(
+        e: GlideException?,
+        model: Any?,
+        target: Target<Any>,
+        isFirstResource: Boolean
+    ): Boolean {
+        failures.incrementAndGet()
+        return false
+    }
+}
@@ -1,8 +1,12 @@
 package com.settlex.android.util.image
 
 import android.content.Context
+import android.graphics.Bitmap
+import android.graphics.BitmapFactory
+import android.graphics.Matrix
+import android.media.ExifInterface
 import android.net.Uri
-import android.util.Base64
+import android.os.Build
 import android.util.Log
 import kotlinx.coroutines.Dispatchers
 import kotlinx.coroutines.withContext
@@ -10,15 +14,44 @@ import kotlinx.coroutines.withContext
 object ImageConverter {
     private const val TAG = "ImageConverter"
 
+    /** Longest side of an uploaded avatar; larger sources are scaled down to this. */
+    const val AVATAR_MAX_DIMENSION = 512
+
+    /** Budget for the Base64 payload sent to the backend. */
+    const val AVATAR_MAX_ENCODED_BYTES = 256 * 1024
+
+    private val QUALITY_LADDER = intArrayOf(90, 80, 70, 60, 50, 40)
+
+    enum class Format { JPEG, WEBP }
+
     /**
      * Converts an image Uri to a compressed Base64 string.
+     *
+     * The image is decoded with a bounded sample size and rotated upright from its EXIF
+     * orientation. It is then scaled to [maxDimension] and re-encoded at the highest quality
+     * that fits [maxEncodedBytes]. Compressed bytes stream straight into the Base64 encoder, so
+     * memory stays bounded by the target size, not the source resolution.
+     *
+     * @return `null` if the image cannot be read or does not fit the budget at any quality.
      */
-    suspend fun toBase64(context: Context, imageUri: Uri): String? {
+    suspend fun toBase64(
+        context: Context,
+        imageUri: Uri,
+        maxDimension: Int = AVATAR_MAX_DIMENSION,
+        maxEncodedBytes: Int = AVATAR_MAX_ENCODED_BYTES,
+        format: Format = Format.JPEG
+    ): String? {
         return withContext(Dispatchers.IO) {
             try {
-                context.contentResolver.openInputStream(imageUri)?.use { inputStream ->
-                    val bytes = inputStream.readBytes()
-                    Base64.encodeToString(bytes, Base64.NO_WRAP)
+                val bitmap = decodeUpright(context, imageUri, maxDimension)
+                    ?: return@withContext null
+
+                try {
+                    ImageEncoding.encodeBase64WithinBudget(maxEncodedBytes, QUALITY_LADDER) { quality, out ->
+                        bitmap.compress(format.toCompressFormat(), quality, out)
+                    }.also { if (it == null) Log.e(TAG, "Image does not fit $maxEncodedBytes bytes") }
+                } finally {
+                    bitmap.recycle()
                 }
             } catch (e: Exception) {
                 Log.e(TAG, "Base64 conversion failed", e)
@@ -26,5 +59,66 @@ object ImageConverter {
             }
         }
     }
-}
 
+    private fun decodeUpright(context: Context, imageUri: Uri, maxDimension: Int): Bitmap? {
+        val resolver = context.contentResolver
+
+        // Read dimensions only, without allocating pixels
+        val bounds = BitmapFactory.Options().apply { inJustDecodeBounds = true }
+        resolver.openInputStream(imageUri)?.use { BitmapFactory.decodeStream(it, null, bounds) }
+        if (bounds.outWidth <= 0 || bounds.outHeight <= 0) return null
+
+        val options = BitmapFactory.Options().apply {
+            inSampleSize = ImageEncoding.sampleSize(bounds.outWidth, bounds.outHeight, maxDimension)
+        }
+        val sampled = resolver.openInputStream(imageUri)?.use {
+            BitmapFactory.decodeStream(it, null, options)
+        } ?: return null
+
+        val orientation = runCatching {
+            resolver.openInputStream(imageUri)?.use {
+                ExifInterface(it).getAttributeInt(
+                    ExifInterface.TAG_ORIENTATION,
+                    ExifInterface.ORIENTATION_NORMAL
+                )
+            }
+        }.getOrNull() ?: ExifInterface.ORIENTATION_NORMAL
+
+        val scale = minOf(1f, maxDimension.toFloat() / maxOf(sampled.width, sampled.height))
+        val matrix = orientationMatrix(orientation).apply { preScale(scale, scale) }
+        if (matrix.isIdentity) return sampled
+
+        val upright = Bitmap.createBitmap(sampled, 0, 0, sampled.width, sampled.height, matrix, true)
+        if (upright !== sampled) sampled.recycle()
+        return upright
+    }
+
+    private fun orientationMatrix(orientation: Int): Matrix = Matrix().apply {
+        when (orientation) {
+            ExifInterface.ORIENTATION_ROTATE_90 -> postRotate(90f)
+            ExifInterface.ORIENTATION_ROTATE_180 -> postRotate(180f)
+            ExifInterface.ORIENTATION_ROTATE_270 -> postRotate(270f)
+            ExifInterface.ORIENTATION_FLIP_HORIZONTAL -> postScale(-1f, 1f)
+            ExifInterface.ORIENTATION_FLIP_VERTICAL -> postScale(1f, -1f)
+            ExifInterface.ORIENTATION_TRANSPOSE -> {
+                postRotate(90f)
+                postScale(-1f, 1f)
+            }
+
+            ExifInterface.ORIENTATION_TRANSVERSE -> {
+                postRotate(-90f)
+                postScale(-1f, 1f)
+            }
+        }
+    }
+
+    @Suppress("DEPRECATION")
+    private fun Format.toCompressFormat(): Bitmap.CompressFormat = when (this) {
+        Format.JPEG -> Bitmap.CompressFormat.JPEG
+        Format.WEBP -> if (Build.VERSION.SDK_INT >= Build.VERSION_CODES.R) {
+            Bitmap.CompressFormat.WEBP_LOSSY
+        } else {
+            Bitmap.CompressFormat.WEBP
+        }
+    }
+}
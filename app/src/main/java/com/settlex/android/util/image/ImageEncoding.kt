@@ -0,0 +1,89 @@
+package com.settlex.android.util.image
+
+import java.io.ByteArrayOutputStream
+import java.io.OutputStream
+import java.util.Base64
+
+/**
+ * Platform-free sizing and encoding steps of the upload pipeline in [ImageConverter].
+ */
+internal object ImageEncoding {
+
+    /**
+     * Largest power-of-two sample size that still decodes the image at or above [maxDimension]
+     * on its longer side, so the final scale-down never upsamples.
+     */
+    fun sampleSize(width: Int, height: Int, maxDimension: Int): Int {
+        val longest = maxOf(width, height)
+        var sampleSize = 1
+        while (longest / (sampleSize * 2) >= maxDimension) sampleSize *= 2
+        return sampleSize
+    }
+
+    /**
+     * Bytes an ARGB_8888 decode of a [width] x [height] image allocates at [sampleSize].
+     */
+    fun decodedBytes(width: Int, height: Int, sampleSize: Int): Long {
+        val sampledWidth = (width + sampleSize - 1) / sampleSize
+        val sampledHeight = (height + sampleSize - 1) / sampleSize
+        return sampledWidth.toLong() * sampledHeight * BYTES_PER_PIXEL
+    }
+
+    /**
+     * Compresses at each of [qualities] in turn, streaming the output straight into a Base64
+     * encoder. Returns the first encoding that fits in [maxEncodedBytes], or `null` if none does.
+     *
+     * The encoded buffer never grows past [maxEncodedBytes]. Output from an attempt that
+     * overruns is discarded as it is written, so peak memory is bounded by the budget rather
+     * than by the source image.
+     */
+    fun encodeBase64WithinBudget(
+        maxEncodedBytes: Int,
+        qualities: IntArray,
+        compress: (quality: Int, out: OutputStream) -> Unit
+    ): String? {
+        val buffer = BoundedOutputStream(maxEncodedBytes)
+
+        for (quality in qualities) {
+            buffer.reset()
+            Base64.getEncoder().wrap(buffer).use { encoder -> compress(quality, encoder) }
+            if (!buffer.isOverflowed) return buffer.toAsciiString()
+        }
+        return null
+    }
+
+    private class BoundedOutputStream(private val limit: Int) : OutputStream() {
+        private val bytes = ByteArrayOutputStream(minOf(limit, INITIAL_BUFFER_BYTES))
+
+        var isOverflowed = false
+            private set
+
+        fun reset() {
+            bytes.reset()
+            isOverflowed = false
+        }
+
+        fun toAsciiString(): String = bytes.toString(Charsets.US_ASCII.name())
+
+        override fun write(b: Int) {
+            if (isOverflowed) return
+            if (bytes.size() + 1 > limit) {
+                isOverflowed = true
+                return
+            }
+            bytes.write(b)
+        }
+
+        override fun write(b: ByteArray, off: Int, len: Int) {
+            if (isOverflowed) return
+            if (bytes.size() + len > limit) {
+                isOverflowed = true
+                return
+            }
+            bytes.write(b, off, len)
+        }
+    }
+
+    private const val BYTES_PER_PIXEL = 4
+    private const val INITIAL_BUFFER_BYTES = 64 * 1024
+}
@@ -0,0 +1,36 @@
+package com.settlex.android.util.image
+
+import android.content.Context
+import com.bumptech.glide.GlideBuilder
+import com.bumptech.glide.annotation.GlideModule
+import com.bumptech.glide.load.engine.cache.InternalCacheDiskCacheFactory
+import com.bumptech.glide.load.engine.cache.MemorySizeCalculator
+import com.bumptech.glide.module.AppGlideModule
+
+/**
+ * App-wide Glide configuration.
+ *
+ * Memory cache, bitmap pool and disk cache are sized by [DeviceMemoryTier], so low-RAM
+ * devices keep fewer decoded images around. Every load is counted by [ImageCacheStats].
+ * Decode formats are chosen per use case through [ImageRequestOptions].
+ */
+@GlideModule
+class SettleXGlideModule : AppGlideModule() {
+
+    override fun applyOptions(context: Context, builder: GlideBuilder) {
+        val tier = DeviceMemoryTier.of(context)
+
+        val calculator = MemorySizeCalculator.Builder(context)
+            .setMemoryCacheScreens(tier.memoryCacheScreens)
+            .setBitmapPoolScreens(tier.bitmapPoolScreens)
+            .build()
+
+        builder
+            .setMemorySizeCalculator(calculator)
+            .setDiskCache(InternalCacheDiskCacheFactory(context, tier.diskCacheBytes))
+            .addGlobalRequestListener(ImageCacheStats)
+    }
+
+    // Configuration is in code only, skip scanning the manifest for legacy modules
+    override fun isManifestParsingEnabled(): Boolean = false
+}
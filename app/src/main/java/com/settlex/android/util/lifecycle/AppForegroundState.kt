@@ -0,0 +1,49 @@
+package com.settlex.android.util.lifecycle
+
+import android.app.Activity
+import android.app.Application
+import android.content.Context
+import android.os.Bundle
+import dagger.hilt.android.qualifiers.ApplicationContext
+import jakarta.inject.Inject
+import jakarta.inject.Singleton
+import kotlinx.coroutines.flow.MutableStateFlow
+import kotlinx.coroutines.flow.StateFlow
+import kotlinx.coroutines.flow.asStateFlow
+
+/**
+ * Tracks whether any activity is started, i.e. whether the app is in the foreground.
+ *
+ * Counts activity starts and stops, so it must be created before the first activity starts;
+ * [com.settlex.android.SettleXApp] injects it eagerly.
+ */
+@Singleton
+class AppForegroundState @Inject constructor(
+    @param:ApplicationContext context: Context
+) {
+    // Main thread only
+    private var startedActivities = 0
+
+    private val _isInForeground = MutableStateFlow(false)
+    val isInForeground: StateFlow<Boolean> = _isInForeground.asStateFlow()
+
+    init {
+        (context as Application).registerActivityLifecycleCallbacks(StartedActivityCallbacks())
+    }
+
+    private inner class StartedActivityCallbacks : Application.ActivityLifecycleCallbacks {
+        override fun onActivityStarted(activity: Activity) {
+            if (startedActivities++ == 0) _isInForeground.value = true
+        }
+
+        override fun onActivityStopped(activity: Activity) {
+            if (--startedActivities == 0) _isInForeground.value = false
+        }
+
+        override fun onActivityCreated(activity: Activity, savedInstanceState: Bundle?) = Unit
+        override fun onActivityResumed(activity: Activity) = Unit
+        override fun onActivityPaused(activity: Activity) = Unit
+        override fun onActivitySaveInstanceState(activity: Activity, outState: Bundle) = Unit
+        override fun onActivityDestroyed(activity: Activity) = Unit
+    }
+}
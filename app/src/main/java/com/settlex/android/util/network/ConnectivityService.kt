@@ -0,0 +1,93 @@
+package com.settlex.android.util.network
+
+import android.content.Context
+import android.net.ConnectivityManager
+import android.net.ConnectivityManager.NetworkCallback
+import android.net.Network
+import android.net.NetworkCapabilities
+import dagger.hilt.android.qualifiers.ApplicationContext
+import jakarta.inject.Inject
+import jakarta.inject.Singleton
+import kotlinx.coroutines.flow.MutableStateFlow
+import kotlinx.coroutines.flow.StateFlow
+import kotlinx.coroutines.flow.asStateFlow
+
+/**
+ * Tracks the default network and its capabilities.
+ *
+ * The state follows the system's default network: when it switches (e.g. Wi-Fi to cellular),
+ * the new network's capabilities replace the old ones. Losing a network that is no longer
+ * the default does not mark the device offline.
+ */
+@Singleton
+class ConnectivityService @Inject constructor(
+    @param:ApplicationContext context: Context
+) {
+    private val connectivityManager =
+        context.getSystemService(Context.CONNECTIVITY_SERVICE) as ConnectivityManager
+
+    @Volatile
+    private var defaultNetwork: Network? = null
+
+    private val _state = MutableStateFlow(ConnectivityState.DISCONNECTED)
+    val state: StateFlow<ConnectivityState> = _state.asStateFlow()
+
+    /**
+     * Whether the default network offers internet right now. A non-suspending read for pre-call checks.
+     *
+     * This does not wait for the system to validate the network; see [ConnectivityState.isValidated].
+     */
+    val isConnected: Boolean
+        get() = _state.value.isConnected
+
+    private val callback = object : NetworkCallback() {
+        override fun onAvailable(network: Network) {
+            // Capabilities follow immediately in onCapabilitiesChanged
+            defaultNetwork = network
+        }
+
+        override fun onCapabilitiesChanged(network: Network, capabilities: NetworkCapabilities) {
+            defaultNetwork = network
+            _state.value = capabilities.toConnectivityState()
+        }
+
+        override fun onLost(network: Network) {
+            if (network == defaultNetwork) {
+                defaultNetwork = null
+                _state.value = ConnectivityState.DISCONNECTED
+            }
+        }
+    }
+
+    init {
+        // Set initial network state
+        val activeNetwork = connectivityManager.activeNetwork
+        defaultNetwork = activeNetwork
+        _state.value = connectivityManager.getNetworkCapabilities(activeNetwork)
+            ?.toConnectivityState()
+            ?: ConnectivityState.DISCONNECTED
+
+        connectivityManager.registerDefaultNetworkCallback(callback)
+    }
+
+    private fun NetworkCapabilities.toConnectivityState(): ConnectivityState {
+        val isConnected = hasCapability(NetworkCapabilities.NET_CAPABILITY_INTERNET)
+
+        return ConnectivityState(
+            isConnected = isConnected,
+            isValidated = isConnected && hasCapability(NetworkCapabilities.NET_CAPABILITY_VALIDATED),
+            isMetered = !hasCapability(NetworkCapabilities.NET_CAPABILITY_NOT_METERED),
+            transport = transport(),
+            downstreamBandwidthKbps = if (isConnected) linkDownstreamBandwidthKbps else 0
+        )
+    }
+
+    private fun NetworkCapabilities.transport(): NetworkTransport = when {
+        // A VPN also reports its underlying transport, so check it first
+        hasTransport(NetworkCapabilities.TRANSPORT_VPN) -> NetworkTransport.VPN
+        hasTransport(NetworkCapabilities.TRANSPORT_WIFI) -> NetworkTransport.WIFI
+        hasTransport(NetworkCapabilities.TRANSPORT_CELLULAR) -> NetworkTransport.CELLULAR
+        hasTransport(NetworkCapabilities.TRANSPORT_ETHERNET) -> NetworkTransport.ETHERNET
+        else -> NetworkTransport.OTHER
+    }
+}
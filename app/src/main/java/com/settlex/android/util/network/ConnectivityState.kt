@@ -0,0 +1,45 @@
+package com.settlex.android.util.network
+
+/**
+ * The link the device is currently using, as reported by the default network's capabilities.
+ *
+ * @property isConnected `true` when the network offers internet access. This is what calls are gated on.
+ * @property isValidated `true` once the system has also confirmed that access works. It is only a hint:
+ *           validation can fail or lag behind on captive portals, some carriers and some VPNs, yet
+ *           calls may still get through. Use it to hold back optional traffic, never to block a call.
+ * @property downstreamBandwidthKbps The system's estimate, or `0` when unknown or disconnected.
+ */
+data class ConnectivityState(
+    val isConnected: Boolean,
+    val isValidated: Boolean,
+    val isMetered: Boolean,
+    val transport: NetworkTransport,
+    val downstreamBandwidthKbps: Int
+) {
+    /**
+     * Whether the link is too slow for optional traffic such as prefetching or full-quality images.
+     */
+    val isLowBandwidth: Boolean
+        get() = isConnected && downstreamBandwidthKbps in 1 until LOW_BANDWIDTH_KBPS
+
+    companion object {
+        private const val LOW_BANDWIDTH_KBPS = 1_500
+
+        val DISCONNECTED = ConnectivityState(
+            isConnected = false,
+            isValidated = false,
+            isMetered = false,
+            transport = NetworkTransport.NONE,
+            downstreamBandwidthKbps = 0
+        )
+    }
+}
+
+enum class NetworkTransport {
+    WIFI,
+    CELLULAR,
+    ETHERNET,
+    VPN,
+    OTHER,
+    NONE
+}
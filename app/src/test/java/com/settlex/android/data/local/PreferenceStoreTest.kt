@@ -0,0 +1,121 @@
+package com.settlex.android.data.local
+
+import androidx.datastore.core.DataStore
+import androidx.datastore.preferences.core.Preferences
+import androidx.datastore.preferences.core.booleanPreferencesKey
+import androidx.datastore.preferences.core.emptyPreferences
+import androidx.datastore.preferences.core.stringPreferencesKey
+import kotlinx.coroutines.CompletableDeferred
+import kotlinx.coroutines.CoroutineScope
+import kotlinx.coroutines.Dispatchers
+import kotlinx.coroutines.SupervisorJob
+import kotlinx.coroutines.async
+import kotlinx.coroutines.cancel
+import kotlinx.coroutines.delay
+import kotlinx.coroutines.flow.Flow
+import kotlinx.coroutines.flow.MutableStateFlow
+import kotlinx.coroutines.flow.first
+import kotlinx.coroutines.flow.flow
+import kotlinx.coroutines.flow.take
+import kotlinx.coroutines.flow.toList
+import kotlinx.coroutines.runBlocking
+import kotlinx.coroutines.withTimeout
+import org.junit.After
+import org.junit.Assert.assertEquals
+import org.junit.Assert.assertFalse
+import org.junit.Test
+import java.util.concurrent.atomic.AtomicInteger
+
+class PreferenceStoreTest {
+
+    private val scope = CoroutineScope(SupervisorJob() + Dispatchers.Default)
+
+    private class FakeDataStore(initial: Preferences) : DataStore<Preferences> {
+        val persisted = MutableStateFlow(initial)
+        val writes = AtomicInteger()
+
+        override val data: Flow<Preferences> = flow { emit(persisted.value) }
+
+        override suspend fun updateData(transform: suspend (t: Preferences) -> Preferences): Preferences {
+            writes.incrementAndGet()
+            return transform(persisted.value).also { persisted.value = it }
+        }
+    }
+
+    @After
+    fun tearDown() {
+        scope.cancel()
+    }
+
+    @Test
+    fun readWaitsForTheLoad() = runBlocking {
+        val dataStore = FakeDataStore(prefsOf(NAME, "Ada"))
+        val gate = CompletableDeferred<Unit>()
+        val gated = object : DataStore<Preferences> by dataStore {
+            override val data: Flow<Preferences> = flow {
+                gate.await()
+                emit(dataStore.persisted.value)
+            }
+        }
+        val store = PreferenceStore("test", gated, scope)
+
+        val read = async { store.read(NAME) }
+        delay(50)
+        assertFalse(read.isCompleted)
+
+        gate.complete(Unit)
+        assertEquals("Ada", withTimeout(1_000) { read.await() })
+    }
+
+    @Test
+    fun editsInQuickSuccessionAreWrittenOnce() = runBlocking {
+        val dataStore = FakeDataStore(emptyPreferences())
+        val store = PreferenceStore("test", dataStore, scope)
+        store.awaitLoaded()
+
+        store[NAME] = "Ada"
+        store[FLAG] = true
+        store[NAME] = "Bola"
+        assertEquals("Bola", store[NAME])
+
+        withTimeout(1_000) { dataStore.persisted.first { it[NAME] == "Bola" } }
+        delay(200)
+        assertEquals(1, dataStore.writes.get())
+        assertEquals(true, dataStore.persisted.value[FLAG])
+    }
+
+    @Test
+    fun flushWritesWithoutWaitingForTheBatchWindow() = runBlocking {
+        val dataStore = FakeDataStore(emptyPreferences())
+        val store = PreferenceStore("test", dataStore, scope)
+        store.awaitLoaded()
+
+        store[FLAG] = true
+        store.flush()
+
+        assertEquals(true, dataStore.persisted.value[FLAG])
+        assertEquals(1, dataStore.writes.get())
+    }
+
+    @Test
+    fun observeEmitsTheLoadedValueThenChanges() = runBlocking {
+        val store = PreferenceStore("test", FakeDataStore(prefsOf(NAME, "Ada")), scope)
+
+        val values = async { store.observe(NAME).take(2).toList() }
+        store.awaitLoaded()
+        withTimeout(1_000) { store.snapshot.first { it[NAME] == "Ada" } }
+        delay(50)
+        store[NAME] = "Bola"
+
+        assertEquals(listOf("Ada", "Bola"), withTimeout(1_000) { values.await() })
+    }
+
+    private fun <T> prefsOf(key: Preferences.Key<T>, value: T): Preferences {
+        return emptyPreferences().toMutablePreferences().apply { this[key] = value }.toPreferences()
+    }
+
+    companion object {
+        private val NAME = stringPreferencesKey("name")
+        private val FLAG = booleanPreferencesKey("flag")
+    }
+}
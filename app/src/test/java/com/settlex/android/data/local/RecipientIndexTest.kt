@@ -0,0 +1,84 @@
+package com.settlex.android.data.local
+
+import org.junit.Assert.assertEquals
+import org.junit.Assert.assertFalse
+import org.junit.Assert.assertTrue
+import org.junit.Test
+
+class RecipientIndexTest {
+
+    private val day = 24 * 60 * 60 * 1000L
+    private val index = RecipientIndex(halfLifeMs = 7 * day, maxEntries = 3)
+
+    @Test
+    fun ranksByFrequencyAndRecency() {
+        // Three old transfers to ada, one recent transfer to bola
+        repeat(3) { index.recordTransfer("tx-ada-$it", "ada", "Ada", null, it * 1000L) }
+        index.recordTransfer("tx-bola-1", "bola", "Bola", null, 7 * day)
+
+        assertEquals(listOf("ada", "bola"), index.top(5, 7 * day).map { it.paymentId })
+        // Two half-lives later, ada's three points have decayed below bola's one
+        index.recordTransfer("tx-bola-2", "bola", "Bola", null, 14 * day)
+        assertEquals(listOf("bola", "ada"), index.top(5, 14 * day).map { it.paymentId })
+    }
+
+    @Test
+    fun streamCopyOfSentTransferIsNotCountedTwice() {
+        index.recordTransfer("tx-1", "ada", "Ada", null, 1_000)
+
+        assertFalse(index.recordTransaction("tx-1", "ada", "Ada", 2_000))
+        assertEquals(1.0, index.top(1, 2_000).single().score, 1e-9)
+
+        // A transfer under a different transaction ID, e.g. from another device, is counted
+        assertTrue(index.recordTransaction("tx-2", "ada", "Ada", 3_000))
+        assertEquals(2.0, index.scoreAt(index.top(1, 3_000).single(), 3_000), 1e-4)
+    }
+
+    @Test
+    fun sentTransferArrivingAfterItsStreamCopyIsNotCountedTwice() {
+        assertTrue(index.recordTransaction("tx-1", "ada", "Ada", 1_000))
+
+        assertTrue(index.recordTransfer("tx-1", "ada", "Ada", "https://photo", 2_000))
+
+        val entry = index.top(1, 2_000).single()
+        assertEquals(1.0, entry.score, 1e-9)
+        assertEquals("https://photo", entry.photoUrl)
+        assertFalse(index.recordTransfer("tx-1", "ada", "Ada", "https://photo", 2_000))
+    }
+
+    @Test
+    fun redeliveredTransactionsAreIgnored() {
+        assertTrue(index.recordTransaction("tx-1", "ada", "Ada", 1_000))
+        assertFalse(index.recordTransaction("tx-1", "ada", "Ada", 1_000))
+
+        assertEquals(1.0, index.top(1, 1_000).single().score, 1e-9)
+    }
+
+    @Test
+    fun evictsWeakestEntry() {
+        index.recordTransfer("tx-1", "ada", "Ada", null, 0)
+        index.recordTransfer("tx-2", "ada", "Ada", null, 1)
+        index.recordTransfer("tx-3", "bola", "Bola", null, 2)
+        index.recordTransfer("tx-4", "chi", "Chi", null, 3)
+        index.recordTransfer("tx-5", "dayo", "Dayo", null, 4)
+
+        val ids = index.top(5, 4).map { it.paymentId }
+        assertEquals(3, ids.size)
+        assertTrue("ada" in ids)
+        assertFalse("bola" in ids)
+    }
+
+    @Test
+    fun stateRoundTrips() {
+        index.recordTransfer("tx-1", "ada", "Ada", "https://photo", 0)
+        index.recordTransaction("tx-2", "bola", "Bola", 10)
+
+        val restored = RecipientIndex(index.state(), halfLifeMs = 7 * day, maxEntries = 3)
+
+        assertEquals(index.top(5, 10), restored.top(5, 10))
+        assertFalse(restored.recordTransaction("tx-2", "bola", "Bola", 10))
+        // The sent transfer's ID survives, so its stream copy still matches
+        assertFalse(restored.recordTransaction("tx-1", "ada", "Ada", 20))
+        assertEquals(1.0, restored.top(5, 20).first { it.paymentId == "ada" }.score, 1e-9)
+    }
+}
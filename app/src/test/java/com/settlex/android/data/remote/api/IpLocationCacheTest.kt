@@ -0,0 +1,120 @@
+package com.settlex.android.data.remote.api
+
+import kotlinx.coroutines.CompletableDeferred
+import kotlinx.coroutines.CoroutineScope
+import kotlinx.coroutines.Dispatchers
+import kotlinx.coroutines.SupervisorJob
+import kotlinx.coroutines.async
+import kotlinx.coroutines.awaitAll
+import kotlinx.coroutines.cancel
+import kotlinx.coroutines.delay
+import kotlinx.coroutines.runBlocking
+import kotlinx.coroutines.withTimeout
+import org.junit.After
+import org.junit.Assert.assertEquals
+import org.junit.Assert.assertNull
+import org.junit.Test
+import java.util.concurrent.atomic.AtomicInteger
+
+class IpLocationCacheTest {
+
+    private val scope = CoroutineScope(SupervisorJob() + Dispatchers.Default)
+    private var now = 0L
+    private var isConnected = true
+
+    private class FakeIpLocationApi : IpLocationApi {
+        val calls = AtomicInteger()
+
+        @Volatile
+        var gate = CompletableDeferred(Unit)
+
+        override suspend fun fetch(): IpLocation {
+            val call = calls.incrementAndGet()
+            gate.await()
+            return IpLocation("10.0.0.$call", "Lagos", "Nigeria")
+        }
+    }
+
+    private val api = FakeIpLocationApi()
+    private val cache = IpLocationCache(
+        api = api,
+        isConnected = { isConnected },
+        scope = scope,
+        ttlMs = TTL_MS,
+        clock = { now }
+    )
+
+    @After
+    fun tearDown() {
+        scope.cancel()
+    }
+
+    @Test
+    fun networkChangeFetchesNothingUntilAsked() = runBlocking {
+        cache.invalidate()
+        cache.invalidate()
+        assertEquals(0, api.calls.get())
+
+        assertEquals("10.0.0.1", cache.await(MAX_WAIT_MS)?.publicIp)
+        assertEquals(1, api.calls.get())
+    }
+
+    @Test
+    fun concurrentCallersShareOneFetchAndTheResultIsCached() = runBlocking {
+        api.gate = CompletableDeferred()
+        val callers = List(5) { async { cache.await(MAX_WAIT_MS) } }
+        delay(50)
+        api.gate.complete(Unit)
+
+        assertEquals(setOf("10.0.0.1"), callers.awaitAll().map { it?.publicIp }.toSet())
+        assertEquals("10.0.0.1", cache.await(MAX_WAIT_MS)?.publicIp)
+        assertEquals(1, api.calls.get())
+    }
+
+    @Test
+    fun invalidationWhileWaitingReturnsInsteadOfThrowing() = runBlocking {
+        api.gate = CompletableDeferred()
+        val waiting = async { cache.await(MAX_WAIT_MS) }
+        delay(50)
+
+        cache.invalidate()
+
+        assertNull(withTimeout(500) { waiting.await() })
+    }
+
+    @Test
+    fun expiredLocationIsTheFallbackWhenTheRefreshTimesOut() = runBlocking {
+        assertEquals("10.0.0.1", cache.await(MAX_WAIT_MS)?.publicIp)
+
+        now += TTL_MS + 1
+        api.gate = CompletableDeferred()
+
+        assertEquals("10.0.0.1", cache.await(100)?.publicIp)
+        assertEquals(2, api.calls.get())
+    }
+
+    @Test
+    fun prefetchedLocationIsServedWithoutAnotherFetch() = runBlocking {
+        cache.prefetch()
+        cache.prefetch()
+        delay(50)
+        assertEquals(1, api.calls.get())
+
+        api.gate = CompletableDeferred()
+        assertEquals("10.0.0.1", cache.await(MAX_WAIT_MS)?.publicIp)
+        assertEquals(1, api.calls.get())
+    }
+
+    @Test
+    fun offlineReturnsWithoutFetching() = runBlocking {
+        isConnected = false
+
+        assertNull(cache.await(MAX_WAIT_MS))
+        assertEquals(0, api.calls.get())
+    }
+
+    companion object {
+        private const val TTL_MS = 1_000L
+        private const val MAX_WAIT_MS = 1_500L
+    }
+}
@@ -0,0 +1,85 @@
+package com.settlex.android.data.remote.config
+
+import com.google.gson.Gson
+import com.settlex.android.data.enums.ServiceType
+import com.settlex.android.presentation.dashboard.home.model.PromoBannerUiModel
+import org.junit.Assert.assertEquals
+import org.junit.Assert.assertNull
+import org.junit.Test
+
+class RemoteConfigParserTest {
+
+    private val errors = mutableListOf<String>()
+    private val parser = RemoteConfigParser(Gson()) { field, _ -> errors += field }
+
+    private val current = RemoteConfigSnapshot(
+        promotionalBanners = listOf(PromoBannerUiModel("https://cdn/old.png", null)),
+        serviceOrder = ServiceType.entries.reversed(),
+        cashbackPercentages = ServiceType.entries.associateWith { 1 },
+        activatedAt = 1L
+    )
+
+    @Test
+    fun malformedValueKeepsThatFieldOfTheCurrentSnapshot() {
+        val parsed = parser.parse(
+            RemoteConfigValues(
+                bannersJson = """[{"imageUrl": "https://cdn/new.png"""",
+                serviceOrderJson = """["DATA"]""",
+                cashbackJson = """{"DATA": 7}"""
+            ),
+            fallback = current,
+            activatedAt = 2L
+        )
+
+        assertEquals(current.promotionalBanners, parsed.snapshot.promotionalBanners)
+        assertEquals(ServiceType.DATA, parsed.snapshot.serviceOrder.first())
+        assertEquals(7, parsed.snapshot.cashbackFor(ServiceType.DATA))
+        assertEquals(2L, parsed.snapshot.activatedAt)
+        assertEquals(listOf("promotional banners"), errors)
+    }
+
+    @Test
+    fun onlyParsedValuesAreAccepted() {
+        val values = RemoteConfigValues(
+            bannersJson = "not json",
+            serviceOrderJson = "",
+            cashbackJson = """{"AIRTIME": 3}"""
+        )
+
+        val accepted = parser.parse(values, fallback = current, activatedAt = 2L).accepted
+
+        assertNull(accepted.bannersJson)
+        assertNull(accepted.serviceOrderJson)
+        assertEquals(values.cashbackJson, accepted.cashbackJson)
+    }
+
+    @Test
+    fun restoreRebuildsTheSnapshotFromAcceptedValues() {
+        val fetched = parser.parse(
+            RemoteConfigValues(
+                bannersJson = """[{"imageUrl": "https://cdn/new.png", "actionUrl": "settlex://promo"}]""",
+                serviceOrderJson = """["BETTING", "UNKNOWN"]""",
+                cashbackJson = """{"TV": 4}"""
+            ),
+            fallback = current,
+            activatedAt = 2L
+        )
+
+        val restored = parser.parse(fetched.accepted, fallback = RemoteConfigSnapshot.DEFAULT, activatedAt = 2L)
+
+        assertEquals(fetched.snapshot, restored.snapshot)
+        assertEquals(ServiceType.entries.size, restored.snapshot.serviceOrder.size)
+    }
+
+    @Test
+    fun emptyCacheRestoresDefaults() {
+        val restored = parser.parse(
+            RemoteConfigValues(bannersJson = null, serviceOrderJson = null, cashbackJson = null),
+            fallback = RemoteConfigSnapshot.DEFAULT,
+            activatedAt = 0L
+        )
+
+        assertEquals(RemoteConfigSnapshot.DEFAULT, restored.snapshot)
+        assertEquals(emptyList<String>(), errors)
+    }
+}
@@ -0,0 +1,61 @@
+package com.settlex.android.data.remote.paymentid
+
+import org.junit.Assert.assertEquals
+import org.junit.Assert.assertFalse
+import org.junit.Assert.assertNull
+import org.junit.Assert.assertTrue
+import org.junit.Test
+
+class BloomFilterTest {
+
+    @Test
+    fun neverMissesAddedValues() {
+        val filter = BloomFilter.create(expectedValues = 500, falsePositiveRate = 0.01)
+        val ids = (0 until 500).map { "user$it" }
+        ids.forEach { filter.add(it) }
+
+        assertTrue(ids.all { filter.mightContain(it) })
+    }
+
+    @Test
+    fun falsePositivesStayNearTheSizedRate() {
+        val filter = BloomFilter.create(expectedValues = 1_000, falsePositiveRate = 0.01)
+        (0 until 1_000).forEach { filter.add("taken$it") }
+
+        val falsePositives = (0 until 10_000).count { filter.mightContain("free$it") }
+
+        assertTrue("$falsePositives false positives", falsePositives < 200)
+    }
+
+    @Test
+    fun approximateSizeTracksDistinctValues() {
+        val filter = BloomFilter.create(expectedValues = 1_000, falsePositiveRate = 0.01)
+        assertEquals(0, filter.approximateSize())
+
+        (0 until 500).forEach { filter.add("taken$it") }
+        filter.add("taken0")
+
+        assertTrue("${filter.approximateSize()}", filter.approximateSize() in 475..525)
+    }
+
+    @Test
+    fun encodingRoundTrips() {
+        val filter = BloomFilter.create(expectedValues = 100, falsePositiveRate = 0.01)
+        filter.add("ada")
+        filter.add("bola")
+
+        val restored = BloomFilter.decode(filter.encode())!!
+
+        assertTrue(restored.mightContain("ada"))
+        assertTrue(restored.mightContain("bola"))
+        assertFalse(restored.mightContain("chi"))
+        assertEquals(filter.encode(), restored.encode())
+    }
+
+    @Test
+    fun malformedEncodingIsRejected() {
+        assertNull(BloomFilter.decode("garbage"))
+        assertNull(BloomFilter.decode("64:3:not base64!"))
+        assertNull(BloomFilter.decode("128:3:AAAAAAAAAAA="))
+    }
+}
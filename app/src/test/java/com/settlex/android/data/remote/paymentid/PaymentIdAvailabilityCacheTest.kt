@@ -0,0 +1,100 @@
+package com.settlex.android.data.remote.paymentid
+
+import org.junit.Assert.assertEquals
+import org.junit.Assert.assertFalse
+import org.junit.Assert.assertNull
+import org.junit.Assert.assertTrue
+import org.junit.Test
+
+class PaymentIdAvailabilityCacheTest {
+
+    private var now = 0L
+    private val cache = PaymentIdAvailabilityCache(
+        maxTakenIds = 100,
+        maxConfirmedTaken = 2,
+        availableTtlMs = 1_000,
+        maxAvailableEntries = 2,
+        clock = { now }
+    )
+
+    @Test
+    fun unknownIdNeedsARead() {
+        assertNull(cache.lookup("ada"))
+    }
+
+    @Test
+    fun takenIdsAreKeptForGood() {
+        cache.recordTaken("ada")
+        now = 1_000_000
+
+        assertEquals(true, cache.lookup("ada"))
+    }
+
+    @Test
+    fun filterHitFromAnEarlierSessionOnlyMakesAnIdProbablyTaken() {
+        cache.recordTaken("ada")
+        val restored = PaymentIdAvailabilityCache(BloomFilter.decode(cache.encodeTakenIds()))
+
+        assertNull(restored.lookup("ada"))
+        assertTrue(restored.mightBeTaken("ada"))
+        assertFalse(restored.mightBeTaken("bola"))
+    }
+
+    @Test
+    fun evictedTakenIdsFallBackToTheFilter() {
+        cache.recordTaken("ada")
+        cache.recordTaken("bola")
+        cache.recordTaken("chi")
+
+        assertNull(cache.lookup("ada"))
+        assertTrue(cache.mightBeTaken("ada"))
+        assertEquals(true, cache.lookup("chi"))
+    }
+
+    @Test
+    fun filterIsResetOncePastCapacity() {
+        (0 until 100).forEach { cache.recordTaken("taken$it") }
+        assertTrue(cache.mightBeTaken("taken0"))
+
+        cache.recordTaken("one-too-many")
+
+        assertTrue(cache.mightBeTaken("one-too-many"))
+        assertFalse(cache.mightBeTaken("taken0"))
+    }
+
+    @Test
+    fun repeatedTakenIdsDoNotFillTheFilter() {
+        repeat(500) { cache.recordTaken("ada") }
+        (1 until 100).forEach { cache.recordTaken("taken$it") }
+
+        assertTrue(cache.mightBeTaken("ada"))
+        assertTrue(cache.mightBeTaken("taken1"))
+    }
+
+    @Test
+    fun availableIdsExpire() {
+        cache.recordAvailable("ada")
+        assertEquals(false, cache.lookup("ada"))
+
+        now = 1_001
+        assertNull(cache.lookup("ada"))
+    }
+
+    @Test
+    fun takenOverridesAvailable() {
+        cache.recordAvailable("ada")
+        cache.recordTaken("ada")
+
+        assertEquals(true, cache.lookup("ada"))
+    }
+
+    @Test
+    fun evictsOldestAvailableCheck() {
+        cache.recordAvailable("ada")
+        cache.recordAvailable("bola")
+        cache.recordAvailable("chi")
+
+        assertNull(cache.lookup("ada"))
+        assertEquals(false, cache.lookup("chi"))
+    }
+}
@@ -0,0 +1,73 @@
+package com.settlex.android.data.remote.registration
+
+import com.settlex.android.domain.model.UserModel
+import kotlinx.coroutines.CompletableDeferred
+import kotlinx.coroutines.Deferred
+import kotlinx.coroutines.yield
+import java.io.IOException
+import java.util.Collections
+import java.util.concurrent.ConcurrentHashMap
+
+/**
+ * [RegistrationStages] with configurable failures. Records every call, and each step can be held
+ * open until a signal completes, so tests can check ordering and overlap without timing.
+ */
+class FakeRegistrationStages : RegistrationStages {
+
+    enum class Step {
+        CREATE_ACCOUNT, DELETE_ACCOUNT,
+        CREATE_PROFILE, DELETE_PROFILE,
+        SET_DISPLAY_NAME, CLEAR_DISPLAY_NAME,
+        REGISTER_FCM_TOKEN
+    }
+
+    val failing = mutableSetOf<Step>()
+
+    /** A step with a hold doesn't finish until the hold completes. */
+    val holds = mutableMapOf<Step, Deferred<Unit>>()
+
+    val calls: MutableList<Step> = Collections.synchronizedList(mutableListOf())
+
+    private val startedSignals = ConcurrentHashMap<Step, CompletableDeferred<Unit>>()
+    private val finishedSignals = ConcurrentHashMap<Step, CompletableDeferred<Unit>>()
+
+    /** Completes once [step] has been called. */
+    fun started(step: Step): Deferred<Unit> = startedSignals.computeIfAbsent(step) { CompletableDeferred() }
+
+    /** Completes once [step] has succeeded. */
+    fun finished(step: Step): Deferred<Unit> = finishedSignals.computeIfAbsent(step) { CompletableDeferred() }
+
+    override suspend fun createAccount(email: String, password: String): String {
+        step(Step.CREATE_ACCOUNT)
+        return UID
+    }
+
+    override suspend fun deleteAccount(uid: String) = step(Step.DELETE_ACCOUNT)
+
+    override suspend fun createProfile(user: UserModel) {
+        check(user.uid == UID) { "Profile created without the new uid" }
+        step(Step.CREATE_PROFILE)
+    }
+
+    override suspend fun deleteProfile(uid: String) = step(Step.DELETE_PROFILE)
+
+    override suspend fun setDisplayName(uid: String, fullName: String) = step(Step.SET_DISPLAY_NAME)
+
+    override suspend fun clearDisplayName(uid: String) = step(Step.CLEAR_DISPLAY_NAME)
+
+    override suspend fun registerFcmToken(uid: String, knownToken: String?) =
+        step(Step.REGISTER_FCM_TOKEN)
+
+    private suspend fun step(step: Step) {
+        calls += step
+        (started(step) as CompletableDeferred).complete(Unit)
+        holds[step]?.await()
+        yield()
+        if (step in failing) throw IOException("$step failed")
+        (finished(step) as CompletableDeferred).complete(Unit)
+    }
+
+    companion object {
+        const val UID = "uid-123"
+    }
+}
@@ -0,0 +1,172 @@
+package com.settlex.android.data.remote.registration
+
+import com.settlex.android.data.remote.registration.FakeRegistrationStages.Step
+import com.settlex.android.domain.model.UserModel
+import kotlinx.coroutines.CompletableDeferred
+import kotlinx.coroutines.launch
+import kotlinx.coroutines.runBlocking
+import kotlinx.coroutines.withTimeout
+import org.junit.Assert.assertEquals
+import org.junit.Assert.assertFalse
+import org.junit.Assert.assertNotNull
+import org.junit.Assert.assertNull
+import org.junit.Assert.assertTrue
+import org.junit.Assert.fail
+import org.junit.Test
+import java.io.IOException
+
+class RegistrationPipelineTest {
+
+    private val stages = FakeRegistrationStages()
+    private var report: RegistrationReport? = null
+    private val pipeline = RegistrationPipeline(stages) { report = it }
+
+    @Test
+    fun runsProfileAndDisplayNameConcurrently() = runBlocking {
+        // Each stage finishes only once the other has started, so running them one after the
+        // other would never complete
+        stages.holds[Step.CREATE_PROFILE] = stages.started(Step.SET_DISPLAY_NAME)
+        stages.holds[Step.SET_DISPLAY_NAME] = stages.started(Step.CREATE_PROFILE)
+
+        assertEquals(FakeRegistrationStages.UID, withTimeout(5_000) { pipeline.run(USER, PASSWORD) })
+
+        assertEquals(
+            listOf(Step.CREATE_ACCOUNT, Step.REGISTER_FCM_TOKEN),
+            listOf(stages.calls.first(), stages.calls.last())
+        )
+        assertEquals(setOf(Step.CREATE_PROFILE, Step.SET_DISPLAY_NAME), stages.calls.subList(1, 3).toSet())
+
+        val report = report!!
+        assertTrue(report.succeeded)
+        assertEquals(
+            RegistrationStage.entries.toList(),
+            report.stages.map { it.stage }
+        )
+    }
+
+    @Test
+    fun profileFailureUndoesDisplayNameAndAccount() = runBlocking {
+        stages.failing += Step.CREATE_PROFILE
+
+        val error = runExpectingFailure()
+
+        assertEquals("CREATE_PROFILE failed", error.message)
+        assertEquals(
+            listOf(Step.CLEAR_DISPLAY_NAME, Step.DELETE_ACCOUNT),
+            stages.calls.filter { it in COMPENSATIONS }
+        )
+        assertFalse(Step.REGISTER_FCM_TOKEN in stages.calls)
+
+        val report = report!!
+        assertFalse(report.succeeded)
+        assertTrue(report.timingOf(RegistrationStage.SET_DISPLAY_NAME)!!.compensated)
+        assertTrue(report.timingOf(RegistrationStage.CREATE_ACCOUNT)!!.compensated)
+        assertFalse(report.timingOf(RegistrationStage.CREATE_PROFILE)!!.compensated)
+    }
+
+    @Test
+    fun displayNameFailureUndoesProfileAndAccount() = runBlocking {
+        stages.failing += Step.SET_DISPLAY_NAME
+
+        runExpectingFailure()
+
+        assertEquals(
+            listOf(Step.DELETE_PROFILE, Step.DELETE_ACCOUNT),
+            stages.calls.filter { it in COMPENSATIONS }
+        )
+    }
+
+    @Test
+    fun accountFailureHasNothingToUndo() = runBlocking {
+        stages.failing += Step.CREATE_ACCOUNT
+
+        runExpectingFailure()
+
+        assertEquals(listOf(Step.CREATE_ACCOUNT), stages.calls.toList())
+        assertEquals(1, report!!.stages.size)
+    }
+
+    @Test
+    fun failedCompensationDoesNotMaskOriginalError() = runBlocking {
+        stages.failing += listOf(Step.CREATE_PROFILE, Step.CLEAR_DISPLAY_NAME)
+
+        val error = runExpectingFailure()
+
+        assertEquals("CREATE_PROFILE failed", error.message)
+        assertTrue(Step.DELETE_ACCOUNT in stages.calls)
+        assertFalse(report!!.timingOf(RegistrationStage.SET_DISPLAY_NAME)!!.compensated)
+    }
+
+    @Test
+    fun fcmTokenFailureKeepsTheRegistration() = runBlocking {
+        stages.failing += Step.REGISTER_FCM_TOKEN
+
+        assertEquals(FakeRegistrationStages.UID, pipeline.run(USER, PASSWORD))
+
+        assertTrue(stages.calls.none { it in COMPENSATIONS })
+        val report = report!!
+        assertTrue(report.succeeded)
+        assertNotNull(report.timingOf(RegistrationStage.REGISTER_FCM_TOKEN)!!.error)
+    }
+
+    @Test
+    fun cancellationUndoesOnlyTheStagesThatLanded() = runBlocking {
+        stages.holds[Step.SET_DISPLAY_NAME] = CompletableDeferred()
+
+        val job = launch { pipeline.run(USER, PASSWORD) }
+        withTimeout(5_000) {
+            stages.finished(Step.CREATE_PROFILE).await()
+            stages.started(Step.SET_DISPLAY_NAME).await()
+        }
+        job.cancel()
+        job.join()
+
+        assertEquals(
+            listOf(Step.DELETE_PROFILE, Step.DELETE_ACCOUNT),
+            stages.calls.filter { it in COMPENSATIONS }
+        )
+        val report = report!!
+        assertTrue(report.timingOf(RegistrationStage.CREATE_PROFILE)!!.compensated)
+        assertTrue(report.timingOf(RegistrationStage.CREATE_ACCOUNT)!!.compensated)
+        assertNull(report.timingOf(RegistrationStage.SET_DISPLAY_NAME))
+    }
+
+    @Test
+    fun cancellationBeforeEitherStageLandsOnlyDeletesTheAccount() = runBlocking {
+        stages.holds[Step.CREATE_PROFILE] = CompletableDeferred()
+        stages.holds[Step.SET_DISPLAY_NAME] = CompletableDeferred()
+
+        val job = launch { pipeline.run(USER, PASSWORD) }
+        withTimeout(5_000) {
+            stages.started(Step.CREATE_PROFILE).await()
+            stages.started(Step.SET_DISPLAY_NAME).await()
+        }
+        job.cancel()
+        job.join()
+
+        assertEquals(listOf(Step.DELETE_ACCOUNT), stages.calls.filter { it in COMPENSATIONS })
+        assertTrue(report!!.timingOf(RegistrationStage.CREATE_ACCOUNT)!!.compensated)
+    }
+
+    private suspend fun runExpectingFailure(): IOException {
+        try {
+            pipeline.run(USER, PASSWORD)
+        } catch (e: IOException) {
+            return e
+        }
+        fail("Registration should have failed")
+        throw AssertionError()
+    }
+
+    companion object {
+        private const val PASSWORD = "Secret#123"
+        private val USER = UserModel(
+            uid = "",
+            firstName = "Adaeze",
+            lastName = "Okafor",
+            email = "adaeze@example.com",
+            phone = "+2348012345678"
+        )
+        private val COMPENSATIONS = setOf(Step.DELETE_ACCOUNT, Step.DELETE_PROFILE, Step.CLEAR_DISPLAY_NAME)
+    }
+}
@@ -0,0 +1,95 @@
+package com.settlex.android.data.remote.transaction
+
+import com.settlex.android.data.enums.TransactionStatus
+import kotlinx.coroutines.CoroutineScope
+import kotlinx.coroutines.Dispatchers
+import kotlinx.coroutines.SupervisorJob
+import kotlinx.coroutines.async
+import kotlinx.coroutines.cancel
+import kotlinx.coroutines.delay
+import kotlinx.coroutines.flow.MutableStateFlow
+import kotlinx.coroutines.flow.onCompletion
+import kotlinx.coroutines.flow.onStart
+import kotlinx.coroutines.flow.toList
+import kotlinx.coroutines.runBlocking
+import kotlinx.coroutines.withTimeout
+import org.junit.After
+import org.junit.Assert.assertEquals
+import org.junit.Test
+import java.util.concurrent.atomic.AtomicInteger
+
+class PendingTransactionTrackerTest {
+
+    private val scope = CoroutineScope(SupervisorJob() + Dispatchers.Default)
+    private val status = MutableStateFlow<TransactionStatus?>(TransactionStatus.PENDING)
+    private val listeners = AtomicInteger()
+    private val attached = AtomicInteger()
+
+    private val source = TransactionStatusSource { _, _ ->
+        status.onStart {
+            listeners.incrementAndGet()
+            attached.incrementAndGet()
+        }.onCompletion { attached.decrementAndGet() }
+    }
+
+    @After
+    fun tearDown() {
+        scope.cancel()
+    }
+
+    @Test
+    fun screensShareOneListenerUntilFinalStatus() = runBlocking {
+        val tracker = PendingTransactionTracker(source, scope)
+
+        val first = async { tracker.track("uid", "tx-1").toList() }
+        val second = async { tracker.track("uid", "tx-1", TransactionStatus.PENDING).toList() }
+        awaitCondition { attached.get() == 1 }
+        delay(50)
+        status.value = TransactionStatus.SUCCESS
+
+        val expected = listOf(TransactionStatus.PENDING, TransactionStatus.SUCCESS)
+        assertEquals(expected, withTimeout(1_000) { first.await() })
+        assertEquals(expected, withTimeout(1_000) { second.await() })
+        assertEquals(1, listeners.get())
+        awaitCondition { attached.get() == 0 && tracker.trackedCount == 0 }
+    }
+
+    @Test
+    fun knownFinalStatusNeedsNoListener() = runBlocking {
+        val tracker = PendingTransactionTracker(source, scope)
+
+        assertEquals(
+            listOf(TransactionStatus.FAILED),
+            tracker.track("uid", "tx-1", TransactionStatus.FAILED).toList()
+        )
+        assertEquals(0, listeners.get())
+    }
+
+    @Test
+    fun listenerDetachesAfterTimeout() = runBlocking {
+        val tracker = PendingTransactionTracker(source, scope, timeoutMs = 100)
+
+        val collector = scope.async { tracker.track("uid", "tx-1").toList() }
+        awaitCondition { attached.get() == 1 }
+
+        awaitCondition { attached.get() == 0 && tracker.trackedCount == 0 }
+        collector.cancel()
+    }
+
+    @Test
+    fun listenerDetachesWhenNoScreenCollects() = runBlocking {
+        val tracker = PendingTransactionTracker(source, scope)
+
+        val collector = scope.async { tracker.track("uid", "tx-1").toList() }
+        awaitCondition { attached.get() == 1 }
+        collector.cancel()
+
+        awaitCondition { attached.get() == 0 }
+    }
+
+    private suspend fun awaitCondition(condition: () -> Boolean) {
+        withTimeout(1_000) {
+            while (!condition()) delay(10)
+        }
+    }
+}
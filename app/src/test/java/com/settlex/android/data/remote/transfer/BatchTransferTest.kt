@@ -0,0 +1,158 @@
+package com.settlex.android.data.remote.transfer
+
+import kotlinx.coroutines.runBlocking
+import org.junit.Assert.assertEquals
+import org.junit.Assert.assertFalse
+import org.junit.Assert.assertNotEquals
+import org.junit.Assert.assertTrue
+import org.junit.Assert.fail
+import org.junit.Test
+import java.io.IOException
+
+class BatchTransferTest {
+
+    private var nextId = 0
+    private val saved = HashMap<String, List<PendingTransfer>>()
+    private val recorded = HashSet<String>()
+
+    private val store = object : PendingTransferStore {
+        override suspend fun load(uid: String) = saved[uid].orEmpty()
+        override suspend fun save(uid: String, pending: List<PendingTransfer>) {
+            saved[uid] = pending
+        }
+    }
+
+    private val submission = TransferSubmission(
+        store = store,
+        lookup = { _, transactionId -> transactionId in recorded },
+        isRetryable = { it is IOException },
+        newTransactionId = { uid -> "$uid-tx${++nextId}" },
+        retryDelayMs = 1
+    )
+
+    private suspend fun legs(vararg recipients: String): List<TransferRequest> {
+        return recipients.map { submission.prepare(UID, it, 1_000, "dinner") }
+    }
+
+    @Test
+    fun batchIsAuthorizedAndSentInOneCall() = runBlocking {
+        val backend = FakeTransferEndpoint(failingRecipients = setOf("bola"))
+        val requests = legs("ada", "bola", "chi")
+
+        val result = BatchTransfer(backend.endpoint, submission, RECORDED).submit(requests, FakeTransferEndpoint.PIN)
+
+        val outcomes = (result as BatchTransferResult.Completed).legs
+        assertEquals(requests, outcomes.map { it.request })
+        assertEquals(listOf(true, false, true), outcomes.map { it.succeeded })
+        assertEquals(FakeTransferEndpoint.FAILURE, outcomes[1].message)
+        assertEquals(listOf("authorizeAndTransferBatch"), backend.calls)
+        assertTrue(store.load(UID).isEmpty())
+    }
+
+    @Test
+    fun fallbackChecksThePinOnceThenSendsEachLeg() = runBlocking {
+        val backend = FakeTransferEndpoint(supportsCombined = false)
+        val transfer = BatchTransfer(backend.endpoint, submission, RECORDED)
+        val requests = legs("ada", "bola")
+
+        val result = transfer.submit(requests, FakeTransferEndpoint.PIN) as BatchTransferResult.Completed
+
+        assertTrue(result.legs.all { it.succeeded })
+        assertFalse(transfer.isBatchAvailable)
+        assertEquals(listOf("authorizeAndTransferBatch", "authorizePin", "transfer", "transfer"), backend.calls)
+        assertEquals(requests, backend.transfers)
+    }
+
+    @Test
+    fun incorrectPinTransfersNothing() = runBlocking {
+        val backend = FakeTransferEndpoint()
+        val requests = legs("ada", "bola")
+
+        val result = BatchTransfer(backend.endpoint, submission, RECORDED).submit(requests, "0000")
+
+        assertEquals(BatchTransferResult.IncorrectPin, result)
+        assertTrue(backend.transfers.isEmpty())
+    }
+
+    @Test
+    fun retryResendsOnlyLegsTheBackendHasNotRecorded() = runBlocking {
+        val requests = legs("ada", "bola", "chi")
+        val sent = mutableListOf<List<String>>()
+
+        val result = submission.submitBatch(requests, RECORDED) { batch ->
+            sent += batch.map { it.toRecipientPaymentId }
+            if (sent.size == 1) {
+                // The first leg was applied before the connection dropped
+                recorded += batch.first().transactionId
+                throw IOException("timeout")
+            }
+            BatchTransferResult.Completed(batch.map { LegOutcome(it, true, "sent") })
+        } as BatchTransferResult.Completed
+
+        assertEquals(listOf(listOf("ada", "bola", "chi"), listOf("bola", "chi")), sent)
+        assertEquals(requests, result.legs.map { it.request })
+        assertEquals(listOf(RECORDED, "sent", "sent"), result.legs.map { it.message })
+        assertTrue(store.load(UID).isEmpty())
+    }
+
+    @Test
+    fun legsWithoutAKnownOutcomeStayPending() = runBlocking {
+        val requests = legs("ada", "bola", "chi")
+        var attempts = 0
+
+        val result = submission.submitBatch(requests, RECORDED) { batch ->
+            attempts++
+            // Only the first leg lands; every attempt times out
+            recorded += requests.first().transactionId
+            throw IOException("timeout")
+        } as BatchTransferResult.Completed
+
+        assertEquals(3, attempts)
+        assertEquals(listOf(false, true, true), result.legs.map { it.isPending })
+        assertTrue(result.legs.first().succeeded)
+        assertEquals(requests.drop(1), store.load(UID).map { it.request })
+    }
+
+    @Test
+    fun legTheResponseLeavesPendingIsKeptForRetry() = runBlocking {
+        val requests = legs("ada", "bola")
+
+        submission.submitBatch(requests, RECORDED) { batch ->
+            BatchTransferResult.Completed(listOf(
+                LegOutcome(batch[0], succeeded = true, message = "sent"),
+                LegOutcome(batch[1], succeeded = false, message = "unconfirmed", isPending = true)
+            ))
+        }
+
+        assertEquals(listOf(requests[1]), store.load(UID).map { it.request })
+    }
+
+    @Test
+    fun batchLegsAndSingleTransfersDoNotShareIds() = runBlocking {
+        val single = submission.prepare(UID, "ada", 1_000, "dinner")
+        val leg = submission.prepare(UID, "ada", 1_000, "dinner", batchKey = "batch:ada:1000,bola:1000")
+
+        assertNotEquals(single.transactionId, leg.transactionId)
+        assertEquals(leg, submission.prepare(UID, "ada", 1_000, "dinner", batchKey = "batch:ada:1000,bola:1000"))
+        assertEquals(single, submission.prepare(UID, "ada", 1_000, "dinner"))
+    }
+
+    @Test
+    fun unavailableBatchCallLeavesLegsPending() = runBlocking {
+        val requests = legs("ada", "bola")
+
+        try {
+            submission.submitBatch(requests, RECORDED) { throw CombinedTransferUnavailableException() }
+            fail("Expected CombinedTransferUnavailableException")
+        } catch (e: CombinedTransferUnavailableException) {
+            // Expected
+        }
+
+        assertEquals(requests, store.load(UID).map { it.request })
+    }
+
+    companion object {
+        private const val UID = "uid"
+        private const val RECORDED = "Transfer successful"
+    }
+}
@@ -0,0 +1,61 @@
+package com.settlex.android.data.remote.transfer
+
+/**
+ * A [TransferEndpoint] that records each call, i.e. each round trip, in [calls].
+ */
+class FakeTransferEndpoint(
+    private val correctPin: String = PIN,
+    private val supportsCombined: Boolean = true,
+    private val failingRecipients: Set<String> = emptySet()
+) {
+    val calls = mutableListOf<String>()
+    val transfers = mutableListOf<TransferRequest>()
+
+    val endpoint = object : TransferEndpoint {
+        override suspend fun authorizeAndTransfer(request: TransferRequest, pin: String): PinTransferResult {
+            roundTrip("authorizeAndTransfer")
+            if (!supportsCombined) throw CombinedTransferUnavailableException()
+            if (pin != correctPin) return PinTransferResult.IncorrectPin
+
+            transfers += request
+            return PinTransferResult.Completed(MESSAGE, request.transactionId)
+        }
+
+        override suspend fun authorizeAndTransferBatch(
+            requests: List<TransferRequest>,
+            pin: String
+        ): BatchTransferResult {
+            roundTrip("authorizeAndTransferBatch")
+            if (!supportsCombined) throw CombinedTransferUnavailableException()
+            if (pin != correctPin) return BatchTransferResult.IncorrectPin
+
+            return BatchTransferResult.Completed(requests.map { request ->
+                val succeeded = request.toRecipientPaymentId !in failingRecipients
+                if (succeeded) transfers += request
+                LegOutcome(request, succeeded, if (succeeded) MESSAGE else FAILURE)
+            })
+        }
+
+        override suspend fun authorizePin(pin: String): Boolean {
+            roundTrip("authorizePin")
+            return pin == correctPin
+        }
+
+        override suspend fun transfer(request: TransferRequest): String {
+            roundTrip("transfer")
+            if (request.toRecipientPaymentId in failingRecipients) throw IllegalStateException(FAILURE)
+            transfers += request
+            return MESSAGE
+        }
+    }
+
+    private fun roundTrip(call: String) {
+        calls += call
+    }
+
+    companion object {
+        const val PIN = "1234"
+        const val MESSAGE = "Transfer successful"
+        const val FAILURE = "Recipient account is restricted"
+    }
+}
@@ -0,0 +1,53 @@
+package com.settlex.android.data.remote.transfer
+
+import kotlinx.coroutines.runBlocking
+import org.junit.Assert.assertEquals
+import org.junit.Assert.assertFalse
+import org.junit.Assert.assertTrue
+import org.junit.Test
+
+class PinAuthorizedTransferTest {
+
+    private val request = TransferRequest("uid", "adaeze", "tx-1", 5_000, null)
+    private val completed = PinTransferResult.Completed(FakeTransferEndpoint.MESSAGE, request.transactionId)
+
+    @Test
+    fun combinedPathTakesOneRoundTrip() = runBlocking {
+        val backend = FakeTransferEndpoint()
+        val transfer = PinAuthorizedTransfer(backend.endpoint)
+
+        assertEquals(completed, transfer.submit(request, FakeTransferEndpoint.PIN))
+        assertEquals(listOf("authorizeAndTransfer"), backend.calls)
+
+        backend.calls.clear()
+        assertEquals(completed, transfer.submitInTwoSteps(request, FakeTransferEndpoint.PIN))
+        assertEquals(listOf("authorizePin", "transfer"), backend.calls)
+    }
+
+    @Test
+    fun incorrectPinTransfersNothing() = runBlocking {
+        val backend = FakeTransferEndpoint()
+        val transfer = PinAuthorizedTransfer(backend.endpoint)
+
+        assertEquals(PinTransferResult.IncorrectPin, transfer.submit(request, "0000"))
+        assertEquals(PinTransferResult.IncorrectPin, transfer.submitInTwoSteps(request, "0000"))
+        assertTrue(backend.transfers.isEmpty())
+    }
+
+    @Test
+    fun fallsBackToTwoStepsAndStopsTryingCombined() = runBlocking {
+        val backend = FakeTransferEndpoint(supportsCombined = false)
+        val transfer = PinAuthorizedTransfer(backend.endpoint)
+
+        assertEquals(completed, transfer.submit(request, FakeTransferEndpoint.PIN))
+        assertFalse(transfer.isCombinedAvailable)
+
+        transfer.submit(request.copy(transactionId = "tx-2"), FakeTransferEndpoint.PIN)
+
+        assertEquals(
+            listOf("authorizeAndTransfer", "authorizePin", "transfer", "authorizePin", "transfer"),
+            backend.calls
+        )
+        assertEquals(listOf("tx-1", "tx-2"), backend.transfers.map { it.transactionId })
+    }
+}
@@ -0,0 +1,209 @@
+package com.settlex.android.data.remote.transfer
+
+import kotlinx.coroutines.CompletableDeferred
+import kotlinx.coroutines.async
+import kotlinx.coroutines.delay
+import kotlinx.coroutines.runBlocking
+import org.junit.Assert.assertEquals
+import org.junit.Assert.assertFalse
+import org.junit.Assert.assertNotEquals
+import org.junit.Assert.assertTrue
+import org.junit.Assert.fail
+import org.junit.Test
+import java.io.IOException
+
+class TransferSubmissionTest {
+
+    private var now = 0L
+    private var nextId = 0
+    private val saved = HashMap<String, List<PendingTransfer>>()
+    private val recorded = HashSet<String>()
+    private var lookupGate = CompletableDeferred(Unit)
+
+    private val store = object : PendingTransferStore {
+        override suspend fun load(uid: String) = saved[uid].orEmpty()
+        override suspend fun save(uid: String, pending: List<PendingTransfer>) {
+            saved[uid] = pending
+        }
+    }
+
+    private fun submission() = TransferSubmission(
+        store = store,
+        lookup = { _, transactionId ->
+            lookupGate.await()
+            transactionId in recorded
+        },
+        isRetryable = { it is IOException },
+        newTransactionId = { uid -> "$uid-tx${++nextId}" },
+        retryDelayMs = 1,
+        reuseWindowMs = 1_000,
+        clock = { now }
+    )
+
+    @Test
+    fun sameIntentReusesTheTransactionIdUntilSettled() = runBlocking {
+        val submission = submission()
+        val first = submission.prepare(UID, "ada", 500, "rent")
+
+        assertEquals(first, submission.prepare(UID, "ada", 500, "rent"))
+        assertNotEquals(first.transactionId, submission.prepare(UID, "ada", 600, "rent").transactionId)
+
+        submission.submit(first, onRecorded = { "recorded" }) { "sent" }
+        assertNotEquals(first.transactionId, submission.prepare(UID, "ada", 500, "rent").transactionId)
+    }
+
+    @Test
+    fun pendingIntentSurvivesProcessDeath() = runBlocking {
+        val first = submission().prepare(UID, "ada", 500, null)
+
+        // A new instance over the same store stands in for a restarted process
+        assertEquals(first.transactionId, submission().prepare(UID, "ada", 500, null).transactionId)
+    }
+
+    @Test
+    fun retriesTransientFailuresWithTheSameId() = runBlocking {
+        val submission = submission()
+        val request = submission.prepare(UID, "ada", 500, null)
+        val sentIds = mutableListOf<String>()
+
+        val result = submission.submit(request, onRecorded = { "recorded" }) {
+            sentIds += it.transactionId
+            if (sentIds.size < 3) throw IOException("timeout")
+            "sent"
+        }
+
+        assertEquals("sent", result)
+        assertEquals(List(3) { request.transactionId }, sentIds)
+        assertTrue(store.load(UID).isEmpty())
+    }
+
+    @Test
+    fun timedOutAttemptThatWasRecordedIsNotResent() = runBlocking {
+        val submission = submission()
+        val request = submission.prepare(UID, "ada", 500, null)
+        var sends = 0
+
+        val result = submission.submit(request, onRecorded = { "recorded" }) {
+            sends++
+            // The server applied the transfer, but the response was lost
+            recorded += it.transactionId
+            throw IOException("timeout")
+        }
+
+        assertEquals("recorded", result)
+        assertEquals(1, sends)
+        assertTrue(store.load(UID).isEmpty())
+    }
+
+    @Test
+    fun exhaustedRetriesLeaveTheIntentPending() = runBlocking {
+        val submission = submission()
+        val request = submission.prepare(UID, "ada", 500, null)
+
+        try {
+            submission.submit<String>(request, onRecorded = { "recorded" }) { throw IOException("offline") }
+            fail("Expected the last failure")
+        } catch (e: IOException) {
+            // Expected
+        }
+
+        assertEquals(request, submission.prepare(UID, "ada", 500, null))
+    }
+
+    @Test
+    fun definiteFailureSettlesTheIntent() = runBlocking {
+        val submission = submission()
+        val request = submission.prepare(UID, "ada", 500, null)
+
+        try {
+            submission.submit<String>(request, onRecorded = { "recorded" }) {
+                throw IllegalStateException("Insufficient balance")
+            }
+            fail("Expected the failure")
+        } catch (e: IllegalStateException) {
+            // Expected
+        }
+
+        assertTrue(store.load(UID).isEmpty())
+    }
+
+    @Test
+    fun reusedRequestThatWasRecordedIsNotResent() = runBlocking {
+        val request = submission().prepare(UID, "ada", 500, null)
+        // The previous run's attempt reached the server, but the app died before the response
+        recorded += request.transactionId
+
+        val submission = submission()
+        val reused = submission.prepare(UID, "ada", 500, null)
+        var sends = 0
+        val result = submission.submit(reused, onRecorded = { "recorded" }) {
+            sends++
+            "sent"
+        }
+
+        assertEquals("recorded", result)
+        assertEquals(0, sends)
+        assertTrue(store.load(UID).isEmpty())
+    }
+
+    @Test
+    fun reusedBatchLegThatWasRecordedIsNotResent() = runBlocking {
+        val ada = submission().prepare(UID, "ada", 500, null)
+        recorded += ada.transactionId
+
+        val submission = submission()
+        val legs = listOf(submission.prepare(UID, "ada", 500, null), submission.prepare(UID, "bola", 700, null))
+        val sent = mutableListOf<TransferRequest>()
+        val result = submission.submitBatch(legs, recordedMessage = "recorded") { requests ->
+            sent += requests
+            BatchTransferResult.Completed(requests.map { LegOutcome(it, succeeded = true, message = "sent") })
+        }
+
+        assertEquals(listOf("bola"), sent.map { it.toRecipientPaymentId })
+        assertEquals(
+            listOf("recorded", "sent"),
+            (result as BatchTransferResult.Completed).legs.map { it.message }
+        )
+        assertTrue(store.load(UID).isEmpty())
+    }
+
+    @Test
+    fun transferStartedDuringReconcileWaitsForIt() = runBlocking {
+        val request = submission().prepare(UID, "ada", 500, null)
+        recorded += request.transactionId
+
+        val submission = submission()
+        lookupGate = CompletableDeferred()
+        val reconciling = async { submission.reconcile(UID) }
+        delay(50)
+        val preparing = async { submission.prepare(UID, "ada", 500, null) }
+        delay(50)
+        assertFalse(preparing.isCompleted)
+
+        lookupGate.complete(Unit)
+        assertEquals(listOf(request), reconciling.await())
+        // The recorded transfer was settled first, so this is a new transfer
+        assertNotEquals(request.transactionId, preparing.await().transactionId)
+    }
+
+    @Test
+    fun reconcileSettlesRecordedAndExpiredTransfers() = runBlocking {
+        val submission = submission()
+        val recordedRequest = submission.prepare(UID, "ada", 500, null)
+        val lostRequest = submission.prepare(UID, "bola", 500, null)
+        now = 500
+        val recentRequest = submission.prepare(UID, "chi", 500, null)
+        recorded += recordedRequest.transactionId
+
+        now = 1_200
+        assertEquals(listOf(recordedRequest), submission.reconcile(UID))
+
+        val remaining = store.load(UID).map { it.request }
+        assertEquals(listOf(recentRequest), remaining)
+        assertTrue(lostRequest !in remaining)
+    }
+
+    companion object {
+        private const val UID = "uid"
+    }
+}
@@ -0,0 +1,120 @@
+package com.settlex.android.data.remote.upload
+
+import kotlinx.coroutines.runBlocking
+import org.junit.Assert.assertArrayEquals
+import org.junit.Assert.assertEquals
+import org.junit.Assert.assertFalse
+import org.junit.Assert.assertTrue
+import org.junit.Assert.fail
+import org.junit.Test
+import java.io.IOException
+import kotlin.random.Random
+
+class ChunkedUploaderTest {
+
+    @Test
+    fun splitsIntoChecksummedChunksCoveringThePayload() {
+        val bytes = Random(1).nextBytes(100_000)
+        val payload = ChunkedPayload.of(bytes, CHUNK_BYTES)
+
+        assertEquals(4, payload.chunks.size)
+        assertEquals(100_000 - 3 * CHUNK_BYTES, payload.chunks.last().bytes.size)
+        payload.chunks.forEach { chunk ->
+            assertEquals(chunk.index * CHUNK_BYTES, chunk.offset)
+            assertEquals(ChunkedPayload.crc32Of(chunk.bytes), chunk.checksum)
+        }
+        assertEquals(payload.uploadId, ChunkedPayload.of(bytes.copyOf(), CHUNK_BYTES).uploadId)
+    }
+
+    @Test
+    fun uploadsEveryChunkWithBoundedParallelism() = runBlocking {
+        val bytes = Random(2).nextBytes(20 * CHUNK_BYTES + 17)
+        val payload = ChunkedPayload.of(bytes, CHUNK_BYTES)
+        val endpoint = FakeUploadEndpoint()
+
+        val url = ChunkedUploader(endpoint, parallelism = 3, retryDelayMs = 1).upload(payload)
+
+        assertEquals("https://example.test/${payload.uploadId}", url)
+        assertArrayEquals(bytes, endpoint.assembled(payload.uploadId))
+        assertEquals(payload.chunks.size, endpoint.putCalls.get())
+        assertTrue("Max in flight ${endpoint.maxInFlight.get()}", endpoint.maxInFlight.get() <= 3)
+    }
+
+    @Test
+    fun retriesTransientChunkFailures() = runBlocking {
+        val payload = ChunkedPayload.of(Random(3).nextBytes(6 * CHUNK_BYTES), CHUNK_BYTES)
+        val endpoint = FakeUploadEndpoint().apply { failWhen = { index, attempt -> index == 2 && attempt < 3 } }
+
+        ChunkedUploader(endpoint, maxAttempts = 3, retryDelayMs = 1).upload(payload)
+
+        assertEquals(payload.chunks.size + 2, endpoint.putCalls.get())
+    }
+
+    @Test
+    fun resumesFromAcknowledgedChunksAfterFailure() = runBlocking {
+        val bytes = Random(4).nextBytes(10 * CHUNK_BYTES)
+        val payload = ChunkedPayload.of(bytes, CHUNK_BYTES)
+        val endpoint = FakeUploadEndpoint()
+        // The connection drops for good on chunk 7
+        endpoint.failWhen = { index, _ -> index == 7 }
+
+        val uploader = ChunkedUploader(endpoint, parallelism = 1, maxAttempts = 2, retryDelayMs = 1)
+        try {
+            uploader.upload(payload)
+            fail("Upload should have failed")
+        } catch (_: IOException) {
+        }
+
+        endpoint.failWhen = { _, _ -> false }
+        endpoint.sentIndices.clear()
+        val progress = mutableListOf<UploadProgress>()
+        uploader.upload(ChunkedPayload.of(bytes, CHUNK_BYTES)) { progress += it }
+
+        // Only the chunk that failed and those never attempted are sent again
+        assertEquals(listOf(7, 8, 9), endpoint.sentIndices.toList())
+        assertArrayEquals(bytes, endpoint.assembled(payload.uploadId))
+        assertEquals(70, progress.first().percent)
+        assertEquals(100, progress.last().percent)
+    }
+
+    @Test
+    fun reportsMonotonicProgress() = runBlocking {
+        val payload = ChunkedPayload.of(Random(5).nextBytes(12 * CHUNK_BYTES + 5), CHUNK_BYTES)
+        val progress = mutableListOf<UploadProgress>()
+
+        ChunkedUploader(FakeUploadEndpoint(latencyMs = 1), parallelism = 4).upload(payload) {
+            synchronized(progress) { progress += it }
+        }
+
+        assertEquals(payload.chunks.size + 1, progress.size)
+        assertEquals(0L, progress.first().uploadedBytes)
+        assertEquals(payload.totalBytes.toLong(), progress.last().uploadedBytes)
+        progress.zipWithNext().forEach { (previous, next) ->
+            assertTrue(next.uploadedBytes > previous.uploadedBytes)
+        }
+    }
+
+    @Test
+    fun fallsBackToOneRequestWhenChunkedUploadIsUnavailable() = runBlocking {
+        val bytes = Random(6).nextBytes(5 * CHUNK_BYTES + 3)
+        val endpoint = FakeUploadEndpoint(supportsChunked = false)
+        val uploader = ChunkedUploader(endpoint, retryDelayMs = 1)
+        val progress = mutableListOf<UploadProgress>()
+
+        val url = uploader.upload(ChunkedPayload.of(bytes, CHUNK_BYTES)) { progress += it }
+        uploader.upload(ChunkedPayload.of(bytes, CHUNK_BYTES))
+
+        assertEquals("https://example.test/${ChunkedPayload.of(bytes, CHUNK_BYTES).uploadId}", url)
+        assertEquals(2, endpoint.wholeUploads.size)
+        assertArrayEquals(bytes, endpoint.wholeUploads.first())
+        assertFalse(uploader.isChunkedAvailable)
+        // The chunked path is not tried again once the backend has said it doesn't exist
+        assertEquals(1, endpoint.beginCalls.get())
+        assertEquals(0, endpoint.putCalls.get())
+        assertEquals(listOf(0, 100), progress.map { it.percent })
+    }
+
+    companion object {
+        private const val CHUNK_BYTES = 32 * 1024
+    }
+}
@@ -0,0 +1,83 @@
+package com.settlex.android.data.remote.upload
+
+import kotlinx.coroutines.delay
+import java.io.IOException
+import java.util.concurrent.ConcurrentHashMap
+import java.util.concurrent.atomic.AtomicInteger
+
+/**
+ * In-memory [UploadEndpoint] that verifies checksums like the server does, remembers acknowledged
+ * chunks across [ChunkedUploader.upload] calls and can be told to drop requests.
+ */
+class FakeUploadEndpoint(
+    private val latencyMs: Long = 5,
+    private val supportsChunked: Boolean = true
+) : UploadEndpoint {
+
+    private class Session(val payload: ChunkedPayload) {
+        val received = ConcurrentHashMap<Int, ByteArray>()
+    }
+
+    private val sessions = ConcurrentHashMap<String, Session>()
+    private val inFlight = AtomicInteger()
+
+    val maxInFlight = AtomicInteger()
+    val beginCalls = AtomicInteger()
+    val putCalls = AtomicInteger()
+    val wholeUploads: MutableList<ByteArray> = java.util.Collections.synchronizedList(mutableListOf())
+
+    /** Chunk indices sent at least once, in the order they arrived. */
+    val sentIndices: MutableList<Int> = java.util.Collections.synchronizedList(mutableListOf())
+
+    /** Decides per chunk index and attempt (1-based) whether the request drops. */
+    @Volatile
+    var failWhen: (index: Int, attempt: Int) -> Boolean = { _, _ -> false }
+
+    private val attempts = ConcurrentHashMap<Int, AtomicInteger>()
+
+    override suspend fun begin(payload: ChunkedPayload): Set<Int> {
+        beginCalls.incrementAndGet()
+        if (!supportsChunked) throw ChunkedUploadUnavailableException()
+        val session = sessions.getOrPut(payload.uploadId) { Session(payload) }
+        return session.received.keys.toSet()
+    }
+
+    override suspend fun putChunk(uploadId: String, chunk: UploadChunk) {
+        val session = sessions[uploadId] ?: throw IllegalStateException("Unknown upload $uploadId")
+        putCalls.incrementAndGet()
+        sentIndices += chunk.index
+
+        val concurrent = inFlight.incrementAndGet()
+        maxInFlight.accumulateAndGet(concurrent, ::maxOf)
+        try {
+            delay(latencyMs)
+            val attempt = attempts.getOrPut(chunk.index) { AtomicInteger() }.incrementAndGet()
+            if (failWhen(chunk.index, attempt)) throw IOException("Connection reset")
+
+            check(ChunkedPayload.crc32Of(chunk.bytes) == chunk.checksum) { "Checksum mismatch" }
+            check(session.payload.checksums[chunk.index] == chunk.checksum) { "Unexpected chunk" }
+            session.received[chunk.index] = chunk.bytes
+        } finally {
+            inFlight.decrementAndGet()
+        }
+    }
+
+    override suspend fun complete(uploadId: String): String {
+        val session = sessions.getValue(uploadId)
+        check(session.received.size == session.payload.chunks.size) { "Upload incomplete" }
+        return "https://example.test/$uploadId"
+    }
+
+    override suspend fun uploadWhole(payload: ChunkedPayload): String {
+        delay(latencyMs)
+        wholeUploads += payload.toByteArray()
+        return "https://example.test/${payload.uploadId}"
+    }
+
+    fun assembled(uploadId: String): ByteArray {
+        val session = sessions.getValue(uploadId)
+        return (0 until session.payload.chunks.size)
+            .map { session.received.getValue(it) }
+            .fold(ByteArray(0)) { acc, bytes -> acc + bytes }
+    }
+}
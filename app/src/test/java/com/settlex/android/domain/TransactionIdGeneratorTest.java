@@ -0,0 +1,109 @@
+package com.settlex.android.domain;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Uniqueness and format checks for {@link TransactionIdGenerator}.
+ * The long multi-threaded stress run lives in the benchmark module ({@code ./gradlew :benchmark:idStress}).
+ */
+public class TransactionIdGeneratorTest {
+
+    private static final String UID = "Jx8sYq2LmN0pQrStUvWxYz123456";
+    private static final int THREADS = 4;
+    private static final int IDS_PER_THREAD = 75_000;
+
+    @Test
+    public void idsAreUniqueAcrossThreads() throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<?>> results = new ArrayList<>();
+
+        // IDs share the uid prefix, so uniqueness reduces to the timestamp and sequence
+        long[] stamps = new long[THREADS * IDS_PER_THREAD];
+
+        try {
+            for (int t = 0; t < THREADS; t++) {
+                int from = t * IDS_PER_THREAD;
+                results.add(executor.submit(() -> {
+                    start.await();
+                    String previous = "";
+                    for (int i = from; i < from + IDS_PER_THREAD; i++) {
+                        String id = TransactionIdGenerator.generate(UID);
+                        // Each thread must observe strictly increasing IDs
+                        if (id.compareTo(previous) <= 0) {
+                            throw new AssertionError(previous + " then " + id);
+                        }
+                        stamps[i] = decodeStamp(id);
+                        previous = id;
+                    }
+                    return null;
+                }));
+            }
+            start.countDown();
+            for (Future<?> result : results) result.get();
+
+            Arrays.sort(stamps);
+            for (int i = 1; i < stamps.length; i++) {
+                assertTrue("Duplicate stamp " + stamps[i], stamps[i] != stamps[i - 1]);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    public void idHasFixedLayout() throws Exception {
+        long before = System.currentTimeMillis();
+        String id = TransactionIdGenerator.generate(UID);
+
+        assertEquals(TransactionIdGenerator.ID_LENGTH, id.length());
+        assertTrue(id, id.matches("[0-9a-f]{8}[0-9a-z]{8}[0-9a-f]{16}"));
+        assertEquals(legacyHash(UID), id.substring(0, 8));
+        assertTrue(Long.parseLong(id.substring(8, 16), 36) >= before);
+    }
+
+    @Test
+    public void hashIsCaseInsensitiveAndPerUid() throws Exception {
+        String lower = TransactionIdGenerator.generate("abc123").substring(0, 8);
+        String upper = TransactionIdGenerator.generate("ABC123").substring(0, 8);
+        String other = TransactionIdGenerator.generate("xyz789").substring(0, 8);
+
+        assertEquals(lower, upper);
+        assertEquals(legacyHash("abc123"), lower);
+        assertEquals(legacyHash("xyz789"), other);
+    }
+
+    private static long decodeStamp(String id) {
+        long timestamp = Long.parseLong(id.substring(8, 16), 36);
+        long sequence = Long.parseLong(id.substring(16, 20), 16);
+        return (timestamp << 16) | sequence;
+    }
+
+    // The uid hash the previous generator produced
+    private static String legacyHash(String uid) throws Exception {
+        MessageDigest digest = MessageDigest.getInstance("SHA-256");
+        byte[] hash = digest.digest(uid.toLowerCase(Locale.ROOT).getBytes(StandardCharsets.UTF_8));
+
+        StringBuilder hexString = new StringBuilder();
+        for (int i = 0; i < 4; i++) {
+            String hex = Integer.toHexString(0xff & hash[i]);
+            if (hex.length() == 1) hexString.append('0');
+            hexString.append(hex);
+        }
+        return hexString.toString();
+    }
+}
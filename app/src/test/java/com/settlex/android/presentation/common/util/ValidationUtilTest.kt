@@ -0,0 +1,145 @@
+package com.settlex.android.presentation.common.util
+
+import org.junit.Assert.assertEquals
+import org.junit.Test
+import kotlin.random.Random
+
+/**
+ * Checks the precompiled, single-pass [ValidationUtil] against the regex-per-call and
+ * per-rule `any {}` implementations it replaced, exhaustively over short strings drawn from
+ * a representative alphabet and over random longer strings.
+ */
+class ValidationUtilTest {
+
+    @Test
+    fun passwordRulesMatchLegacyForAllShortStrings() {
+        forAllStrings(PASSWORD_ALPHABET, maxLength = 4) { assertPasswordMatchesLegacy(it) }
+    }
+
+    @Test
+    fun passwordRulesMatchLegacyForRandomStrings() {
+        val random = Random(SEED)
+        repeat(ITERATIONS) {
+            assertPasswordMatchesLegacy(randomString(random, PASSWORD_ALPHABET, maxLength = 16))
+        }
+    }
+
+    @Test
+    fun passwordConfirmationMatchesLegacy() {
+        val random = Random(SEED)
+        repeat(ITERATIONS) {
+            val password = randomString(random, PASSWORD_ALPHABET, maxLength = 12)
+            val confirmation = if (random.nextBoolean()) password else randomString(random, PASSWORD_ALPHABET, 12)
+
+            assertEquals(
+                "Mismatch for '$password' / '$confirmation'",
+                legacyIsPasswordAndConfirmationValid(password, confirmation),
+                ValidationUtil.isPasswordAndConfirmationValid(password, confirmation)
+            )
+        }
+    }
+
+    @Test
+    fun paymentIdRulesMatchLegacyForAllShortStrings() {
+        forAllStrings(PAYMENT_ID_ALPHABET, maxLength = 6) { assertPaymentIdMatchesLegacy(it) }
+    }
+
+    @Test
+    fun paymentIdRulesMatchLegacyForRandomStrings() {
+        val random = Random(SEED)
+        repeat(ITERATIONS) {
+            assertPaymentIdMatchesLegacy(randomString(random, PAYMENT_ID_ALPHABET, maxLength = 24))
+        }
+    }
+
+    @Test
+    fun regexValidatorsMatchLegacy() {
+        val random = Random(SEED)
+        repeat(ITERATIONS) {
+            val digits = randomString(random, "0123456789a ", maxLength = 13)
+            assertEquals(digits.matches(PAYMENT_PIN.toRegex()), ValidationUtil.isPaymentPinValid(digits))
+            assertEquals(digits.matches(PHONE.toRegex()), ValidationUtil.isPhoneNumberValid(digits))
+
+            val name = randomString(random, "abAB ", maxLength = 8)
+            assertEquals(
+                name.matches(NAME.toRegex()) && digits.matches(NAME.toRegex()),
+                ValidationUtil.isNamesValid(name, digits)
+            )
+        }
+    }
+
+    private fun assertPasswordMatchesLegacy(password: String) {
+        val validation = ValidationUtil.validatePassword(password)
+        assertEquals("Length for '$password'", password.length >= 8, validation.hasMinLength)
+        assertEquals("Uppercase for '$password'", password.any { it.isUpperCase() }, validation.hasUppercase)
+        assertEquals("Lowercase for '$password'", password.any { it.isLowerCase() }, validation.hasLowercase)
+        assertEquals(
+            "Special for '$password'",
+            password.any { ValidationUtil.ALLOWED_SPECIAL_CHARS.contains(it) },
+            validation.hasSpecialChar
+        )
+        assertEquals("Valid for '$password'", legacyIsPasswordValid(password), ValidationUtil.isPasswordValid(password))
+    }
+
+    private fun assertPaymentIdMatchesLegacy(paymentId: String) {
+        val validation = ValidationUtil.validatePaymentId(paymentId)
+        assertEquals("Prefix for '$paymentId'", paymentId.matches("^[A-Za-z].*".toRegex()), validation.startsWithLetter)
+        assertEquals("Length for '$paymentId'", paymentId.length in 5..20, validation.hasValidLength)
+        assertEquals(
+            "Charset for '$paymentId'",
+            paymentId.matches("^[a-z0-9]+$".toRegex()),
+            validation.isLowercaseAlphanumeric
+        )
+
+        val legacyId = if (paymentId.startsWith("@")) paymentId.substring(1) else paymentId
+        assertEquals(
+            "Valid for '$paymentId'",
+            legacyId.matches("^[a-z][a-z0-9]{4,19}$".toRegex()),
+            ValidationUtil.isPaymentIdValid(paymentId)
+        )
+    }
+
+    private fun forAllStrings(alphabet: String, maxLength: Int, block: (String) -> Unit) {
+        val builder = StringBuilder()
+        fun extend(depth: Int) {
+            block(builder.toString())
+            if (depth == maxLength) return
+            for (c in alphabet) {
+                builder.append(c)
+                extend(depth + 1)
+                builder.setLength(builder.length - 1)
+            }
+        }
+        extend(0)
+    }
+
+    private fun randomString(random: Random, alphabet: String, maxLength: Int): String {
+        val length = random.nextInt(maxLength + 1)
+        return buildString { repeat(length) { append(alphabet[random.nextInt(alphabet.length)]) } }
+    }
+
+    private fun legacyIsPasswordValid(password: String): Boolean {
+        val hasLength = password.length >= 8
+        val hasUpper = password.any { it.isUpperCase() }
+        val hasLower = password.any { it.isLowerCase() }
+        val hasSpecial = password.any { ValidationUtil.ALLOWED_SPECIAL_CHARS.contains(it) }
+        return hasLength && hasUpper && hasLower && hasSpecial
+    }
+
+    private fun legacyIsPasswordAndConfirmationValid(password: String, confirmation: String): Boolean {
+        return legacyIsPasswordValid(password) && password == confirmation
+    }
+
+    companion object {
+        private const val SEED = 20_26L
+        private const val ITERATIONS = 50_000
+
+        // One of each character class, plus non-ASCII letters and characters outside every rule
+        private const val PASSWORD_ALPHABET = "aZ1!?ÉßǅΩ~ "
+        private const val PAYMENT_ID_ALPHABET = "aZ0_@é"
+
+        private const val PAYMENT_PIN = "^\\d+$.*"
+        private const val PHONE = "^(0)?[7-9][0-1]\\d{8}$"
+        private const val NAME = "^[a-zA-Z]{2,}(?:\\s[a-zA-Z]{2,})*$"
+    }
+}
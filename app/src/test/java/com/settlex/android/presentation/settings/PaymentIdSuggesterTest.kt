@@ -0,0 +1,54 @@
+package com.settlex.android.presentation.settings
+
+import com.settlex.android.presentation.common.util.ValidationUtil
+import org.junit.Assert.assertEquals
+import org.junit.Assert.assertFalse
+import org.junit.Assert.assertTrue
+import org.junit.Test
+
+class PaymentIdSuggesterTest {
+
+    private val suggester = PaymentIdSuggester()
+
+    @Test
+    fun nameCombinationsComeFirst() {
+        val candidates = suggester.candidates("Adaeze", "Obi", takenId = "adaezeobi")
+
+        // "aobi" is too short to be valid
+        assertEquals(listOf("obiadaeze", "adaezeo"), candidates.take(2))
+    }
+
+    @Test
+    fun candidatesAreValidDistinctAndNotTheTakenId() {
+        val candidates = suggester.candidates("Chukwuemeka-Nnamdi", "Okonkwo-Adebayo", takenId = "chukwuemeka")
+
+        assertEquals(10, candidates.size)
+        assertEquals(candidates.size, candidates.toSet().size)
+        assertFalse("chukwuemeka" in candidates)
+        assertTrue(candidates.all { ValidationUtil.isPaymentIdValid(it) })
+    }
+
+    @Test
+    fun fallsBackToTheTakenIdWithoutAName() {
+        val candidates = suggester.candidates("", "", takenId = "settle")
+
+        assertTrue(candidates.isNotEmpty())
+        assertTrue(candidates.all { it.startsWith("settle") && ValidationUtil.isPaymentIdValid(it) })
+    }
+
+    @Test
+    fun sameInputsGiveTheSameCandidates() {
+        val candidates = suggester.candidates("Adaeze", "Obi", takenId = "adaezeobi")
+
+        assertEquals(candidates, PaymentIdSuggester().candidates("Adaeze", "Obi", takenId = "adaezeobi"))
+        assertFalse(candidates == suggester.candidates("Adaeze", "Obi", takenId = "adaeze"))
+    }
+
+    @Test
+    fun shortNamesAreNotSuggestedBare() {
+        val candidates = suggester.candidates("Al", "Bo", takenId = "albo1")
+
+        assertTrue(candidates.all { ValidationUtil.isPaymentIdValid(it) })
+        assertFalse("albo" in candidates)
+    }
+}
@@ -0,0 +1,64 @@
+package com.settlex.android.presentation.transactions.search
+
+import com.settlex.android.presentation.transactions.model.RecipientUiModel
+import org.junit.Assert.assertEquals
+import org.junit.Assert.assertFalse
+import org.junit.Assert.assertNull
+import org.junit.Assert.assertTrue
+import org.junit.Test
+
+class RecipientPrefixCacheTest {
+
+    private var now = 0L
+    private val cache = RecipientPrefixCache(resultLimit = 3, maxEntries = 2, ttlMs = 1_000, clock = { now })
+
+    @Test
+    fun narrowsLongestCachedPrefix() {
+        cache.put("ad", listOf(recipient("ada"), recipient("adaeze"), recipient("adam")))
+        cache.put("ada", listOf(recipient("ada"), recipient("adaeze")))
+
+        val hit = cache.lookup("adae")!!
+
+        assertEquals(listOf("adaeze"), hit.recipients.map { it.paymentId })
+        // Narrowed from "ada", whose two results are below the page size
+        assertTrue(hit.isComplete)
+    }
+
+    @Test
+    fun narrowedFullPageIsNotComplete() {
+        cache.put("ad", listOf(recipient("ada"), recipient("adaeze"), recipient("adam")))
+
+        val hit = cache.lookup("adam")!!
+
+        assertEquals(listOf("adam"), hit.recipients.map { it.paymentId })
+        assertFalse(hit.isComplete)
+    }
+
+    @Test
+    fun exactEntryIsComplete() {
+        cache.put("ada", listOf(recipient("ada"), recipient("adaeze"), recipient("adamu")))
+
+        assertTrue(cache.lookup("ada")!!.isComplete)
+    }
+
+    @Test
+    fun expiredEntriesAreIgnored() {
+        cache.put("ada", listOf(recipient("ada")))
+        now = 1_001
+
+        assertNull(cache.lookup("adae"))
+    }
+
+    @Test
+    fun evictsLeastRecentlyUsed() {
+        cache.put("ada", emptyList())
+        cache.put("bol", emptyList())
+        cache.lookup("ada")
+        cache.put("chi", emptyList())
+
+        assertNull(cache.lookup("bol"))
+        assertTrue(cache.lookup("ada") != null)
+    }
+
+    private fun recipient(paymentId: String) = RecipientUiModel(paymentId, paymentId, null)
+}
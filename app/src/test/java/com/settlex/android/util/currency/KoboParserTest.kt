@@ -0,0 +1,152 @@
+package com.settlex.android.util.currency
+
+import org.junit.Assert.assertEquals
+import org.junit.Assert.assertTrue
+import org.junit.Test
+import java.math.BigDecimal
+import java.math.RoundingMode
+import kotlin.random.Random
+
+/**
+ * Checks [KoboParser] against the previous BigDecimal-based `fromNairaStringToKobo`
+ * over randomly generated amounts, plus the edge cases the old version hid behind `0`.
+ */
+class KoboParserTest {
+
+    @Test
+    fun matchesLegacyParserForGeneratedAmounts() {
+        val random = Random(SEED)
+
+        repeat(ITERATIONS) {
+            val input = randomAmountString(random)
+            val expected = legacyNairaStringToKobo(input)
+            val actual = KoboParser.parse(input)
+
+            assertTrue("Expected valid result for '$input'", actual.isValid)
+            assertEquals("Mismatch for '$input'", expected, actual.kobo)
+        }
+    }
+
+    @Test
+    fun acceptedNoiseMatchesLegacyParser() {
+        val random = Random(SEED)
+
+        repeat(ITERATIONS) {
+            val input = randomNoise(random)
+            val actual = KoboParser.parse(input)
+
+            if (actual.isValid) {
+                assertEquals("Mismatch for '$input'", legacyNairaStringToKobo(input), actual.kobo)
+            }
+        }
+    }
+
+    @Test
+    fun roundsHalfUpOnThirdDecimal() {
+        assertEquals(100L, KoboParser.parse("1.004").kobo)
+        assertEquals(101L, KoboParser.parse("1.005").kobo)
+        assertEquals(100L, KoboParser.parse("0.99999").kobo)
+        assertEquals(1L, KoboParser.parse("0.005").kobo)
+        assertEquals(0L, KoboParser.parse("0.0049999").kobo)
+    }
+
+    @Test
+    fun handlesSymbolAndGroupingSeparators() {
+        assertEquals(125_050L, KoboParser.parse("₦1,250.50").kobo)
+        assertEquals(100_000_000L, KoboParser.parse("₦1,000,000").kobo)
+        assertEquals(50L, KoboParser.parse(".5").kobo)
+        assertEquals(500L, KoboParser.parse("5.").kobo)
+    }
+
+    @Test
+    fun blankOrSymbolOnlyIsZero() {
+        assertEquals(0L, KoboParser.parse("").kobo)
+        assertEquals(0L, KoboParser.parse("   ").kobo)
+        assertEquals(0L, KoboParser.parse("₦").kobo)
+    }
+
+    @Test
+    fun malformedInputIsInvalid() {
+        listOf("abc", "1.2.3", "1.2,3", "-5", "+5", "1e3", "1 000", ".", ",", "₦ 5").forEach {
+            assertTrue("Expected invalid for '$it'", KoboParser.parse(it).isInvalid)
+        }
+    }
+
+    @Test
+    fun overflowIsReportedSeparately() {
+        val maxNaira = Long.MAX_VALUE / 100
+
+        assertEquals(maxNaira * 100, KoboParser.parse("$maxNaira").kobo)
+        assertEquals(Long.MAX_VALUE, KoboParser.parse("$maxNaira.07").kobo)
+        assertTrue(KoboParser.parse("$maxNaira.08").isOverflow)
+        assertTrue(KoboParser.parse("${maxNaira + 1}").isOverflow)
+        assertTrue(KoboParser.parse("99999999999999999999999").isOverflow)
+        assertEquals(0L, KoboParser.parse("99999999999999999999999").koboOrZero())
+    }
+
+    @Test
+    fun acceptsCharSequenceWithoutCopy() {
+        val builder = StringBuilder("₦2,500.25")
+        assertEquals(250_025L, KoboParser.parse(builder).kobo)
+    }
+
+    private fun randomAmountString(random: Random): String {
+        val naira = when (random.nextInt(4)) {
+            0 -> random.nextLong(0, 1_000)
+            1 -> random.nextLong(0, 1_000_000)
+            2 -> random.nextLong(0, 1_000_000_000_000)
+            else -> random.nextLong(0, Long.MAX_VALUE / 100)
+        }
+
+        val builder = StringBuilder()
+        if (random.nextBoolean()) builder.append('₦')
+        builder.append(if (random.nextBoolean()) group(naira) else naira.toString())
+
+        val decimals = random.nextInt(5)
+        if (decimals > 0) {
+            builder.append('.')
+            repeat(decimals) { builder.append(random.nextInt(10)) }
+        }
+        return builder.toString()
+    }
+
+    private fun randomNoise(random: Random): String {
+        val length = random.nextInt(1, 8)
+        return buildString {
+            repeat(length) { append(NOISE_ALPHABET[random.nextInt(NOISE_ALPHABET.length)]) }
+        }
+    }
+
+    private fun group(naira: Long): String {
+        val digits = naira.toString()
+        val builder = StringBuilder()
+        digits.forEachIndexed { index, c ->
+            if (index > 0 && (digits.length - index) % 3 == 0) builder.append(',')
+            builder.append(c)
+        }
+        return builder.toString()
+    }
+
+    /**
+     * The implementation `fromNairaStringToKobo` shipped with before [KoboParser].
+     */
+    private fun legacyNairaStringToKobo(nairaString: String): Long {
+        if (nairaString.isBlank()) return 0L
+        val cleanedNairaString = nairaString.replace("₦", "").replace(",", "")
+
+        return try {
+            BigDecimal(cleanedNairaString)
+                .multiply(BigDecimal("100"))
+                .setScale(0, RoundingMode.HALF_UP)
+                .longValueExact()
+        } catch (e: Exception) {
+            0L
+        }
+    }
+
+    companion object {
+        private const val SEED = 20_26L
+        private const val ITERATIONS = 50_000
+        private const val NOISE_ALPHABET = "0123456789.,₦-+eE xa"
+    }
+}
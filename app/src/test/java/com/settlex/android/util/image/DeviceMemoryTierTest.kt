@@ -0,0 +1,33 @@
+package com.settlex.android.util.image
+
+import org.junit.Assert.assertEquals
+import org.junit.Assert.assertTrue
+import org.junit.Test
+
+class DeviceMemoryTierTest {
+
+    @Test
+    fun memoryClassPicksTheTierAtEachBoundary() {
+        assertEquals(DeviceMemoryTier.LOW, DeviceMemoryTier.of(isLowRamDevice = false, memoryClassMb = 64))
+        assertEquals(DeviceMemoryTier.LOW, DeviceMemoryTier.of(isLowRamDevice = false, memoryClassMb = 128))
+        assertEquals(DeviceMemoryTier.MEDIUM, DeviceMemoryTier.of(isLowRamDevice = false, memoryClassMb = 129))
+        assertEquals(DeviceMemoryTier.MEDIUM, DeviceMemoryTier.of(isLowRamDevice = false, memoryClassMb = 256))
+        assertEquals(DeviceMemoryTier.HIGH, DeviceMemoryTier.of(isLowRamDevice = false, memoryClassMb = 257))
+        assertEquals(DeviceMemoryTier.HIGH, DeviceMemoryTier.of(isLowRamDevice = false, memoryClassMb = 512))
+    }
+
+    @Test
+    fun lowRamDeviceIsLowWhateverItsMemoryClass() {
+        assertEquals(DeviceMemoryTier.LOW, DeviceMemoryTier.of(isLowRamDevice = true, memoryClassMb = 512))
+    }
+
+    @Test
+    fun budgetsGrowWithTheTier() {
+        val tiers = DeviceMemoryTier.entries
+        for (i in 1 until tiers.size) {
+            assertTrue(tiers[i].memoryCacheScreens > tiers[i - 1].memoryCacheScreens)
+            assertTrue(tiers[i].bitmapPoolScreens > tiers[i - 1].bitmapPoolScreens)
+            assertTrue(tiers[i].diskCacheBytes > tiers[i - 1].diskCacheBytes)
+        }
+    }
+}
@@ -0,0 +1,119 @@
+package com.settlex.android.util.image
+
+import org.junit.Assert.assertEquals
+import org.junit.Assert.assertNotNull
+import org.junit.Assert.assertNull
+import org.junit.Assert.assertTrue
+import org.junit.Test
+import java.io.OutputStream
+import java.lang.management.ManagementFactory
+import java.util.Base64
+import kotlin.random.Random
+
+/**
+ * Checks the sizing and budgeted encoding of [ImageEncoding] with large synthetic images.
+ * Compression is simulated by a stream of pseudo-random bytes whose length shrinks with quality,
+ * which is as incompressible as a real codec's output.
+ */
+class ImageEncodingTest {
+
+    @Test
+    fun sampledDecodeOfLargePhotosStaysNearAvatarSize() {
+        val maxDimension = ImageConverter.AVATAR_MAX_DIMENSION
+        // Longest side stays >= maxDimension and < 2 * maxDimension, so at most 4x the target area
+        val maxDecodedBytes = 4L * maxDimension * maxDimension * 4
+
+        for ((width, height) in LARGE_PHOTOS) {
+            val sampleSize = ImageEncoding.sampleSize(width, height, maxDimension)
+            val longestSampled = maxOf(width, height) / sampleSize
+
+            assertTrue("Upsampled ${width}x$height", longestSampled >= maxDimension)
+            assertTrue("Undersampled ${width}x$height", longestSampled < 2 * maxDimension)
+            assertTrue(
+                "Decode of ${width}x$height allocates too much",
+                ImageEncoding.decodedBytes(width, height, sampleSize) <= maxDecodedBytes
+            )
+        }
+    }
+
+    @Test
+    fun smallImagesAreNotSampled() {
+        assertEquals(1, ImageEncoding.sampleSize(400, 300, 512))
+        assertEquals(1, ImageEncoding.sampleSize(1023, 800, 512))
+        assertEquals(2, ImageEncoding.sampleSize(1024, 800, 512))
+    }
+
+    @Test
+    fun picksHighestQualityWithinBudget() {
+        val budget = 256 * 1024
+        val encoded = ImageEncoding.encodeBase64WithinBudget(budget, QUALITIES) { quality, out ->
+            writeSynthetic(out, compressedSize(quality))
+        }
+
+        assertNotNull(encoded)
+        assertTrue(encoded!!.length <= budget)
+        // 90 and 80 overrun the budget once Base64-encoded, 70 is the first fit
+        assertEquals(compressedSize(70), Base64.getDecoder().decode(encoded).size)
+    }
+
+    @Test
+    fun returnsNullWhenNothingFits() {
+        val encoded = ImageEncoding.encodeBase64WithinBudget(1024, QUALITIES) { quality, out ->
+            writeSynthetic(out, compressedSize(quality))
+        }
+        assertNull(encoded)
+    }
+
+    @Test
+    fun peakAllocationIsBoundedByBudgetNotSource() {
+        val budget = 256 * 1024
+        // An unbounded encoder would buffer every attempt: ~15MB of raw 12MP output at quality 90
+        val oversizedAttempt = 15 * 1024 * 1024
+
+        val threadBean = ManagementFactory.getThreadMXBean() as com.sun.management.ThreadMXBean
+        val threadId = Thread.currentThread().id
+
+        // Warm up so class loading is not counted
+        ImageEncoding.encodeBase64WithinBudget(budget, intArrayOf(50)) { _, out -> writeSynthetic(out, 1024) }
+
+        val before = threadBean.getThreadAllocatedBytes(threadId)
+        val encoded = ImageEncoding.encodeBase64WithinBudget(budget, QUALITIES) { quality, out ->
+            writeSynthetic(out, if (quality >= 80) oversizedAttempt else compressedSize(quality))
+        }
+        val allocated = threadBean.getThreadAllocatedBytes(threadId) - before
+
+        assertNotNull(encoded)
+        assertTrue("Allocated $allocated bytes", allocated < 4L * budget)
+    }
+
+    /**
+     * Simulated compressed size: a 512px avatar from ~260KB at quality 90 down to ~60KB at 40.
+     */
+    private fun compressedSize(quality: Int): Int = quality * quality * 32
+
+    // Written in fixed chunks, like a codec flushing its output buffer
+    private fun writeSynthetic(out: OutputStream, size: Int) {
+        val random = Random(size)
+        val chunk = ByteArray(CHUNK_BYTES)
+        var remaining = size
+        while (remaining > 0) {
+            val length = minOf(remaining, chunk.size)
+            random.nextBytes(chunk, 0, length)
+            out.write(chunk, 0, length)
+            remaining -= length
+        }
+    }
+
+    companion object {
+        private const val CHUNK_BYTES = 8 * 1024
+        private val QUALITIES = intArrayOf(90, 80, 70, 60, 50, 40)
+
+        // 12MP, 48MP, 108MP and a tall panorama
+        private val LARGE_PHOTOS = listOf(
+            4000 to 3000,
+            8000 to 6000,
+            12000 to 9000,
+            3000 to 16000
+        )
+    }
+}
@@ -0,0 +1,68 @@
+plugins {
+    id("org.jetbrains.kotlin.jvm") // Kotlin JVM plugin
+    id("me.champeau.jmh") // JMH
+}
+
+java {
+    sourceCompatibility = JavaVersion.VERSION_17
+    targetCompatibility = JavaVersion.VERSION_17
+}
+
+kotlin {
+    compilerOptions {
+        jvmTarget.set(org.jetbrains.kotlin.gradle.dsl.JvmTarget.JVM_17)
+    }
+}
+
+// Benchmarks run against the app's own sources; only Android-free files are compiled in here.
+// src/stubs holds stand-ins for the few Android and Firebase types those files reference.
+sourceSets {
+    main {
+        kotlin {
+            srcDir("../app/src/main/java")
+            srcDir("src/stubs/kotlin")
+            include(
+                "com/settlex/android/util/currency/**",
+                "com/settlex/android/presentation/common/extensions/CurrencyExtensions.kt",
+                "com/settlex/android/presentation/common/extensions/DateExtensions.kt",
+                "com/settlex/android/presentation/common/extensions/StringExtensions.kt",
+                "com/settlex/android/presentation/common/util/ValidationUtil.kt",
+                "com/settlex/android/data/mapper/TransactionMapping.kt",
+                "com/settlex/android/data/enums/TransactionServiceType.kt",
+                "com/settlex/android/presentation/transactions/model/TransactionUiModel.kt",
+                // Stubs
+                "com/settlex/android/R.kt",
+                "com/google/firebase/**",
+                "android/os/**",
+                "kotlinx/parcelize/**"
+            )
+        }
+        java {
+            srcDir("../app/src/main/java")
+            include(
+                "com/settlex/android/domain/TransactionIdGenerator.java",
+                "com/settlex/android/data/remote/dto/TransactionDto.java",
+                "com/settlex/android/data/enums/TransactionStatus.java",
+                "com/settlex/android/data/enums/TransactionOperation.java"
+            )
+        }
+    }
+}
+
+// Results are written as JSON so runs can be diffed and tracked for regressions
+jmh {
+    warmupIterations.set(3)
+    iterations.set(5)
+    fork.set(1)
+    resultFormat.set("JSON")
+    resultsFile.set(layout.buildDirectory.file("results/jmh/results.json"))
+}
+
+// Multi-threaded uniqueness stress run for TransactionIdGenerator, kept out of the unit suite
+tasks.register<JavaExec>("idStress") {
+    group = "verification"
+    description = "Generates 20M transaction IDs on 8 threads and checks they are unique."
+    classpath = sourceSets["jmh"].runtimeClasspath
+    mainClass.set("com.settlex.android.benchmark.TransactionIdStressKt")
+    maxHeapSize = "1g"
+}
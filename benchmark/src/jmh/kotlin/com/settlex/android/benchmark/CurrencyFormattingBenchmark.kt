@@ -0,0 +1,45 @@
+package com.settlex.android.benchmark
+
+import com.settlex.android.presentation.common.extensions.toNairaString
+import com.settlex.android.presentation.common.extensions.toNairaStringShort
+import org.openjdk.jmh.annotations.Benchmark
+import org.openjdk.jmh.annotations.BenchmarkMode
+import org.openjdk.jmh.annotations.Mode
+import org.openjdk.jmh.annotations.OutputTimeUnit
+import org.openjdk.jmh.annotations.Scope
+import org.openjdk.jmh.annotations.Setup
+import org.openjdk.jmh.annotations.State
+import org.openjdk.jmh.infra.Blackhole
+import java.util.concurrent.TimeUnit
+import kotlin.random.Random
+
+/**
+ * Formats a page of synthetic kobo amounts, as done once per transaction row and balance update.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+open class CurrencyFormattingBenchmark {
+    private lateinit var amounts: LongArray
+
+    @Setup
+    fun setup() {
+        val random = Random(SEED)
+        amounts = LongArray(PAGE_SIZE) { random.nextLong(0, 100_000_000_000L) }
+    }
+
+    @Benchmark
+    fun toNairaString(blackhole: Blackhole) {
+        for (amount in amounts) blackhole.consume(amount.toNairaString())
+    }
+
+    @Benchmark
+    fun toNairaStringShort(blackhole: Blackhole) {
+        for (amount in amounts) blackhole.consume(amount.toNairaStringShort())
+    }
+
+    companion object {
+        private const val SEED = 28L
+        private const val PAGE_SIZE = 50
+    }
+}
@@ -0,0 +1,63 @@
+package com.settlex.android.benchmark
+
+import com.settlex.android.presentation.common.extensions.getTimeAgo
+import com.settlex.android.presentation.common.extensions.toDateString
+import com.settlex.android.presentation.common.extensions.toDateTimeString
+import com.settlex.android.presentation.common.extensions.toFullDateTimeString
+import org.openjdk.jmh.annotations.Benchmark
+import org.openjdk.jmh.annotations.BenchmarkMode
+import org.openjdk.jmh.annotations.Mode
+import org.openjdk.jmh.annotations.OutputTimeUnit
+import org.openjdk.jmh.annotations.Scope
+import org.openjdk.jmh.annotations.Setup
+import org.openjdk.jmh.annotations.State
+import org.openjdk.jmh.infra.Blackhole
+import java.util.Date
+import java.util.concurrent.TimeUnit
+import kotlin.random.Random
+
+/**
+ * Formats a page of synthetic dates spread over the last year.
+ *
+ * The `Timestamp` extensions used by the UI are thin wrappers over these `Date` overloads,
+ * which keeps the benchmark free of Firebase types.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+open class DateFormattingBenchmark {
+    private lateinit var dates: Array<Date>
+
+    @Setup
+    fun setup() {
+        val random = Random(SEED)
+        val now = System.currentTimeMillis()
+        dates = Array(PAGE_SIZE) { Date(now - random.nextLong(0, ONE_YEAR_MS)) }
+    }
+
+    @Benchmark
+    fun toDateTimeString(blackhole: Blackhole) {
+        for (date in dates) blackhole.consume(date.toDateTimeString())
+    }
+
+    @Benchmark
+    fun toFullDateTimeString(blackhole: Blackhole) {
+        for (date in dates) blackhole.consume(date.toFullDateTimeString())
+    }
+
+    @Benchmark
+    fun toDateString(blackhole: Blackhole) {
+        for (date in dates) blackhole.consume(date.toDateString())
+    }
+
+    @Benchmark
+    fun getTimeAgo(blackhole: Blackhole) {
+        for (date in dates) blackhole.consume(date.getTimeAgo())
+    }
+
+    companion object {
+        private const val SEED = 28L
+        private const val PAGE_SIZE = 50
+        private const val ONE_YEAR_MS = 365L * 24 * 60 * 60 * 1000
+    }
+}
@@ -0,0 +1,58 @@
+package com.settlex.android.benchmark
+
+import com.settlex.android.presentation.common.extensions.fromNairaStringToKobo
+import com.settlex.android.util.currency.KoboParser
+import org.openjdk.jmh.annotations.Benchmark
+import org.openjdk.jmh.annotations.BenchmarkMode
+import org.openjdk.jmh.annotations.Mode
+import org.openjdk.jmh.annotations.OutputTimeUnit
+import org.openjdk.jmh.annotations.Scope
+import org.openjdk.jmh.annotations.State
+import org.openjdk.jmh.infra.Blackhole
+import java.math.BigDecimal
+import java.math.RoundingMode
+import java.util.concurrent.TimeUnit
+
+/**
+ * Parses the amount field text exactly as it grows keystroke by keystroke,
+ * comparing [KoboParser] with the BigDecimal implementation it replaced.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+open class KoboParserBenchmark {
+
+    private val keystrokes = listOf(
+        "₦1", "₦12", "₦125", "₦1,250", "₦12,500", "₦125,000", "₦1,250,000",
+        "₦1,250,000.", "₦1,250,000.5", "₦1,250,000.50"
+    )
+
+    @Benchmark
+    fun koboParser(blackhole: Blackhole) {
+        for (text in keystrokes) blackhole.consume(KoboParser.parse(text).koboOrZero())
+    }
+
+    @Benchmark
+    fun fromNairaStringToKobo(blackhole: Blackhole) {
+        for (text in keystrokes) blackhole.consume(text.fromNairaStringToKobo())
+    }
+
+    @Benchmark
+    fun legacyBigDecimal(blackhole: Blackhole) {
+        for (text in keystrokes) blackhole.consume(legacyNairaStringToKobo(text))
+    }
+
+    private fun legacyNairaStringToKobo(nairaString: String): Long {
+        if (nairaString.isBlank()) return 0L
+        val cleanedNairaString = nairaString.replace("₦", "").replace(",", "")
+
+        return try {
+            BigDecimal(cleanedNairaString)
+                .multiply(BigDecimal("100"))
+                .setScale(0, RoundingMode.HALF_UP)
+                .longValueExact()
+        } catch (e: Exception) {
+            0L
+        }
+    }
+}
@@ -0,0 +1,66 @@
+package com.settlex.android.benchmark
+
+import com.settlex.android.domain.TransactionIdGenerator
+import org.openjdk.jmh.annotations.Benchmark
+import org.openjdk.jmh.annotations.BenchmarkMode
+import org.openjdk.jmh.annotations.Mode
+import org.openjdk.jmh.annotations.OutputTimeUnit
+import org.openjdk.jmh.annotations.Scope
+import org.openjdk.jmh.annotations.State
+import org.openjdk.jmh.annotations.Threads
+import java.nio.charset.StandardCharsets
+import java.security.MessageDigest
+import java.util.Locale
+import java.util.UUID
+import java.util.concurrent.TimeUnit
+
+/**
+ * Compares [TransactionIdGenerator] with the digest-per-call, UUID-slicing version it replaced,
+ * single-threaded and under contention on the shared sequence.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+open class TransactionIdGeneratorBenchmark {
+    private val uid = "Jx8sYq2LmN0pQrStUvWxYz123456"
+    private val otherUid = "Ab3dEf6hIj9kLmNoPqRsTuVwXy01"
+
+    @Benchmark
+    fun generate(): String = TransactionIdGenerator.generate(uid)
+
+    @Benchmark
+    @Threads(4)
+    fun generateContended(): String = TransactionIdGenerator.generate(uid)
+
+    /**
+     * Alternating uids defeats the single-entry hash cache, so every call hashes.
+     */
+    @Benchmark
+    fun generateAlternatingUids(): String {
+        TransactionIdGenerator.generate(otherUid)
+        return TransactionIdGenerator.generate(uid)
+    }
+
+    @Benchmark
+    fun legacyGenerate(): String = legacyGenerate(uid)
+
+    @Benchmark
+    @Threads(4)
+    fun legacyGenerateContended(): String = legacyGenerate(uid)
+
+    private fun legacyGenerate(uid: String): String {
+        val digest = MessageDigest.getInstance("SHA-256")
+        val hash = digest.digest(uid.lowercase(Locale.ROOT).toByteArray(StandardCharsets.UTF_8))
+
+        val userHash = StringBuilder()
+        for (i in 0 until 4) {
+            val hex = Integer.toHexString(0xff and hash[i].toInt())
+            if (hex.length == 1) userHash.append('0')
+            userHash.append(hex)
+        }
+
+        val tsBase36 = System.currentTimeMillis().toString(36)
+        val uuidShort = UUID.randomUUID().toString().replace("-", "").substring(0, 16)
+        return userHash.toString() + tsBase36 + uuidShort
+    }
+}
@@ -0,0 +1,61 @@
+package com.settlex.android.benchmark
+
+import com.settlex.android.domain.TransactionIdGenerator
+import java.util.concurrent.CountDownLatch
+import java.util.concurrent.Executors
+import kotlin.system.exitProcess
+
+/**
+ * Generates millions of IDs on several threads and fails if any two share a timestamp and
+ * sequence, or if a thread ever sees its IDs go backwards.
+ *
+ * Too heavy for the unit suite; run with `./gradlew :benchmark:idStress`.
+ */
+fun main() {
+    val uid = "Jx8sYq2LmN0pQrStUvWxYz123456"
+    val threads = 8
+    val idsPerThread = 2_500_000
+
+    // IDs share the uid prefix, so uniqueness reduces to the timestamp and sequence
+    val stamps = LongArray(threads * idsPerThread)
+    val start = CountDownLatch(1)
+    val executor = Executors.newFixedThreadPool(threads)
+
+    val startedAt = System.nanoTime()
+    val results = (0 until threads).map { t ->
+        executor.submit<Unit> {
+            start.await()
+            var previous = ""
+            val from = t * idsPerThread
+            for (i in from until from + idsPerThread) {
+                val id = TransactionIdGenerator.generate(uid)
+                check(id > previous) { "$previous then $id" }
+                stamps[i] = decodeStamp(id)
+                previous = id
+            }
+        }
+    }
+    start.countDown()
+
+    try {
+        results.forEach { it.get() }
+    } finally {
+        executor.shutdownNow()
+    }
+    val elapsedMs = (System.nanoTime() - startedAt) / 1_000_000
+
+    stamps.sort()
+    for (i in 1 until stamps.size) {
+        if (stamps[i] == stamps[i - 1]) {
+            System.err.println("Duplicate stamp ${stamps[i]}")
+            exitProcess(1)
+        }
+    }
+    println("${stamps.size} unique IDs on $threads threads in ${elapsedMs}ms")
+}
+
+private fun decodeStamp(id: String): Long {
+    val timestamp = id.substring(8, 16).toLong(36)
+    val sequence = id.substring(16, 20).toLong(16)
+    return (timestamp shl 16) or sequence
+}
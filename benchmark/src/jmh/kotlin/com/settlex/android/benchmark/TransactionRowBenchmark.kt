@@ -0,0 +1,73 @@
+package com.settlex.android.benchmark
+
+import com.google.firebase.Timestamp
+import com.settlex.android.data.enums.TransactionServiceType
+import com.settlex.android.data.enums.TransactionStatus
+import com.settlex.android.data.mapper.toTransactionUiModel
+import com.settlex.android.data.remote.dto.TransactionDto
+import com.settlex.android.presentation.common.extensions.toDateTimeString
+import org.openjdk.jmh.annotations.Benchmark
+import org.openjdk.jmh.annotations.BenchmarkMode
+import org.openjdk.jmh.annotations.Mode
+import org.openjdk.jmh.annotations.OutputTimeUnit
+import org.openjdk.jmh.annotations.Scope
+import org.openjdk.jmh.annotations.Setup
+import org.openjdk.jmh.annotations.State
+import org.openjdk.jmh.infra.Blackhole
+import java.util.Date
+import java.util.concurrent.TimeUnit
+import kotlin.random.Random
+
+/**
+ * `toTransactionUiModel` plus the date text bound by `TransactionListAdapter`, over a month of
+ * synthetic transaction DTOs.
+ *
+ * This runs the app's own mapper; the Android and Firebase types it touches are stubbed in
+ * `src/stubs`.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+open class TransactionRowBenchmark {
+    private lateinit var rows: List<TransactionDto>
+    private val uid = "uid-self"
+
+    @Setup
+    fun setup() {
+        val random = Random(SEED)
+        val now = System.currentTimeMillis()
+        val statuses = TransactionStatus.entries
+        rows = List(MONTH_SIZE) { index ->
+            val isSender = random.nextBoolean()
+            TransactionDto().apply {
+                transactionId = "tx-$index"
+                senderUid = if (isSender) uid else "uid-$index"
+                sender = "sender$index"
+                senderName = "Sender Name $index"
+                recipientUid = if (isSender) "uid-$index" else uid
+                recipient = "recipient$index"
+                recipientName = "Recipient Name $index"
+                description = if (index % 3 == 0) null else "Payment $index"
+                amount = random.nextLong(10_000, 100_000_000)
+                createdAt = Timestamp(Date(now - random.nextLong(0, THIRTY_DAYS_MS)))
+                status = statuses[random.nextInt(statuses.size)]
+                serviceType = TransactionServiceType.TRANSFER_TO_FRIEND
+            }
+        }
+    }
+
+    @Benchmark
+    fun mapMonth(blackhole: Blackhole) {
+        for (row in rows) {
+            val model = row.toTransactionUiModel(uid)
+            blackhole.consume(model)
+            blackhole.consume(model.timestamp.toDate().toDateTimeString())
+        }
+    }
+
+    companion object {
+        private const val SEED = 28L
+        private const val MONTH_SIZE = 200
+        private const val THIRTY_DAYS_MS = 30L * 24 * 60 * 60 * 1000
+    }
+}
@@ -0,0 +1,91 @@
+package com.settlex.android.benchmark
+
+import com.settlex.android.presentation.common.util.ValidationUtil
+import org.openjdk.jmh.annotations.Benchmark
+import org.openjdk.jmh.annotations.BenchmarkMode
+import org.openjdk.jmh.annotations.Mode
+import org.openjdk.jmh.annotations.OutputTimeUnit
+import org.openjdk.jmh.annotations.Scope
+import org.openjdk.jmh.annotations.State
+import org.openjdk.jmh.infra.Blackhole
+import java.util.concurrent.TimeUnit
+
+/**
+ * Runs each validator over every prefix of a typical input, the same calls a text watcher makes.
+ * The `legacy` benchmarks replay the per-call regex compilation and per-rule scans that
+ * [ValidationUtil] used before its patterns were precompiled.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+open class ValidationBenchmark {
+    private val paymentIdKeystrokes = keystrokes("settlexuser2025")
+    private val passwordKeystrokes = keystrokes("Str0ng!Passw0rd")
+    private val phoneKeystrokes = keystrokes("08031234567")
+    private val nameKeystrokes = keystrokes("Adaeze Okafor")
+
+    @Benchmark
+    fun isPaymentIdValid(blackhole: Blackhole) {
+        for (text in paymentIdKeystrokes) blackhole.consume(ValidationUtil.isPaymentIdValid(text))
+    }
+
+    @Benchmark
+    fun isPasswordAndConfirmationValid(blackhole: Blackhole) {
+        for (text in passwordKeystrokes) {
+            blackhole.consume(ValidationUtil.isPasswordAndConfirmationValid(text, text))
+        }
+    }
+
+    @Benchmark
+    fun validatePassword(blackhole: Blackhole) {
+        for (text in passwordKeystrokes) blackhole.consume(ValidationUtil.validatePassword(text, text))
+    }
+
+    @Benchmark
+    fun legacyPasswordRules(blackhole: Blackhole) {
+        for (text in passwordKeystrokes) {
+            blackhole.consume(text.length >= 8)
+            blackhole.consume(text.any { it.isUpperCase() })
+            blackhole.consume(text.any { it.isLowerCase() })
+            blackhole.consume(text.any { ValidationUtil.ALLOWED_SPECIAL_CHARS.contains(it) })
+        }
+    }
+
+    @Benchmark
+    fun validatePaymentId(blackhole: Blackhole) {
+        for (text in paymentIdKeystrokes) blackhole.consume(ValidationUtil.validatePaymentId(text))
+    }
+
+    @Benchmark
+    fun legacyPaymentIdRules(blackhole: Blackhole) {
+        for (text in paymentIdKeystrokes) {
+            blackhole.consume(text.matches("^[A-Za-z].*".toRegex()))
+            blackhole.consume(text.length in 5..20)
+            blackhole.consume(text.matches("^[a-z0-9]+$".toRegex()))
+        }
+    }
+
+    @Benchmark
+    fun isPaymentPinValid(blackhole: Blackhole) {
+        for (text in phoneKeystrokes) blackhole.consume(ValidationUtil.isPaymentPinValid(text))
+    }
+
+    @Benchmark
+    fun isPhoneNumberValid(blackhole: Blackhole) {
+        for (text in phoneKeystrokes) blackhole.consume(ValidationUtil.isPhoneNumberValid(text))
+    }
+
+    @Benchmark
+    fun isNamesValid(blackhole: Blackhole) {
+        for (text in nameKeystrokes) blackhole.consume(ValidationUtil.isNamesValid(text, text))
+    }
+
+    @Benchmark
+    fun legacyIsPhoneNumberValid(blackhole: Blackhole) {
+        for (text in phoneKeystrokes) {
+            blackhole.consume(text.matches("^(0)?[7-9][0-1]\\d{8}$".toRegex()))
+        }
+    }
+
+    private fun keystrokes(text: String): List<String> = (1..text.length).map { text.take(it) }
+}
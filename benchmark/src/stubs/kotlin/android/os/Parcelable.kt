@@ -0,0 +1,6 @@
+package android.os
+
+/**
+ * Stand-in for the Android interface; nothing is parcelled in benchmarks.
+ */
+interface Parcelable
@@ -0,0 +1,10 @@
+package com.google.firebase
+
+import java.util.Date
+
+/**
+ * Stand-in for the Firebase type, covering only what the benchmarked sources call.
+ */
+class Timestamp(private val date: Date) {
+    fun toDate(): Date = date
+}
@@ -0,0 +1,38 @@
+package com.settlex.android
+
+/**
+ * Stand-in for the generated resource IDs referenced by the benchmarked sources.
+ * The values are arbitrary; only their presence matters.
+ */
+@Suppress("ClassName")
+object R {
+    object color {
+        const val colorSuccess = 1
+        const val colorError = 2
+        const val colorOnWarningContainer = 3
+        const val colorOnSecondary = 4
+        const val colorOnSuccessContainer = 5
+        const val colorOnErrorContainer = 6
+    }
+
+    object drawable {
+        const val bg_label_status_pending = 101
+        const val bg_label_status_reversed = 102
+        const val bg_label_status_success = 103
+        const val bg_label_status_failed = 104
+        const val ic_service_payment_sent = 105
+        const val ic_service_payment_received = 106
+        const val ic_service_airtime = 107
+        const val ic_service_data = 108
+        const val ic_service_cable_tv = 109
+        const val ic_service_electricity = 110
+        const val ic_service_betting = 111
+        const val ic_service_internet = 112
+        const val ic_service_gift_card = 113
+        const val ic_service_voucher = 114
+        const val ic_service_more = 115
+        const val ic_service_esim = 116
+        const val ic_service_flight = 117
+        const val ic_service_hotel = 118
+    }
+}
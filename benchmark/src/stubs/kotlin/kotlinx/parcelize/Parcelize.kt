@@ -0,0 +1,8 @@
+package kotlinx.parcelize
+
+/**
+ * Stand-in for the parcelize annotation, which only has meaning to the Android compiler plugin.
+ */
+@Target(AnnotationTarget.CLASS)
+@Retention(AnnotationRetention.BINARY)
+annotation class Parcelize
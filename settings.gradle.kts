@@ -27,3 +27,4 @@ dependencyResolutionManagement {
 
 rootProject.name = "SettleX"
 include(":app")
+include(":benchmark")